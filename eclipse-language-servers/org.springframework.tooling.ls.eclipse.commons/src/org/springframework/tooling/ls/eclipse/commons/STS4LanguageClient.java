@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.springframework.tooling.ls.eclipse.commons;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.lsp4j.jsonrpc.services.JsonNotification;
@@ -42,4 +43,7 @@ public interface STS4LanguageClient extends LanguageClient {
 	@JsonRequest("sts/javadoc")
 	CompletableFuture<JavadocResponse> javadoc(JavadocParams params);
 
+	@JsonRequest("sts/javadocs")
+	CompletableFuture<List<JavadocResponse>> javadocs(JavadocBatchParams params);
+
 }
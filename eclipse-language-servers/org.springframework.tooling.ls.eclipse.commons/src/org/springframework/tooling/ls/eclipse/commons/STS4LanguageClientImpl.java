@@ -12,6 +12,7 @@ package org.springframework.tooling.ls.eclipse.commons;
 
 import java.lang.reflect.Field;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -285,4 +286,22 @@ public class STS4LanguageClientImpl extends LanguageClientImpl implements STS4La
 		return CompletableFuture.completedFuture(response);
 	}
 
+	@Override
+	public CompletableFuture<List<JavadocResponse>> javadocs(JavadocBatchParams params) {
+		List<JavadocResponse> responses = new ArrayList<>(params.getBindingKeys().size());
+		List<String> contents = null;
+		try {
+			contents = JavadocUtils.javadocs(JavaDoc2MarkdownConverter::getMarkdownContentReader,
+					URI.create(params.getProjectUri()), params.getBindingKeys());
+		} catch (Exception e) {
+			LanguageServerCommonsActivator.logError(e, "Failed getting javadoc for " + params.toString());
+		}
+		for (int i = 0; i < params.getBindingKeys().size(); i++) {
+			JavadocResponse response = new JavadocResponse();
+			response.setContent(contents == null ? null : contents.get(i));
+			responses.add(response);
+		}
+		return CompletableFuture.completedFuture(responses);
+	}
+
 }
@@ -14,6 +14,7 @@ import java.io.IOException;
 
 import org.springframework.ide.vscode.bosh.models.BoshCommandCloudConfigProvider;
 import org.springframework.ide.vscode.bosh.models.BoshCommandReleasesProvider;
+import org.springframework.ide.vscode.bosh.models.BoshCommandService;
 import org.springframework.ide.vscode.bosh.models.BoshCommandStemcellsProvider;
 import org.springframework.ide.vscode.commons.languageserver.LaunguageServerApp;
 import org.springframework.ide.vscode.commons.util.LogRedirect;
@@ -23,11 +24,16 @@ public class Main {
 		String serverName = "bosh-language-server";
 		LogRedirect.redirectToFile(serverName);
 		BoshCliConfig cliConfig = new BoshCliConfig();
-		LaunguageServerApp.start(serverName, () -> new BoshLanguageServer(
-				cliConfig,
-				new BoshCommandCloudConfigProvider(cliConfig),
-				new BoshCommandStemcellsProvider(cliConfig),
-				new BoshCommandReleasesProvider(cliConfig)
-		));
+		LaunguageServerApp.start(serverName, () -> {
+			BoshCommandService commandService = new BoshCommandService(BoshCommandService.DEFAULT_CACHE_LOCATION, BoshCommandService.DEFAULT_REFRESH_INTERVAL);
+			BoshLanguageServer server = new BoshLanguageServer(
+					cliConfig,
+					new BoshCommandCloudConfigProvider(cliConfig, commandService),
+					new BoshCommandStemcellsProvider(cliConfig, commandService),
+					new BoshCommandReleasesProvider(cliConfig, commandService)
+			);
+			server.onShutdown(commandService::dispose);
+			return server;
+		});
 	}
 }
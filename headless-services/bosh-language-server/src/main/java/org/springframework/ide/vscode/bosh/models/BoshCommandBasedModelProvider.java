@@ -21,7 +21,6 @@ import org.springframework.ide.vscode.bosh.BoshCliConfig;
 import org.springframework.ide.vscode.commons.util.Assert;
 import org.springframework.ide.vscode.commons.util.CollectorUtil;
 import org.springframework.ide.vscode.commons.util.ExternalCommand;
-import org.springframework.ide.vscode.commons.util.ExternalProcess;
 import org.springframework.ide.vscode.commons.util.GsonUtil;
 import org.springframework.ide.vscode.commons.util.Log;
 import org.springframework.ide.vscode.commons.util.StringUtil;
@@ -51,9 +50,15 @@ public abstract class BoshCommandBasedModelProvider<T> implements DynamicModelPr
 	protected final Gson gson = new GsonBuilder().disableHtmlEscaping().create();
 
 	private final BoshCliConfig config;
+	private final BoshCommandService commandService;
 
 	protected BoshCommandBasedModelProvider(BoshCliConfig config) {
+		this(config, new BoshCommandService());
+	}
+
+	protected BoshCommandBasedModelProvider(BoshCliConfig config, BoshCommandService commandService) {
 		this.config = config;
+		this.commandService = commandService;
 		Representer representer = new Representer();
 		representer.getPropertyUtils().setSkipMissingProperties(true);
 		yamlParser = new YamlParser(new Yaml());
@@ -119,13 +124,7 @@ public abstract class BoshCommandBasedModelProvider<T> implements DynamicModelPr
 					+ "Consult the atom/vscode extension's readme for detailed "
 					+ "instructions on how to target a director and enable them.");
 		}
-		try {
-			ExternalProcess process = new ExternalProcess(getWorkingDir(), command, true, config.getTimeout());
-			return process.getOut();
-		} catch (Exception e) {
-			Log.log("executing cmd FAILED", e);
-			throw e;
-		}
+		return commandService.execute(getWorkingDir(), command, config.getTimeout());
 	}
 
 	protected File getWorkingDir() {
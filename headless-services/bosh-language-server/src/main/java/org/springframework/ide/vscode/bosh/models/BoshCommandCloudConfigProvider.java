@@ -36,6 +36,10 @@ public class BoshCommandCloudConfigProvider extends BoshCommandBasedModelProvide
 		super(config);
 	}
 
+	public BoshCommandCloudConfigProvider(BoshCliConfig config, BoshCommandService commandService) {
+		super(config, commandService);
+	}
+
 	private static final YamlTraversal VM_TYPE_NAMES = YamlPath.EMPTY
 			.thenAnyChild()
 			.thenValAt("vm_types")
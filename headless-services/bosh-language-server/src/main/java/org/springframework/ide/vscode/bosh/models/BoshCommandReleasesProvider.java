@@ -40,6 +40,10 @@ public class BoshCommandReleasesProvider  extends BoshCommandBasedModelProvider<
 		super(config);
 	}
 
+	public BoshCommandReleasesProvider(BoshCliConfig config, BoshCommandService commandService) {
+		super(config, commandService);
+	}
+
 	@Override
 	public ReleasesModel getModel(DynamicSchemaContext dc) throws Exception {
 		JSONCursor cursor = new JSONCursor(getJsonTree());
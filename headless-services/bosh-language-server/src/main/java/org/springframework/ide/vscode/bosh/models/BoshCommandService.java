@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.bosh.models;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.ide.vscode.commons.util.ExceptionUtil;
+import org.springframework.ide.vscode.commons.util.ExternalCommand;
+import org.springframework.ide.vscode.commons.util.ExternalProcess;
+import org.springframework.ide.vscode.commons.util.Log;
+
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Executes bosh cli commands on behalf of {@link BoshCommandBasedModelProvider}s.
+ * <p>
+ * Results are kept per command (the command line includes the targeted director,
+ * so this is effectively per command and target):
+ * <ul>
+ *   <li>Concurrent requests for the same command are coalesced into a single process.</li>
+ *   <li>Once a command produced output, that output is returned immediately. If it is older
+ *       than the 'refresh interval', the command is re-executed in the background (the stale
+ *       output is returned in the mean time).</li>
+ *   <li>Commands that were requested recently are proactively refreshed in the background, so that
+ *       a result is usually available before it becomes stale.</li>
+ *   <li>Optionally, the last good output of each command is persisted on disk. This allows
+ *       a freshly started language server to have models available instantly.</li>
+ * </ul>
+ * A failed execution never replaces an older good result. Errors are only
+ * propagated to callers if there is no result at all.
+ */
+public class BoshCommandService {
+
+	public static final Path DEFAULT_CACHE_LOCATION = Paths.get(System.getProperty("user.home"), ".sts4-bosh-cache");
+
+	public static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofSeconds(30);
+
+	private static final String BOSH_ENVIRONMENT = "BOSH_ENVIRONMENT";
+
+	/**
+	 * Commands not requested in this long are no longer proactively refreshed.
+	 */
+	private static final Duration KEEP_REFRESHING = Duration.ofMinutes(10);
+
+	private final Map<ExternalCommand, Entry> entries = new ConcurrentHashMap<>();
+	private final ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+			.setNameFormat("bosh-cli-%d")
+			.setDaemon(true)
+			.build());
+	private final ScheduledExecutorService scheduler;
+
+	private final Path diskCache;
+	private final Duration refreshInterval;
+
+	/**
+	 * @param diskCache directory to persist command output, may be null (no persistence).
+	 * @param refreshAhead whether recently requested commands are proactively refreshed in the background.
+	 *            If so, the service must be disposed when no longer used.
+	 */
+	public BoshCommandService(Path diskCache, Duration refreshInterval, boolean refreshAhead) {
+		this.diskCache = diskCache;
+		this.refreshInterval = refreshInterval;
+		if (refreshAhead) {
+			long delay = refreshInterval.toMillis() * 2 / 3;
+			scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+					.setNameFormat("bosh-cli-refresh")
+					.setDaemon(true)
+					.build());
+			scheduler.scheduleWithFixedDelay(this::refreshActiveEntries, delay, delay, TimeUnit.MILLISECONDS);
+		} else {
+			scheduler = null;
+		}
+	}
+
+	public BoshCommandService(Path diskCache, Duration refreshInterval) {
+		this(diskCache, refreshInterval, true);
+	}
+
+	/**
+	 * Service that only keeps results in memory and only refreshes them when they are requested. It
+	 * holds on to no threads while idle, so it doesn't need to be disposed.
+	 */
+	public BoshCommandService() {
+		this(null, DEFAULT_REFRESH_INTERVAL, false);
+	}
+
+	private class Entry {
+		final ExternalCommand command;
+		File workingDir;
+		Duration timeout;
+
+		String output; //last good output
+		long outputTime; //when 'output' was produced
+		CompletableFuture<String> inflight;
+		long lastAccess;
+
+		Entry(ExternalCommand command) {
+			this.command = command;
+		}
+
+		synchronized CompletableFuture<String> refresh() {
+			if (inflight==null) {
+				CompletableFuture<String> execution = new CompletableFuture<>();
+				inflight = execution;
+				File workingDir = this.workingDir;
+				Duration timeout = this.timeout;
+				executor.execute(() -> {
+					try {
+						String out = new ExternalProcess(workingDir, command, true, timeout).getOut();
+						synchronized (this) {
+							output = out;
+							outputTime = System.currentTimeMillis();
+							inflight = null;
+						}
+						persist(command, out);
+						execution.complete(out);
+					} catch (Throwable e) {
+						Log.log("executing cmd FAILED", e);
+						synchronized (this) {
+							inflight = null;
+						}
+						execution.completeExceptionally(e);
+					}
+				});
+			}
+			return inflight;
+		}
+	}
+
+	/**
+	 * Get the output of a given command, executing it only when necessary.
+	 */
+	public String execute(File workingDir, ExternalCommand command, Duration timeout) throws Exception {
+		Entry entry = entries.computeIfAbsent(command, this::newEntry);
+		CompletableFuture<String> waitFor;
+		synchronized (entry) {
+			entry.workingDir = workingDir;
+			entry.timeout = timeout;
+			entry.lastAccess = System.currentTimeMillis();
+			if (entry.output!=null) {
+				if (isStale(entry)) {
+					entry.refresh();
+				}
+				return entry.output;
+			}
+			waitFor = entry.refresh();
+		}
+		try {
+			return waitFor.get();
+		} catch (ExecutionException e) {
+			throw ExceptionUtil.exception(e.getCause());
+		}
+	}
+
+	private boolean isStale(Entry entry) {
+		return System.currentTimeMillis() - entry.outputTime > refreshInterval.toMillis();
+	}
+
+	private Entry newEntry(ExternalCommand command) {
+		Entry entry = new Entry(command);
+		String persisted = loadPersisted(command);
+		if (persisted!=null) {
+			entry.output = persisted;
+			entry.outputTime = 0; //considered stale, so first access triggers a refresh
+		}
+		return entry;
+	}
+
+	private void refreshActiveEntries() {
+		long now = System.currentTimeMillis();
+		for (Entry entry : entries.values()) {
+			synchronized (entry) {
+				boolean active = now - entry.lastAccess < KEEP_REFRESHING.toMillis();
+				if (active && entry.output!=null && entry.workingDir!=null) {
+					entry.refresh();
+				}
+			}
+		}
+	}
+
+	private Path persistedFile(ExternalCommand command) {
+		//Without an explicit '-e' the command targets the director from the environment. Output of the same command for different
+		//targets must not end up in the same file.
+		String key = command.toString() + "\0" + BOSH_ENVIRONMENT + "=" + getEnvironment(BOSH_ENVIRONMENT);
+		return diskCache.resolve(Hashing.sha1().hashString(key, StandardCharsets.UTF_8).toString() + ".json");
+	}
+
+	protected String getEnvironment(String name) {
+		return System.getenv(name);
+	}
+
+	private String loadPersisted(ExternalCommand command) {
+		if (diskCache!=null) {
+			Path file = persistedFile(command);
+			if (Files.isRegularFile(file)) {
+				try {
+					return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+				} catch (Exception e) {
+					Log.log(e);
+				}
+			}
+		}
+		return null;
+	}
+
+	private void persist(ExternalCommand command, String out) {
+		if (diskCache!=null) {
+			Path file = persistedFile(command);
+			try {
+				Files.createDirectories(diskCache);
+				Path tmp = Files.createTempFile(diskCache, file.getFileName().toString(), ".tmp");
+				Files.write(tmp, out.getBytes(StandardCharsets.UTF_8));
+				Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (Exception e) {
+				Log.log(e);
+			}
+		}
+	}
+
+	public void dispose() {
+		if (scheduler!=null) {
+			scheduler.shutdownNow();
+		}
+		executor.shutdownNow();
+	}
+
+}
@@ -41,6 +41,10 @@ public class BoshCommandStemcellsProvider extends BoshCommandBasedModelProvider<
 		super(config);
 	}
 
+	public BoshCommandStemcellsProvider(BoshCliConfig config, BoshCommandService commandService) {
+		super(config, commandService);
+	}
+
 	@Override
 	public StemcellsModel getModel(DynamicSchemaContext dc) throws Exception {
 		JSONCursor cursor = new JSONCursor(getJsonTree());
@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.bosh.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.ide.vscode.commons.util.ExternalCommand;
+
+/**
+ * Tests {@link BoshCommandService} against a fake 'bosh' executable (a shell script)
+ * which records each invocation in a file.
+ */
+public class BoshCommandServiceTest {
+
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
+	private File bosh;
+	private File invocations;
+	private File gate;
+	private List<BoshCommandService> services = new ArrayList<>();
+
+	@Before
+	public void setup() throws Exception {
+		Assume.assumeFalse(System.getProperty("os.name").toLowerCase().startsWith("win"));
+		bosh = tmp.newFile("bosh");
+		invocations = tmp.newFile("invocations");
+		gate = new File(tmp.getRoot(), "gate");
+		fakeBosh("{\"Blocks\": [\"first\"]}", 0);
+	}
+
+	@After
+	public void tearDown() {
+		for (BoshCommandService s : services) {
+			s.dispose();
+		}
+	}
+
+	@Test public void concurrentRequestsAreCoalesced() throws Exception {
+		BoshCommandService service = service(null, Duration.ofMinutes(1));
+		List<CompletableFuture<String>> results = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			results.add(CompletableFuture.supplyAsync(() -> {
+				try {
+					return service.execute(tmp.getRoot(), command(), Duration.ofSeconds(10));
+				} catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+			}));
+		}
+		for (CompletableFuture<String> r : results) {
+			assertEquals("{\"Blocks\": [\"first\"]}", r.get().trim());
+		}
+		assertEquals(1, invocationCount());
+	}
+
+	@Test(timeout = 60_000) public void staleOutputReturnedWhileRefreshing() throws Exception {
+		BoshCommandService service = service(null, Duration.ofMillis(200));
+		assertEquals("{\"Blocks\": [\"first\"]}", service.execute(tmp.getRoot(), command(), Duration.ofSeconds(10)).trim());
+
+		//From now on the fake bosh process doesn't complete before the gate is removed
+		assertTrue(gate.createNewFile());
+		fakeBosh("{\"Blocks\": [\"second\"]}", 0);
+		Thread.sleep(300);
+		//Stale, so a refresh is started. As that can't complete, getting any output means the stale output was returned without waiting for it.
+		CompletableFuture<String> stale = CompletableFuture.supplyAsync(() -> {
+			try {
+				return service.execute(tmp.getRoot(), command(), Duration.ofSeconds(30));
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		assertEquals("{\"Blocks\": [\"first\"]}", stale.get(30, TimeUnit.SECONDS).trim());
+		assertTrue(gate.delete());
+
+		long endTime = System.currentTimeMillis() + 10_000;
+		while (!service.execute(tmp.getRoot(), command(), Duration.ofSeconds(10)).contains("second")) {
+			if (System.currentTimeMillis() > endTime) {
+				fail("Background refresh did not happen");
+			}
+			Thread.sleep(100);
+		}
+	}
+
+	@Test public void failedRefreshKeepsLastGoodOutput() throws Exception {
+		BoshCommandService service = service(null, Duration.ofMillis(200));
+		assertEquals("{\"Blocks\": [\"first\"]}", service.execute(tmp.getRoot(), command(), Duration.ofSeconds(10)).trim());
+
+		fakeBosh("", 1);
+		for (int i = 0; i < 5; i++) {
+			Thread.sleep(300);
+			assertEquals("{\"Blocks\": [\"first\"]}", service.execute(tmp.getRoot(), command(), Duration.ofSeconds(10)).trim());
+		}
+	}
+
+	@Test public void outputPersistedOnDisk() throws Exception {
+		File cacheDir = tmp.newFolder();
+		BoshCommandService service = service(cacheDir, Duration.ofMinutes(1));
+		assertEquals("{\"Blocks\": [\"first\"]}", service.execute(tmp.getRoot(), command(), Duration.ofSeconds(10)).trim());
+
+		//A 'restarted' service has the output instantly, even when bosh is now failing.
+		fakeBosh("", 1);
+		service = service(cacheDir, Duration.ofMinutes(1));
+		assertEquals("{\"Blocks\": [\"first\"]}", service.execute(tmp.getRoot(), command(), Duration.ofSeconds(10)).trim());
+	}
+
+	@Test public void persistedOutputKeptPerTargetFromEnvironment() throws Exception {
+		File cacheDir = tmp.newFolder();
+		ExternalCommand command = new ExternalCommand(bosh.getAbsolutePath(), "cloud-config", "--json");
+		BoshCommandService service = service(cacheDir, "director-a");
+		assertEquals("{\"Blocks\": [\"first\"]}", service.execute(tmp.getRoot(), command, Duration.ofSeconds(10)).trim());
+
+		//Same command, but targeting another director through the environment
+		fakeBosh("", 1);
+		service = service(cacheDir, "director-b");
+		try {
+			service.execute(tmp.getRoot(), command, Duration.ofSeconds(10));
+			fail("Should have thrown");
+		} catch (Exception e) {
+			//expected
+		}
+	}
+
+	@Test public void errorWhenNoOutputAvailable() throws Exception {
+		fakeBosh("", 1);
+		BoshCommandService service = service(null, Duration.ofMinutes(1));
+		try {
+			service.execute(tmp.getRoot(), command(), Duration.ofSeconds(10));
+			fail("Should have thrown");
+		} catch (Exception e) {
+			//expected
+		}
+	}
+
+	private BoshCommandService service(File cacheDir, Duration refreshInterval) {
+		BoshCommandService service = new BoshCommandService(cacheDir==null ? null : cacheDir.toPath(), refreshInterval);
+		services.add(service);
+		return service;
+	}
+
+	private BoshCommandService service(File cacheDir, String boshEnvironment) {
+		BoshCommandService service = new BoshCommandService(cacheDir.toPath(), Duration.ofMinutes(1)) {
+			@Override
+			protected String getEnvironment(String name) {
+				return "BOSH_ENVIRONMENT".equals(name) ? boshEnvironment : null;
+			}
+		};
+		services.add(service);
+		return service;
+	}
+
+	private ExternalCommand command() {
+		return new ExternalCommand(bosh.getAbsolutePath(), "-e", "some-target", "cloud-config", "--json");
+	}
+
+	private void fakeBosh(String output, int exitCode) throws Exception {
+		String script = "#!/bin/sh\n" +
+				"echo x >> '" + invocations.getAbsolutePath() + "'\n" +
+				"while [ -f '" + gate.getAbsolutePath() + "' ]; do sleep 0.05; done\n" +
+				"sleep 0.5\n" +
+				"echo '" + output + "'\n" +
+				"exit " + exitCode + "\n";
+		Files.write(bosh.toPath(), script.getBytes(StandardCharsets.UTF_8));
+		bosh.setExecutable(true);
+	}
+
+	private int invocationCount() throws Exception {
+		return Files.readAllLines(invocations.toPath()).size();
+	}
+
+}
@@ -10,8 +10,6 @@
  *******************************************************************************/
 package org.springframework.ide.vscode.commons.boot.app.cli;
 
-import java.io.File;
-import java.io.IOException;
 import java.lang.management.ManagementFactory;
 import java.lang.management.PlatformManagedObject;
 import java.util.ArrayList;
@@ -21,17 +19,18 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
-import java.util.StringTokenizer;
 import java.util.concurrent.TimeUnit;
 
+import javax.management.Attribute;
+import javax.management.AttributeList;
 import javax.management.InstanceNotFoundException;
 import javax.management.MBeanServerConnection;
 import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
 import javax.management.remote.JMXConnector;
-import javax.management.remote.JMXConnectorFactory;
 import javax.management.remote.JMXServiceURL;
 
-import org.apache.commons.codec.digest.DigestUtils;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.slf4j.Logger;
@@ -39,16 +38,16 @@ import org.slf4j.LoggerFactory;
 import org.springframework.ide.vscode.commons.boot.app.cli.livebean.LiveBeansModel;
 import org.springframework.ide.vscode.commons.boot.app.cli.requestmappings.Boot1xRequestMapping;
 import org.springframework.ide.vscode.commons.boot.app.cli.requestmappings.RequestMapping;
+import org.springframework.ide.vscode.commons.boot.app.cli.requestmappings.RequestMappingIndex;
 import org.springframework.ide.vscode.commons.boot.app.cli.requestmappings.RequestMappingsParser20;
-import org.springframework.ide.vscode.commons.util.ExceptionUtil;
 import org.springframework.ide.vscode.commons.util.FuctionWithException;
 import org.springframework.ide.vscode.commons.util.FunctionWithException;
-import org.springframework.ide.vscode.commons.util.MemoizingDisposableSupplier;
 import org.springframework.ide.vscode.commons.util.StringUtil;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashCode;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
@@ -61,10 +60,17 @@ public abstract class AbstractSpringBootApp implements SpringBootApp {
 	private static final String SPRINGFRAMEWORK_BOOT_DOMAIN = "org.springframework.boot";
 	protected static Logger logger = LoggerFactory.getLogger(SpringBootApp.class);
 
+	private static final String[] RUNTIME_IDENTITY_ATTRIBUTES = { "Name", "SystemProperties" };
+
 	private String jmxMbeanActuatorDomain;
 
+	private volatile AppIdentity identity;
+
 	private LiveBeansModel cachedBeansModel;
-	private String cachedBeansModelMD5;
+	private HashCode cachedBeansModelHash;
+
+	private RequestMappingIndex cachedRequestMappings;
+	private HashCode cachedRequestMappingsHash;
 
 	private Cache<String, LiveBeansModel> beansModelCache = CacheBuilder.newBuilder()
 			.expireAfterWrite(3, TimeUnit.SECONDS)
@@ -93,47 +99,25 @@ public abstract class AbstractSpringBootApp implements SpringBootApp {
 	public abstract boolean isSpringBootApp();
 
 
-	private final MemoizingDisposableSupplier<JMXConnector> jmxConnector = new MemoizingDisposableSupplier<JMXConnector>(
-		//creating jmx connector:
-		() -> {
-			String url = getJmxUrl();
-			logger.info("Creating JMX connector: "+url);
-			try {
-				if (url==null) {
-					throw new IOException("Couldn't obtain JMX url");
-				}
-				JMXConnector connector = JMXConnectorFactory.connect(new JMXServiceURL(url), null);
-				logger.info("Created JMX connector: {}", connector);
-				return connector;
-			} catch (Exception e) {
-				logger.info("Creating JMX connector failed: {}", ExceptionUtil.getMessage(e));
-				throw e;
-			}
-		},
-		//disposing jmx connector:
-		(connector) -> {
-			try {
-				logger.info("Disposing JMX connector: "+connector);
-				connector.close();
-			} catch (IOException e) {
-				//ignore
-			}
-		}
-	);
+	/**
+	 * @return The manager of the JMX connection to the app.
+	 */
+	protected JmxConnectionManager getConnectionManager() {
+		return JmxConnectionManager.getDefault();
+	}
 
 	protected <T> T withJmxConnector(FunctionWithException<JMXConnector, T> doit) throws Exception {
-		try {
-			return doit.apply(jmxConnector.get());
-		} catch (Exception e) {
-			logger.info("Evicting JMX connector {} because of error: {}", jmxConnector, ExceptionUtil.getMessage(e));
-			jmxConnector.evict();
-			throw e;
-		}
+		return getConnectionManager().withConnection(this, this::getJmxUrl, doit);
+	}
+
+	@Override
+	public void closeConnections() {
+		getConnectionManager().close(this);
 	}
 
 	@Override
 	public void dispose() {
-		jmxConnector.dispose();
+		getConnectionManager().close(this);
 	}
 
 	@Override
@@ -165,25 +149,44 @@ public abstract class AbstractSpringBootApp implements SpringBootApp {
 
 	@Override
 	public Collection<RequestMapping> getRequestMappings() throws Exception {
+		RequestMappingIndex index = getRequestMappingIndex();
+		return index == null ? null : index.getMappings();
+	}
+
+	@Override
+	public RequestMappingIndex getRequestMappingIndex() throws Exception {
 		//Boot 1.x
 		Object result = getActuatorDataFromAttribute(getObjectName("type=Endpoint,name=requestMappingEndpoint"), "Data");
 		if (result != null) {
-			String mappings = gson.toJson(result);
-			return parseRequestMappingsJson(mappings, "1.x");
+			return indexRequestMappings(result, "1.x");
 		}
 
 		//Boot 2.x
 		result = getActuatorDataFromOperation(getObjectName("type=Endpoint,name=Mappings"), "mappings");
 		if (result != null) {
-			String mappings = gson.toJson(result);
-			return parseRequestMappingsJson(mappings, "2.x");
+			return indexRequestMappings(result, "2.x");
 		}
 
 		return null;
 	}
 
+	/**
+	 * Parses and indexes the request mappings, unless they are the same as the ones last indexed.
+	 */
+	private synchronized RequestMappingIndex indexRequestMappings(Object result, String bootVersion) {
+		HashCode hash = ActuatorDataConverter.structuralHash(result);
+		if (cachedRequestMappings == null || !hash.equals(cachedRequestMappingsHash)) {
+			cachedRequestMappings = RequestMappingIndex.create(parseRequestMappings(ActuatorDataConverter.toJSONObject(result), bootVersion));
+			cachedRequestMappingsHash = hash;
+		}
+		return cachedRequestMappings;
+	}
+
 	public static Collection<RequestMapping> parseRequestMappingsJson(String json, String bootVersion) {
-		JSONObject obj = new JSONObject(json);
+		return parseRequestMappings(new JSONObject(json), bootVersion);
+	}
+
+	public static Collection<RequestMapping> parseRequestMappings(JSONObject obj, String bootVersion) {
 		if (bootVersion.equals("2.x")) {
 			return RequestMappingsParser20.parse(obj);
 		} else { //1.x
@@ -218,12 +221,12 @@ public abstract class AbstractSpringBootApp implements SpringBootApp {
 				String domain = getDomainForActuator();
 				Object json = getBeansFromActuator(domain);
 				if (json != null) {
-					String md5 = DigestUtils.md5Hex(json.toString());
+					HashCode hash = ActuatorDataConverter.structuralHash(json);
 
 					synchronized(AbstractSpringBootApp.this) {
-						if (cachedBeansModel == null || !md5.equals(cachedBeansModelMD5)) {
-							cachedBeansModel = LiveBeansModel.parse(gson.toJson(json));
-							cachedBeansModelMD5 = md5;
+						if (cachedBeansModel == null || !hash.equals(cachedBeansModelHash)) {
+							cachedBeansModel = LiveBeansModel.parseJson(ActuatorDataConverter.toJson(json));
+							cachedBeansModelHash = hash;
 							logger.debug("Got {} beans for {}", cachedBeansModel.getBeanNames().size(), this);
 						} else {
 							logger.debug("Got {} beans for {} - from cache", cachedBeansModel.getBeanNames().size(), this);
@@ -352,29 +355,51 @@ public abstract class AbstractSpringBootApp implements SpringBootApp {
 	}
 
 	@Override
-	public String[] getClasspath() throws Exception {
-		Properties props = getSystemProperties();
-		String classpath = (String) props.get("java.class.path");
-		String[] cpElements = splitClasspath(classpath);
-		return cpElements;
+	public AppIdentity getIdentity() throws Exception {
+		AppIdentity identity = this.identity;
+		if (identity == null) {
+			//Failures are not cached, so that discovery is retried on the next polling loop
+			this.identity = identity = fetchIdentity();
+		}
+		return identity;
 	}
 
-	private String[] splitClasspath(String classpath) {
-		List<String> classpathElements = new ArrayList<>();
-		if (classpath != null) {
-			StringTokenizer tokenizer = new StringTokenizer(classpath, File.pathSeparator);
-			while (tokenizer.hasMoreTokens()) {
-				String classpathElement = tokenizer.nextToken();
-				classpathElements.add(classpathElement);
+	/**
+	 * Fetches the identity of the app. By default this reads the name and the system properties of the
+	 * runtime MXBean with a single JMX round-trip.
+	 */
+	protected AppIdentity fetchIdentity() throws Exception {
+		return withJmxConnector(jmxConnector -> {
+			MBeanServerConnection connection = jmxConnector.getMBeanServerConnection();
+			AttributeList attributes = connection.getAttributes(new ObjectName(ManagementFactory.RUNTIME_MXBEAN_NAME), RUNTIME_IDENTITY_ATTRIBUTES);
+			String name = null;
+			Properties props = new Properties();
+			for (Attribute attribute : attributes.asList()) {
+				if ("Name".equals(attribute.getName())) {
+					name = (String) attribute.getValue();
+				} else if ("SystemProperties".equals(attribute.getName()) && attribute.getValue() instanceof TabularData) {
+					for (Object row : ((TabularData) attribute.getValue()).values()) {
+						CompositeData entry = (CompositeData) row;
+						Object key = entry.get("key");
+						Object value = entry.get("value");
+						if (key != null && value != null) {
+							props.put(key, value);
+						}
+					}
+				}
 			}
-		}
-		return classpathElements.toArray(new String[classpathElements.size()]);
+			return new AppIdentity(name, props);
+		});
+	}
+
+	@Override
+	public String[] getClasspath() throws Exception {
+		return getIdentity().getClasspath().toArray(new String[0]);
 	}
 
 	@Override
 	public String getJavaCommand() throws Exception {
-		Properties props = getSystemProperties();
-		return (String) props.get("sun.java.command");
+		return getIdentity().getJavaCommand();
 	}
 
 	@Override
@@ -391,7 +416,11 @@ public abstract class AbstractSpringBootApp implements SpringBootApp {
 
 	@Override
 	public Optional<List<LiveConditional>> getLiveConditionals() throws Exception {
-		return getLiveConditionals(getAutoConfigReport(), getProcessID(), getProcessName());
+		Object report = getAutoConfigReport();
+		if (report == null) {
+			return Optional.empty();
+		}
+		return LiveConditionalParser.parse(ActuatorDataConverter.toJSONObject(report), getProcessID(), getProcessName());
 	}
 
 	/**
@@ -408,22 +437,15 @@ public abstract class AbstractSpringBootApp implements SpringBootApp {
 		return LiveConditionalParser.parse(autoConfigReport, processId, processName);
 	}
 
-	private String getAutoConfigReport() throws Exception {
+	private Object getAutoConfigReport() throws Exception {
 		//Boot 1.x
 		Object result = getActuatorDataFromAttribute(getObjectName("type=Endpoint,name=autoConfigurationReportEndpoint"), "Data");
 		if (result != null) {
-			String report = gson.toJson(result);
-			return report;
+			return result;
 		}
 
 		//Boot 2.x
-		result = getActuatorDataFromOperation(getObjectName("type=Endpoint,name=Conditions"), "applicationConditionEvaluation");
-		if (result != null) {
-			String report = gson.toJson(result);
-			return report;
-		}
-
-		return null;
+		return getActuatorDataFromOperation(getObjectName("type=Endpoint,name=Conditions"), "applicationConditionEvaluation");
 	}
 
 	@Override
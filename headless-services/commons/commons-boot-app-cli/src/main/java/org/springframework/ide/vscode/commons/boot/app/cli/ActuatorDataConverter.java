@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.boot.app.cli;
+
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Converts actuator data as returned by JMX (nested maps, lists and open-type values) directly into
+ * the {@link JSONObject} / {@link JSONArray} structures consumed by the parsers of the live data models,
+ * without serializing it to a json string and parsing it again.
+ * <p>
+ * The result is the same as parsing the output of gson: <code>null</code> valued properties are omitted
+ * and <code>null</code> array elements become {@link JSONObject#NULL}.
+ */
+public class ActuatorDataConverter {
+
+	/**
+	 * @return {@link JSONObject}, {@link JSONArray} or a simple value corresponding to the given actuator data.
+	 */
+	public static Object toJson(Object data) {
+		if (data == null) {
+			return JSONObject.NULL;
+		} else if (data instanceof String || data instanceof Number || data instanceof Boolean) {
+			return data;
+		} else if (data instanceof Map) {
+			JSONObject obj = new JSONObject();
+			for (Entry<?, ?> e : ((Map<?, ?>) data).entrySet()) {
+				if (e.getValue() != null) {
+					obj.put(String.valueOf(e.getKey()), toJson(e.getValue()));
+				}
+			}
+			return obj;
+		} else if (data instanceof CompositeData) {
+			CompositeData composite = (CompositeData) data;
+			JSONObject obj = new JSONObject();
+			for (String key : composite.getCompositeType().keySet()) {
+				Object value = composite.get(key);
+				if (value != null) {
+					obj.put(key, toJson(value));
+				}
+			}
+			return obj;
+		} else if (data instanceof TabularData) {
+			return toJSONArray(((TabularData) data).values());
+		} else if (data instanceof Collection) {
+			return toJSONArray((Collection<?>) data);
+		} else if (data.getClass().isArray()) {
+			JSONArray array = new JSONArray();
+			int length = Array.getLength(data);
+			for (int i = 0; i < length; i++) {
+				array.put(toJson(Array.get(data, i)));
+			}
+			return array;
+		}
+		return data.toString();
+	}
+
+	private static JSONArray toJSONArray(Collection<?> elements) {
+		JSONArray array = new JSONArray();
+		for (Object element : elements) {
+			array.put(toJson(element));
+		}
+		return array;
+	}
+
+	/**
+	 * @return The {@link JSONObject} corresponding to the given actuator data or <code>null</code> if data is <code>null</code>.
+	 * @throws JSONException if the data does not represent a json object.
+	 */
+	public static JSONObject toJSONObject(Object data) {
+		if (data == null) {
+			return null;
+		}
+		Object json = toJson(data);
+		if (json instanceof JSONObject) {
+			return (JSONObject) json;
+		}
+		throw new JSONException("Not a json object: " + data.getClass().getName());
+	}
+
+	/**
+	 * Computes a hash over the structure and values of the actuator data, to cheaply detect whether it has
+	 * changed since it was last converted.
+	 */
+	public static HashCode structuralHash(Object data) {
+		Hasher hasher = Hashing.murmur3_128().newHasher();
+		hash(hasher, data);
+		return hasher.hash();
+	}
+
+	private static void hash(Hasher hasher, Object data) {
+		if (data == null) {
+			hasher.putByte((byte) 'n');
+		} else if (data instanceof Map) {
+			Map<?, ?> map = (Map<?, ?>) data;
+			hasher.putByte((byte) '{').putInt(map.size());
+			for (Entry<?, ?> e : map.entrySet()) {
+				hashString(hasher, String.valueOf(e.getKey()));
+				hash(hasher, e.getValue());
+			}
+			hasher.putByte((byte) '}');
+		} else if (data instanceof CompositeData) {
+			CompositeData composite = (CompositeData) data;
+			hasher.putByte((byte) '{');
+			for (String key : composite.getCompositeType().keySet()) {
+				hashString(hasher, key);
+				hash(hasher, composite.get(key));
+			}
+			hasher.putByte((byte) '}');
+		} else if (data instanceof TabularData) {
+			hashElements(hasher, ((TabularData) data).values());
+		} else if (data instanceof Collection) {
+			hashElements(hasher, (Collection<?>) data);
+		} else if (data.getClass().isArray()) {
+			int length = Array.getLength(data);
+			hasher.putByte((byte) '[').putInt(length);
+			for (int i = 0; i < length; i++) {
+				hash(hasher, Array.get(data, i));
+			}
+			hasher.putByte((byte) ']');
+		} else {
+			hasher.putByte((byte) 'v');
+			hashString(hasher, data.toString());
+		}
+	}
+
+	private static void hashElements(Hasher hasher, Collection<?> elements) {
+		hasher.putByte((byte) '[').putInt(elements.size());
+		for (Object element : elements) {
+			hash(hasher, element);
+		}
+		hasher.putByte((byte) ']');
+	}
+
+	private static void hashString(Hasher hasher, String s) {
+		hasher.putInt(s.length()).putString(s, StandardCharsets.UTF_8);
+	}
+
+}
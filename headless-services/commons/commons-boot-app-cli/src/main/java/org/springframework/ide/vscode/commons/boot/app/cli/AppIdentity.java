@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.boot.app.cli;
+
+import java.io.File;
+import java.util.Properties;
+import java.util.StringTokenizer;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * The metadata used to discover running apps and to match them with projects. It does not change
+ * for as long as the process is running, so it is fetched once, in a single round-trip.
+ */
+public class AppIdentity {
+
+	public static final String PROJECT_NAME_PROPERTY = "spring.boot.project.name";
+
+	private final String processID;
+	private final Properties systemProperties;
+	private final String javaCommand;
+	private final ImmutableList<String> classpath;
+	private final ImmutableSet<String> classpathEntries;
+	private final String projectName;
+
+	public AppIdentity(String processID, Properties systemProperties) {
+		this.processID = processID;
+		this.systemProperties = new Properties();
+		this.systemProperties.putAll(systemProperties);
+		this.javaCommand = getString(systemProperties, "sun.java.command");
+		this.classpath = splitClasspath(getString(systemProperties, "java.class.path"));
+		this.classpathEntries = ImmutableSet.copyOf(classpath);
+		String projectName = getString(systemProperties, PROJECT_NAME_PROPERTY);
+		this.projectName = projectName != null && projectName.trim().length() > 0 ? projectName : null;
+	}
+
+	private static String getString(Properties props, String key) {
+		Object value = props.get(key);
+		return value instanceof String ? (String) value : null;
+	}
+
+	private static ImmutableList<String> splitClasspath(String classpath) {
+		ImmutableList.Builder<String> classpathElements = ImmutableList.builder();
+		if (classpath != null) {
+			StringTokenizer tokenizer = new StringTokenizer(classpath, File.pathSeparator);
+			while (tokenizer.hasMoreTokens()) {
+				classpathElements.add(tokenizer.nextToken());
+			}
+		}
+		return classpathElements.build();
+	}
+
+	public String getProcessID() {
+		return processID;
+	}
+
+	/**
+	 * @return The system properties of the process at the time it was discovered.
+	 */
+	public Properties getSystemProperties() {
+		Properties copy = new Properties();
+		copy.putAll(systemProperties);
+		return copy;
+	}
+
+	public boolean containsSystemProperty(String key) {
+		return systemProperties.containsKey(key);
+	}
+
+	public String getSystemProperty(String key) {
+		return getString(systemProperties, key);
+	}
+
+	public String getJavaCommand() {
+		return javaCommand;
+	}
+
+	public ImmutableList<String> getClasspath() {
+		return classpath;
+	}
+
+	public ImmutableSet<String> getClasspathEntries() {
+		return classpathEntries;
+	}
+
+	/**
+	 * @return The value of the {@link #PROJECT_NAME_PROPERTY} system property, or null if the app was not
+	 * launched with a project name.
+	 */
+	public String getProjectName() {
+		return projectName;
+	}
+
+	@Override
+	public String toString() {
+		return "AppIdentity [processID=" + processID + ", projectName=" + projectName + "]";
+	}
+
+}
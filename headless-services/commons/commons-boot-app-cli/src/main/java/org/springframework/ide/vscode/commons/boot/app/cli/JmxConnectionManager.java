@@ -0,0 +1,441 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.boot.app.cli;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ide.vscode.commons.util.ExceptionUtil;
+import org.springframework.ide.vscode.commons.util.FunctionWithException;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Manages the JMX connections to running apps, at most one per app.
+ * <p>
+ * Connecting and every request made through a connection are bounded by a timeout, so that a hung app
+ * can not block its caller indefinitely. Connections that were not used for a while are closed, and so
+ * are the least recently used ones when the number of open connections reaches its limit.
+ * <p>
+ * Connecting and requests run on a bounded pool of threads. A connection whose request timed out is closed,
+ * which makes the blocked RMI call fail and frees its thread.
+ */
+public class JmxConnectionManager {
+
+	private static final Logger logger = LoggerFactory.getLogger(JmxConnectionManager.class);
+
+	public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(5);
+	public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(15);
+	public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofSeconds(60);
+	public static final int DEFAULT_MAX_CONNECTIONS = 20;
+
+	private static final JmxConnectionManager DEFAULT = new JmxConnectionManager(DEFAULT_CONNECT_TIMEOUT, DEFAULT_REQUEST_TIMEOUT,
+			DEFAULT_IDLE_TIMEOUT, DEFAULT_MAX_CONNECTIONS);
+
+	/**
+	 * @return The connection manager shared by all the apps.
+	 */
+	public static JmxConnectionManager getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Counters of a connection manager at some point in time.
+	 */
+	public static class Metrics {
+
+		private final int openConnections;
+		private final long connectionsCreated;
+		private final long connectFailures;
+		private final long timeouts;
+		private final long idleEvictions;
+		private final long capacityEvictions;
+
+		Metrics(int openConnections, long connectionsCreated, long connectFailures, long timeouts, long idleEvictions, long capacityEvictions) {
+			this.openConnections = openConnections;
+			this.connectionsCreated = connectionsCreated;
+			this.connectFailures = connectFailures;
+			this.timeouts = timeouts;
+			this.idleEvictions = idleEvictions;
+			this.capacityEvictions = capacityEvictions;
+		}
+
+		public int getOpenConnections() {
+			return openConnections;
+		}
+
+		public long getConnectionsCreated() {
+			return connectionsCreated;
+		}
+
+		public long getConnectFailures() {
+			return connectFailures;
+		}
+
+		/**
+		 * @return Number of connection attempts and requests that were abandoned because they took too long.
+		 */
+		public long getTimeouts() {
+			return timeouts;
+		}
+
+		public long getIdleEvictions() {
+			return idleEvictions;
+		}
+
+		/**
+		 * @return Number of connections closed to make room for a new one.
+		 */
+		public long getCapacityEvictions() {
+			return capacityEvictions;
+		}
+
+		@Override
+		public String toString() {
+			return "Metrics [open=" + openConnections + ", created=" + connectionsCreated + ", connectFailures=" + connectFailures
+					+ ", timeouts=" + timeouts + ", idleEvictions=" + idleEvictions + ", capacityEvictions=" + capacityEvictions + "]";
+		}
+	}
+
+	private static class Connection {
+		final JMXConnector connector;
+		int inFlight;
+		long lastUsed = System.nanoTime();
+
+		Connection(JMXConnector connector) {
+			this.connector = connector;
+		}
+	}
+
+	private final long connectTimeoutMillis;
+	private final long requestTimeoutMillis;
+	private final long idleTimeoutNanos;
+	private final int maxConnections;
+
+	/**
+	 * Open connections, keyed by the app (identity) that owns them.
+	 */
+	private final Map<Object, Connection> connections = new IdentityHashMap<>();
+	private final Map<Object, CompletableFuture<Connection>> pendingConnects = new IdentityHashMap<>();
+
+	private final ExecutorService executor;
+	private final ScheduledExecutorService idleChecker = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+			.setNameFormat("jmx-connection-idle-check-%d")
+			.setDaemon(true)
+			.build());
+
+	private boolean disposed;
+
+	private long connectionsCreated;
+	private long connectFailures;
+	private long timeouts;
+	private long idleEvictions;
+	private long capacityEvictions;
+
+	public JmxConnectionManager(Duration connectTimeout, Duration requestTimeout, Duration idleTimeout, int maxConnections) {
+		this.connectTimeoutMillis = connectTimeout.toMillis();
+		this.requestTimeoutMillis = requestTimeout.toMillis();
+		this.idleTimeoutNanos = idleTimeout.toNanos();
+		this.maxConnections = maxConnections;
+		//Room for connecting and one request per connection. More tasks wait in the queue, and are skipped if
+		//their caller gave up on them in the meantime.
+		int threads = Math.max(2, maxConnections * 2);
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+				new ThreadFactoryBuilder()
+				.setNameFormat("jmx-connection-%d")
+				.setDaemon(true)
+				.build());
+		pool.allowCoreThreadTimeOut(true);
+		this.executor = pool;
+		long checkInterval = Math.max(idleTimeout.toMillis() / 2, 1);
+		idleChecker.scheduleWithFixedDelay(this::evictIdleConnections, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Runs a request against the connection of an app, connecting first if needed. The connection is closed
+	 * if the request fails or times out, so that the next request starts with a fresh connection.
+	 *
+	 * @param owner the app the connection belongs to
+	 * @param jmxUrl computes the url to connect to, only called when connecting
+	 */
+	public <T> T withConnection(Object owner, Callable<String> jmxUrl, FunctionWithException<JMXConnector, T> doit) throws Exception {
+		Connection connection = acquire(owner, jmxUrl);
+		CompletableFuture<T> request = null;
+		try {
+			request = CompletableFuture.supplyAsync(() -> {
+				try {
+					return doit.apply(connection.connector);
+				} catch (Exception e) {
+					throw new CompletionException(e);
+				}
+			}, executor);
+			return await(request, requestTimeoutMillis, "JMX request");
+		} catch (Exception e) {
+			if (request != null) {
+				//Skipped if still queued. If running, closing the connection below makes it fail.
+				request.cancel(false);
+			}
+			logger.info("Evicting JMX connector {} because of error: {}", connection.connector, ExceptionUtil.getMessage(e));
+			evict(owner, connection);
+			throw e;
+		} finally {
+			synchronized (this) {
+				connection.inFlight--;
+				connection.lastUsed = System.nanoTime();
+			}
+		}
+	}
+
+	/**
+	 * Closes the connection of an app, if it has one. A new connection is opened the next time the app is queried.
+	 */
+	public void close(Object owner) {
+		Connection connection;
+		synchronized (this) {
+			connection = connections.remove(owner);
+		}
+		if (connection != null) {
+			close(connection.connector);
+		}
+	}
+
+	public synchronized Metrics getMetrics() {
+		return new Metrics(connections.size(), connectionsCreated, connectFailures, timeouts, idleEvictions, capacityEvictions);
+	}
+
+	/**
+	 * Closes the connections that have not been used for longer than the idle timeout. This runs periodically, but
+	 * may also be called directly.
+	 */
+	public void evictIdleConnections() {
+		List<Connection> idle = new ArrayList<>();
+		synchronized (this) {
+			long now = System.nanoTime();
+			for (Iterator<Connection> iter = connections.values().iterator(); iter.hasNext();) {
+				Connection connection = iter.next();
+				if (connection.inFlight == 0 && now - connection.lastUsed >= idleTimeoutNanos) {
+					iter.remove();
+					idle.add(connection);
+					idleEvictions++;
+				}
+			}
+		}
+		for (Connection connection : idle) {
+			logger.info("Closing idle JMX connector: {}", connection.connector);
+			close(connection.connector);
+		}
+	}
+
+	public void dispose() {
+		List<Connection> open;
+		synchronized (this) {
+			disposed = true;
+			open = new ArrayList<>(connections.values());
+			connections.clear();
+		}
+		for (Connection connection : open) {
+			close(connection.connector);
+		}
+		idleChecker.shutdownNow();
+		executor.shutdownNow();
+	}
+
+	private Connection acquire(Object owner, Callable<String> jmxUrl) throws Exception {
+		CompletableFuture<Connection> pending;
+		boolean connect = false;
+		synchronized (this) {
+			if (disposed) {
+				throw new IOException("JMX connection manager is disposed");
+			}
+			Connection connection = connections.get(owner);
+			if (connection != null) {
+				connection.inFlight++;
+				return connection;
+			}
+			pending = pendingConnects.get(owner);
+			if (pending == null) {
+				pending = new CompletableFuture<>();
+				pendingConnects.put(owner, pending);
+				connect = true;
+			}
+		}
+		if (connect) {
+			connect(owner, jmxUrl, pending);
+		}
+		Connection connection;
+		try {
+			connection = pending.get();
+		} catch (ExecutionException e) {
+			throw ExceptionUtil.exception(e.getCause());
+		}
+		synchronized (this) {
+			if (connections.get(owner) != connection) {
+				throw new IOException("JMX connector was closed while connecting");
+			}
+			connection.inFlight++;
+			return connection;
+		}
+	}
+
+	/**
+	 * Connects to the app and completes the future with the new connection, or with the reason the app could not be connected to.
+	 */
+	private void connect(Object owner, Callable<String> jmxUrl, CompletableFuture<Connection> result) {
+		List<Connection> evicted = new ArrayList<>();
+		try {
+			String url = jmxUrl.call();
+			logger.info("Creating JMX connector: " + url);
+			if (url == null) {
+				throw new IOException("Couldn't obtain JMX url");
+			}
+			CompletableFuture<JMXConnector> connecting = CompletableFuture.supplyAsync(() -> {
+				try {
+					return JMXConnectorFactory.connect(new JMXServiceURL(url), null);
+				} catch (IOException e) {
+					throw new CompletionException(e);
+				}
+			}, executor);
+			//Connecting can't be interrupted. Whichever comes first, the connector or the timeout, decides whether
+			//the connector is used or closed, so that a connector established after the timeout doesn't leak.
+			AtomicBoolean settled = new AtomicBoolean();
+			connecting.whenComplete((c, error) -> {
+				if (c != null && !settled.compareAndSet(false, true)) {
+					logger.info("Closing JMX connector established after the timeout: {}", c);
+					close(c);
+				}
+			});
+			JMXConnector connector;
+			try {
+				connector = await(connecting, connectTimeoutMillis, "Connecting to " + url);
+			} catch (TimeoutException e) {
+				if (settled.compareAndSet(false, true)) {
+					throw e;
+				}
+				//Connected right at the timeout
+				connector = connecting.join();
+			}
+			logger.info("Created JMX connector: {}", connector);
+
+			Connection connection = new Connection(connector);
+			synchronized (this) {
+				pendingConnects.remove(owner);
+				if (disposed) {
+					close(connector);
+					throw new IOException("JMX connection manager is disposed");
+				}
+				while (connections.size() >= maxConnections) {
+					Connection lru = removeLeastRecentlyUsed();
+					if (lru == null) {
+						close(connector);
+						throw new IOException("Too many JMX connections in use: " + connections.size());
+					}
+					evicted.add(lru);
+					capacityEvictions++;
+				}
+				connections.put(owner, connection);
+				connectionsCreated++;
+			}
+			result.complete(connection);
+		} catch (Throwable e) {
+			logger.info("Creating JMX connector failed: {}", ExceptionUtil.getMessage(e));
+			synchronized (this) {
+				pendingConnects.remove(owner);
+				connectFailures++;
+			}
+			result.completeExceptionally(e);
+		} finally {
+			for (Connection connection : evicted) {
+				logger.info("Closing least recently used JMX connector: {}", connection.connector);
+				close(connection.connector);
+			}
+		}
+	}
+
+	/**
+	 * @return The least recently used connection that is not in use, removed from the open connections, or null
+	 * if all connections are in use.
+	 */
+	private Connection removeLeastRecentlyUsed() {
+		//The entries of an IdentityHashMap are only valid while iterating, so keep the key and value
+		Object lruOwner = null;
+		Connection lru = null;
+		for (Map.Entry<Object, Connection> e : connections.entrySet()) {
+			if (e.getValue().inFlight == 0 && (lru == null || e.getValue().lastUsed - lru.lastUsed < 0)) {
+				lruOwner = e.getKey();
+				lru = e.getValue();
+			}
+		}
+		if (lru != null) {
+			connections.remove(lruOwner);
+		}
+		return lru;
+	}
+
+	private void evict(Object owner, Connection connection) {
+		synchronized (this) {
+			if (connections.get(owner) != connection) {
+				return; //already closed
+			}
+			connections.remove(owner);
+		}
+		close(connection.connector);
+	}
+
+	/**
+	 * Waits for the result of a future. The future is left alone when it times out, it is up to the caller to clean up after it.
+	 */
+	private <T> T await(Future<T> future, long timeoutMillis, String what) throws Exception {
+		try {
+			return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			synchronized (this) {
+				timeouts++;
+			}
+			throw new TimeoutException(what + " timed out after " + timeoutMillis + "ms");
+		} catch (ExecutionException e) {
+			throw ExceptionUtil.exception(e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause());
+		}
+	}
+
+	private static void close(JMXConnector connector) {
+		try {
+			logger.info("Disposing JMX connector: " + connector);
+			connector.close();
+		} catch (IOException e) {
+			//ignore
+		}
+	}
+
+}
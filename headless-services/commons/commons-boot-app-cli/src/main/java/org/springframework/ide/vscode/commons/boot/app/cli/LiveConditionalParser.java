@@ -32,11 +32,23 @@ import org.springframework.ide.vscode.commons.util.StringUtil;
 public class LiveConditionalParser {
 
 	private final String autoConfigRecord;
+	private final JSONObject autoConfigJson;
 	private final String appProcessName;
 	private final String appProcessId;
 
 	public LiveConditionalParser(String autoConfigRecord, String appProcessId, String appProcessName) {
 		this.autoConfigRecord = autoConfigRecord;
+		this.autoConfigJson = null;
+		this.appProcessId = appProcessId;
+		this.appProcessName = appProcessName;
+	}
+
+	/**
+	 * Parses an already converted autoconfig report, see {@link ActuatorDataConverter}.
+	 */
+	public LiveConditionalParser(JSONObject autoConfigReport, String appProcessId, String appProcessName) {
+		this.autoConfigRecord = null;
+		this.autoConfigJson = autoConfigReport;
 		this.appProcessId = appProcessId;
 		this.appProcessName = appProcessName;
 	}
@@ -44,8 +56,11 @@ public class LiveConditionalParser {
 	public Optional<List<LiveConditional>> parse() {
 		try {
 			List<LiveConditional> allConditionals = new ArrayList<>();
-			if (StringUtil.hasText(autoConfigRecord)) {
-				JSONObject autoConfigReport = new JSONObject(autoConfigRecord);
+			JSONObject autoConfigReport = autoConfigJson;
+			if (autoConfigReport == null && StringUtil.hasText(autoConfigRecord)) {
+				autoConfigReport = new JSONObject(autoConfigRecord);
+			}
+			if (autoConfigReport != null) {
 				if (autoConfigReport.has("contexts")) {
 					//more recently the report is nested inside the 'application' context.
 					autoConfigReport = autoConfigReport.getJSONObject("contexts").getJSONObject("application");
@@ -156,4 +171,9 @@ public class LiveConditionalParser {
 			String appProcessName) {
 		return new LiveConditionalParser(autoConfigRecord, appProcessId, appProcessName).parse();
 	}
+
+	public static Optional<List<LiveConditional>> parse(JSONObject autoConfigReport, String appProcessId,
+			String appProcessName) {
+		return new LiveConditionalParser(autoConfigReport, appProcessId, appProcessName).parse();
+	}
 }
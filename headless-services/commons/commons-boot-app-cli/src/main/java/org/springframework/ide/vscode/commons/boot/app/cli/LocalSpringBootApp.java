@@ -107,10 +107,11 @@ public class LocalSpringBootApp extends AbstractSpringBootApp {
 	public boolean isSpringBootApp() {
 		if (isSpringBootApp==null) {
 			try {
-				isSpringBootApp = !containsSystemProperty("sts4.languageserver.name")
+				AppIdentity identity = getIdentity();
+				isSpringBootApp = !identity.containsSystemProperty("sts4.languageserver.name")
 					&& (
-							isSpringBootAppClasspath() ||
-							isSpringBootAppSysprops()
+							isSpringBootAppClasspath(identity) ||
+							isSpringBootAppSysprops(identity)
 					);
 			} catch (Exception e) {
 				//Couldn't determine if the VM is a spring boot app. Could be it already died. Or could be its not accessible (yet).
@@ -122,13 +123,21 @@ public class LocalSpringBootApp extends AbstractSpringBootApp {
 		return isSpringBootApp;
 	}
 
-	private boolean isSpringBootAppSysprops() throws Exception {
-		Properties sysprops = getSystemProperties();
-		return "org.springframework.boot.loader".equals(sysprops.getProperty("java.protocol.handler.pkgs"));
+	private boolean isSpringBootAppSysprops(AppIdentity identity) {
+		return "org.springframework.boot.loader".equals(identity.getSystemProperty("java.protocol.handler.pkgs"));
 	}
 
-	private boolean isSpringBootAppClasspath() throws Exception {
-		return contains(getClasspath(), "spring-boot");
+	private boolean isSpringBootAppClasspath(AppIdentity identity) {
+		return contains(identity.getClasspath(), "spring-boot");
+	}
+
+	/**
+	 * Reads the identity from the system properties obtained through the attach API, so that discovering
+	 * apps does not require starting a JMX agent in every running VM.
+	 */
+	@Override
+	protected AppIdentity fetchIdentity() throws Exception {
+		return new AppIdentity(getProcessID(), getSystemProperties());
 	}
 
 	@Override
@@ -146,7 +155,7 @@ public class LocalSpringBootApp extends AbstractSpringBootApp {
 		return props.containsKey(key);
 	}
 
-	protected boolean contains(String[] cpElements, String element) {
+	protected boolean contains(Collection<String> cpElements, String element) {
 		for (String cpElement : cpElements) {
 			if (cpElement.contains(element)) {
 				return true;
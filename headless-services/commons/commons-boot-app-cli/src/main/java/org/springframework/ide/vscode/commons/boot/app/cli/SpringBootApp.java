@@ -17,6 +17,7 @@ import java.util.Properties;
 
 import org.springframework.ide.vscode.commons.boot.app.cli.livebean.LiveBeansModel;
 import org.springframework.ide.vscode.commons.boot.app.cli.requestmappings.RequestMapping;
+import org.springframework.ide.vscode.commons.boot.app.cli.requestmappings.RequestMappingIndex;
 
 import reactor.core.Disposable;
 
@@ -37,6 +38,28 @@ public interface SpringBootApp extends Disposable {
 	Optional<List<LiveConditional>> getLiveConditionals() throws Exception;
 	Properties getSystemProperties() throws Exception;
 
+	/**
+	 * @return Index of the request mappings of the app, or null if the app does not expose its request mappings.
+	 */
+	default RequestMappingIndex getRequestMappingIndex() throws Exception {
+		Collection<RequestMapping> mappings = getRequestMappings();
+		return mappings == null ? null : RequestMappingIndex.create(mappings);
+	}
+
+	/**
+	 * @return The metadata used to discover the app and to match it with projects. It does not change
+	 * for as long as the app is running.
+	 */
+	default AppIdentity getIdentity() throws Exception {
+		return new AppIdentity(getProcessID(), getSystemProperties());
+	}
+
+	/**
+	 * Closes the connections to the app. They are opened again the next time the app is queried.
+	 */
+	default void closeConnections() {
+	}
+
 	default String getSystemProperty(String string) throws Exception {
 		Object r = getSystemProperties().get(string);
 		if (r instanceof String) {
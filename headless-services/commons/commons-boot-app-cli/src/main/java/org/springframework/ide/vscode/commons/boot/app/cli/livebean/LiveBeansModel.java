@@ -17,6 +17,8 @@ import java.util.Set;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.springframework.ide.vscode.commons.boot.app.cli.ActuatorDataConverter;
 import org.springframework.ide.vscode.commons.util.Log;
 import org.springframework.ide.vscode.commons.util.StringUtil;
 
@@ -24,6 +26,7 @@ import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableMultiset;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashCode;
 
 /**
  * @author Martin Lippert
@@ -67,14 +70,14 @@ public class LiveBeansModel {
 	}
 
 	interface Parser {
-		LiveBeansModel parse(String json) throws Exception;
+		LiveBeansModel parse(Object json) throws Exception;
 	}
 
 	private static class Boot15Parser implements Parser {
 		@Override
-		public LiveBeansModel parse(String json) throws Exception {
+		public LiveBeansModel parse(Object json) throws Exception {
 			Builder model = LiveBeansModel.builder();
-			JSONArray mainArray = new JSONArray(json);
+			JSONArray mainArray = (JSONArray) json;
 			for (int i = 0; i < mainArray.length(); i++) {
 				JSONObject appContext = mainArray.getJSONObject(i);
 				if (appContext == null) continue;
@@ -119,9 +122,9 @@ public class LiveBeansModel {
 
 	private static class Boot20Parser implements Parser {
 		@Override
-		public LiveBeansModel parse(String json) throws Exception {
+		public LiveBeansModel parse(Object json) throws Exception {
 			Builder model = LiveBeansModel.builder();
-			JSONObject mainObject = new JSONObject(json);
+			JSONObject mainObject = (JSONObject) json;
 			mainObject = mainObject.getJSONObject("contexts");
 			for (String contextId : mainObject.keySet()) {
 				JSONObject contextObject = mainObject.getJSONObject(contextId);
@@ -164,8 +167,24 @@ public class LiveBeansModel {
 	};
 
 	public static LiveBeansModel parse(String json) {
-		List<Exception> exceptions = new ArrayList<>(PARSERS.length);
 		if (StringUtil.hasText(json)) {
+			try {
+				return parseJson(new JSONTokener(json).nextValue());
+			} catch (Exception e) {
+				Log.log(e);
+			}
+		}
+		return LiveBeansModel.builder().build();
+	}
+
+	/**
+	 * Builds the model from already parsed beans data.
+	 *
+	 * @param json {@link JSONArray} (boot 1.x) or {@link JSONObject} (boot 2.x) beans data.
+	 */
+	public static LiveBeansModel parseJson(Object json) {
+		List<Exception> exceptions = new ArrayList<>(PARSERS.length);
+		if (json != null && json != JSONObject.NULL) {
 			for (Parser parser : PARSERS) {
 				try {
 					LiveBeansModel model = parser.parse(json);
@@ -189,6 +208,7 @@ public class LiveBeansModel {
 	private final ImmutableListMultimap<String, LiveBean> beansViaType;
 	private final ImmutableListMultimap<String, LiveBean> beansViaName;
 	private final ImmutableListMultimap<String, LiveBean> beansViaDependency;
+	private volatile HashCode contentHash;
 
 	protected LiveBeansModel(
 			ImmutableListMultimap<String, LiveBean> beansViaName,
@@ -219,4 +239,20 @@ public class LiveBeansModel {
 		return beansViaName.keySet();
 	}
 
+	/**
+	 * @return Hash of the ids, aliases, scopes, types, resources and dependencies of all the beans, computed
+	 * the first time it is asked for. Models with the same content hash contain the same beans.
+	 */
+	public HashCode getContentHash() {
+		HashCode hash = contentHash;
+		if (hash == null) {
+			List<Object> beans = new ArrayList<>(beansViaName.size());
+			for (LiveBean bean : beansViaName.values()) {
+				beans.add(new Object[] { bean.getId(), bean.getAliases(), bean.getScope(), bean.getType(), bean.getResource(), bean.getDependencies() });
+			}
+			contentHash = hash = ActuatorDataConverter.structuralHash(beans);
+		}
+		return hash;
+	}
+
 }
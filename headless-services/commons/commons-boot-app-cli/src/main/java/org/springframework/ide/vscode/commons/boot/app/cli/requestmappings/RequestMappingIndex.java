@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.boot.app.cli.requestmappings;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.ide.vscode.commons.boot.app.cli.ActuatorDataConverter;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.hash.HashCode;
+
+/**
+ * Immutable index of the request mappings of a running app, for direct lookups by handler method
+ * and by path.
+ */
+public class RequestMappingIndex {
+
+	public static final RequestMappingIndex EMPTY = create(ImmutableList.of());
+
+	private final ImmutableList<RequestMapping> mappings;
+	private final ImmutableListMultimap<String, RequestMapping> byHandlerMethod;
+	private final ImmutableListMultimap<String, RequestMapping> byPath;
+	private volatile HashCode contentHash;
+
+	private RequestMappingIndex(ImmutableList<RequestMapping> mappings,
+			ImmutableListMultimap<String, RequestMapping> byHandlerMethod,
+			ImmutableListMultimap<String, RequestMapping> byPath) {
+		this.mappings = mappings;
+		this.byHandlerMethod = byHandlerMethod;
+		this.byPath = byPath;
+	}
+
+	public static RequestMappingIndex create(Collection<RequestMapping> mappings) {
+		ImmutableListMultimap.Builder<String, RequestMapping> byHandlerMethod = ImmutableListMultimap.builder();
+		ImmutableListMultimap.Builder<String, RequestMapping> byPath = ImmutableListMultimap.builder();
+		for (RequestMapping rm : mappings) {
+			String className = rm.getFullyQualifiedClassName();
+			if (className != null && rm.getMethodName() != null) {
+				byHandlerMethod.put(handlerMethodKey(sourceClassName(className), rm.getMethodName(), rm.getMethodParameters()), rm);
+			}
+			String[] paths = rm.getSplitPath();
+			if (paths != null) {
+				for (String path : paths) {
+					if (path != null) {
+						byPath.put(path, rm);
+					}
+				}
+			}
+		}
+		return new RequestMappingIndex(ImmutableList.copyOf(mappings), byHandlerMethod.build(), byPath.build());
+	}
+
+	/**
+	 * @return The class name as it appears in source code: without the suffix of spring's cglib generated subclasses
+	 * and with '.' rather than '$' as separator for nested classes.
+	 */
+	public static String sourceClassName(String className) {
+		int chop = className.indexOf("$$EnhancerBySpringCGLIB$$");
+		if (chop >= 0) {
+			className = className.substring(0, chop);
+		}
+		return className.replace('$', '.');
+	}
+
+	private static String handlerMethodKey(String className, String methodName, String[] parameterTypes) {
+		StringBuilder key = new StringBuilder(className).append('#').append(methodName).append('(');
+		if (parameterTypes != null) {
+			for (int i = 0; i < parameterTypes.length; i++) {
+				if (i > 0) {
+					key.append(',');
+				}
+				key.append(parameterTypes[i]);
+			}
+		}
+		return key.append(')').toString();
+	}
+
+	public ImmutableList<RequestMapping> getMappings() {
+		return mappings;
+	}
+
+	/**
+	 * @param className fully qualified class name of the handler, as it appears in source code (see {@link #sourceClassName(String)})
+	 * @param parameterTypes fully qualified erased parameter types of the handler method
+	 */
+	public List<RequestMapping> findByHandlerMethod(String className, String methodName, String[] parameterTypes) {
+		return byHandlerMethod.get(handlerMethodKey(className, methodName, parameterTypes));
+	}
+
+	public List<RequestMapping> findByPath(String path) {
+		return byPath.get(path);
+	}
+
+	/**
+	 * @return All the url patterns the app is mapping requests for.
+	 */
+	public Set<String> getPaths() {
+		return byPath.keySet();
+	}
+
+	public boolean isEmpty() {
+		return mappings.isEmpty();
+	}
+
+	/**
+	 * @return Hash of the paths, request methods and handler methods of all the mappings, computed the first time
+	 * it is asked for. Indexes with the same content hash contain the same mappings.
+	 */
+	public HashCode getContentHash() {
+		HashCode hash = contentHash;
+		if (hash == null) {
+			List<Object> content = new ArrayList<>(mappings.size());
+			for (RequestMapping rm : mappings) {
+				Set<String> requestMethods = rm.getRequestMethods();
+				content.add(new Object[] { rm.getSplitPath(), requestMethods == null ? null : new TreeSet<>(requestMethods),
+						rm.getFullyQualifiedClassName(), rm.getMethodName(), rm.getMethodParameters() });
+			}
+			contentHash = hash = ActuatorDataConverter.structuralHash(content);
+		}
+		return hash;
+	}
+
+}
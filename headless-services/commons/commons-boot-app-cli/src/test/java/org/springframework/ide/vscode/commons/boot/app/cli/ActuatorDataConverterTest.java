@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.boot.app.cli;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.OpenType;
+import javax.management.openmbean.SimpleType;
+
+import org.json.JSONObject;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.springframework.ide.vscode.commons.boot.app.cli.livebean.LiveBean;
+import org.springframework.ide.vscode.commons.boot.app.cli.livebean.LiveBeansModel;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+public class ActuatorDataConverterTest {
+
+	private static final int BEAN_COUNT = 5000;
+	private static final int BENCHMARK_RUNS = 10;
+
+	private final Gson gson = new GsonBuilder().disableHtmlEscaping().create();
+
+	@Test
+	public void boot2BeansSameAsJsonRoundTrip() throws Exception {
+		Map<String, Object> data = boot2Beans(BEAN_COUNT);
+
+		LiveBeansModel viaJson = LiveBeansModel.parse(gson.toJson(data));
+		LiveBeansModel direct = LiveBeansModel.parseJson(ActuatorDataConverter.toJson(data));
+
+		assertEquals(BEAN_COUNT, direct.getBeanNames().size());
+		assertSameModel(viaJson, direct);
+	}
+
+	@Ignore("Benchmark, depends on the machine and JIT timing")
+	@Test
+	public void directConversionFasterThanJsonRoundTrip() throws Exception {
+		Map<String, Object> data = boot2Beans(BEAN_COUNT);
+		long viaJsonNanos = Long.MAX_VALUE;
+		long directNanos = Long.MAX_VALUE;
+		//Best of several runs, the first ones warm up the JIT
+		for (int i = 0; i < BENCHMARK_RUNS; i++) {
+			long start = System.nanoTime();
+			LiveBeansModel.parse(gson.toJson(data));
+			viaJsonNanos = Math.min(viaJsonNanos, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			LiveBeansModel.parseJson(ActuatorDataConverter.toJson(data));
+			directNanos = Math.min(directNanos, System.nanoTime() - start);
+		}
+		assertTrue("Parsing " + BEAN_COUNT + " beans: via json " + viaJsonNanos / 1_000_000 + " ms, direct " + directNanos / 1_000_000 + " ms",
+				directNanos < viaJsonNanos);
+	}
+
+	@Test
+	public void boot1BeansSameAsJsonRoundTrip() throws Exception {
+		List<Object> data = boot1Beans(BEAN_COUNT);
+
+		LiveBeansModel viaJson = LiveBeansModel.parse(gson.toJson(data));
+		LiveBeansModel direct = LiveBeansModel.parseJson(ActuatorDataConverter.toJson(data));
+
+		assertEquals(BEAN_COUNT, direct.getBeanNames().size());
+		assertSameModel(viaJson, direct);
+	}
+
+	@Test
+	public void structuralHash() throws Exception {
+		Map<String, Object> data = boot2Beans(BEAN_COUNT);
+		assertEquals(ActuatorDataConverter.structuralHash(data), ActuatorDataConverter.structuralHash(boot2Beans(BEAN_COUNT)));
+
+		Map<String, Object> changed = boot2Beans(BEAN_COUNT);
+		bean(changed, "bean42").put("dependencies", Arrays.asList("bean1", "bean2"));
+		assertNotEquals(ActuatorDataConverter.structuralHash(data), ActuatorDataConverter.structuralHash(changed));
+
+		Map<String, Object> removed = boot2Beans(BEAN_COUNT);
+		bean(removed, "bean42").remove("resource");
+		assertNotEquals(ActuatorDataConverter.structuralHash(data), ActuatorDataConverter.structuralHash(removed));
+	}
+
+	@Test
+	public void nullsAndOpenTypes() throws Exception {
+		CompositeType type = new CompositeType("Bean", "Bean", new String[] {"name", "count"}, new String[] {"name", "count"},
+				new OpenType<?>[] {SimpleType.STRING, SimpleType.INTEGER});
+		Map<String, Object> values = new LinkedHashMap<>();
+		values.put("name", "foo");
+		values.put("count", 3);
+		CompositeData composite = new CompositeDataSupport(type, values);
+
+		Map<String, Object> data = new LinkedHashMap<>();
+		data.put("composite", composite);
+		data.put("missing", null);
+		data.put("array", new String[] {"a", null});
+
+		JSONObject json = ActuatorDataConverter.toJSONObject(data);
+		assertEquals("foo", json.getJSONObject("composite").getString("name"));
+		assertEquals(3, json.getJSONObject("composite").getInt("count"));
+		assertFalse(json.has("missing"));
+		assertEquals("a", json.getJSONArray("array").getString(0));
+		assertTrue(json.getJSONArray("array").isNull(1));
+	}
+
+	private static void assertSameModel(LiveBeansModel expected, LiveBeansModel actual) {
+		assertEquals(expected.getBeanNames(), actual.getBeanNames());
+		for (String name : expected.getBeanNames()) {
+			LiveBean e = expected.getBeansOfName(name).get(0);
+			LiveBean a = actual.getBeansOfName(name).get(0);
+			assertEquals(e.getType(), a.getType());
+			assertEquals(e.getScope(), a.getScope());
+			assertEquals(e.getResource(), a.getResource());
+			assertArrayEquals(e.getAliases(), a.getAliases());
+			assertArrayEquals(e.getDependencies(), a.getDependencies());
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> bean(Map<String, Object> boot2Beans, String name) {
+		Map<String, Object> contexts = (Map<String, Object>) boot2Beans.get("contexts");
+		Map<String, Object> application = (Map<String, Object>) contexts.get("application");
+		return (Map<String, Object>) ((Map<String, Object>) application.get("beans")).get(name);
+	}
+
+	private static Map<String, Object> beanData(int i) {
+		Map<String, Object> bean = new LinkedHashMap<>();
+		bean.put("aliases", i % 10 == 0 ? Arrays.asList("alias" + i) : new ArrayList<>());
+		bean.put("scope", "singleton");
+		bean.put("type", "com.example.Bean" + i);
+		bean.put("resource", i % 3 == 0 ? null : "file [/classes/com/example/Bean" + i + ".class]");
+		List<String> deps = new ArrayList<>();
+		for (int d = 1; d <= 3 && i - d >= 0; d++) {
+			deps.add("bean" + (i - d));
+		}
+		bean.put("dependencies", deps);
+		return bean;
+	}
+
+	private static Map<String, Object> boot2Beans(int count) {
+		Map<String, Object> beans = new LinkedHashMap<>();
+		for (int i = 0; i < count; i++) {
+			beans.put("bean" + i, beanData(i));
+		}
+		Map<String, Object> application = new LinkedHashMap<>();
+		application.put("beans", beans);
+		application.put("parentId", null);
+		Map<String, Object> contexts = new LinkedHashMap<>();
+		contexts.put("application", application);
+		Map<String, Object> data = new LinkedHashMap<>();
+		data.put("contexts", contexts);
+		return data;
+	}
+
+	private static List<Object> boot1Beans(int count) {
+		List<Object> beans = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Map<String, Object> bean = new LinkedHashMap<>();
+			bean.put("bean", "bean" + i);
+			bean.putAll(beanData(i));
+			beans.add(bean);
+		}
+		Map<String, Object> context = new LinkedHashMap<>();
+		context.put("context", "application");
+		context.put("parent", null);
+		context.put("beans", beans);
+		List<Object> data = new ArrayList<>();
+		data.add(context);
+		return data;
+	}
+
+}
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.boot.app.cli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Properties;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class AppIdentityTest {
+
+	@Test
+	public void derivedFromSystemProperties() {
+		Properties props = new Properties();
+		props.put("java.class.path", "/work/demo/target/classes" + File.pathSeparator + "/repo/spring-boot.jar");
+		props.put("sun.java.command", "com.example.DemoApplication --debug");
+		props.put(AppIdentity.PROJECT_NAME_PROPERTY, "demo");
+
+		AppIdentity identity = new AppIdentity("1234", props);
+		props.clear();
+
+		assertEquals("1234", identity.getProcessID());
+		assertEquals(ImmutableList.of("/work/demo/target/classes", "/repo/spring-boot.jar"), identity.getClasspath());
+		assertTrue(identity.getClasspathEntries().contains("/repo/spring-boot.jar"));
+		assertEquals("com.example.DemoApplication --debug", identity.getJavaCommand());
+		assertEquals("demo", identity.getProjectName());
+		assertTrue(identity.containsSystemProperty("sun.java.command"));
+	}
+
+	@Test
+	public void blankProjectName() {
+		Properties props = new Properties();
+		props.put(AppIdentity.PROJECT_NAME_PROPERTY, "  ");
+
+		AppIdentity identity = new AppIdentity("1234", props);
+
+		assertNull(identity.getProjectName());
+		assertTrue(identity.getClasspath().isEmpty());
+		assertNull(identity.getJavaCommand());
+		assertFalse(identity.containsSystemProperty("java.class.path"));
+	}
+
+}
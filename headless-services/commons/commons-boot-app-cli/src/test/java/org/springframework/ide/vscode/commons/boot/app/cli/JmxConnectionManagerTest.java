@@ -0,0 +1,322 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.boot.app.cli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.registry.Registry;
+import java.rmi.server.UnicastRemoteObject;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import javax.management.remote.JMXConnectionNotification;
+import javax.management.remote.JMXConnectorServer;
+import javax.management.remote.JMXConnectorServerFactory;
+import javax.management.remote.JMXServiceURL;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.ide.vscode.commons.boot.app.cli.JmxConnectionManager.Metrics;
+import org.springframework.ide.vscode.commons.util.RunnableWithException;
+
+public class JmxConnectionManagerTest {
+
+	public interface TestBeanMBean {
+		int getValue();
+		void sleep(long millis) throws InterruptedException;
+	}
+
+	public static class TestBean implements TestBeanMBean {
+
+		@Override
+		public int getValue() {
+			return 42;
+		}
+
+		@Override
+		public void sleep(long millis) throws InterruptedException {
+			Thread.sleep(millis);
+		}
+	}
+
+	private static final ObjectName TEST_BEAN = objectName("test:type=TestBean");
+
+	private static ObjectName objectName(String name) {
+		try {
+			return new ObjectName(name);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private MBeanServer mbeanServer;
+	private JMXConnectorServer connectorServer;
+	private String url;
+	private final AtomicInteger urlRequests = new AtomicInteger();
+	private JmxConnectionManager manager;
+
+	@Before
+	public void setup() throws Exception {
+		mbeanServer = MBeanServerFactory.newMBeanServer();
+		mbeanServer.registerMBean(new TestBean(), TEST_BEAN);
+		connectorServer = JMXConnectorServerFactory.newJMXConnectorServer(new JMXServiceURL("service:jmx:rmi://localhost"), null, mbeanServer);
+		connectorServer.start();
+		url = connectorServer.getAddress().toString();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		if (manager != null) {
+			manager.dispose();
+		}
+		connectorServer.stop();
+	}
+
+	private String getUrl() {
+		urlRequests.incrementAndGet();
+		return url;
+	}
+
+	private int getValue(Object owner) throws Exception {
+		return manager.withConnection(owner, this::getUrl, connector -> (Integer) connector.getMBeanServerConnection().getAttribute(TEST_BEAN, "Value"));
+	}
+
+	@Test
+	public void connectionIsReused() throws Exception {
+		manager = new JmxConnectionManager(Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofMinutes(1), 10);
+		Object app = new Object();
+
+		assertEquals(42, getValue(app));
+		assertEquals(42, getValue(app));
+
+		Metrics metrics = manager.getMetrics();
+		assertEquals(1, metrics.getOpenConnections());
+		assertEquals(1, metrics.getConnectionsCreated());
+		assertEquals(1, urlRequests.get());
+
+		manager.close(app);
+		assertEquals(0, manager.getMetrics().getOpenConnections());
+	}
+
+	@Test
+	public void hungRequestTimesOut() throws Exception {
+		manager = new JmxConnectionManager(Duration.ofSeconds(5), Duration.ofMillis(200), Duration.ofMinutes(1), 10);
+		Object app = new Object();
+
+		try {
+			manager.withConnection(app, this::getUrl, connector -> connector.getMBeanServerConnection().invoke(TEST_BEAN, "sleep",
+					new Object[] { 5000L }, new String[] { long.class.getName() }));
+			fail("Should have timed out");
+		} catch (TimeoutException e) {
+			//expected
+		}
+		Metrics metrics = manager.getMetrics();
+		assertEquals(1, metrics.getTimeouts());
+		assertEquals(0, metrics.getOpenConnections());
+
+		//The next request gets a new connection
+		assertEquals(42, getValue(app));
+		assertEquals(2, manager.getMetrics().getConnectionsCreated());
+	}
+
+	@Test
+	public void idleConnectionsAreClosed() throws Exception {
+		manager = new JmxConnectionManager(Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofMillis(100), 10);
+
+		assertEquals(42, getValue(new Object()));
+		Thread.sleep(500);
+
+		Metrics metrics = manager.getMetrics();
+		assertEquals(0, metrics.getOpenConnections());
+		assertEquals(1, metrics.getIdleEvictions());
+	}
+
+	@Test
+	public void leastRecentlyUsedConnectionIsClosedAtCapacity() throws Exception {
+		manager = new JmxConnectionManager(Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofMinutes(1), 1);
+		Object app1 = new Object();
+		Object app2 = new Object();
+
+		assertEquals(42, getValue(app1));
+		assertEquals(42, getValue(app2));
+
+		Metrics metrics = manager.getMetrics();
+		assertEquals(1, metrics.getOpenConnections());
+		assertEquals(1, metrics.getCapacityEvictions());
+	}
+
+	/**
+	 * Accepts connections, and forwards them to a given port once released. Never answers until then.
+	 */
+	private static class HoldingProxy implements AutoCloseable {
+
+		private final ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+		private final int targetPort;
+		private final CountDownLatch released = new CountDownLatch(1);
+		private final List<Socket> sockets = new CopyOnWriteArrayList<>();
+
+		HoldingProxy(int targetPort) throws IOException {
+			this.targetPort = targetPort;
+			daemon(() -> {
+				while (!serverSocket.isClosed()) {
+					Socket client = serverSocket.accept();
+					sockets.add(client);
+					daemon(() -> forward(client));
+				}
+			});
+		}
+
+		int getPort() {
+			return serverSocket.getLocalPort();
+		}
+
+		void release() {
+			released.countDown();
+		}
+
+		private void forward(Socket client) throws Exception {
+			released.await();
+			Socket target = new Socket(InetAddress.getLoopbackAddress(), targetPort);
+			sockets.add(target);
+			daemon(() -> pipe(target.getInputStream(), client.getOutputStream()));
+			pipe(client.getInputStream(), target.getOutputStream());
+		}
+
+		private static void pipe(InputStream in, OutputStream out) throws IOException {
+			byte[] buffer = new byte[4096];
+			int read;
+			while ((read = in.read(buffer)) >= 0) {
+				out.write(buffer, 0, read);
+				out.flush();
+			}
+		}
+
+		private static void daemon(RunnableWithException task) {
+			Thread thread = new Thread(() -> {
+				try {
+					task.run();
+				} catch (Exception e) {
+					//closed
+				}
+			});
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		@Override
+		public void close() throws IOException {
+			released.countDown();
+			serverSocket.close();
+			for (Socket socket : sockets) {
+				socket.close();
+			}
+		}
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+	@Test
+	public void connectToServerThatNeverAnswersTimesOut() throws Exception {
+		manager = new JmxConnectionManager(Duration.ofMillis(300), Duration.ofSeconds(5), Duration.ofMinutes(1), 10);
+
+		try (HoldingProxy neverAnswering = new HoldingProxy(freePort())) {
+			String jmxUrl = "service:jmx:rmi:///jndi/rmi://localhost:" + neverAnswering.getPort() + "/jmxrmi";
+			long start = System.currentTimeMillis();
+			try {
+				manager.withConnection(new Object(), () -> jmxUrl, connector -> connector.getConnectionId());
+				fail("Should have timed out");
+			} catch (TimeoutException e) {
+				//expected
+			}
+			assertTrue(System.currentTimeMillis() - start < 5000);
+		}
+		Metrics metrics = manager.getMetrics();
+		assertEquals(1, metrics.getTimeouts());
+		assertEquals(1, metrics.getConnectFailures());
+		assertEquals(0, metrics.getOpenConnections());
+	}
+
+	@Test
+	public void connectorEstablishedAfterTimeoutIsClosed() throws Exception {
+		manager = new JmxConnectionManager(Duration.ofMillis(300), Duration.ofSeconds(5), Duration.ofMinutes(1), 10);
+
+		int registryPort = freePort();
+		Registry registry = LocateRegistry.createRegistry(registryPort);
+		JMXConnectorServer server = JMXConnectorServerFactory.newJMXConnectorServer(
+				new JMXServiceURL("service:jmx:rmi:///jndi/rmi://localhost:" + registryPort + "/jmxrmi"), null, mbeanServer);
+		CountDownLatch opened = new CountDownLatch(1);
+		CountDownLatch closed = new CountDownLatch(1);
+		server.addNotificationListener((notification, handback) -> {
+			if (JMXConnectionNotification.OPENED.equals(notification.getType())) {
+				opened.countDown();
+			} else if (JMXConnectionNotification.CLOSED.equals(notification.getType())) {
+				closed.countDown();
+			}
+		}, null, null);
+		server.start();
+		try (HoldingProxy slowRegistry = new HoldingProxy(registryPort)) {
+			String jmxUrl = "service:jmx:rmi:///jndi/rmi://localhost:" + slowRegistry.getPort() + "/jmxrmi";
+			try {
+				manager.withConnection(new Object(), () -> jmxUrl, connector -> connector.getConnectionId());
+				fail("Should have timed out");
+			} catch (TimeoutException e) {
+				//expected
+			}
+
+			//The connection gets established after the timeout, and is closed right away
+			slowRegistry.release();
+			assertTrue(opened.await(10, TimeUnit.SECONDS));
+			assertTrue(closed.await(10, TimeUnit.SECONDS));
+			assertEquals(0, manager.getMetrics().getOpenConnections());
+		} finally {
+			server.stop();
+			UnicastRemoteObject.unexportObject(registry, true);
+		}
+	}
+
+	@Test
+	public void connectFailure() throws Exception {
+		manager = new JmxConnectionManager(Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofMinutes(1), 10);
+
+		try {
+			manager.withConnection(new Object(), () -> null, connector -> connector.getConnectionId());
+			fail("Should have failed to connect");
+		} catch (IOException e) {
+			//expected
+		}
+		Metrics metrics = manager.getMetrics();
+		assertEquals(1, metrics.getConnectFailures());
+		assertEquals(0, metrics.getOpenConnections());
+	}
+
+}
@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.boot.app.cli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.json.JSONObject;
+import org.junit.Test;
+import org.springframework.ide.vscode.commons.boot.app.cli.requestmappings.Boot1xRequestMapping;
+import org.springframework.ide.vscode.commons.boot.app.cli.requestmappings.RequestMapping;
+import org.springframework.ide.vscode.commons.boot.app.cli.requestmappings.RequestMappingIndex;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+public class RequestMappingIndexTest {
+
+	private static RequestMapping mapping(String pathKey, String method) {
+		return new Boot1xRequestMapping(pathKey, new JSONObject().put("method", method));
+	}
+
+	@Test
+	public void lookupByHandlerMethod() {
+		RequestMapping hello = mapping("{[/hello || /hi],methods=[GET]}", "public java.lang.String demo.MyController.hello(java.lang.String)");
+		RequestMapping bye = mapping("{[/bye],methods=[GET]}", "public java.lang.String demo.MyController$$EnhancerBySpringCGLIB$$1234.bye()");
+		RequestMappingIndex index = RequestMappingIndex.create(ImmutableList.of(hello, bye));
+
+		assertEquals(ImmutableList.of(hello), index.findByHandlerMethod("demo.MyController", "hello", new String[] {"java.lang.String"}));
+		assertEquals(ImmutableList.of(bye), index.findByHandlerMethod("demo.MyController", "bye", new String[0]));
+		assertTrue(index.findByHandlerMethod("demo.MyController", "hello", new String[0]).isEmpty());
+	}
+
+	@Test
+	public void lookupByPath() {
+		RequestMapping hello = mapping("{[/hello || /hi],methods=[GET]}", "public java.lang.String demo.MyController.hello()");
+		RequestMappingIndex index = RequestMappingIndex.create(ImmutableList.of(hello));
+
+		assertEquals(ImmutableSet.of("/hello", "/hi"), index.getPaths());
+		assertEquals(ImmutableList.of(hello), index.findByPath("/hi"));
+		assertTrue(index.findByPath("/bye").isEmpty());
+	}
+
+	@Test
+	public void nestedClassNames() {
+		assertEquals("demo.Outer.Inner", RequestMappingIndex.sourceClassName("demo.Outer$Inner$$EnhancerBySpringCGLIB$$abcd"));
+	}
+
+}
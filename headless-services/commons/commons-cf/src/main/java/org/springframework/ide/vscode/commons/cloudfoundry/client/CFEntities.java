@@ -32,4 +32,8 @@ public class CFEntities {
 	public static CFDomain createDomain(String name) {
 		return new CFDomainImpl(name);
 	}
+
+	public static CFStack createStack(String name) {
+		return new CFStackImpl(name);
+	}
 }
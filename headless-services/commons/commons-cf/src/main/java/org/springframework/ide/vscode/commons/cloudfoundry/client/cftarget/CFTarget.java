@@ -10,19 +10,29 @@
  *******************************************************************************/
 package org.springframework.ide.vscode.commons.cloudfoundry.client.cftarget;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.ide.vscode.commons.cloudfoundry.client.CFBuildpack;
 import org.springframework.ide.vscode.commons.cloudfoundry.client.CFDomain;
 import org.springframework.ide.vscode.commons.cloudfoundry.client.CFServiceInstance;
 import org.springframework.ide.vscode.commons.cloudfoundry.client.CFStack;
 import org.springframework.ide.vscode.commons.cloudfoundry.client.ClientRequests;
+import org.springframework.ide.vscode.commons.cloudfoundry.client.cftarget.CFTargetDiskCache.TargetData;
 
+import com.google.common.base.Ticker;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  *
@@ -32,6 +42,16 @@ import com.google.common.cache.LoadingCache;
  */
 public class CFTarget {
 
+	private static final Logger logger = LoggerFactory.getLogger(CFTarget.class);
+
+	/**
+	 * Executor used to revalidate stale cache entries in the background.
+	 */
+	private static final Executor REFRESH_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+			.setNameFormat("cf-target-refresh-%d")
+			.setDaemon(true)
+			.build());
+
 	private final CFClientParams params;
 	private final ClientRequests requests;
 	private final String targetName;
@@ -44,67 +64,124 @@ public class CFTarget {
 	private LoadingCache<String, List<CFDomain>> domainCache;
 	private LoadingCache<String, List<CFStack>> stacksCache;
 	private CFCallableContext callableContext;
-	
+
+	/*
+	 * Persistent copy of the cached information (optional, may be null)
+	 */
+	private final CFTargetDiskCache diskCache;
+	private final TargetData persistedData;
+
 	public CFTarget(String targetName, CFClientParams params, ClientRequests requests,
 			CFCallableContext callableContext) {
+		this(targetName, params, requests, callableContext, null);
+	}
+
+	public CFTarget(String targetName, CFClientParams params, ClientRequests requests,
+			CFCallableContext callableContext, CFTargetDiskCache diskCache) {
+		this(targetName, params, requests, callableContext, diskCache, Ticker.systemTicker());
+	}
+
+	public CFTarget(String targetName, CFClientParams params, ClientRequests requests,
+			CFCallableContext callableContext, CFTargetDiskCache diskCache, Ticker ticker) {
 		this.params = params;
 		this.requests = requests;
 		this.targetName = targetName;
 		this.callableContext = callableContext;
-		initCache(requests);
+		this.diskCache = diskCache;
+		TargetData persisted = diskCache == null ? null : diskCache.load(params);
+		this.persistedData = persisted == null ? new TargetData() : persisted;
+		initCache(requests, ticker);
+		if (persisted != null) {
+			seed(stacksCache, persisted.getStacks());
+			seed(servicesCache, persisted.getServices());
+			seed(buildpacksCache, persisted.getBuildpacks());
+			seed(domainCache, persisted.getDomains());
+		}
 	}
 
-	private void initCache(ClientRequests requests) {
-		CacheLoader<String, List<CFStack>> stacksLoader = new CacheLoader<String, List<CFStack>>() {
-
-			@Override
-			public List<CFStack> load(String key) throws Exception {
-				/* Cache of services does not use keys, as the whole cache
-				 * gets wiped clean on any new call to CF.
-				 */
-				return runAndCheckForFailure(() -> requests.getStacks());
-			}
-		};
-		this.stacksCache = CacheBuilder.newBuilder()
-				.expireAfterAccess(CFTargetCache.TARGET_EXPIRATION.toMillis(), TimeUnit.MILLISECONDS).build(stacksLoader);
-
+	/**
+	 * The caches below implement 'stale-while-revalidate'. Once a value has been
+	 * loaded, it is never evicted. Instead, when it is older than the refresh
+	 * interval, the next access returns the old value immediately and triggers a
+	 * reload in the background. If the reload fails, the last good value is
+	 * retained and is only revalidated again after another refresh interval.
+	 * <p>
+	 * Only the very first load for a target (when there is no value from memory
+	 * or from disk) blocks the caller.
+	 */
+	private void initCache(ClientRequests requests, Ticker ticker) {
+		/* Caches do not use keys, as there is only one target, and the whole cache
+		 * gets refreshed on any new call to CF.
+		 */
+		this.stacksCache = createCache("stacks", CFTargetCache.TARGET_EXPIRATION, ticker, () -> {
+			List<CFStack> stacks = runAndCheckForFailure(() -> requests.getStacks());
+			persistedData.setStacks(stacks);
+			return stacks;
+		});
+
+		this.servicesCache = createCache("services", CFTargetCache.SERVICES_EXPIRATION, ticker, () -> {
+			List<CFServiceInstance> services = runAndCheckForFailure(() -> requests.getServices());
+			persistedData.setServices(services);
+			return services;
+		});
+
+		this.buildpacksCache = createCache("buildpacks", CFTargetCache.TARGET_EXPIRATION, ticker, () -> {
+			List<CFBuildpack> buildpacks = runAndCheckForFailure(() -> requests.getBuildpacks());
+			persistedData.setBuildpacks(buildpacks);
+			return buildpacks;
+		});
+
+		this.domainCache = createCache("domains", CFTargetCache.TARGET_EXPIRATION, ticker, () -> {
+			List<CFDomain> domains = runAndCheckForFailure(() -> requests.getDomains());
+			persistedData.setDomains(domains);
+			return domains;
+		});
+	}
 
-		CacheLoader<String, List<CFServiceInstance>> servicesLoader = new CacheLoader<String, List<CFServiceInstance>>() {
+	private <T> LoadingCache<String, List<T>> createCache(String name, Duration refreshInterval, Ticker ticker, Callable<List<T>> fetcher) {
+		CacheLoader<String, List<T>> loader = new CacheLoader<String, List<T>>() {
 
 			@Override
-			public List<CFServiceInstance> load(String key) throws Exception {
-				/* Cache of services does not use keys, as the whole cache
-				 * gets wiped clean on any new call to CF.
-				 */
-				return runAndCheckForFailure(() -> requests.getServices());
+			public List<T> load(String key) throws Exception {
+				List<T> value = fetcher.call();
+				persist();
+				return value;
 			}
-		};
-		this.servicesCache = CacheBuilder.newBuilder()
-				.expireAfterAccess(CFTargetCache.SERVICES_EXPIRATION.toMillis(), TimeUnit.MILLISECONDS).build(servicesLoader);
-
-		CacheLoader<String, List<CFBuildpack>> buildpacksLoader = new CacheLoader<String, List<CFBuildpack>>() {
 
 			@Override
-			public List<CFBuildpack> load(String key) throws Exception {
-				/* Cache does not use keys, as the whole cache
-				 * gets wiped clean on any new call to CF.
-				 */
-				return runAndCheckForFailure(() -> requests.getBuildpacks());
+			public ListenableFuture<List<T>> reload(String key, List<T> oldValue) throws Exception {
+				try {
+					return Futures.immediateFuture(load(key));
+				} catch (Exception e) {
+					// Not rethrown, Guava would log it a second time. Keeping the old value
+					// also means the next attempt waits for another refresh interval.
+					logger.warn("Refreshing {} of CF target {} failed, keeping the last known value", name, targetName, e);
+					return Futures.immediateFuture(oldValue);
+				}
 			}
 		};
-		this.buildpacksCache = CacheBuilder.newBuilder()
-				.expireAfterAccess(CFTargetCache.TARGET_EXPIRATION.toMillis(), TimeUnit.MILLISECONDS).build(buildpacksLoader);
-
-		CacheLoader<String, List<CFDomain>> domainLoader = new CacheLoader<String, List<CFDomain>>() {
+		return CacheBuilder.newBuilder()
+				.ticker(ticker)
+				.refreshAfterWrite(refreshInterval.toMillis(), TimeUnit.MILLISECONDS)
+				.build(CacheLoader.asyncReloading(loader, REFRESH_EXECUTOR));
+	}
 
-			@Override
-			public List<CFDomain> load(String key) throws Exception {
-				return runAndCheckForFailure(() -> requests.getDomains());
-			}
+	/**
+	 * Initialize a cache with (potentially stale) data read from disk and
+	 * immediately start revalidating it in the background.
+	 */
+	private <T> void seed(LoadingCache<String, List<T>> cache, List<T> persisted) {
+		if (persisted != null) {
+			String key = getName();
+			cache.put(key, persisted);
+			cache.refresh(key);
+		}
+	}
 
-		};
-		this.domainCache = CacheBuilder.newBuilder()
-				.expireAfterAccess(CFTargetCache.TARGET_EXPIRATION.toMillis(), TimeUnit.MILLISECONDS).build(domainLoader);
+	private void persist() {
+		if (diskCache != null) {
+			diskCache.save(params, persistedData);
+		}
 	}
 
 	protected <T> T runAndCheckForFailure(Callable<T> callable) throws Exception {
@@ -25,6 +25,7 @@ import org.springframework.ide.vscode.commons.cloudfoundry.client.CloudFoundryCl
 import org.springframework.ide.vscode.commons.cloudfoundry.client.cftarget.CfTargetsInfo.TargetDiagnosticMessages;
 import org.springframework.ide.vscode.commons.util.StringUtil;
 
+import com.google.common.base.Ticker;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -37,6 +38,8 @@ public class CFTargetCache {
 	private final ClientTimeouts timeouts;
 	private LoadingCache<ClientParamsCacheKey, CFTarget> cache;
 	private List<ClientParamsProvider> _providers;
+	private final CFTargetDiskCache diskCache;
+	private final Ticker ticker;
 
 	public static final Duration SERVICES_EXPIRATION = Duration.ofSeconds(10);
 	public static final Duration TARGET_EXPIRATION = Duration.ofHours(1);
@@ -44,9 +47,30 @@ public class CFTargetCache {
 
 	public CFTargetCache(List<ClientParamsProvider> providers, CloudFoundryClientFactory clientFactory,
 			ClientTimeouts timeouts) {
+		this(providers, clientFactory, timeouts, null);
+	}
+
+	/**
+	 * @param diskCache optional, if non-null the last known good information for
+	 *            each target is persisted there and used to initialize newly
+	 *            created targets.
+	 */
+	public CFTargetCache(List<ClientParamsProvider> providers, CloudFoundryClientFactory clientFactory,
+			ClientTimeouts timeouts, CFTargetDiskCache diskCache) {
+		this(providers, clientFactory, timeouts, diskCache, Ticker.systemTicker());
+	}
+
+	/**
+	 * @param ticker time source deciding when the cached information of the
+	 *            targets is stale.
+	 */
+	public CFTargetCache(List<ClientParamsProvider> providers, CloudFoundryClientFactory clientFactory,
+			ClientTimeouts timeouts, CFTargetDiskCache diskCache, Ticker ticker) {
 		this.clientFactory = clientFactory;
 		this.timeouts = timeouts;
 		this._providers = providers;
+		this.diskCache = diskCache;
+		this.ticker = ticker;
 		initCache();
 	}
 
@@ -129,7 +153,7 @@ public class CFTargetCache {
 		CFCallableContext context = createCallingContext(provider);
 
 		CFTarget target = new CFTarget(getTargetName(params), params, clientFactory.getClient(params, timeouts),
-				context);
+				context, diskCache, ticker);
 		if (messages != null && StringUtil.hasText(messages.getTargetSource())) {
 			logger.info("Created CF target for [{}/{}], from {}", params.getOrgName(), params.getSpaceName(),
 					messages.getTargetSource());
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.cloudfoundry.client.cftarget;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ide.vscode.commons.cloudfoundry.client.CFBuildpack;
+import org.springframework.ide.vscode.commons.cloudfoundry.client.CFDomain;
+import org.springframework.ide.vscode.commons.cloudfoundry.client.CFEntities;
+import org.springframework.ide.vscode.commons.cloudfoundry.client.CFServiceInstance;
+import org.springframework.ide.vscode.commons.cloudfoundry.client.CFStack;
+
+import com.google.common.hash.Hashing;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Persists the last known good buildpacks, domains, stacks and services of a CF
+ * target on disk, so that a freshly started language server can provide hints
+ * before the first round-trip to CF has completed.
+ * <p>
+ * There is one json file per target. The file name is derived from the api url,
+ * user, org and space of the target.
+ */
+public class CFTargetDiskCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(CFTargetDiskCache.class);
+
+	public static final Path DEFAULT_LOCATION = Paths.get(System.getProperty("user.home"), ".sts4-cf-cache");
+
+	private final Path location;
+	private final Gson gson = new GsonBuilder().disableHtmlEscaping().create();
+
+	public CFTargetDiskCache(Path location) {
+		this.location = location;
+	}
+
+	/**
+	 * @return The persisted data for the given target, or null if nothing was persisted (or it could not be read).
+	 */
+	public synchronized TargetData load(CFClientParams params) {
+		Path file = fileFor(params);
+		if (Files.isRegularFile(file)) {
+			try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+				return gson.fromJson(reader, TargetData.class);
+			} catch (Exception e) {
+				logger.warn("Could not read cached CF target data from {}", file, e);
+			}
+		}
+		return null;
+	}
+
+	public synchronized void save(CFClientParams params, TargetData data) {
+		Path file = fileFor(params);
+		try {
+			String json;
+			// The setters of TargetData hold its lock, so they cannot change it while it is serialized
+			synchronized (data) {
+				json = gson.toJson(data);
+			}
+			Files.createDirectories(location);
+			Path tmp = Files.createTempFile(location, file.getFileName().toString(), ".tmp");
+			try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+				writer.write(json);
+			}
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (Exception e) {
+			logger.warn("Could not write cached CF target data to {}", file, e);
+		}
+	}
+
+	private Path fileFor(CFClientParams params) {
+		String key = params.getApiUrl() + "|" + params.getUsername() + "|" + params.getOrgName() + "|" + params.getSpaceName();
+		return location.resolve(Hashing.sha1().hashString(key, StandardCharsets.UTF_8).toString() + ".json");
+	}
+
+	/**
+	 * Json friendly snapshot of the cached information for a single target. A
+	 * null list means that piece of information was never fetched.
+	 */
+	public static class TargetData {
+
+		private List<String> buildpacks;
+		private List<String> domains;
+		private List<String> stacks;
+		private List<ServiceData> services;
+
+		public synchronized List<CFBuildpack> getBuildpacks() {
+			return buildpacks == null ? null : buildpacks.stream().map(CFEntities::createBuildpack).collect(Collectors.toList());
+		}
+
+		public synchronized void setBuildpacks(List<CFBuildpack> buildpacks) {
+			this.buildpacks = buildpacks.stream().map(CFBuildpack::getName).collect(Collectors.toList());
+		}
+
+		public synchronized List<CFDomain> getDomains() {
+			return domains == null ? null : domains.stream().map(CFEntities::createDomain).collect(Collectors.toList());
+		}
+
+		public synchronized void setDomains(List<CFDomain> domains) {
+			this.domains = domains.stream().map(CFDomain::getName).collect(Collectors.toList());
+		}
+
+		public synchronized List<CFStack> getStacks() {
+			return stacks == null ? null : stacks.stream().map(CFEntities::createStack).collect(Collectors.toList());
+		}
+
+		public synchronized void setStacks(List<CFStack> stacks) {
+			this.stacks = stacks.stream().map(CFStack::getName).collect(Collectors.toList());
+		}
+
+		public synchronized List<CFServiceInstance> getServices() {
+			return services == null ? null : services.stream().map(ServiceData::toServiceInstance).collect(Collectors.toList());
+		}
+
+		public synchronized void setServices(List<CFServiceInstance> services) {
+			this.services = services.stream().map(ServiceData::new).collect(Collectors.toList());
+		}
+	}
+
+	private static class ServiceData {
+		String name;
+		String service;
+		String plan;
+		String documentationUrl;
+		String description;
+		String dashboardUrl;
+
+		ServiceData(CFServiceInstance s) {
+			this.name = s.getName();
+			this.service = s.getService();
+			this.plan = s.getPlan();
+			this.documentationUrl = s.getDocumentationUrl();
+			this.description = s.getDescription();
+			this.dashboardUrl = s.getDashboardUrl();
+		}
+
+		CFServiceInstance toServiceInstance() {
+			return CFEntities.createServiceInstance(name, service, plan, documentationUrl, description, dashboardUrl);
+		}
+	}
+
+}
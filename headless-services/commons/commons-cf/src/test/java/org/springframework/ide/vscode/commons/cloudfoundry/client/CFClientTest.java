@@ -15,21 +15,27 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
+import java.io.File;
 import java.net.UnknownHostException;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.cloudfoundry.uaa.UaaException;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
 import org.springframework.ide.vscode.commons.cloudfoundry.client.cftarget.CFTarget;
 import org.springframework.ide.vscode.commons.cloudfoundry.client.cftarget.CFTargetCache;
+import org.springframework.ide.vscode.commons.cloudfoundry.client.cftarget.CFTargetDiskCache;
 import org.springframework.ide.vscode.commons.cloudfoundry.client.cftarget.CfCliParamsProvider;
 import org.springframework.ide.vscode.commons.cloudfoundry.client.cftarget.CfTargetsInfo.TargetDiagnosticMessages;
 import org.springframework.ide.vscode.commons.cloudfoundry.client.cftarget.ConnectionException;
 import org.springframework.ide.vscode.commons.cloudfoundry.client.cftarget.NoTargetsException;
 import org.springframework.ide.vscode.commons.util.ExceptionUtil;
 
+import com.google.common.base.Ticker;
 import com.google.common.collect.ImmutableList;
 
 public class CFClientTest {
@@ -37,6 +43,9 @@ public class CFClientTest {
 	MockCfCli cloudfoundry = new MockCfCli();
 	ClientTimeouts timeouts = new ClientTimeouts();
 	CFTargetCache targetCache;
+
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
 	TargetDiagnosticMessages expectedMessages = CfCliParamsProvider.CLI_PROVIDER_MESSAGES;
 
 	@Before
@@ -140,6 +149,47 @@ public class CFClientTest {
 		assertTrue(target.getServices().isEmpty());
 	}
 
+	@Test
+	public void testDomainsFromDiskCache() throws Exception {
+		File cacheDir = tmp.newFolder();
+		ClientRequests client = cloudfoundry.client;
+		CFDomain domain = Mockito.mock(CFDomain.class);
+		when(domain.getName()).thenReturn("cfapps.io");
+		when(client.getDomains()).thenReturn(ImmutableList.of(domain));
+
+		targetCache = new CFTargetCache(ImmutableList.of(cloudfoundry.paramsProvider), cloudfoundry.factory, timeouts, new CFTargetDiskCache(cacheDir.toPath()));
+		assertEquals("cfapps.io", targetCache.getOrCreate().get(0).getDomains().get(0).getName());
+
+		// A 'restarted' target cache should get the persisted domains even though CF is now unreachable
+		when(client.getDomains()).thenThrow(new UnknownHostException("api.run.pivotal.io"));
+		targetCache = new CFTargetCache(ImmutableList.of(cloudfoundry.paramsProvider), cloudfoundry.factory, timeouts, new CFTargetDiskCache(cacheDir.toPath()));
+		assertEquals("cfapps.io", targetCache.getOrCreate().get(0).getDomains().get(0).getName());
+	}
+
+	@Test
+	public void testStaleServicesReturnedWhileRefreshing() throws Exception {
+		AtomicLong nanos = new AtomicLong();
+		Ticker ticker = new Ticker() {
+			@Override
+			public long read() {
+				return nanos.get();
+			}
+		};
+		targetCache = new CFTargetCache(ImmutableList.of(cloudfoundry.paramsProvider), cloudfoundry.factory, timeouts, null, ticker);
+		ClientRequests client = cloudfoundry.client;
+		CFServiceInstance service = Mockito.mock(CFServiceInstance.class);
+		when(service.getName()).thenReturn("appdb");
+		when(client.getServices()).thenReturn(ImmutableList.of(service));
+
+		CFTarget target = targetCache.getOrCreate().get(0);
+		assertEquals("appdb", target.getServices().get(0).getName());
+
+		// Once loaded, failures to revalidate should not hide the last good value
+		when(client.getServices()).thenThrow(new UnknownHostException("api.run.pivotal.io"));
+		nanos.addAndGet(CFTargetCache.SERVICES_EXPIRATION.plusMillis(1).toNanos());
+		assertEquals("appdb", target.getServices().get(0).getName());
+	}
+
 	protected void assertError(Callable<?> callable, Class<? extends Throwable> expected, String expectedMessage)
 			throws Exception {
 		Throwable error = null;
@@ -11,6 +11,7 @@
 
 package org.springframework.ide.vscode.commons.jandex;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 import org.jboss.jandex.AnnotationInstance;
@@ -39,6 +40,11 @@ public class AnnotationImpl implements IAnnotation {
 		return javadocProvider == null ? null : javadocProvider.getJavadoc(this);
 	}
 
+	@Override
+	public CompletableFuture<IJavadoc> getJavaDocAsync() {
+		return javadocProvider == null ? CompletableFuture.completedFuture(null) : javadocProvider.getJavadocAsync(this);
+	}
+
 	@Override
 	public boolean exists() {
 		return true;
@@ -11,6 +11,7 @@
 
 package org.springframework.ide.vscode.commons.jandex;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
@@ -55,6 +56,11 @@ class FieldImpl implements IField {
 		return javadocProvider == null ? null : javadocProvider.getJavadoc(this);
 	}
 
+	@Override
+	public CompletableFuture<IJavadoc> getJavaDocAsync() {
+		return javadocProvider == null ? CompletableFuture.completedFuture(null) : javadocProvider.getJavadocAsync(this);
+	}
+
 	@Override
 	public boolean exists() {
 		return true;
@@ -11,6 +11,7 @@
 
 package org.springframework.ide.vscode.commons.jandex;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 import org.jboss.jandex.MethodInfo;
@@ -60,6 +61,11 @@ public class MethodImpl implements IMethod {
 		return javadocProvider == null ? null : javadocProvider.getJavadoc(this);
 	}
 
+	@Override
+	public CompletableFuture<IJavadoc> getJavaDocAsync() {
+		return javadocProvider == null ? CompletableFuture.completedFuture(null) : javadocProvider.getJavadocAsync(this);
+	}
+
 	@Override
 	public boolean exists() {
 		return true;
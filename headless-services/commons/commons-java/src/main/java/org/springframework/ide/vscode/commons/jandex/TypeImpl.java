@@ -13,6 +13,7 @@ package org.springframework.ide.vscode.commons.jandex;
 
 import java.io.File;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -66,6 +67,11 @@ class TypeImpl implements IType {
 		return javadocProvider == null ? null : javadocProvider.getJavadoc(this);
 	}
 
+	@Override
+	public CompletableFuture<IJavadoc> getJavaDocAsync() {
+		return javadocProvider == null ? CompletableFuture.completedFuture(null) : javadocProvider.getJavadocAsync(this);
+	}
+
 	@Override
 	public boolean exists() {
 		return true;
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.java;
+
+import java.util.List;
+
+import org.springframework.ide.vscode.commons.languageserver.jdt.ls.Classpath.CPE;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Describes how a project's classpath changed, so that listeners can decide whether they have
+ * to rebuild what they derived from it, can patch it, or can skip the event altogether.
+ * <p>
+ * Entries are identified by their kind and path. An entry is 'changed' when some of its other
+ * attributes (e.g. source attachment), or the size or timestamp of its jar, are different.
+ */
+public final class ClasspathDiff {
+
+	/**
+	 * Diff for when it is unknown what changed. Listeners should assume everything did.
+	 */
+	public static final ClasspathDiff UNKNOWN = new ClasspathDiff(ImmutableList.of(), ImmutableList.of(), ImmutableList.of(), true);
+
+	private final ImmutableList<CPE> added;
+	private final ImmutableList<CPE> removed;
+	private final ImmutableList<CPE> changed;
+	private final boolean binaryRootsChanged;
+
+	public ClasspathDiff(List<CPE> added, List<CPE> removed, List<CPE> changed, boolean binaryRootsChanged) {
+		this.added = ImmutableList.copyOf(added);
+		this.removed = ImmutableList.copyOf(removed);
+		this.changed = ImmutableList.copyOf(changed);
+		this.binaryRootsChanged = binaryRootsChanged;
+	}
+
+	public ImmutableList<CPE> getAdded() {
+		return added;
+	}
+
+	public ImmutableList<CPE> getRemoved() {
+		return removed;
+	}
+
+	public ImmutableList<CPE> getChanged() {
+		return changed;
+	}
+
+	/**
+	 * @return Whether the ordered list of binary roots (jars and output folders, see {@link IClasspathUtil#getAllBinaryRoots(IClasspath)}),
+	 * or the contents of any of its jars, changed. When false, anything derived by compiling or resolving against the classpath
+	 * (ASTs with bindings, type indexes, property metadata) is still valid.
+	 */
+	public boolean isBinaryRootsChanged() {
+		return binaryRootsChanged;
+	}
+
+	public boolean isEmpty() {
+		return !binaryRootsChanged && added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		if (this == UNKNOWN) {
+			return "ClasspathDiff [UNKNOWN]";
+		}
+		return "ClasspathDiff [added=" + added.size() + ", removed=" + removed.size() + ", changed=" + changed.size()
+				+ ", binaryRootsChanged=" + binaryRootsChanged + "]";
+	}
+
+}
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.java;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ide.vscode.commons.languageserver.jdt.ls.Classpath;
+import org.springframework.ide.vscode.commons.languageserver.jdt.ls.Classpath.CPE;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Snapshot of the contents of a classpath: its entries and the size and timestamp of its jars.
+ * Two fingerprints are equal when the classpaths they were computed from can be assumed to be
+ * equivalent.
+ */
+public final class ClasspathFingerprint {
+
+	private static final Logger log = LoggerFactory.getLogger(ClasspathFingerprint.class);
+
+	private final String hash;
+
+	/**
+	 * Hash of only the ordered binary roots and the stamps of the jars among them.
+	 */
+	private final String binaryRootsHash;
+
+	/**
+	 * Entries keyed by kind and path, with a string describing all their attributes as value.
+	 */
+	private final Map<String, String> descriptors;
+	private final Map<String, CPE> entries;
+
+	private ClasspathFingerprint(String hash, String binaryRootsHash, Map<String, String> descriptors, Map<String, CPE> entries) {
+		this.hash = hash;
+		this.binaryRootsHash = binaryRootsHash;
+		this.descriptors = descriptors;
+		this.entries = entries;
+	}
+
+	public static ClasspathFingerprint of(IClasspath classpath) {
+		Collection<CPE> cpes = ImmutableList.of();
+		try {
+			cpes = classpath.getClasspathEntries();
+		} catch (Exception e) {
+			log.error("Cannot obtain classpath entries for " + classpath.getName(), e);
+		}
+		Map<String, String> descriptors = new LinkedHashMap<>();
+		Map<String, CPE> entries = new LinkedHashMap<>();
+		Set<String> binaryRoots = new LinkedHashSet<>();
+		for (CPE cpe : cpes) {
+			String key = key(cpe);
+			descriptors.put(key, descriptor(cpe));
+			entries.put(key, cpe);
+			String root = binaryRoot(cpe);
+			if (root != null) {
+				binaryRoots.add(isBinary(cpe) ? root + stamp(cpe) : root);
+			}
+		}
+
+		Hasher hasher = Hashing.sha1().newHasher();
+		hasher.putString(String.valueOf(classpath.getName()), StandardCharsets.UTF_8);
+		for (String descriptor : descriptors.values()) {
+			hasher.putChar('\n').putString(descriptor, StandardCharsets.UTF_8);
+		}
+		Hasher binaryHasher = Hashing.sha1().newHasher();
+		for (String root : binaryRoots) {
+			binaryHasher.putString(root, StandardCharsets.UTF_8).putChar('\n');
+		}
+		return new ClasspathFingerprint(hasher.hash().toString(), binaryHasher.hash().toString(), descriptors, entries);
+	}
+
+	private static String key(CPE cpe) {
+		return cpe.getKind() + ":" + cpe.getPath();
+	}
+
+	private static String binaryRoot(CPE cpe) {
+		return isBinary(cpe) ? cpe.getPath() : cpe.getOutputFolder();
+	}
+
+	private static boolean isBinary(CPE cpe) {
+		return Classpath.ENTRY_KIND_BINARY.equals(cpe.getKind());
+	}
+
+	private static String descriptor(CPE cpe) {
+		return cpe.getKind() + "|" + cpe.getPath() + "|" + cpe.getOutputFolder() + "|" + cpe.getSourceContainerUrl()
+				+ "|" + cpe.getJavadocContainerUrl() + "|" + cpe.isSystem() + (isBinary(cpe) ? stamp(cpe) : "");
+	}
+
+	/**
+	 * @return String identifying the version of the jar of a binary entry. Empty for folders and missing files.
+	 */
+	private static String stamp(CPE cpe) {
+		File file = new File(cpe.getPath());
+		if (file.isFile()) {
+			return "@" + file.lastModified() + "/" + file.length();
+		}
+		return "";
+	}
+
+	/**
+	 * @param previous fingerprint of the classpath before the change, may be null, in which case all entries are reported as added.
+	 */
+	public ClasspathDiff diff(ClasspathFingerprint previous) {
+		if (previous == null) {
+			return new ClasspathDiff(ImmutableList.copyOf(entries.values()), ImmutableList.of(), ImmutableList.of(), true);
+		}
+		List<CPE> added = new ArrayList<>();
+		List<CPE> changed = new ArrayList<>();
+		List<CPE> removed = new ArrayList<>();
+		for (Entry<String, String> e : descriptors.entrySet()) {
+			String oldDescriptor = previous.descriptors.get(e.getKey());
+			if (oldDescriptor == null) {
+				added.add(entries.get(e.getKey()));
+			} else if (!oldDescriptor.equals(e.getValue())) {
+				changed.add(entries.get(e.getKey()));
+			}
+		}
+		for (Entry<String, CPE> e : previous.entries.entrySet()) {
+			if (!descriptors.containsKey(e.getKey())) {
+				removed.add(e.getValue());
+			}
+		}
+		return new ClasspathDiff(added, removed, changed, !binaryRootsHash.equals(previous.binaryRootsHash));
+	}
+
+	@Override
+	public int hashCode() {
+		return hash.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof ClasspathFingerprint && hash.equals(((ClasspathFingerprint) obj).hash);
+	}
+
+	@Override
+	public String toString() {
+		return "ClasspathFingerprint [" + hash + "]";
+	}
+
+}
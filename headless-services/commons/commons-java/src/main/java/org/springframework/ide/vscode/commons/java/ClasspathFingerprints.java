@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.java;
+
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers the {@link ClasspathFingerprint} of each project (by location) as last reported
+ * to listeners, so that project caches can tell them what changed in a project's classpath.
+ */
+public class ClasspathFingerprints {
+
+	private final ConcurrentMap<URI, ClasspathFingerprint> fingerprints = new ConcurrentHashMap<>();
+
+	/**
+	 * Computes and remembers the fingerprint of the project's current classpath.
+	 *
+	 * @return The diff with the fingerprint remembered before for the same project.
+	 */
+	public ClasspathDiff update(IJavaProject project) {
+		return update(project.getLocationUri(), project.getClasspath());
+	}
+
+	/**
+	 * Computes and remembers the fingerprint of a classpath for a project location.
+	 *
+	 * @return The diff with the fingerprint remembered before for the same location.
+	 */
+	public ClasspathDiff update(URI projectLocation, IClasspath classpath) {
+		if (projectLocation == null) {
+			return ClasspathDiff.UNKNOWN;
+		}
+		ClasspathFingerprint fingerprint = ClasspathFingerprint.of(classpath);
+		return fingerprint.diff(fingerprints.put(projectLocation, fingerprint));
+	}
+
+	public void remove(IJavaProject project) {
+		remove(project.getLocationUri());
+	}
+
+	public void remove(URI projectLocation) {
+		if (projectLocation != null) {
+			fingerprints.remove(projectLocation);
+		}
+	}
+
+}
@@ -10,11 +10,21 @@
  *******************************************************************************/
 package org.springframework.ide.vscode.commons.java;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.ide.vscode.commons.javadoc.IJavadoc;
 
 public interface IJavaElement {
 	String getElementName();
 	IJavadoc getJavaDoc();
+
+	/**
+	 * Non-blocking variant of {@link #getJavaDoc()}.
+	 */
+	default CompletableFuture<IJavadoc> getJavaDocAsync() {
+		return CompletableFuture.completedFuture(getJavaDoc());
+	}
+
 	String getBindingKey();
 	boolean exists();
 }
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.springframework.ide.vscode.commons.java;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.ide.vscode.commons.javadoc.IJavadoc;
 
 public interface IJavadocProvider {
@@ -22,6 +24,24 @@ public interface IJavadocProvider {
 
 	IJavadoc getJavadoc(IAnnotation annotation);
 
+	/**
+	 * Non-blocking variant of the 'getJavadoc' methods. Providers that have to ask someone else for the
+	 * javadoc should override this, so that callers can start several lookups before waiting for any of them.
+	 */
+	default CompletableFuture<IJavadoc> getJavadocAsync(IJavaElement element) {
+		IJavadoc javadoc = null;
+		if (element instanceof IType) {
+			javadoc = getJavadoc((IType) element);
+		} else if (element instanceof IField) {
+			javadoc = getJavadoc((IField) element);
+		} else if (element instanceof IMethod) {
+			javadoc = getJavadoc((IMethod) element);
+		} else if (element instanceof IAnnotation) {
+			javadoc = getJavadoc((IAnnotation) element);
+		}
+		return CompletableFuture.completedFuture(javadoc);
+	}
+
 	final static IJavadocProvider NULL = new IJavadocProvider() {
 
 		@Override
@@ -11,14 +11,11 @@
 
 package org.springframework.ide.vscode.commons.javadoc;
 
-import java.net.URL;
-
 import org.springframework.ide.vscode.commons.java.IAnnotation;
 import org.springframework.ide.vscode.commons.java.IField;
 import org.springframework.ide.vscode.commons.java.IJavadocProvider;
 import org.springframework.ide.vscode.commons.java.IMethod;
 import org.springframework.ide.vscode.commons.java.IType;
-import org.springframework.ide.vscode.commons.javadoc.internal.JavadocContents;
 import org.springframework.ide.vscode.commons.util.Log;
 
 public class HtmlJavadocProvider implements IJavadocProvider {
@@ -32,8 +29,7 @@ public class HtmlJavadocProvider implements IJavadocProvider {
 	@Override
 	public IJavadoc getJavadoc(IType type) {
 		try {
-			JavadocContents javadocContents = findHtml(type);
-			String html = javadocContents == null ? null : javadocContents.getTypeDoc(type);
+			String html = HtmlJavadocIndex.DEFAULT.getTypeDoc(htmlUrlProvider.sourceUrl(type), type);
 			return html == null ? null : new HtmlJavadoc(html);
 		} catch (Exception e) {
 			Log.log(e);
@@ -44,9 +40,7 @@ public class HtmlJavadocProvider implements IJavadocProvider {
 	@Override
 	public IJavadoc getJavadoc(IField field) {
 		try {
-			IType declaringType = field.getDeclaringType();
-			JavadocContents javadocContents = findHtml(declaringType);
-			String html = javadocContents == null ? null : javadocContents.getFieldDoc(field);
+			String html = HtmlJavadocIndex.DEFAULT.getFieldDoc(htmlUrlProvider.sourceUrl(field.getDeclaringType()), field);
 			return html == null ? null : new HtmlJavadoc(html);
 		} catch (Exception e) {
 			Log.log(e);
@@ -57,9 +51,7 @@ public class HtmlJavadocProvider implements IJavadocProvider {
 	@Override
 	public IJavadoc getJavadoc(IMethod method) {
 		try {
-			IType declaringType = method.getDeclaringType();
-			JavadocContents javadocContents = findHtml(declaringType);
-			String html = javadocContents == null ? null : javadocContents.getMethodDoc(method);
+			String html = HtmlJavadocIndex.DEFAULT.getMethodDoc(htmlUrlProvider.sourceUrl(method.getDeclaringType()), method);
 			return html == null ? null : new HtmlJavadoc(html);
 		} catch (Exception e) {
 			Log.log(e);
@@ -72,9 +64,4 @@ public class HtmlJavadocProvider implements IJavadocProvider {
 		throw new UnsupportedOperationException("Not yet implemented");
 	}
 	
-	private JavadocContents findHtml(IType type) throws Exception {
-		URL url = htmlUrlProvider.sourceUrl(type);
-		return HtmlJavadocIndex.DEFAULT.getHtmlJavadoc(url);
-	}
-	
 }
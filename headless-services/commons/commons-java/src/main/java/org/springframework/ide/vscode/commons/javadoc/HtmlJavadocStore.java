@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.javadoc;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.springframework.ide.vscode.commons.java.IField;
+import org.springframework.ide.vscode.commons.java.IJavaElement;
+import org.springframework.ide.vscode.commons.java.IMethod;
+import org.springframework.ide.vscode.commons.java.IType;
+import org.springframework.ide.vscode.commons.javadoc.internal.JavadocContents;
+import org.springframework.ide.vscode.commons.util.Log;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+
+/**
+ * {@link HtmlJavadocIndex} that keeps only the javadoc fragments of individual members in memory,
+ * rather than the contents of whole javadoc pages.
+ * <ul>
+ *   <li>Fragments are kept in an LRU cache bounded by their total size.</li>
+ *   <li>Only the last few parsed pages are kept around, to avoid re-reading a page when the docs of
+ *       several of its members are requested one after the other.</li>
+ *   <li>Optionally, fragments are persisted on disk, keyed by page url and last modified time of the
+ *       page (or of the jar containing it).</li>
+ *   <li>Pages inside a jar are read directly from the zip entry.</li>
+ * </ul>
+ */
+public class HtmlJavadocStore implements HtmlJavadocIndex {
+
+	public static final Path DEFAULT_CACHE_LOCATION = Paths.get(System.getProperty("user.home"), ".sts4-javadoc-cache");
+
+	/**
+	 * Maximum total number of chars of the fragments kept in memory.
+	 */
+	private static final long MAX_FRAGMENT_CHARS = 4_000_000;
+
+	private static final long MAX_PAGES = 4;
+
+	private static final char HAS_DOC = '+';
+	private static final char NO_DOC = '-';
+
+	@FunctionalInterface
+	interface Extractor {
+		String extract(JavadocContents page) throws Exception;
+	}
+
+	private final Path diskCache;
+
+	private final Cache<String, Optional<String>> fragments = CacheBuilder.newBuilder()
+			.maximumWeight(MAX_FRAGMENT_CHARS)
+			.weigher((String key, Optional<String> fragment) -> key.length() + fragment.map(String::length).orElse(0))
+			.build();
+
+	private final Cache<String, Optional<JavadocContents>> pages = CacheBuilder.newBuilder()
+			.maximumSize(MAX_PAGES)
+			.build();
+
+	/**
+	 * @param diskCache directory to persist extracted fragments, may be null (no persistence).
+	 */
+	public HtmlJavadocStore(Path diskCache) {
+		this.diskCache = diskCache;
+	}
+
+	@Override
+	public JavadocContents getHtmlJavadoc(URL url) {
+		return getPage(url, lastModified(url));
+	}
+
+	@Override
+	public String getTypeDoc(URL url, IType type) throws Exception {
+		return fragment(url, "type:" + memberKey(type), page -> page.getTypeDoc(type));
+	}
+
+	@Override
+	public String getFieldDoc(URL url, IField field) throws Exception {
+		return fragment(url, "field:" + memberKey(field), page -> page.getFieldDoc(field));
+	}
+
+	@Override
+	public String getMethodDoc(URL url, IMethod method) throws Exception {
+		return fragment(url, "method:" + memberKey(method), page -> page.getMethodDoc(method));
+	}
+
+	private static String memberKey(IJavaElement element) {
+		String bindingKey = element.getBindingKey();
+		return bindingKey != null ? bindingKey : element.getElementName();
+	}
+
+	String fragment(URL url, String memberKey, Extractor extractor) throws Exception {
+		if (url == null) {
+			return null;
+		}
+		long lastModified = lastModified(url);
+		String key = url + "\n" + lastModified + "\n" + memberKey;
+		Optional<String> fragment = fragments.getIfPresent(key);
+		if (fragment == null) {
+			fragment = loadPersisted(key);
+			if (fragment == null) {
+				JavadocContents page = getPage(url, lastModified);
+				if (page == null) {
+					fragment = Optional.empty();
+				} else {
+					fragment = Optional.ofNullable(extractor.extract(page));
+					persist(key, fragment);
+				}
+			}
+			fragments.put(key, fragment);
+		}
+		return fragment.orElse(null);
+	}
+
+	private JavadocContents getPage(URL url, long lastModified) {
+		try {
+			return pages.get(url + "\n" + lastModified, () -> {
+				try {
+					String html = read(url);
+					return html == null ? Optional.empty() : Optional.of(new JavadocContents(html));
+				} catch (IOException e) {
+					Log.log("Cannot load javadoc content from " + url, e);
+					return Optional.empty();
+				}
+			}).orElse(null);
+		} catch (ExecutionException e) {
+			Log.log(e);
+			return null;
+		}
+	}
+
+	/**
+	 * @return The local file of a 'file:' url, or of the jar for a 'jar:file:' url. Null for other urls.
+	 */
+	private static File localFile(URL url) {
+		try {
+			if ("file".equals(url.getProtocol())) {
+				return Paths.get(url.toURI()).toFile();
+			} else if ("jar".equals(url.getProtocol())) {
+				String path = url.getPath();
+				int separator = path.indexOf("!/");
+				if (separator > 0) {
+					URL jarUrl = new URL(path.substring(0, separator));
+					if ("file".equals(jarUrl.getProtocol())) {
+						return Paths.get(jarUrl.toURI()).toFile();
+					}
+				}
+			}
+		} catch (Exception e) {
+			//Not a url we can map to a local file
+		}
+		return null;
+	}
+
+	/**
+	 * @return Last modified time of the local file for the url. Remote pages are assumed to never change, 0 is returned for them.
+	 */
+	private static long lastModified(URL url) {
+		File file = localFile(url);
+		return file == null ? 0 : file.lastModified();
+	}
+
+	private static String read(URL url) throws IOException {
+		if ("jar".equals(url.getProtocol())) {
+			File jar = localFile(url);
+			if (jar != null) {
+				String path = url.getPath();
+				String entryName = path.substring(path.indexOf("!/") + 2);
+				try (ZipFile zip = new ZipFile(jar)) {
+					ZipEntry entry = zip.getEntry(entryName);
+					if (entry == null) {
+						return null;
+					}
+					try (InputStream stream = zip.getInputStream(entry)) {
+						return new String(ByteStreams.toByteArray(stream), StandardCharsets.UTF_8);
+					}
+				}
+			}
+		}
+		try (InputStream stream = url.openStream()) {
+			return new String(ByteStreams.toByteArray(stream), StandardCharsets.UTF_8);
+		}
+	}
+
+	private Path persistedFile(String key) {
+		return diskCache.resolve(Hashing.sha1().hashString(key, StandardCharsets.UTF_8).toString() + ".html");
+	}
+
+	private Optional<String> loadPersisted(String key) {
+		if (diskCache != null) {
+			Path file = persistedFile(key);
+			if (Files.isRegularFile(file)) {
+				try {
+					String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+					if (!content.isEmpty()) {
+						return content.charAt(0) == HAS_DOC ? Optional.of(content.substring(1)) : Optional.empty();
+					}
+				} catch (Exception e) {
+					Log.log(e);
+				}
+			}
+		}
+		return null;
+	}
+
+	private void persist(String key, Optional<String> fragment) {
+		if (diskCache != null) {
+			Path file = persistedFile(key);
+			String content = fragment.isPresent() ? HAS_DOC + fragment.get() : String.valueOf(NO_DOC);
+			try {
+				Files.createDirectories(diskCache);
+				Path tmp = Files.createTempFile(diskCache, file.getFileName().toString(), ".tmp");
+				Files.write(tmp, content.getBytes(StandardCharsets.UTF_8));
+				Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (Exception e) {
+				Log.log(e);
+			}
+		}
+	}
+
+}
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.springframework.ide.vscode.commons.javadoc;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -22,27 +23,32 @@ import org.springframework.ide.vscode.commons.java.IJavaElement;
 import org.springframework.ide.vscode.commons.java.IJavadocProvider;
 import org.springframework.ide.vscode.commons.java.IMethod;
 import org.springframework.ide.vscode.commons.java.IType;
-import org.springframework.ide.vscode.commons.languageserver.JavadocParams;
-import org.springframework.ide.vscode.commons.languageserver.JavadocResponse;
-import org.springframework.ide.vscode.commons.languageserver.STS4LanguageClient;
+import org.springframework.ide.vscode.commons.languageserver.jdt.ls.Classpath.CPE;
 import org.springframework.ide.vscode.commons.util.Renderable;
 import org.springframework.ide.vscode.commons.util.Renderables;
 
+/**
+ * Javadoc provider for the elements of a single classpath entry, getting the javadoc from JDT LS
+ * via a (shared) {@link JdtLsJavadocService}.
+ */
 public class JdtLsJavadocProvider implements IJavadocProvider {
 
 	private static final Logger log = LoggerFactory.getLogger(JdtLsJavadocProvider.class);
 
-	private STS4LanguageClient client;
-	private String projectUri;
+	private static final long TIMEOUT_SECONDS = 10;
 
-	public JdtLsJavadocProvider(STS4LanguageClient client, String projectUri) {
+	private final JdtLsJavadocService javadocService;
+	private final String projectUri;
+	private final CPE classpathEntry;
+
+	public JdtLsJavadocProvider(JdtLsJavadocService javadocService, String projectUri, CPE classpathEntry) {
 		super();
-		this.client = client;
+		this.javadocService = javadocService;
 		this.projectUri = projectUri;
+		this.classpathEntry = classpathEntry;
 	}
 
-	private IJavadoc produceJavadocFromMd(JavadocResponse response) {
-		String md = response.getContent();
+	private static IJavadoc produceJavadocFromMd(String md) {
 		if (md != null) {
 			final Renderable renderableDoc = Renderables.mdBlob(md);
 			return new IJavadoc() {
@@ -57,10 +63,18 @@ public class JdtLsJavadocProvider implements IJavadocProvider {
 		return null;
 	}
 
+	/**
+	 * Requests made while others for the same project are in progress are sent to JDT LS as a single batch.
+	 */
+	@Override
+	public CompletableFuture<IJavadoc> getJavadocAsync(IJavaElement element) {
+		return javadocService.javadoc(projectUri, classpathEntry, element.getBindingKey())
+				.thenApply(JdtLsJavadocProvider::produceJavadocFromMd);
+	}
+
 	private IJavadoc javadoc(IJavaElement element) {
 		try {
-			JavadocResponse response = client.javadoc(new JavadocParams(projectUri, element.getBindingKey())).get(10, TimeUnit.SECONDS);
-			return produceJavadocFromMd(response);
+			return getJavadocAsync(element).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
 		} catch (InterruptedException | ExecutionException | TimeoutException e) {
 			log.error("", e);
 			return null;
@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.javadoc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4j.jsonrpc.ResponseErrorException;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseError;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ide.vscode.commons.languageserver.JavadocBatchParams;
+import org.springframework.ide.vscode.commons.languageserver.JavadocParams;
+import org.springframework.ide.vscode.commons.languageserver.JavadocResponse;
+import org.springframework.ide.vscode.commons.languageserver.STS4LanguageClient;
+import org.springframework.ide.vscode.commons.languageserver.jdt.ls.Classpath;
+import org.springframework.ide.vscode.commons.languageserver.jdt.ls.Classpath.CPE;
+import org.springframework.ide.vscode.commons.util.ExceptionUtil;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Retrieves javadoc (rendered as markdown) from JDT LS, on behalf of {@link JdtLsJavadocProvider}s.
+ * <p>
+ * A request for a project that has no requests in progress is sent right away. Requests that arrive
+ * while others for the same project are in progress (e.g. when rendering the documentation for a page
+ * of completions) are collected, and sent to the client as a single batch request once the requests in
+ * progress are answered.
+ * Javadoc of elements from binary classpath entries is cached by project, classpath entry and
+ * binding key. Javadoc of elements from source folders is never cached since it changes as the
+ * user edits the code.
+ */
+public class JdtLsJavadocService {
+
+	private static final Logger log = LoggerFactory.getLogger(JdtLsJavadocService.class);
+
+	/**
+	 * Longest time a batch waits for the requests in progress to be answered before it is sent anyway.
+	 */
+	private static final long MAX_BATCH_DELAY_MILLIS = 1000;
+
+	private static final long MAX_CACHE_ENTRIES = 10_000;
+
+	private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+			new ThreadFactoryBuilder().setNameFormat("javadoc-batcher").setDaemon(true).build()
+	);
+
+	private static final class Key {
+		final String projectUri;
+		final String classpathEntry;
+		final String bindingKey;
+
+		Key(String projectUri, String classpathEntry, String bindingKey) {
+			this.projectUri = projectUri;
+			this.classpathEntry = classpathEntry;
+			this.bindingKey = bindingKey;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(projectUri, classpathEntry, bindingKey);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj instanceof Key) {
+				Key other = (Key) obj;
+				return projectUri.equals(other.projectUri) && classpathEntry.equals(other.classpathEntry) && bindingKey.equals(other.bindingKey);
+			}
+			return false;
+		}
+	}
+
+	private final STS4LanguageClient client;
+
+	private final Cache<Key, Optional<String>> cache = CacheBuilder.newBuilder()
+			.maximumSize(MAX_CACHE_ENTRIES)
+			.build();
+
+	/**
+	 * Requests waiting to be sent, per project.
+	 */
+	private final Map<String, Map<String, CompletableFuture<String>>> pending = new HashMap<>();
+
+	/**
+	 * Number of batches sent and not yet answered, per project. Guarded by {@link #pending}.
+	 */
+	private final Map<String, Integer> inProgress = new HashMap<>();
+
+	/**
+	 * Set when the client turns out to be too old to support batch requests.
+	 */
+	private volatile boolean batchUnsupported = false;
+
+	public JdtLsJavadocService(STS4LanguageClient client) {
+		this.client = client;
+	}
+
+	/**
+	 * Get the javadoc of an element, as markdown. The future completes with null if the element or its
+	 * javadoc could not be found.
+	 *
+	 * @param classpathEntry the classpath entry containing the element, may be null if unknown.
+	 */
+	public CompletableFuture<String> javadoc(String projectUri, CPE classpathEntry, String bindingKey) {
+		if (bindingKey == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+		Key key = isCacheable(classpathEntry) ? new Key(projectUri, classpathEntry.getPath(), bindingKey) : null;
+		if (key != null) {
+			Optional<String> cached = cache.getIfPresent(key);
+			if (cached != null) {
+				return CompletableFuture.completedFuture(cached.orElse(null));
+			}
+		}
+		CompletableFuture<String> result = enqueue(projectUri, bindingKey);
+		if (key != null) {
+			result = result.thenApply(content -> {
+				cache.put(key, Optional.ofNullable(content));
+				return content;
+			});
+		}
+		return result;
+	}
+
+	/**
+	 * Forget all cached javadoc for a given project. Should be called when the classpath of the project changes.
+	 */
+	public void invalidate(String projectUri) {
+		cache.asMap().keySet().removeIf(key -> key.projectUri.equals(projectUri));
+	}
+
+	private static boolean isCacheable(CPE classpathEntry) {
+		return classpathEntry != null && classpathEntry.getPath() != null && !Classpath.isSource(classpathEntry);
+	}
+
+	private CompletableFuture<String> enqueue(String projectUri, String bindingKey) {
+		synchronized (pending) {
+			Map<String, CompletableFuture<String>> batch = pending.get(projectUri);
+			if (batch == null) {
+				batch = new LinkedHashMap<>();
+				pending.put(projectUri, batch);
+				long delay = inProgress.containsKey(projectUri) ? MAX_BATCH_DELAY_MILLIS : 0;
+				SCHEDULER.schedule(() -> flush(projectUri), delay, TimeUnit.MILLISECONDS);
+			}
+			return batch.computeIfAbsent(bindingKey, k -> new CompletableFuture<>());
+		}
+	}
+
+	private void flush(String projectUri) {
+		Map<String, CompletableFuture<String>> batch;
+		synchronized (pending) {
+			batch = pending.remove(projectUri);
+			if (batch == null || batch.isEmpty()) {
+				return;
+			}
+			inProgress.merge(projectUri, 1, Integer::sum);
+		}
+		CompletableFuture.allOf(batch.values().toArray(new CompletableFuture<?>[batch.size()])).whenComplete((r, e) -> {
+			synchronized (pending) {
+				inProgress.computeIfPresent(projectUri, (p, count) -> count == 1 ? null : count - 1);
+				if (!inProgress.containsKey(projectUri) && pending.containsKey(projectUri)) {
+					//Send the requests that arrived in the meantime
+					SCHEDULER.execute(() -> flush(projectUri));
+				}
+			}
+		});
+		if (batchUnsupported || batch.size() == 1) {
+			requestEach(projectUri, batch);
+			return;
+		}
+		List<String> bindingKeys = new ArrayList<>(batch.keySet());
+		try {
+			client.javadocs(new JavadocBatchParams(projectUri, bindingKeys)).whenComplete((responses, error) -> {
+				if (error == null && responses != null && responses.size() == bindingKeys.size()) {
+					for (int i = 0; i < bindingKeys.size(); i++) {
+						JavadocResponse response = responses.get(i);
+						batch.get(bindingKeys.get(i)).complete(response == null ? null : response.getContent());
+					}
+				} else {
+					if (error != null) {
+						log.info("Batched javadoc request failed, falling back to one request per element: {}", ExceptionUtil.getMessage(error));
+						if (isUnknownRequest(error)) {
+							batchUnsupported = true;
+						}
+					}
+					requestEach(projectUri, batch);
+				}
+			});
+		} catch (Throwable e) {
+			log.info("Batched javadoc request failed, falling back to one request per element: {}", ExceptionUtil.getMessage(e));
+			requestEach(projectUri, batch);
+		}
+	}
+
+	/**
+	 * Whether the error is the client (or the JDT LS extension it delegates to) telling us that it doesn't know
+	 * the batch request. Any other error may be temporary, so batching is still tried next time.
+	 */
+	private static boolean isUnknownRequest(Throwable error) {
+		Throwable found = ExceptionUtil.getThrowable(error, ResponseErrorException.class);
+		if (found != null) {
+			ResponseError response = ((ResponseErrorException) found).getResponseError();
+			return response.getCode() == ResponseErrorCode.MethodNotFound.getValue()
+					|| (response.getMessage() != null && response.getMessage().contains("No delegateCommandHandler"));
+		}
+		return false;
+	}
+
+	private void requestEach(String projectUri, Map<String, CompletableFuture<String>> batch) {
+		batch.forEach((bindingKey, result) -> {
+			try {
+				client.javadoc(new JavadocParams(projectUri, bindingKey)).whenComplete((response, error) -> {
+					if (error != null) {
+						result.completeExceptionally(error);
+					} else {
+						result.complete(response == null ? null : response.getContent());
+					}
+				});
+			} catch (Throwable e) {
+				result.completeExceptionally(e);
+			}
+		});
+	}
+
+}
@@ -17,6 +17,8 @@ import java.util.concurrent.atomic.AtomicReference;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.ide.vscode.commons.java.ClasspathDiff;
+import org.springframework.ide.vscode.commons.java.ClasspathFingerprints;
 import org.springframework.ide.vscode.commons.java.IJavaProject;
 import org.springframework.ide.vscode.commons.languageserver.Sts4LanguageServer;
 import org.springframework.ide.vscode.commons.util.FileObserver;
@@ -42,6 +44,8 @@ public abstract class AbstractJavaProjectCache<K, P extends IJavaProject> implem
 
 	private ListenerList<Listener> listeners = new ListenerList<>();
 
+	private final ClasspathFingerprints fingerprints = new ClasspathFingerprints();
+
 	protected Cache<K, P> cache = CacheBuilder.newBuilder().build();
 	
 	public AbstractJavaProjectCache(Sts4LanguageServer server) {
@@ -108,16 +112,19 @@ public abstract class AbstractJavaProjectCache<K, P extends IJavaProject> implem
 	
 	final protected void notifyProjectCreated(P project) {
 		log.debug("project created {}", project);
+		fingerprints.update(project);
 		listeners.forEach(l -> l.created(project));
 	}
 	
 	final protected void notifyProjectChanged(P project) {
-		log.debug("project changed {}", project);
-		listeners.forEach(l -> l.changed(project));
+		ClasspathDiff diff = fingerprints.update(project);
+		log.debug("project changed {} {}", project, diff);
+		listeners.forEach(l -> l.changed(project, diff));
 	}
 	
 	final protected void notifyProjectDeleted(P project) {
 		log.debug("project deleted {}", project);
+		fingerprints.remove(project);
 		listeners.forEach(l -> l.deleted(project));
 	}
 
@@ -12,6 +12,7 @@ package org.springframework.ide.vscode.commons.languageserver.java;
 
 import java.util.function.Consumer;
 
+import org.springframework.ide.vscode.commons.java.ClasspathDiff;
 import org.springframework.ide.vscode.commons.java.IJavaProject;
 
 /**
@@ -26,6 +27,15 @@ public interface ProjectObserver {
 		void created(IJavaProject project);
 		void changed(IJavaProject project);
 		void deleted(IJavaProject project);
+
+		/**
+		 * Called instead of {@link #changed(IJavaProject)} by observers that know how the project's
+		 * classpath changed. Listeners can override this to skip or limit the work they do when the
+		 * change doesn't affect them.
+		 */
+		default void changed(IJavaProject project, ClasspathDiff diff) {
+			changed(project);
+		}
 	}
 	void addListener(Listener listener);
 	void removeListener(Listener listener);
@@ -65,4 +75,36 @@ public interface ProjectObserver {
 		};
 	}
 
+	/**
+	 * Like {@link #onAny(Consumer)}, but ignores 'changed' events which are known not to affect
+	 * the binary roots of the project's classpath (see {@link ClasspathDiff#isBinaryRootsChanged()}).
+	 * Suitable for anything derived by compiling or resolving types against the classpath.
+	 */
+	static Listener onAnyBinaryChange(Consumer<IJavaProject> doit) {
+		return new Listener() {
+			@Override
+			public void created(IJavaProject project) {
+				doit.accept(project);
+			}
+
+			@Override
+			public void changed(IJavaProject project) {
+				doit.accept(project);
+			}
+
+			@Override
+			public void changed(IJavaProject project, ClasspathDiff diff) {
+				if (diff.isBinaryRootsChanged()) {
+					doit.accept(project);
+				}
+			}
+
+			@Override
+			public void deleted(IJavaProject project) {
+				doit.accept(project);
+			}
+
+		};
+	}
+
 }
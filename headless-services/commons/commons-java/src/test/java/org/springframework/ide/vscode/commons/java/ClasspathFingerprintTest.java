@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.ide.vscode.commons.languageserver.jdt.ls.Classpath.CPE;
+
+import com.google.common.collect.ImmutableList;
+
+public class ClasspathFingerprintTest {
+
+	@Rule public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void unchanged() throws Exception {
+		File jar = folder.newFile("lib.jar");
+		File src = folder.newFolder("src");
+		File bin = folder.newFolder("bin");
+
+		ClasspathFingerprint a = ClasspathFingerprint.of(new ClasspathData("p", ImmutableList.of(CPE.source(src, bin), CPE.binary(jar.getPath()))));
+		ClasspathFingerprint b = ClasspathFingerprint.of(new ClasspathData("p", ImmutableList.of(CPE.source(src, bin), CPE.binary(jar.getPath()))));
+		assertEquals(a, b);
+		assertTrue(b.diff(a).isEmpty());
+	}
+
+	@Test
+	public void resourceFolderAdded() throws Exception {
+		File jar = folder.newFile("lib.jar");
+		File src = folder.newFolder("src");
+		File resources = folder.newFolder("resources");
+		File bin = folder.newFolder("bin");
+
+		ClasspathFingerprint before = ClasspathFingerprint.of(new ClasspathData("p", ImmutableList.of(CPE.source(src, bin), CPE.binary(jar.getPath()))));
+		ClasspathFingerprint after = ClasspathFingerprint.of(new ClasspathData("p", ImmutableList.of(CPE.source(src, bin), CPE.source(resources, bin), CPE.binary(jar.getPath()))));
+		assertNotEquals(before, after);
+
+		ClasspathDiff diff = after.diff(before);
+		assertFalse(diff.isEmpty());
+		assertEquals(1, diff.getAdded().size());
+		assertEquals(resources.getAbsolutePath(), diff.getAdded().get(0).getPath());
+		assertTrue(diff.getRemoved().isEmpty());
+		assertTrue(diff.getChanged().isEmpty());
+		assertFalse(diff.isBinaryRootsChanged());
+	}
+
+	@Test
+	public void jarModified() throws Exception {
+		File jar = folder.newFile("lib.jar");
+		ClasspathData classpath = new ClasspathData("p", ImmutableList.of(CPE.binary(jar.getPath())));
+		ClasspathFingerprint before = ClasspathFingerprint.of(classpath);
+
+		Files.write(jar.toPath(), new byte[] { 1, 2, 3 });
+		jar.setLastModified(jar.lastModified() + 10_000);
+		ClasspathDiff diff = ClasspathFingerprint.of(classpath).diff(before);
+		assertEquals(1, diff.getChanged().size());
+		assertTrue(diff.isBinaryRootsChanged());
+	}
+
+	@Test
+	public void jarRemoved() throws Exception {
+		File a = folder.newFile("a.jar");
+		File b = folder.newFile("b.jar");
+		ClasspathFingerprint before = ClasspathFingerprint.of(new ClasspathData("p", ImmutableList.of(CPE.binary(a.getPath()), CPE.binary(b.getPath()))));
+		ClasspathDiff diff = ClasspathFingerprint.of(new ClasspathData("p", ImmutableList.of(CPE.binary(a.getPath())))).diff(before);
+		assertEquals(1, diff.getRemoved().size());
+		assertEquals(b.getPath(), diff.getRemoved().get(0).getPath());
+		assertTrue(diff.isBinaryRootsChanged());
+	}
+
+	@Test
+	public void fingerprintsPerProject() throws Exception {
+		File jar = folder.newFile("lib.jar");
+		ClasspathData classpath = new ClasspathData("p", ImmutableList.of(CPE.binary(jar.getPath())));
+		URI location = folder.getRoot().toURI();
+
+		ClasspathFingerprints fingerprints = new ClasspathFingerprints();
+		ClasspathDiff first = fingerprints.update(location, classpath);
+		assertEquals(1, first.getAdded().size());
+		assertTrue(first.isBinaryRootsChanged());
+
+		assertTrue(fingerprints.update(location, classpath).isEmpty());
+
+		fingerprints.remove(location);
+		assertFalse(fingerprints.update(location, classpath).isEmpty());
+	}
+
+}
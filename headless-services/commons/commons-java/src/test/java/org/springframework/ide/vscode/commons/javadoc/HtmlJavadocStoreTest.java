@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.javadoc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.ide.vscode.commons.javadoc.HtmlJavadocStore.Extractor;
+
+public class HtmlJavadocStoreTest {
+
+	@Rule public TemporaryFolder folder = new TemporaryFolder();
+
+	private final AtomicInteger extractions = new AtomicInteger();
+
+	@Test
+	public void fragmentsArePersisted() throws Exception {
+		File cacheDir = folder.newFolder();
+		URL page = page("Foo.html", "<html>foo</html>");
+
+		Extractor extractor = p -> {
+			extractions.incrementAndGet();
+			return "foo-fragment";
+		};
+		assertEquals("foo-fragment", new HtmlJavadocStore(cacheDir.toPath()).fragment(page, "type:LFoo;", extractor));
+		assertEquals(1, extractions.get());
+
+		//A fresh store (e.g. after restart) gets the fragment from disk
+		assertEquals("foo-fragment", new HtmlJavadocStore(cacheDir.toPath()).fragment(page, "type:LFoo;", extractor));
+		assertEquals(1, extractions.get());
+	}
+
+	@Test
+	public void fragmentsInvalidatedWhenPageModified() throws Exception {
+		File cacheDir = folder.newFolder();
+		URL page = page("Foo.html", "<html>foo</html>");
+		HtmlJavadocStore store = new HtmlJavadocStore(cacheDir.toPath());
+
+		String[] fragment = { "old" };
+		Extractor extractor = p -> {
+			extractions.incrementAndGet();
+			return fragment[0];
+		};
+		assertEquals("old", store.fragment(page, "type:LFoo;", extractor));
+
+		fragment[0] = "new";
+		File file = new File(page.toURI());
+		file.setLastModified(file.lastModified() + 10_000);
+		assertEquals("new", store.fragment(page, "type:LFoo;", extractor));
+		assertEquals(2, extractions.get());
+	}
+
+	@Test
+	public void missingDocIsRemembered() throws Exception {
+		File cacheDir = folder.newFolder();
+		URL page = page("Foo.html", "<html>foo</html>");
+		Extractor extractor = p -> {
+			extractions.incrementAndGet();
+			return null;
+		};
+		assertNull(new HtmlJavadocStore(cacheDir.toPath()).fragment(page, "field:LFoo;.bar", extractor));
+		assertNull(new HtmlJavadocStore(cacheDir.toPath()).fragment(page, "field:LFoo;.bar", extractor));
+		assertEquals(1, extractions.get());
+	}
+
+	@Test
+	public void pageReadFromJarEntry() throws Exception {
+		File jar = folder.newFile("javadoc.jar");
+		try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(jar))) {
+			zip.putNextEntry(new ZipEntry("com/example/Foo.html"));
+			zip.write("<html>foo</html>".getBytes(StandardCharsets.UTF_8));
+			zip.closeEntry();
+		}
+		HtmlJavadocStore store = new HtmlJavadocStore(null);
+		URL url = TypeUrlProviderFromContainerUrl.JAR_JAVADOC_URL_PROVIDER.url(jar.toURI().toURL(), "com.example.Foo");
+		assertNotNull(store.getHtmlJavadoc(url));
+		assertEquals("x", store.fragment(url, "type:Lcom/example/Foo;", p -> "x"));
+
+		URL missing = TypeUrlProviderFromContainerUrl.JAR_JAVADOC_URL_PROVIDER.url(jar.toURI().toURL(), "com.example.Bar");
+		assertNull(store.getHtmlJavadoc(missing));
+		assertNull(store.fragment(missing, "type:Lcom/example/Bar;", p -> "x"));
+	}
+
+	private URL page(String name, String content) throws Exception {
+		File file = folder.newFile(name);
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return file.toURI().toURL();
+	}
+
+}
@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.javadoc;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.springframework.ide.vscode.commons.java.IJavaElement;
+import org.springframework.ide.vscode.commons.languageserver.JavadocBatchParams;
+import org.springframework.ide.vscode.commons.languageserver.JavadocParams;
+import org.springframework.ide.vscode.commons.languageserver.JavadocResponse;
+import org.springframework.ide.vscode.commons.languageserver.STS4LanguageClient;
+import org.springframework.ide.vscode.commons.languageserver.jdt.ls.Classpath.CPE;
+
+public class JdtLsJavadocServiceTest {
+
+	private static final String PROJECT = "file:///project";
+	private static final CPE JAR = CPE.binary("/repo/some.jar");
+	private static final CPE SOURCE = CPE.source(new File("/project/src"), new File("/project/bin"));
+
+	/**
+	 * Fake client that answers with 'doc:<bindingKey>' and records the requests it receives.
+	 */
+	private static class FakeClient {
+		final List<List<String>> batches = new ArrayList<>();
+		final List<String> singles = new ArrayList<>();
+		boolean supportsBatch = true;
+		/**
+		 * Requests are answered once this completes.
+		 */
+		CompletableFuture<Void> answer = CompletableFuture.completedFuture(null);
+
+		synchronized int requests() {
+			return batches.size() + singles.size();
+		}
+
+		STS4LanguageClient proxy() {
+			return (STS4LanguageClient) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { STS4LanguageClient.class }, (proxy, method, args) -> {
+				switch (method.getName()) {
+				case "javadocs": {
+					JavadocBatchParams params = (JavadocBatchParams) args[0];
+					CompletableFuture<List<JavadocResponse>> result = new CompletableFuture<>();
+					if (!supportsBatch) {
+						result.completeExceptionally(new UnsupportedOperationException("Unsupported request method: sts/javadocs"));
+						return result;
+					}
+					synchronized (this) {
+						batches.add(params.getBindingKeys());
+					}
+					List<JavadocResponse> responses = new ArrayList<>();
+					for (String key : params.getBindingKeys()) {
+						responses.add(response(key));
+					}
+					answer.thenRun(() -> result.complete(responses));
+					return result;
+				}
+				case "javadoc": {
+					JavadocParams params = (JavadocParams) args[0];
+					synchronized (this) {
+						singles.add(params.getBindingKey());
+					}
+					return answer.thenApply(r -> response(params.getBindingKey()));
+				}
+				default:
+					throw new UnsupportedOperationException(method.getName());
+				}
+			});
+		}
+
+		private static JavadocResponse response(String key) {
+			JavadocResponse response = new JavadocResponse();
+			response.setContent("doc:" + key);
+			return response;
+		}
+	}
+
+	private static void waitForRequests(FakeClient client, int count) throws InterruptedException {
+		long timeout = System.currentTimeMillis() + 5000;
+		while (client.requests() < count && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+		assertEquals(count, client.requests());
+	}
+
+	private static IJavaElement element(String bindingKey) {
+		return new IJavaElement() {
+			@Override
+			public String getElementName() {
+				return bindingKey;
+			}
+
+			@Override
+			public IJavadoc getJavaDoc() {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public String getBindingKey() {
+				return bindingKey;
+			}
+
+			@Override
+			public boolean exists() {
+				return true;
+			}
+		};
+	}
+
+	@Test
+	public void loneRequestIsSentRightAway() throws Exception {
+		FakeClient client = new FakeClient();
+		JdtLsJavadocService service = new JdtLsJavadocService(client.proxy());
+
+		assertEquals("doc:La;", service.javadoc(PROJECT, JAR, "La;").get(5, TimeUnit.SECONDS));
+		assertEquals(1, client.singles.size());
+		assertEquals(0, client.batches.size());
+	}
+
+	@Test
+	public void requestsAreBatched() throws Exception {
+		FakeClient client = new FakeClient();
+		client.answer = new CompletableFuture<>();
+		JdtLsJavadocService service = new JdtLsJavadocService(client.proxy());
+
+		CompletableFuture<String> a = service.javadoc(PROJECT, JAR, "La;");
+		waitForRequests(client, 1);
+		CompletableFuture<String> b = service.javadoc(PROJECT, JAR, "Lb;");
+		CompletableFuture<String> c = service.javadoc(PROJECT, JAR, "Lc;");
+		client.answer.complete(null);
+
+		assertEquals("doc:La;", a.get(5, TimeUnit.SECONDS));
+		assertEquals("doc:Lb;", b.get(5, TimeUnit.SECONDS));
+		assertEquals("doc:Lc;", c.get(5, TimeUnit.SECONDS));
+		assertEquals(1, client.batches.size());
+		assertEquals(2, client.batches.get(0).size());
+	}
+
+	@Test
+	public void concurrentLookupsShareOneRequest() throws Exception {
+		FakeClient client = new FakeClient();
+		client.answer = new CompletableFuture<>();
+		JdtLsJavadocService service = new JdtLsJavadocService(client.proxy());
+		JdtLsJavadocProvider provider = new JdtLsJavadocProvider(service, PROJECT, JAR);
+
+		//Keeps the project busy, like the lookup for the completion being resolved before
+		CompletableFuture<IJavadoc> busy = provider.getJavadocAsync(element("Lbusy;"));
+		waitForRequests(client, 1);
+
+		int lookups = 10;
+		ExecutorService executor = Executors.newFixedThreadPool(lookups);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<CompletableFuture<IJavadoc>>> started = new ArrayList<>();
+			for (int i = 0; i < lookups; i++) {
+				String key = "L" + i + ";";
+				started.add(executor.submit(() -> {
+					start.await();
+					return provider.getJavadocAsync(element(key));
+				}));
+			}
+			start.countDown();
+			List<CompletableFuture<IJavadoc>> results = new ArrayList<>();
+			for (Future<CompletableFuture<IJavadoc>> f : started) {
+				results.add(f.get(5, TimeUnit.SECONDS));
+			}
+			client.answer.complete(null);
+
+			assertEquals("doc:Lbusy;", busy.get(5, TimeUnit.SECONDS).getRenderable().toMarkdown());
+			for (int i = 0; i < lookups; i++) {
+				assertEquals("doc:L" + i + ";", results.get(i).get(5, TimeUnit.SECONDS).getRenderable().toMarkdown());
+			}
+			//The concurrent lookups went to JDT LS as a single request
+			assertEquals(1, client.batches.size());
+			assertEquals(lookups, new HashSet<>(client.batches.get(0)).size());
+			assertEquals(2, client.requests());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void binaryEntriesAreCached() throws Exception {
+		FakeClient client = new FakeClient();
+		JdtLsJavadocService service = new JdtLsJavadocService(client.proxy());
+
+		assertEquals("doc:La;", service.javadoc(PROJECT, JAR, "La;").get(5, TimeUnit.SECONDS));
+		assertEquals("doc:La;", service.javadoc(PROJECT, JAR, "La;").get(5, TimeUnit.SECONDS));
+		assertEquals(1, client.singles.size());
+
+		service.invalidate(PROJECT);
+		assertEquals("doc:La;", service.javadoc(PROJECT, JAR, "La;").get(5, TimeUnit.SECONDS));
+		assertEquals(2, client.singles.size());
+	}
+
+	@Test
+	public void sourceEntriesAreNotCached() throws Exception {
+		FakeClient client = new FakeClient();
+		JdtLsJavadocService service = new JdtLsJavadocService(client.proxy());
+
+		assertEquals("doc:La;", service.javadoc(PROJECT, SOURCE, "La;").get(5, TimeUnit.SECONDS));
+		assertEquals("doc:La;", service.javadoc(PROJECT, SOURCE, "La;").get(5, TimeUnit.SECONDS));
+		assertEquals(2, client.singles.size());
+	}
+
+	@Test
+	public void fallbackWhenBatchNotSupported() throws Exception {
+		FakeClient client = new FakeClient();
+		client.supportsBatch = false;
+		client.answer = new CompletableFuture<>();
+		JdtLsJavadocService service = new JdtLsJavadocService(client.proxy());
+
+		CompletableFuture<String> a = service.javadoc(PROJECT, JAR, "La;");
+		waitForRequests(client, 1);
+		CompletableFuture<String> b = service.javadoc(PROJECT, JAR, "Lb;");
+		CompletableFuture<String> c = service.javadoc(PROJECT, JAR, "Lc;");
+		client.answer.complete(null);
+
+		assertEquals("doc:La;", a.get(5, TimeUnit.SECONDS));
+		assertEquals("doc:Lb;", b.get(5, TimeUnit.SECONDS));
+		assertEquals("doc:Lc;", c.get(5, TimeUnit.SECONDS));
+		assertEquals(3, client.singles.size());
+	}
+
+}
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.languageserver;
+
+import java.util.List;
+
+/**
+ * Parameters of a request for the javadoc of several elements of a project in one go.
+ */
+public class JavadocBatchParams {
+
+	private String projectUri;
+	private List<String> bindingKeys;
+
+	public JavadocBatchParams(String projectUri, List<String> bindingKeys) {
+		super();
+		this.projectUri = projectUri;
+		this.bindingKeys = bindingKeys;
+	}
+	public String getProjectUri() {
+		return projectUri;
+	}
+	public void setProjectUri(String projectUri) {
+		this.projectUri = projectUri;
+	}
+	public List<String> getBindingKeys() {
+		return bindingKeys;
+	}
+	public void setBindingKeys(List<String> bindingKeys) {
+		this.bindingKeys = bindingKeys;
+	}
+
+}
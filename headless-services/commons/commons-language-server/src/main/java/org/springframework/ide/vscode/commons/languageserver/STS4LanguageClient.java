@@ -11,6 +11,7 @@
 
 package org.springframework.ide.vscode.commons.languageserver;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.lsp4j.jsonrpc.services.JsonNotification;
@@ -43,4 +44,7 @@ public interface STS4LanguageClient extends LanguageClient {
 
 	@JsonRequest("sts/javadoc")
 	CompletableFuture<JavadocResponse> javadoc(JavadocParams params);
+
+	@JsonRequest("sts/javadocs")
+	CompletableFuture<List<JavadocResponse>> javadocs(JavadocBatchParams params);
 }
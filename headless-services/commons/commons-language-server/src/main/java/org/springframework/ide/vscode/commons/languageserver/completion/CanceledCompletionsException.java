@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.languageserver.completion;
+
+import java.util.Collection;
+import java.util.concurrent.CancellationException;
+
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Thrown by a {@link ICompletionEngine} that got canceled part way through computing its proposals. Carries
+ * the proposals it found up to that point, so that they can still be shown to the user.
+ */
+public class CanceledCompletionsException extends CancellationException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final ImmutableList<ICompletionProposal> proposals;
+
+	public CanceledCompletionsException(Collection<? extends ICompletionProposal> proposals) {
+		super("Completions canceled");
+		this.proposals = ImmutableList.copyOf(proposals);
+	}
+
+	public ImmutableList<ICompletionProposal> getProposals() {
+		return proposals;
+	}
+
+	/**
+	 * Like {@link CancelChecker#checkCanceled()} but, when canceled, throws a {@link CanceledCompletionsException}
+	 * carrying the proposals found so far.
+	 */
+	public static void checkCanceled(CancelChecker cancelToken, Collection<? extends ICompletionProposal> found) {
+		try {
+			cancelToken.checkCanceled();
+		} catch (CanceledCompletionsException e) {
+			throw e;
+		} catch (CancellationException e) {
+			throw new CanceledCompletionsException(found);
+		}
+	}
+
+}
@@ -211,6 +211,13 @@ public class DocumentEdits implements ProposalApplier {
 		int transform(int offset, Direction dir);
 	}
 
+	/**
+	 * The target of the modifications performed by a {@link DocumentState}.
+	 */
+	private interface Buffer {
+		void replace(int start, int len, String text) throws BadLocationException;
+	}
+
 	private static final OffsetTransformer NULL_TRANSFORM = new OffsetTransformer() {
 		@Override
 		public int transform(int offset, Direction dir) {
@@ -224,20 +231,26 @@ public class DocumentEdits implements ProposalApplier {
 	 * of a OffsetTransformer that maps them to offsets in the current document.
 	 */
 	private static class DocumentState {
-		private IDocument doc; //may be null, in which case no actual modifications are performed
+		private IDocument doc; //may be null, only used for debugging
+		private Buffer buffer; //may be null, in which case no actual modifications are performed
 		private OffsetTransformer org2new = NULL_TRANSFORM;
 		private int selection = -1; //-1 Means no edits where applied that change selection so
 									// the current selection is unknown
 
 		public DocumentState(IDocument doc) {
 			this.doc = doc;
+			this.buffer = doc==null ? null : doc::replace;
+		}
+
+		public DocumentState(Buffer buffer) {
+			this.buffer = buffer;
 		}
 
 		public void insert(boolean grabCursor, int start, final String text) throws BadLocationException {
 			final int tStart = org2new.transform(start, Direction.AFTER);
 			if (!text.isEmpty()) {
-				if (doc!=null) {
-					doc.replace(tStart, 0, text);
+				if (buffer!=null) {
+					buffer.replace(tStart, 0, text);
 				}
 				final OffsetTransformer parent = org2new;
 				org2new = new OffsetTransformer() {
@@ -270,8 +283,8 @@ public class DocumentEdits implements ProposalApplier {
 			if (end>start) { // skip work for 'delete nothing' op
 				final int tEnd = org2new.transform(end, Direction.AFTER);
 				if (tEnd>tStart) { // skip work for 'delete nothing' op
-					if (doc!=null) {
-						doc.replace(tStart, tEnd-tStart, "");
+					if (buffer!=null) {
+						buffer.replace(tStart, tEnd-tStart, "");
 					}
 
 					final OffsetTransformer parent = org2new;
@@ -351,7 +364,7 @@ public class DocumentEdits implements ProposalApplier {
 
 	@Override
 	public IRegion getSelection() throws Exception {
-		DocumentState selectionState = new DocumentState(null);
+		DocumentState selectionState = new DocumentState((IDocument) null);
 		for (Edit edit : edits) {
 			edit.apply(selectionState);
 		}
@@ -366,13 +379,22 @@ public class DocumentEdits implements ProposalApplier {
 			int start = edits.stream().mapToInt(Edit::getStart).min().getAsInt();
 			int end = edits.stream().mapToInt(Edit::getEnd).max().getAsInt();
 
-			DocumentState state = new DocumentState(doc.copy());
+			//Text outside of [start,end] is not affected by the edits. So rather than applying them to a copy
+			// of the entire document, we only apply them to a copy of the affected region.
+			StringBuilder region = new StringBuilder(doc.textBetween(start, end));
+			DocumentState state = new DocumentState((offset, len, text) -> {
+				int regionOffset = offset - start;
+				if (regionOffset<0 || regionOffset+len>region.length()) {
+					throw new BadLocationException();
+				}
+				region.replace(regionOffset, regionOffset+len, text);
+			});
 			for (Edit edit : edits) {
 				edit.apply(state);
 			}
 			int newStart = state.org2new.transform(start, Direction.BEFORE);
 			int newEnd = state.org2new.transform(end, Direction.AFTER);
-			return new TextReplace(start, end, state.doc.textBetween(newStart, newEnd));
+			return new TextReplace(start, end, region.substring(newStart-start, newEnd-start));
 		}
 		return null;
 	}
@@ -12,6 +12,7 @@ package org.springframework.ide.vscode.commons.languageserver.completion;
 
 import java.util.Collection;
 
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 import org.springframework.ide.vscode.commons.util.text.TextDocument;
 
 /**
@@ -19,6 +20,24 @@ import org.springframework.ide.vscode.commons.util.text.TextDocument;
  */
 public interface ICompletionEngine {
 
+	/**
+	 * Cancel token for callers that never cancel a request.
+	 */
+	CancelChecker NOT_CANCELABLE = () -> {};
+
 	Collection<ICompletionProposal> getCompletions(TextDocument document, int offset) throws Exception;
 
+	/**
+	 * Variant of {@link #getCompletions(TextDocument, int)} for requests that may be canceled while they are
+	 * being computed. Engines that do a lot of work should override this and check the cancel token
+	 * periodically. When canceled, {@link CancelChecker#checkCanceled()} throws a
+	 * {@link java.util.concurrent.CancellationException}, which should simply be allowed to propagate. Engines
+	 * that already found some proposals by then can hand them over in a {@link CanceledCompletionsException}
+	 * instead (see {@link CanceledCompletionsException#checkCanceled(CancelChecker, Collection)}).
+	 */
+	default Collection<ICompletionProposal> getCompletions(TextDocument document, int offset, CancelChecker cancelToken) throws Exception {
+		cancelToken.checkCanceled();
+		return getCompletions(document, offset);
+	}
+
 }
@@ -10,12 +10,25 @@
  *******************************************************************************/
 package org.springframework.ide.vscode.commons.languageserver.completion;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 import org.eclipse.lsp4j.CompletionItem;
@@ -25,6 +38,7 @@ import org.eclipse.lsp4j.MarkupKind;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.TextDocumentPositionParams;
 import org.eclipse.lsp4j.TextEdit;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ide.vscode.commons.languageserver.completion.DocumentEdits.TextReplace;
@@ -40,10 +54,10 @@ import org.springframework.ide.vscode.commons.util.text.TextDocument;
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonPrimitive;
 
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 /**
  * Adapts a {@link ICompletionEngine}, wrapping it, to implement {@link VscodeCompletionEngine}
@@ -76,10 +90,17 @@ public class VscodeCompletionEngineAdapter implements VscodeCompletionEngine {
 			return id;
 		}
 
-		public synchronized void resolveNow(CompletionItem unresolved) {
+		/**
+		 * Resolves an item. Items are resolved outside of the lock, so that concurrent resolve requests (and the
+		 * javadoc lookups they make) overlap rather than queue up behind each other.
+		 */
+		public void resolveNow(CompletionItem unresolved) {
 			Object id = unresolved.getData();
 			if (id!=null) {
-				Consumer<CompletionItem> resolver = resolvers.get(id instanceof JsonPrimitive ? ((JsonPrimitive)id).getAsString() : id);
+				Consumer<CompletionItem> resolver;
+				synchronized (this) {
+					resolver = resolvers.get(id instanceof JsonPrimitive ? ((JsonPrimitive)id).getAsString() : id);
+				}
 				if (resolver!=null) {
 					resolver.accept(unresolved);
 					unresolved.setData(null); //No longer needed after item is resolved.
@@ -96,6 +117,37 @@ public class VscodeCompletionEngineAdapter implements VscodeCompletionEngine {
 
 	private final static int DEFAULT_MAX_COMPLETIONS = 50;
 	private int maxCompletions = DEFAULT_MAX_COMPLETIONS; //TODO: move this to CompletionEngineOptions.
+	private final static Duration DEFAULT_TIME_BUDGET = Duration.ofSeconds(10);
+	private Duration timeBudget = DEFAULT_TIME_BUDGET;
+
+	/**
+	 * Time an engine gets, after its request ran out of time, to return the proposals found so far.
+	 */
+	private static final long PARTIAL_RESULTS_GRACE_MILLIS = 200;
+
+	/**
+	 * Bounded pool shared by all engines, so that a burst of completion requests can not
+	 * spawn an unbounded number of threads.
+	 */
+	private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+			Math.max(2, Runtime.getRuntime().availableProcessors() / 2),
+			new ThreadFactoryBuilder().setNameFormat("completions-%d").setDaemon(true).build()
+	);
+	/**
+	 * Renders the documentation of the items when it is not resolved lazily. The documentation of all items
+	 * is rendered at the same time, so that the javadoc lookups it takes are sent together.
+	 */
+	private static final ExecutorService DOCUMENTATION_EXECUTOR = Executors.newFixedThreadPool(8,
+			new ThreadFactoryBuilder().setNameFormat("completion-docs-%d").setDaemon(true).build()
+	);
+	private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(
+			new ThreadFactoryBuilder().setNameFormat("completions-timer").setDaemon(true).build()
+	);
+
+	/**
+	 * Cancel flag of the request currently being computed.
+	 */
+	private final AtomicReference<AtomicBoolean> inflight = new AtomicReference<>();
 	final static Logger logger = LoggerFactory.getLogger(VscodeCompletionEngineAdapter.class);
 
 	private SimpleLanguageServer server;
@@ -119,6 +171,15 @@ public class VscodeCompletionEngineAdapter implements VscodeCompletionEngine {
 		this.maxCompletions = maxCompletions;
 	}
 
+	/**
+	 * Set the maximum time spent computing completions for a single request. When it is exceeded the request
+	 * is canceled and the proposals found so far are returned as an incomplete list. A zero or negative
+	 * duration means no limit.
+	 */
+	public void setTimeBudget(Duration timeBudget) {
+		this.timeBudget = timeBudget;
+	}
+
 	@Override
 	public Mono<CompletionList> getCompletions(TextDocumentPositionParams params) {
 		return getCompletionsMono(params);
@@ -128,44 +189,147 @@ public class VscodeCompletionEngineAdapter implements VscodeCompletionEngine {
 		SimpleTextDocumentService documents = server.getTextDocumentService();
 		if (documents.get(params) != null) {
 			TextDocument doc = documents.getDocumentSnapshot(params.getTextDocument());
-			return Mono.fromCallable(() -> {
-				if (resolver!=null) {
-					//Assumes we don't have more than one completion request in flight from the client.
-					// So when a new request arrives we can forget about the old unresolved items:
-					resolver.clear();
+			AtomicBoolean canceled = new AtomicBoolean();
+			//Assumes we don't have more than one completion request in flight from the client.
+			// So when a new request arrives the old one is no longer of interest.
+			AtomicBoolean previous = inflight.getAndSet(canceled);
+			if (previous!=null) {
+				previous.set(true);
+			}
+			CompletableFuture<CompletionList> result = new CompletableFuture<>();
+			EXECUTOR.execute(() -> {
+				try {
+					result.complete(computeCompletions(doc, params, canceled));
+				} catch (CancellationException e) {
+					result.complete(incompleteList());
+				} catch (Throwable e) {
+					result.completeExceptionally(e);
+				} finally {
+					inflight.compareAndSet(canceled, null);
 				}
-				//TODO: This callable is a 'big lump of work' so can't be canceled in pieces.
-				// Should we push using of reactive streams down further and compose this all
-				// using reactive style? If not then this is overkill could just as well use
-				// only standard Java API such as Executor and CompletableFuture directly.
-				int offset = doc.toOffset(params.getPosition());
-				List<ICompletionProposal> completions = new ArrayList<>(engine.getCompletions(doc, offset));
-				Collections.sort(completions, ScoreableProposal.COMPARATOR);
-				CompletionList list = new CompletionList();
-				list.setIsIncomplete(false);
-				List<CompletionItem> items = new ArrayList<>(completions.size());
-				SortKeys sortkeys = new SortKeys();
-				int count = 0;
-				for (ICompletionProposal c : completions) {
-					count++;
-					if (maxCompletions > 0 && count>maxCompletions) {
-						list.setIsIncomplete(true);
-						break;
-					}
-					try {
-						items.add(adaptItem(doc, c, sortkeys));
-					} catch (Exception e) {
-						logger.error("error computing completion", e);
+			});
+			long budget = timeBudget.toMillis();
+			if (budget > 0) {
+				ScheduledFuture<?> timeout = TIMER.schedule(() -> {
+					if (!result.isDone()) {
+						logger.debug("Completion request exceeded time budget of {} ms", budget);
+						canceled.set(true);
+						//Give the engine a moment to hand over the proposals it found so far, but don't wait for
+						//an engine that doesn't check for cancelation.
+						TIMER.schedule(() -> result.complete(incompleteList()), PARTIAL_RESULTS_GRACE_MILLIS, TimeUnit.MILLISECONDS);
 					}
-				}
-				list.setItems(items);
-				return list;
-			})
-			.subscribeOn(Schedulers.elastic()); //!!! without this the mono will just be computed on the same thread that calls it.
+				}, budget, TimeUnit.MILLISECONDS);
+				result.whenComplete((list, error) -> timeout.cancel(false));
+			}
+			return Mono.fromFuture(result).doOnCancel(() -> canceled.set(true));
 		}
 		return Mono.just(SimpleTextDocumentService.NO_COMPLETIONS);
 	}
 
+	private CompletionList computeCompletions(TextDocument doc, TextDocumentPositionParams params, AtomicBoolean canceled) throws Exception {
+		CancelChecker cancelToken = () -> {
+			if (canceled.get()) {
+				throw new CancellationException();
+			}
+		};
+		cancelToken.checkCanceled();
+		if (resolver!=null) {
+			resolver.clear();
+		}
+		int offset = doc.toOffset(params.getPosition());
+		Collection<ICompletionProposal> allCompletions;
+		boolean incomplete = false;
+		try {
+			allCompletions = engine.getCompletions(doc, offset, cancelToken);
+		} catch (CanceledCompletionsException e) {
+			allCompletions = e.getProposals();
+			incomplete = true;
+		}
+		List<ICompletionProposal> completions = selectBest(allCompletions, maxCompletions);
+		CompletionList list = new CompletionList();
+		list.setIsIncomplete(incomplete || completions.size() < allCompletions.size());
+		List<CompletionItem> items = new ArrayList<>(completions.size());
+		List<CompletableFuture<Void>> documenting = new ArrayList<>();
+		SortKeys sortkeys = new SortKeys();
+		for (ICompletionProposal c : completions) {
+			if (canceled.get()) {
+				//Return the items adapted so far, rather than nothing at all.
+				list.setIsIncomplete(true);
+				break;
+			}
+			try {
+				CompletionItem item = adaptItem(doc, c, sortkeys);
+				items.add(item);
+				if (resolver==null) {
+					documenting.add(CompletableFuture.runAsync(() -> {
+						try {
+							resolveItem(doc, c, item);
+						} catch (Exception e) {
+							logger.error("error computing completion documentation", e);
+						}
+					}, DOCUMENTATION_EXECUTOR));
+				}
+			} catch (Exception e) {
+				logger.error("error computing completion", e);
+			}
+		}
+		CompletableFuture.allOf(documenting.toArray(new CompletableFuture<?>[documenting.size()])).join();
+		list.setItems(items);
+		return list;
+	}
+
+	/**
+	 * Result for a request that was canceled or ran out of time before any proposals were found. Marked as
+	 * incomplete, so the client asks again when the user keeps typing.
+	 */
+	private static CompletionList incompleteList() {
+		return new CompletionList(true, ImmutableList.of());
+	}
+
+	/**
+	 * Select the 'max' best proposals, in sorted order. A heap bounded to 'max' elements is used, so for
+	 * n proposals this costs O(n log max) rather than the O(n log n) of sorting all of them. Proposals that compare
+	 * as equal are kept in their original order (i.e. the result is the same as taking the first 'max'
+	 * elements after a stable sort).
+	 *
+	 * @param max the maximum number of proposals to select, a value <= 0 means no limit.
+	 */
+	static List<ICompletionProposal> selectBest(Collection<ICompletionProposal> proposals, int max) {
+		if (max <= 0 || proposals.size() <= max) {
+			List<ICompletionProposal> sorted = new ArrayList<>(proposals);
+			Collections.sort(sorted, ScoreableProposal.COMPARATOR);
+			return sorted;
+		}
+		Comparator<Ranked> ranking = Comparator.<Ranked, ICompletionProposal>comparing(r -> r.proposal, ScoreableProposal.COMPARATOR)
+				.thenComparingInt(r -> r.index);
+		//Worst proposal on top, so that it can be evicted when a better one comes along.
+		PriorityQueue<Ranked> best = new PriorityQueue<>(max + 1, ranking.reversed());
+		int index = 0;
+		for (ICompletionProposal p : proposals) {
+			best.add(new Ranked(p, index++));
+			if (best.size() > max) {
+				best.poll();
+			}
+		}
+		List<Ranked> ranked = new ArrayList<>(best);
+		Collections.sort(ranked, ranking);
+		List<ICompletionProposal> selected = new ArrayList<>(ranked.size());
+		for (Ranked r : ranked) {
+			selected.add(r.proposal);
+		}
+		return selected;
+	}
+
+	private static class Ranked {
+		final ICompletionProposal proposal;
+		final int index;
+
+		Ranked(ICompletionProposal proposal, int index) {
+			this.proposal = proposal;
+			this.index = index;
+		}
+	}
+
 	private CompletionItem adaptItem(TextDocument doc, ICompletionProposal completion, SortKeys sortkeys) throws Exception {
 		CompletionItem item = new CompletionItem();
 		item.setLabel(completion.getLabel());
@@ -177,8 +341,6 @@ public class VscodeCompletionEngineAdapter implements VscodeCompletionEngine {
 											//lazy as we used to do in the past.
 		if (resolver!=null) {
 			item.setData(resolver.resolveLater(completion, doc));
-		} else {
-			resolveItem(doc, completion, item);
 		}
 		return item;
 	}
@@ -220,8 +382,6 @@ public class VscodeCompletionEngineAdapter implements VscodeCompletionEngine {
 				//The original edit does nothing.
 				return Optional.empty();
 			} else {
-				TextDocument newDoc = doc.copy();
-				edits.apply(newDoc);
 				TextEdit vscodeEdit = new TextEdit();
 				vscodeEdit.setRange(doc.toRange(replaceEdit.start, replaceEdit.end-replaceEdit.start));
 				String newText = replaceEdit.newText;
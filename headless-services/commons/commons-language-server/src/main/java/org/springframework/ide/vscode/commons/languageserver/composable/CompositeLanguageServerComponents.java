@@ -19,6 +19,7 @@ import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.TextDocumentPositionParams;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 import org.springframework.ide.vscode.commons.languageserver.completion.ICompletionEngine;
 import org.springframework.ide.vscode.commons.languageserver.completion.ICompletionProposal;
 import org.springframework.ide.vscode.commons.languageserver.reconcile.IProblemCollector;
@@ -64,12 +65,17 @@ public class CompositeLanguageServerComponents implements LanguageServerComponen
 		this.completionEngine = new ICompletionEngine() {
 			@Override
 			public Collection<ICompletionProposal> getCompletions(TextDocument document, int offset) throws Exception {
+				return getCompletions(document, offset, NOT_CANCELABLE);
+			}
+
+			@Override
+			public Collection<ICompletionProposal> getCompletions(TextDocument document, int offset, CancelChecker cancelToken) throws Exception {
 				LanguageId language = document.getLanguageId();
 				LanguageServerComponents subComponents = componentsByLanguageId.get(language);
 				if (subComponents!=null) {
 					ICompletionEngine subEngine = subComponents.getCompletionEngine();
 					if (subEngine!=null) {
-						return subEngine.getCompletions(document, offset);
+						return subEngine.getCompletions(document, offset, cancelToken);
 					}
 				}
 				return ImmutableList.of();
@@ -16,6 +16,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -65,9 +67,13 @@ import org.springframework.ide.vscode.commons.util.text.LanguageId;
 import org.springframework.ide.vscode.commons.util.text.TextDocument;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 public class SimpleTextDocumentService implements TextDocumentService {
 
+	private static final ExecutorService RESOLVE_EXECUTOR = Executors.newFixedThreadPool(4,
+			new ThreadFactoryBuilder().setNameFormat("completion-resolve-%d").setDaemon(true).build());
+
 	final private SimpleLanguageServer server;
 	private Map<String, TrackedDocument> documents = new HashMap<>();
 	private ListenerList<TextDocumentContentChange> documentChangeListeners = new ListenerList<>();
@@ -282,15 +288,25 @@ public class SimpleTextDocumentService implements TextDocumentService {
 		return CompletableFuture.completedFuture(Either.forRight(NO_COMPLETIONS));
 	}
 
+	/**
+	 * Resolving an item doesn't depend on the state of the documents, and may wait for javadoc from JDT LS,
+	 * so it runs on its own threads rather than holding up the requests that do.
+	 */
 	@Override
 	public CompletableFuture<CompletionItem> resolveCompletionItem(CompletionItem unresolved) {
-	  return async.invoke(() -> {
 		CompletionResolveHandler h = completionResolveHandler;
-		if (h!=null) {
-			return h.handle(unresolved);
+		if (h==null) {
+			return CompletableFuture.completedFuture(null);
 		}
-		return null;
-	  });
+		CompletableFuture<CompletionItem> resolved = new CompletableFuture<>();
+		RESOLVE_EXECUTOR.execute(() -> {
+			try {
+				resolved.complete(h.handle(unresolved));
+			} catch (Throwable e) {
+				resolved.completeExceptionally(e);
+			}
+		});
+		return resolved;
 	}
 
 	@Override
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.languageserver.completion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+import org.springframework.ide.vscode.commons.languageserver.completion.DocumentEdits.TextReplace;
+import org.springframework.ide.vscode.commons.util.text.LanguageId;
+import org.springframework.ide.vscode.commons.util.text.TextDocument;
+
+public class DocumentEditsTest {
+
+	private static final String YAML =
+			"spring:\n" +
+			"  application:\n" +
+			"    name: demo\n" +
+			"server:\n" +
+			"  port: 8080\n";
+
+	private final TextDocument doc = new TextDocument("file:///application.yml", LanguageId.PLAINTEXT, 1, YAML);
+
+	/**
+	 * The replacement must change the document the same way as applying the edits to a copy of the whole document.
+	 */
+	private TextReplace assertReplacementSameAsApplying(DocumentEdits edits) throws Exception {
+		TextDocument applied = doc.copy();
+		edits.apply(applied);
+		TextReplace replace = edits.asReplacement(doc);
+		String text = doc.get();
+		assertEquals(applied.get(), text.substring(0, replace.start) + replace.newText + text.substring(replace.end));
+		//Computing the replacement leaves the document alone
+		assertEquals(YAML, doc.get());
+		return replace;
+	}
+
+	@Test
+	public void noEdits() throws Exception {
+		assertNull(new DocumentEdits(doc).asReplacement(doc));
+	}
+
+	@Test
+	public void singleReplace() throws Exception {
+		int start = YAML.indexOf("demo");
+		DocumentEdits edits = new DocumentEdits(doc);
+		edits.replace(start, start + "demo".length(), "other");
+
+		TextReplace replace = assertReplacementSameAsApplying(edits);
+		assertEquals(start, replace.start);
+		assertEquals(start + "demo".length(), replace.end);
+		assertEquals("other", replace.newText);
+	}
+
+	@Test
+	public void insertAtEndOfDocument() throws Exception {
+		DocumentEdits edits = new DocumentEdits(doc);
+		edits.insert(YAML.length(), "management:\n");
+
+		TextReplace replace = assertReplacementSameAsApplying(edits);
+		assertEquals(YAML.length(), replace.start);
+		assertEquals(YAML.length(), replace.end);
+		assertEquals("management:\n", replace.newText);
+	}
+
+	@Test
+	public void editsSpreadOverSeveralLines() throws Exception {
+		int name = YAML.indexOf("name");
+		int port = YAML.indexOf("8080");
+		DocumentEdits edits = new DocumentEdits(doc);
+		edits.delete(name, name + "name: demo".length());
+		edits.insert(name, "id: x");
+		edits.replace(port, port + 4, "9090");
+
+		TextReplace replace = assertReplacementSameAsApplying(edits);
+		assertEquals(name, replace.start);
+		assertEquals(port + 4, replace.end);
+	}
+
+	@Test
+	public void editsNotInDocumentOrder() throws Exception {
+		int port = YAML.indexOf("8080");
+		DocumentEdits edits = new DocumentEdits(doc);
+		edits.replace(port, port + 4, "9090");
+		edits.insert(0, "# comment\n");
+		edits.deleteLineBackward(1);
+		assertReplacementSameAsApplying(edits);
+	}
+
+	@Test
+	public void indentedFirstEditAndCursorMove() throws Exception {
+		int server = YAML.indexOf("server:");
+		DocumentEdits edits = new DocumentEdits(doc);
+		edits.insert(server, "foo:\n");
+		edits.indentFirstEdit("  ");
+		edits.moveCursorTo(server + 2);
+		assertReplacementSameAsApplying(edits);
+	}
+
+}
@@ -0,0 +1,372 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.languageserver.completion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.CompletionItemKind;
+import org.eclipse.lsp4j.CompletionList;
+import org.eclipse.lsp4j.DidOpenTextDocumentParams;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.eclipse.lsp4j.TextDocumentPositionParams;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.springframework.ide.vscode.commons.languageserver.completion.SimpleCompletionFactory.SimpleProposal;
+import org.springframework.ide.vscode.commons.languageserver.util.SimpleLanguageServer;
+import org.springframework.ide.vscode.commons.util.Renderable;
+import org.springframework.ide.vscode.commons.util.Renderables;
+import org.springframework.ide.vscode.commons.util.text.TextDocument;
+
+import com.google.common.collect.ImmutableList;
+
+public class VscodeCompletionEngineAdapterTest {
+
+	private static final String URI = "file:///test.txt";
+
+	private final SimpleLanguageServer server = new SimpleLanguageServer("test");
+	private final CountDownLatch neverReleased = new CountDownLatch(1);
+	private final CountDownLatch searching = new CountDownLatch(1);
+
+	@Before
+	public void openDocument() throws Exception {
+		server.getTextDocumentService().didOpen(new DidOpenTextDocumentParams(new TextDocumentItem(URI, "plaintext", 1, "some text")));
+		//Wait for the document to be opened
+		server.getTextDocumentService().getDocumentSnapshot(new TextDocumentIdentifier(URI));
+	}
+
+	@After
+	public void releaseHangingEngines() {
+		neverReleased.countDown();
+	}
+
+	private static ICompletionProposal proposal(TextDocument doc, String label) {
+		return new SimpleProposal(new DocumentEdits(doc), CompletionItemKind.Text, null, null, label);
+	}
+
+	/**
+	 * Engine that finds 'a' and 'b' right away, then keeps searching for more until it is canceled.
+	 */
+	private ICompletionEngine searchingUntilCanceled() {
+		return new ICompletionEngine() {
+			@Override
+			public Collection<ICompletionProposal> getCompletions(TextDocument document, int offset) throws Exception {
+				return getCompletions(document, offset, NOT_CANCELABLE);
+			}
+
+			@Override
+			public Collection<ICompletionProposal> getCompletions(TextDocument document, int offset, CancelChecker cancelToken) throws Exception {
+				List<ICompletionProposal> found = new ArrayList<>();
+				found.add(proposal(document, "a"));
+				found.add(proposal(document, "b"));
+				searching.countDown();
+				while (true) {
+					CanceledCompletionsException.checkCanceled(cancelToken, found);
+					Thread.sleep(10);
+				}
+			}
+		};
+	}
+
+	private static class ScoredProposal extends ScoreableProposal {
+		private final String label;
+		private final double score;
+		private final DocumentEdits edits;
+
+		ScoredProposal(String label, double score, DocumentEdits edits) {
+			this.label = label;
+			this.score = score;
+			this.edits = edits;
+		}
+
+		@Override
+		public double getBaseScore() {
+			return score;
+		}
+
+		@Override
+		public String getLabel() {
+			return label;
+		}
+
+		@Override
+		public CompletionItemKind getKind() {
+			return CompletionItemKind.Property;
+		}
+
+		@Override
+		public DocumentEdits getTextEdit() {
+			return edits;
+		}
+
+		@Override
+		public String getDetail() {
+			return null;
+		}
+
+		@Override
+		public Renderable getDocumentation() {
+			return null;
+		}
+	}
+
+	private static ICompletionProposal scored(String label, double score) {
+		return new ScoredProposal(label, score, null);
+	}
+
+	private static List<ICompletionProposal> fullSort(Collection<ICompletionProposal> proposals) {
+		List<ICompletionProposal> sorted = new ArrayList<>(proposals);
+		Collections.sort(sorted, ScoreableProposal.COMPARATOR);
+		return sorted;
+	}
+
+	private static void assertSameProposals(List<ICompletionProposal> expected, List<ICompletionProposal> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertSame("proposal " + i, expected.get(i), actual.get(i));
+		}
+	}
+
+	private CompletableFuture<CompletionList> complete(VscodeCompletionEngine engine) {
+		return complete(engine, URI, new Position(0, 0));
+	}
+
+	private CompletableFuture<CompletionList> complete(VscodeCompletionEngine engine, String uri, Position position) {
+		TextDocumentPositionParams params = new TextDocumentPositionParams(new TextDocumentIdentifier(uri), position);
+		return engine.getCompletions(params).toFuture();
+	}
+
+	private static List<String> labels(CompletionList list) {
+		List<String> labels = new ArrayList<>();
+		for (CompletionItem item : list.getItems()) {
+			labels.add(item.getLabel());
+		}
+		return labels;
+	}
+
+	@Test(timeout = 10000)
+	public void supersededRequestReturnsProposalsFoundSoFar() throws Exception {
+		AtomicInteger requests = new AtomicInteger();
+		ICompletionEngine searchingEngine = searchingUntilCanceled();
+		VscodeCompletionEngineAdapter adapter = new VscodeCompletionEngineAdapter(server, new ICompletionEngine() {
+			@Override
+			public Collection<ICompletionProposal> getCompletions(TextDocument document, int offset) throws Exception {
+				return ImmutableList.of(proposal(document, "c"));
+			}
+
+			@Override
+			public Collection<ICompletionProposal> getCompletions(TextDocument document, int offset, CancelChecker cancelToken) throws Exception {
+				if (requests.incrementAndGet() == 1) {
+					return searchingEngine.getCompletions(document, offset, cancelToken);
+				}
+				return getCompletions(document, offset);
+			}
+		}, null);
+		adapter.setTimeBudget(Duration.ZERO);
+
+		CompletableFuture<CompletionList> first = complete(adapter);
+		searching.await();
+		CompletionList second = complete(adapter).get();
+
+		assertFalse(second.isIncomplete());
+		assertEquals(ImmutableList.of("c"), labels(second));
+		CompletionList canceled = first.get();
+		assertTrue(canceled.isIncomplete());
+		assertEquals(ImmutableList.of("a", "b"), labels(canceled));
+	}
+
+	@Test(timeout = 10000)
+	public void exceededTimeBudgetReturnsProposalsFoundSoFar() throws Exception {
+		VscodeCompletionEngineAdapter adapter = new VscodeCompletionEngineAdapter(server, searchingUntilCanceled(), null);
+		adapter.setTimeBudget(Duration.ofMillis(100));
+
+		CompletionList list = complete(adapter).get();
+		assertTrue(list.isIncomplete());
+		assertEquals(ImmutableList.of("a", "b"), labels(list));
+	}
+
+	@Test(timeout = 10000)
+	public void exceededTimeBudgetWithEngineIgnoringCancelation() throws Exception {
+		VscodeCompletionEngineAdapter adapter = new VscodeCompletionEngineAdapter(server, new ICompletionEngine() {
+			@Override
+			public Collection<ICompletionProposal> getCompletions(TextDocument document, int offset) throws Exception {
+				neverReleased.await();
+				return ImmutableList.of(proposal(document, "a"));
+			}
+		}, null);
+		adapter.setTimeBudget(Duration.ofMillis(100));
+
+		CompletionList list = complete(adapter).get(5, TimeUnit.SECONDS);
+		assertTrue(list.isIncomplete());
+		assertTrue(list.getItems().isEmpty());
+	}
+
+	@Test(timeout = 10000)
+	public void eagerDocumentationIsRenderedConcurrently() throws Exception {
+		int count = 4;
+		CountDownLatch allRendering = new CountDownLatch(count);
+		VscodeCompletionEngineAdapter adapter = new VscodeCompletionEngineAdapter(server, new ICompletionEngine() {
+			@Override
+			public Collection<ICompletionProposal> getCompletions(TextDocument document, int offset) throws Exception {
+				List<ICompletionProposal> proposals = new ArrayList<>();
+				for (int i = 0; i < count; i++) {
+					String label = "p" + i;
+					proposals.add(new SimpleProposal(new DocumentEdits(document), CompletionItemKind.Text, null, null, label) {
+						@Override
+						public Renderable getDocumentation() {
+							//Only returns once the documentation of all the proposals is being rendered at the same time
+							allRendering.countDown();
+							try {
+								allRendering.await();
+							} catch (InterruptedException e) {
+								throw new IllegalStateException(e);
+							}
+							return Renderables.mdBlob("doc of " + label);
+						}
+					});
+				}
+				return proposals;
+			}
+		}, null);
+
+		CompletionList list = complete(adapter).get();
+		assertEquals(count, list.getItems().size());
+		for (CompletionItem item : list.getItems()) {
+			assertEquals("doc of " + item.getLabel(), item.getDocumentation().getRight().getValue());
+		}
+	}
+
+	@Test
+	public void selectBestWithoutLimit() throws Exception {
+		List<ICompletionProposal> proposals = ImmutableList.of(scored("b", 1), scored("a", 1), scored("c", 3), proposal(null, "d"));
+		List<ICompletionProposal> expected = fullSort(proposals);
+		assertSameProposals(expected, VscodeCompletionEngineAdapter.selectBest(proposals, 0));
+		assertSameProposals(expected, VscodeCompletionEngineAdapter.selectBest(proposals, -1));
+	}
+
+	@Test
+	public void selectBestFewerThanMax() throws Exception {
+		List<ICompletionProposal> proposals = ImmutableList.of(scored("b", 1), scored("a", 2), scored("c", 3));
+		assertSameProposals(fullSort(proposals), VscodeCompletionEngineAdapter.selectBest(proposals, 3));
+		assertSameProposals(fullSort(proposals), VscodeCompletionEngineAdapter.selectBest(proposals, 50));
+		assertTrue(VscodeCompletionEngineAdapter.selectBest(ImmutableList.of(), 50).isEmpty());
+	}
+
+	@Test
+	public void selectBestTiesKeepOriginalOrder() throws Exception {
+		List<ICompletionProposal> proposals = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			proposals.add(scored("same", 1));
+		}
+		proposals.add(2, scored("better", 2));
+		List<ICompletionProposal> selected = VscodeCompletionEngineAdapter.selectBest(proposals, 4);
+		assertSame(proposals.get(2), selected.get(0));
+		assertSame(proposals.get(0), selected.get(1));
+		assertSame(proposals.get(1), selected.get(2));
+		assertSame(proposals.get(3), selected.get(3));
+	}
+
+	@Test
+	public void selectBestMatchesFullSort() throws Exception {
+		Random random = new Random(42);
+		List<ICompletionProposal> proposals = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			//Few distinct scores and labels, so that there are many ties
+			if (random.nextInt(10) == 0) {
+				proposals.add(proposal(null, "p" + random.nextInt(20)));
+			} else {
+				proposals.add(scored("p" + random.nextInt(20), random.nextInt(5)));
+			}
+		}
+		List<ICompletionProposal> sorted = fullSort(proposals);
+		for (int max : new int[] { 1, 7, 50, 999, 1000, 1500 }) {
+			List<ICompletionProposal> expected = sorted.subList(0, Math.min(max, sorted.size()));
+			assertSameProposals(expected, VscodeCompletionEngineAdapter.selectBest(proposals, max));
+		}
+	}
+
+	private static final int BENCHMARK_RUNS = 10;
+	private static final int MAX_COMPLETIONS = 50;
+
+	/**
+	 * Compares the cost of a completion request on a large YAML file, with many proposals, against the way
+	 * proposals used to be handled: sorting all of them, then applying the edits of each selected one to a copy
+	 * of the entire document.
+	 */
+	@Ignore("Benchmark, run manually")
+	@Test
+	public void completionCostOnLargeYamlFile() throws Exception {
+		StringBuilder yaml = new StringBuilder();
+		for (int i = 0; i < 20_000; i++) {
+			yaml.append("prop").append(i).append(":\n  name: value").append(i).append('\n');
+		}
+		yaml.append("spring.");
+		String uri = "file:///application.yml";
+		server.getTextDocumentService().didOpen(new DidOpenTextDocumentParams(new TextDocumentItem(uri, "yaml", 1, yaml.toString())));
+		TextDocument doc = server.getTextDocumentService().getDocumentSnapshot(new TextDocumentIdentifier(uri));
+		int offset = doc.getLength();
+		Random random = new Random(42);
+		List<ICompletionProposal> proposals = new ArrayList<>();
+		for (int i = 0; i < 2_000; i++) {
+			DocumentEdits edits = new DocumentEdits(doc);
+			edits.replace(offset - "spring.".length(), offset, "spring.prop" + i + ": ");
+			proposals.add(new ScoredProposal("spring.prop" + i, random.nextInt(100), edits));
+		}
+		VscodeCompletionEngineAdapter adapter = new VscodeCompletionEngineAdapter(server, new ICompletionEngine() {
+			@Override
+			public Collection<ICompletionProposal> getCompletions(TextDocument document, int offset) throws Exception {
+				return proposals;
+			}
+		}, null);
+		adapter.setMaxCompletions(MAX_COMPLETIONS);
+		Position position = doc.toPosition(offset);
+
+		long current = Long.MAX_VALUE;
+		long previous = Long.MAX_VALUE;
+		for (int run = 0; run < BENCHMARK_RUNS; run++) {
+			long start = System.nanoTime();
+			CompletionList list = complete(adapter, uri, position).get();
+			current = Math.min(current, System.nanoTime() - start);
+			assertEquals(MAX_COMPLETIONS, list.getItems().size());
+
+			start = System.nanoTime();
+			List<ICompletionProposal> sorted = fullSort(proposals);
+			for (ICompletionProposal p : sorted.subList(0, MAX_COMPLETIONS)) {
+				TextDocument copy = doc.copy();
+				p.getTextEdit().apply(copy);
+			}
+			previous = Math.min(previous, System.nanoTime() - start);
+		}
+		String timings = "Completion request: " + TimeUnit.NANOSECONDS.toMicros(current)
+				+ "us, full sort and edits applied to document copies: " + TimeUnit.NANOSECONDS.toMicros(previous) + "us";
+		assertTrue(timings, current < previous);
+	}
+
+}
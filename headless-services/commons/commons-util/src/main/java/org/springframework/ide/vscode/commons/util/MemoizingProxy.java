@@ -13,13 +13,24 @@ package org.springframework.ide.vscode.commons.util;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.time.Duration;
+import java.util.Map;
 import java.util.concurrent.Callable;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+import net.sf.cglib.proxy.Callback;
 import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.Factory;
 import net.sf.cglib.proxy.MethodInterceptor;
 import net.sf.cglib.proxy.MethodProxy;
 
@@ -27,9 +38,24 @@ import net.sf.cglib.proxy.MethodProxy;
  * Utility to instrument a given class, memoizing all it's zero-argument method invocations. 
  * Note that the memoization behaves a little different from guava's Suppliers.memoize in that
  * it caches exception results as well as regularly returned values.
+ * <p>
+ * Each method (and argument) is memoized independently: a slow call to one method never blocks
+ * callers of another one. Concurrent callers of the same method share a single invocation.
+ * When a memoized value is about to expire, it is refreshed in the background while callers
+ * keep getting the memoized value.
  */
 public class MemoizingProxy {
 	
+	/**
+	 * Fraction of the expiry duration after which a value is refreshed in the background.
+	 */
+	private static final double REFRESH_AHEAD_FACTOR = 0.75;
+
+	private static final ExecutorService REFRESHER = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+			.setNameFormat("memoizing-proxy-refresh-%d")
+			.setDaemon(true)
+			.build());
+
 	static class Result {
 		
 		Throwable e;
@@ -51,32 +77,223 @@ public class MemoizingProxy {
 		}
 	}
 
+	/**
+	 * Hit, miss and latency counters of the memoized calls of one method.
+	 */
+	public static class Stats {
+
+		private final AtomicLong hits = new AtomicLong();
+		private final AtomicLong misses = new AtomicLong();
+		private final AtomicLong refreshes = new AtomicLong();
+		private final AtomicLong invocations = new AtomicLong();
+		private final AtomicLong invocationNanos = new AtomicLong();
+
+		/**
+		 * @return Number of calls answered with a memoized value (including calls waiting for an invocation already in progress).
+		 */
+		public long getHits() {
+			return hits.get();
+		}
+
+		/**
+		 * @return Number of calls that had to invoke the method themselves.
+		 */
+		public long getMisses() {
+			return misses.get();
+		}
+
+		/**
+		 * @return Number of background refreshes.
+		 */
+		public long getRefreshes() {
+			return refreshes.get();
+		}
+
+		/**
+		 * @return Average duration of the actual method invocations, in milliseconds.
+		 */
+		public double getAverageInvocationMillis() {
+			long count = invocations.get();
+			return count == 0 ? 0 : invocationNanos.get() / 1_000_000.0 / count;
+		}
+
+		@Override
+		public String toString() {
+			return "Stats [hits=" + getHits() + ", misses=" + getMisses() + ", refreshes=" + getRefreshes()
+					+ ", averageInvocationMillis=" + String.format("%.1f", getAverageInvocationMillis()) + "]";
+		}
+	}
 
 	/**
-	 * Memoizes all zero-argument public methods for a given duration.
+	 * Memoized results, keyed by method name (plus argument for single-argument methods).
+	 */
+	static class Memo {
+
+		private static class Entry {
+			final CompletableFuture<Result> result = new CompletableFuture<>();
+			final AtomicBoolean refreshing = new AtomicBoolean();
+			volatile long computedAt;
+
+			Entry() {}
+
+			Entry(Result r, long computedAt) {
+				this.computedAt = computedAt;
+				result.complete(r);
+			}
+		}
+
+		private final Ticker ticker;
+		private final long expiresAfterNanos;
+		private final long refreshAfterNanos;
+		private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+		private final ConcurrentMap<String, Stats> stats = new ConcurrentHashMap<>();
+		private final AtomicLong lastSweep;
+
+		Memo(Duration expiresAfter, Ticker ticker) {
+			this.ticker = ticker;
+			this.expiresAfterNanos = expiresAfter.toNanos();
+			this.refreshAfterNanos = (long) (expiresAfterNanos * REFRESH_AHEAD_FACTOR);
+			this.lastSweep = new AtomicLong(ticker.read());
+		}
+
+		Object get(String methodName, String key, Callable<?> computer) throws Exception {
+			Stats methodStats = stats.computeIfAbsent(methodName, m -> new Stats());
+			sweepIfDue();
+			Entry existing = entries.get(key);
+			if (existing != null && isUsable(existing)) {
+				methodStats.hits.incrementAndGet();
+				refreshAheadIfNeeded(key, existing, methodStats, computer);
+				return await(existing);
+			}
+			Entry created = new Entry();
+			Entry entry = entries.compute(key, (k, current) -> current != null && isUsable(current) ? current : created);
+			if (entry != created) {
+				//Someone else is computing (or just computed) the value
+				methodStats.hits.incrementAndGet();
+				return await(entry);
+			}
+			methodStats.misses.incrementAndGet();
+			Result r = invoke(methodStats, computer);
+			created.computedAt = ticker.read();
+			created.result.complete(r);
+			return await(created);
+		}
+
+		/**
+		 * Removes the expired entries, at most once per expiry duration, so that results memoized for
+		 * arguments that are no longer used don't pile up.
+		 */
+		private void sweepIfDue() {
+			long now = ticker.read();
+			long last = lastSweep.get();
+			if (now - last >= expiresAfterNanos && lastSweep.compareAndSet(last, now)) {
+				sweep();
+			}
+		}
+
+		private void sweep() {
+			entries.values().removeIf(entry -> !isUsable(entry));
+		}
+
+		/**
+		 * @return Whether an entry is still being computed or its value is not yet expired. Expiry is measured
+		 * from the time the value was computed, so slow invocations keep their full lifetime.
+		 */
+		private boolean isUsable(Entry entry) {
+			return !entry.result.isDone() || ticker.read() - entry.computedAt < expiresAfterNanos;
+		}
+
+		private void refreshAheadIfNeeded(String key, Entry entry, Stats methodStats, Callable<?> computer) {
+			if (entry.result.isDone() && ticker.read() - entry.computedAt >= refreshAfterNanos && entry.refreshing.compareAndSet(false, true)) {
+				REFRESHER.execute(() -> {
+					methodStats.refreshes.incrementAndGet();
+					Result r = invoke(methodStats, computer);
+					Entry refreshed = new Entry(r, ticker.read());
+					//The old entry may have been swept while refreshing, the refreshed value is still good
+					entries.compute(key, (k, current) -> current == null || current == entry ? refreshed : current);
+				});
+			}
+		}
+
+		private static Result invoke(Stats methodStats, Callable<?> computer) {
+			long start = System.nanoTime();
+			try {
+				return new Result(computer);
+			} finally {
+				methodStats.invocations.incrementAndGet();
+				methodStats.invocationNanos.addAndGet(System.nanoTime() - start);
+			}
+		}
+
+		private static Object await(Entry entry) throws Exception {
+			Result r;
+			try {
+				r = entry.result.get();
+			} catch (ExecutionException e) {
+				throw ExceptionUtil.exception(e.getCause());
+			}
+			return r.get();
+		}
+
+		Map<String, Stats> getStats() {
+			return ImmutableMap.copyOf(stats);
+		}
+
+		/**
+		 * @return Number of memoized results, including the ones still being computed.
+		 */
+		long size() {
+			sweep();
+			return entries.size();
+		}
+	}
+
+	/**
+	 * Common interface of the interceptors, to get at their stats.
+	 */
+	private interface MemoizingInterceptor extends MethodInterceptor {
+		Memo getMemo();
+	}
+
+	/**
+	 * Methods without a result are performed for their side effects, so every call must reach the target.
+	 */
+	private static boolean isMemoizable(Method method) {
+		return Modifier.isPublic(method.getModifiers()) && method.getReturnType() != void.class;
+	}
+
+	/**
+	 * Memoizes all zero-argument public methods that have a result for a given duration.
 	 */
-	@SuppressWarnings("unchecked")
 	public static <T> T create(Class<T> klass, Duration duration, Class<?>[] argTypes, Object... args) {
+		return create(klass, duration, Ticker.systemTicker(), argTypes, args);
+	}
+
+	/**
+	 * Like {@link #create(Class, Duration, Class[], Object...)}, measuring the expiry duration with the given ticker.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T create(Class<T> klass, Duration duration, Ticker ticker, Class<?>[] argTypes, Object... args) {
 		Enhancer enhancer = new Enhancer();
 		enhancer.setSuperclass(klass);
-		enhancer.setCallback(new MethodInterceptor() {
-			Cache<String, Result> cache = CacheBuilder.newBuilder()
-					.expireAfterWrite(duration.toMillis(), TimeUnit.MILLISECONDS)
-					.build();
-			
+		enhancer.setCallback(new MemoizingInterceptor() {
+			Memo memo = new Memo(duration, ticker);
+
+			@Override
+			public Memo getMemo() {
+				return memo;
+			}
+
 			public Object intercept(Object obj, Method method, Object[] args, MethodProxy proxy) throws Throwable {
-				if (Modifier.isPublic(method.getModifiers()) && (args==null || args.length==0)) {
-					synchronized (cache) {
-						String mname = method.getName();
-						Result r = cache.get(mname, () -> new Result(() -> { 
-							try {
-								return proxy.invokeSuper(obj, args);
-							} catch (Throwable e) {
-								throw ExceptionUtil.exception(e);
-							}	
-						}));
-						return r.get();
-					}
+				if (isMemoizable(method) && (args==null || args.length==0)) {
+					String mname = method.getName();
+					return memo.get(mname, mname, () -> {
+						try {
+							return proxy.invokeSuper(obj, args);
+						} catch (Throwable e) {
+							throw ExceptionUtil.exception(e);
+						}
+					});
 				} else {
 					return proxy.invokeSuper(obj, args);
 				}
@@ -86,38 +303,55 @@ public class MemoizingProxy {
 		return (T) enhancer.create(argTypes, args);
 	}
 	
+	/**
+	 * @return Per-method counters of a proxy created by this class (keyed by method name), or an empty map
+	 * for any other object.
+	 */
+	public static Map<String, Stats> getStats(Object proxy) {
+		if (proxy instanceof Factory) {
+			for (Callback callback : ((Factory) proxy).getCallbacks()) {
+				if (callback instanceof MemoizingInterceptor) {
+					return ((MemoizingInterceptor) callback).getMemo().getStats();
+				}
+			}
+		}
+		return ImmutableMap.of();
+	}
 
-	public static class MemoizingProxyHandler implements MethodInterceptor {
+	public static class MemoizingProxyHandler implements MemoizingInterceptor {
 		
 		private final Object original;
-		private final Cache<String, Result> cache;
+		private final Memo memo;
 		
 		public MemoizingProxyHandler(Object original, Duration cacheExpiresAfter) {
+			this(original, cacheExpiresAfter, Ticker.systemTicker());
+		}
+
+		public MemoizingProxyHandler(Object original, Duration cacheExpiresAfter, Ticker ticker) {
 			this.original = original;
-			this.cache = CacheBuilder.newBuilder()
-					.expireAfterWrite(cacheExpiresAfter.toMillis(), TimeUnit.MILLISECONDS)
-					.build();
+			this.memo = new Memo(cacheExpiresAfter, ticker);
+		}
+
+		@Override
+		public Memo getMemo() {
+			return memo;
 		}
 
 		@Override
 		public Object intercept(Object obj, Method method, Object[] args, MethodProxy proxy) throws Throwable {
-			if (Modifier.isPublic(method.getModifiers()) && (args == null || args.length < 2)) {
-				synchronized (cache) {
-					String mname = method.getName();
-					
-					if (args != null && args.length == 1) {
-						mname += "-" + args[0].toString();
-					}
-					
-					Result r = cache.get(mname, () -> new Result(() -> { 
-						try {
-							return method.invoke(original, args);
-						} catch (Throwable e) {
-							throw ExceptionUtil.exception(e);
-						}	
-					}));
-					return r.get();
+			if (isMemoizable(method) && (args == null || args.length < 2)) {
+				String mname = method.getName();
+				String key = mname;
+				if (args != null && args.length == 1) {
+					key += "-" + args[0].toString();
 				}
+				return memo.get(mname, key, () -> {
+					try {
+						return method.invoke(original, args);
+					} catch (Throwable e) {
+						throw ExceptionUtil.exception(e);
+					}
+				});
 			} else {
 				return method.invoke(original, args);
 			}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Associates values with uris (typically project locations) and finds the value for the
+ * 'closest' uri containing a given uri, i.e. the longest prefix in terms of path segments
+ * (see {@link UriUtil#contains(String, String)}).
+ * <p>
+ * Lookups cost time proportional to the number of segments of the uri rather than to the
+ * number of entries, and don't take any locks. Updates are serialized.
+ * <p>
+ * Caution, like {@link UriUtil#contains(String, String)}, this assumes that it is only
+ * called with normalized uris.
+ */
+public class UriTrie<V> {
+
+	private static final class Node<V> {
+		final Map<String, Node<V>> children = new ConcurrentHashMap<>();
+		volatile V value;
+	}
+
+	private final Node<V> root = new Node<>();
+
+	public synchronized void put(String uri, V value) {
+		Assert.isNotNull(value);
+		Node<V> node = root;
+		for (String segment : segments(uri)) {
+			node = node.children.computeIfAbsent(segment, s -> new Node<>());
+		}
+		node.value = value;
+	}
+
+	/**
+	 * @return The value that was associated with exactly this uri, or null.
+	 */
+	public synchronized V remove(String uri) {
+		return remove(root, segments(uri), 0);
+	}
+
+	private V remove(Node<V> node, String[] segments, int i) {
+		if (i == segments.length) {
+			V old = node.value;
+			node.value = null;
+			return old;
+		}
+		Node<V> child = node.children.get(segments[i]);
+		if (child == null) {
+			return null;
+		}
+		V old = remove(child, segments, i + 1);
+		if (child.value == null && child.children.isEmpty()) {
+			node.children.remove(segments[i]);
+		}
+		return old;
+	}
+
+	/**
+	 * @return The value associated with exactly this uri, or null.
+	 */
+	public V get(String uri) {
+		Node<V> node = root;
+		for (String segment : segments(uri)) {
+			node = node.children.get(segment);
+			if (node == null) {
+				return null;
+			}
+		}
+		return node.value;
+	}
+
+	/**
+	 * @return The value associated with the longest uri that contains the given uri (or is equal to it), or null.
+	 */
+	public V findLongestPrefix(String uri) {
+		V found = root.value;
+		Node<V> node = root;
+		for (String segment : segments(uri)) {
+			node = node.children.get(segment);
+			if (node == null) {
+				break;
+			}
+			V value = node.value;
+			if (value != null) {
+				found = value;
+			}
+		}
+		return found;
+	}
+
+	public synchronized void clear() {
+		root.children.clear();
+		root.value = null;
+	}
+
+	private static String[] segments(String uri) {
+		return uri.split("/");
+	}
+
+}
@@ -0,0 +1,246 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.ide.vscode.commons.util.MemoizingProxy.MemoizingProxyHandler;
+import org.springframework.ide.vscode.commons.util.MemoizingProxy.Stats;
+
+import com.google.common.base.Ticker;
+
+public class MemoizingProxyTest {
+
+	public static class Target {
+
+		static final AtomicInteger slowCalls = new AtomicInteger();
+		static final AtomicInteger fastCalls = new AtomicInteger();
+		static final AtomicInteger failingCalls = new AtomicInteger();
+		static volatile CountDownLatch slowStarted = new CountDownLatch(1);
+		static volatile CountDownLatch releaseSlow = new CountDownLatch(0);
+
+		public String slow() throws Exception {
+			slowCalls.incrementAndGet();
+			slowStarted.countDown();
+			releaseSlow.await(10, TimeUnit.SECONDS);
+			return "slow";
+		}
+
+		public String slowVersioned() throws Exception {
+			int call = slowCalls.incrementAndGet();
+			slowStarted.countDown();
+			releaseSlow.await(10, TimeUnit.SECONDS);
+			return "slow" + call;
+		}
+
+		public String fast() {
+			return "fast" + fastCalls.incrementAndGet();
+		}
+
+		public String failing() {
+			failingCalls.incrementAndGet();
+			throw new IllegalStateException("failed");
+		}
+
+		public String echo(String arg) {
+			return arg;
+		}
+	}
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	private final AtomicLong nanos = new AtomicLong();
+	private final Ticker ticker = new Ticker() {
+		@Override
+		public long read() {
+			return nanos.get();
+		}
+	};
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+		Target.slowCalls.set(0);
+		Target.fastCalls.set(0);
+		Target.failingCalls.set(0);
+		Target.slowStarted = new CountDownLatch(1);
+		Target.releaseSlow = new CountDownLatch(0);
+	}
+
+	private static Target create(Duration duration) {
+		return MemoizingProxy.create(Target.class, duration, new Class<?>[0]);
+	}
+
+	@Test
+	public void slowMethodDoesNotBlockOtherMethods() throws Exception {
+		Target target = create(Duration.ofMinutes(1));
+		Target.releaseSlow = new CountDownLatch(1);
+
+		Future<String> slow = executor.submit(target::slow);
+		assertTrue(Target.slowStarted.await(5, TimeUnit.SECONDS));
+
+		assertEquals("fast1", executor.submit(target::fast).get(5, TimeUnit.SECONDS));
+
+		Target.releaseSlow.countDown();
+		assertEquals("slow", slow.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void concurrentCallsShareOneInvocation() throws Exception {
+		Target target = create(Duration.ofMinutes(1));
+		Target.releaseSlow = new CountDownLatch(1);
+
+		List<Future<String>> results = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			results.add(executor.submit(target::slow));
+		}
+		assertTrue(Target.slowStarted.await(5, TimeUnit.SECONDS));
+		Thread.sleep(100);
+		Target.releaseSlow.countDown();
+		for (Future<String> r : results) {
+			assertEquals("slow", r.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(1, Target.slowCalls.get());
+
+		Map<String, Stats> stats = MemoizingProxy.getStats(target);
+		assertEquals(1, stats.get("slow").getMisses());
+		assertEquals(4, stats.get("slow").getHits());
+	}
+
+	@Test
+	public void exceptionsAreMemoized() throws Exception {
+		Target target = create(Duration.ofMinutes(1));
+		for (int i = 0; i < 2; i++) {
+			try {
+				target.failing();
+				fail("Should have thrown");
+			} catch (IllegalStateException e) {
+				assertEquals("failed", e.getMessage());
+			}
+		}
+		assertEquals(1, Target.failingCalls.get());
+	}
+
+	@Test
+	public void refreshAhead() throws Exception {
+		Target target = MemoizingProxy.create(Target.class, Duration.ofMillis(400), ticker, new Class<?>[0]);
+		assertEquals("fast1", target.fast());
+
+		//Near expiry: still the memoized value, but a refresh happens in the background
+		nanos.addAndGet(Duration.ofMillis(320).toNanos());
+		assertEquals("fast1", target.fast());
+
+		String value = target.fast();
+		long timeout = System.currentTimeMillis() + 5000;
+		while ("fast1".equals(value) && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+			value = target.fast();
+		}
+		assertEquals("fast2", value);
+		assertEquals(1, MemoizingProxy.getStats(target).get("fast").getRefreshes());
+	}
+
+	/**
+	 * Handler memoizing for 400ms of the fake ticker, with a call to {@link Target#slowVersioned()}.
+	 */
+	private final MemoizingProxyHandler slowHandler = new MemoizingProxyHandler(new Target(), Duration.ofMillis(400), ticker);
+
+	private String slowVersioned() throws Exception {
+		try {
+			return (String) slowHandler.intercept(null, Target.class.getMethod("slowVersioned"), null, null);
+		} catch (Exception e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	@Test
+	public void refreshAheadOfSlowMethod() throws Exception {
+		//The call takes 300ms. The value expires 400ms after the call completes, not after it started.
+		Target.releaseSlow = new CountDownLatch(1);
+		Future<String> first = executor.submit(this::slowVersioned);
+		assertTrue(Target.slowStarted.await(5, TimeUnit.SECONDS));
+		nanos.addAndGet(Duration.ofMillis(300).toNanos());
+		Target.releaseSlow.countDown();
+		assertEquals("slow1", first.get(5, TimeUnit.SECONDS));
+		nanos.addAndGet(Duration.ofMillis(320).toNanos());
+
+		//Near expiry: the memoized value is returned right away while it is refreshed in the background
+		Target.slowStarted = new CountDownLatch(1);
+		Target.releaseSlow = new CountDownLatch(1);
+		assertEquals("slow1", executor.submit(this::slowVersioned).get(5, TimeUnit.SECONDS));
+		assertTrue(Target.slowStarted.await(5, TimeUnit.SECONDS));
+		nanos.addAndGet(Duration.ofMillis(60).toNanos());
+		Target.releaseSlow.countDown();
+
+		String value = slowVersioned();
+		long timeout = System.currentTimeMillis() + 5000;
+		while ("slow1".equals(value) && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+			value = slowVersioned();
+		}
+		assertEquals("slow2", value);
+		assertEquals(2, Target.slowCalls.get());
+		assertEquals(1, slowHandler.getMemo().getStats().get("slowVersioned").getRefreshes());
+
+		//The refreshed value expires 400ms after the refresh completed, not after it started
+		nanos.addAndGet(Duration.ofMillis(370).toNanos());
+		assertEquals("slow2", slowVersioned());
+	}
+
+	@Test
+	public void callsLongerThanExpiryShareOneInvocation() throws Exception {
+		Target.releaseSlow = new CountDownLatch(1);
+		Future<String> first = executor.submit(this::slowVersioned);
+		assertTrue(Target.slowStarted.await(5, TimeUnit.SECONDS));
+		nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+		Future<String> second = executor.submit(this::slowVersioned);
+		Thread.sleep(100);
+
+		Target.releaseSlow.countDown();
+		assertEquals("slow1", first.get(5, TimeUnit.SECONDS));
+		assertEquals("slow1", second.get(5, TimeUnit.SECONDS));
+		assertEquals(1, Target.slowCalls.get());
+	}
+
+	@Test
+	public void expiredResultsAreRemoved() throws Throwable {
+		MemoizingProxyHandler handler = new MemoizingProxyHandler(new Target(), Duration.ofSeconds(5), ticker);
+		Method echo = Target.class.getMethod("echo", String.class);
+
+		assertEquals("a", handler.intercept(null, echo, new Object[] {"a"}, null));
+		assertEquals("b", handler.intercept(null, echo, new Object[] {"b"}, null));
+		assertEquals(2L, handler.getMemo().size());
+
+		nanos.addAndGet(Duration.ofSeconds(6).toNanos());
+		assertEquals("c", handler.intercept(null, echo, new Object[] {"c"}, null));
+		assertEquals(1L, handler.getMemo().size());
+	}
+
+}
@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class UriTrieTest {
+
+	@Test
+	public void longestPrefix() throws Exception {
+		UriTrie<String> trie = new UriTrie<>();
+		trie.put(UriUtil.normalize("file:///foo/bar"), "bar");
+		trie.put(UriUtil.normalize("file:///foo/bar/nested"), "nested");
+
+		assertEquals("bar", trie.findLongestPrefix(UriUtil.normalize("file:///foo/bar")));
+		assertEquals("bar", trie.findLongestPrefix(UriUtil.normalize("file:///foo/bar/")));
+		assertEquals("bar", trie.findLongestPrefix(UriUtil.normalize("file:/foo/bar/child/baby")));
+		assertEquals("nested", trie.findLongestPrefix(UriUtil.normalize("file:/foo/bar/nested")));
+		assertEquals("nested", trie.findLongestPrefix(UriUtil.normalize("file:/foo/bar/nested/src/Foo.java")));
+		assertEquals("bar", trie.findLongestPrefix(UriUtil.normalize("file:/foo/bar/nestedness")));
+
+		assertNull(trie.findLongestPrefix(UriUtil.normalize("file:/foo")));
+		assertNull(trie.findLongestPrefix(UriUtil.normalize("file:/foo/barack")));
+		assertNull(trie.findLongestPrefix(UriUtil.normalize("file:/foo/whatever/bar")));
+	}
+
+	@Test
+	public void remove() throws Exception {
+		UriTrie<String> trie = new UriTrie<>();
+		String bar = UriUtil.normalize("file:///foo/bar");
+		String nested = UriUtil.normalize("file:///foo/bar/nested");
+		trie.put(bar, "bar");
+		trie.put(nested, "nested");
+
+		assertEquals("nested", trie.remove(nested));
+		assertNull(trie.remove(nested));
+		assertNull(trie.get(nested));
+		assertEquals("bar", trie.findLongestPrefix(UriUtil.normalize("file:/foo/bar/nested/src")));
+
+		assertEquals("bar", trie.remove(bar));
+		assertNull(trie.findLongestPrefix(UriUtil.normalize("file:/foo/bar/nested/src")));
+	}
+
+	@Test
+	public void replace() throws Exception {
+		UriTrie<String> trie = new UriTrie<>();
+		String bar = UriUtil.normalize("file:///foo/bar");
+		trie.put(bar, "old");
+		trie.put(bar, "new");
+		assertEquals("new", trie.get(bar));
+		assertEquals("new", trie.findLongestPrefix(bar + "/child"));
+	}
+
+}
@@ -20,8 +20,10 @@ import java.util.List;
 import java.util.Optional;
 import java.util.regex.Pattern;
 
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.ide.vscode.commons.languageserver.completion.CanceledCompletionsException;
 import org.springframework.ide.vscode.commons.languageserver.completion.DocumentEdits;
 import org.springframework.ide.vscode.commons.languageserver.completion.ICompletionEngine;
 import org.springframework.ide.vscode.commons.languageserver.completion.ICompletionProposal;
@@ -81,6 +83,12 @@ public class YamlCompletionEngine implements ICompletionEngine {
 
 	@Override
 	public Collection<ICompletionProposal> getCompletions(TextDocument _doc, int offset) throws Exception {
+		return getCompletions(_doc, offset, NOT_CANCELABLE);
+	}
+
+	@Override
+	public Collection<ICompletionProposal> getCompletions(TextDocument _doc, int offset, CancelChecker cancelToken) throws Exception {
+		cancelToken.checkCanceled();
 		YamlDocument doc = new YamlDocument(_doc, structureProvider);
 		if (!doc.isCommented(offset)) {
 			SRootNode root = doc.getStructure();
@@ -94,6 +102,7 @@ public class YamlCompletionEngine implements ICompletionEngine {
 				List<ICompletionProposal> completions = new ArrayList<>();
 				double deempasizeBy = 0.0;
 				for (SNode contextNode : contextNodes) {
+					CanceledCompletionsException.checkCanceled(cancelToken, completions);
 					completions.addAll(getRelaxedCompletions(offset, doc, current, contextNode, baseIndent, deempasizeBy));
 					deempasizeBy += ScoreableProposal.DEEMP_NEXT_CONTEXT;
 				}
@@ -14,12 +14,14 @@ package org.springframework.ide.vscode.commons.yaml.reconcile;
 import static org.springframework.ide.vscode.commons.util.ExceptionUtil.getSimpleError;
 import static org.springframework.ide.vscode.commons.yaml.ast.NodeUtil.asScalar;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -76,7 +78,28 @@ public class SchemaBasedYamlASTReconciler implements YamlASTReconciler {
 		// This facilitates constraints that depend on, for example, the contents of the ast type cache being
 		// populated prior to checking.
 
-	private List<Runnable> slowDelayedConstraints = new ArrayList<>();
+	private List<Consumer<IProblemCollector>> slowDelayedConstraints = new ArrayList<>();
+		// keeps track of delayed constraints that are potentially long running (e.g. because they
+		// need to talk to some external service). These are verified in parallel, after all other problems
+		// have already been reported.
+
+	/**
+	 * Maximum time for verifying a slow constraint. Problems from constraints that didn't complete
+	 * in time are simply not reported.
+	 */
+	public static final Duration SLOW_CONSTRAINT_TIMEOUT = Duration.ofSeconds(30);
+
+	/**
+	 * Maximum number of slow constraints of a document verified at the same time.
+	 */
+	public static final int SLOW_CONSTRAINT_PARALLELISM = 4;
+
+	/**
+	 * Number of threads verifying the slow constraints of all the documents.
+	 */
+	public static final int SLOW_CONSTRAINT_THREADS = 8;
+
+	private static final SlowConstraintVerifier SLOW_CONSTRAINT_VERIFIER = new SlowConstraintVerifier(SLOW_CONSTRAINT_TIMEOUT, SLOW_CONSTRAINT_PARALLELISM, SLOW_CONSTRAINT_THREADS);
 
 	public SchemaBasedYamlASTReconciler(IProblemCollector problems, YamlSchema schema, ITypeCollector typeCollector, YamlQuickfixes quickfixes) {
 		this.problems = problems;
@@ -204,11 +227,11 @@ public class SchemaBasedYamlASTReconciler implements YamlASTReconciler {
 						delayedConstraints.add(() -> {
 							parserProvider.safeWithContext(schemaContext).ifPresent(parser -> {
 								if (parser.longRunning()) {
-									slowDelayedConstraints.add(() -> {
-										parse(ast, node, type, parser);
+									slowDelayedConstraints.add((problems) -> {
+										parse(ast, node, type, parser, problems);
 									});
 								} else {
-									parse(ast, node, type, parser);
+									parse(ast, node, type, parser, problems);
 								}
 							});
 						});
@@ -223,7 +246,7 @@ public class SchemaBasedYamlASTReconciler implements YamlASTReconciler {
 		}
 	}
 
-	private void parse(YamlFileAST ast, Node node, YType type, ValueParser parser) {
+	private void parse(YamlFileAST ast, Node node, YType type, ValueParser parser, IProblemCollector problems) {
 		try {
 			String value = NodeUtil.asScalar(node);
 			if (value!=null) {
@@ -233,7 +256,7 @@ public class SchemaBasedYamlASTReconciler implements YamlASTReconciler {
 			ProblemType problemType = getProblemType(e);
 			DocumentRegion region = getRegion(e, ast.getDocument(), node);
 			String msg = getMessage(e);
-			valueParseError(type, region, msg, problemType, getValueReplacement(e));
+			valueParseError(type, region, msg, problemType, getValueReplacement(e), problems);
 		}
 	}
 
@@ -333,10 +356,10 @@ public class SchemaBasedYamlASTReconciler implements YamlASTReconciler {
 
 		delayedConstraints.clear();
 
-		for (Runnable runnable : slowDelayedConstraints) {
-			runnable.run();
+		if (!slowDelayedConstraints.isEmpty()) {
+			SLOW_CONSTRAINT_VERIFIER.verify(slowDelayedConstraints, problems);
+			slowDelayedConstraints.clear();
 		}
-		slowDelayedConstraints.clear();
 	}
 
 	protected NodeId getNodeId(Node node) {
@@ -421,7 +444,7 @@ public class SchemaBasedYamlASTReconciler implements YamlASTReconciler {
 		}
 	}
 
-	private void valueParseError(YType type, DocumentRegion region, String parseErrorMsg, ProblemType problemType, ReplacementQuickfix fix) {
+	private void valueParseError(YType type, DocumentRegion region, String parseErrorMsg, ProblemType problemType, ReplacementQuickfix fix, IProblemCollector problems) {
 		if (!StringUtil.hasText(parseErrorMsg)) {
 			parseErrorMsg= "Couldn't parse as '"+describe(type)+"'";
 		}
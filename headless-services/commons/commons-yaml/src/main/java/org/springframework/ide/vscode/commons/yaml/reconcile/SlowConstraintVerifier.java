@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.commons.yaml.reconcile;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.springframework.ide.vscode.commons.languageserver.reconcile.IProblemCollector;
+import org.springframework.ide.vscode.commons.languageserver.reconcile.ReconcileProblem;
+import org.springframework.ide.vscode.commons.util.Log;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Verifies potentially long running constraints concurrently, on a bounded pool of threads. Each constraint
+ * collects its problems into its own list. The lists are handed to the 'real' problem collector from the
+ * calling thread, in batches, as the constraints complete.
+ * <p>
+ * A single verification runs at most 'parallelism' constraints at the same time. Each constraint gets its
+ * own timeout, counted from when it starts running. A constraint that doesn't complete in time is cancelled,
+ * which frees its thread and its slot for the constraints still waiting to run.
+ */
+public class SlowConstraintVerifier {
+
+	private final ThreadPoolExecutor executor;
+	private final Duration timeout;
+	private final int parallelism;
+
+	/**
+	 * @param timeout Maximum time for verifying a single constraint, from when it starts running. Constraints
+	 * still running by then are cancelled and their problems are not reported.
+	 * @param parallelism Maximum number of constraints of a verification running at the same time.
+	 * @param threads Number of threads shared by all the verifications.
+	 */
+	public SlowConstraintVerifier(Duration timeout, int parallelism, int threads) {
+		this.timeout = timeout;
+		this.parallelism = parallelism;
+		this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+				new ThreadFactoryBuilder()
+					.setNameFormat("yaml-slow-constraints-%d")
+					.setDaemon(true)
+					.build());
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * @return true if all the constraints were verified, false if some were cancelled because they
+	 * timed out or because the calling thread got interrupted.
+	 */
+	public boolean verify(List<Consumer<IProblemCollector>> constraints, IProblemCollector problems) {
+		CompletionService<List<ReconcileProblem>> completions = new ExecutorCompletionService<>(executor);
+		Iterator<Consumer<IProblemCollector>> waiting = constraints.iterator();
+		Map<Future<List<ReconcileProblem>>, SlowConstraintTask> running = new HashMap<>();
+		boolean allVerified = true;
+		try {
+			while (waiting.hasNext() || !running.isEmpty()) {
+				while (waiting.hasNext() && running.size() < parallelism) {
+					SlowConstraintTask task = new SlowConstraintTask(waiting.next());
+					running.put(completions.submit(task), task);
+				}
+				boolean reported = false;
+				Future<List<ReconcileProblem>> done = completions.poll(untilNextTimeout(running.values()), TimeUnit.NANOSECONDS);
+				while (done!=null) {
+					running.remove(done);
+					reported |= report(done, problems);
+					done = completions.poll();
+				}
+				if (reported) {
+					problems.checkPointCollecting();
+				}
+				allVerified &= !cancelTimedOut(running);
+			}
+			return allVerified;
+		} catch (InterruptedException e) {
+			for (Future<List<ReconcileProblem>> f : running.keySet()) {
+				f.cancel(true);
+			}
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * @return Nanoseconds until the first of the running constraints times out. Constraints that haven't started
+	 * yet can't time out sooner than the timeout.
+	 */
+	private long untilNextTimeout(Collection<SlowConstraintTask> running) {
+		long now = System.nanoTime();
+		long wait = timeout.toNanos();
+		for (SlowConstraintTask task : running) {
+			Long startedAt = task.startedAt;
+			if (startedAt != null) {
+				wait = Math.min(wait, startedAt + timeout.toNanos() - now);
+			}
+		}
+		return Math.max(0, wait);
+	}
+
+	/**
+	 * Cancels the constraints that have been running for longer than the timeout.
+	 *
+	 * @return Whether any constraint was cancelled.
+	 */
+	private boolean cancelTimedOut(Map<Future<List<ReconcileProblem>>, SlowConstraintTask> running) {
+		boolean cancelled = false;
+		long now = System.nanoTime();
+		Iterator<Entry<Future<List<ReconcileProblem>>, SlowConstraintTask>> entries = running.entrySet().iterator();
+		while (entries.hasNext()) {
+			Entry<Future<List<ReconcileProblem>>, SlowConstraintTask> e = entries.next();
+			Long startedAt = e.getValue().startedAt;
+			if (startedAt != null && now - startedAt >= timeout.toNanos()) {
+				e.getKey().cancel(true);
+				entries.remove();
+				cancelled = true;
+			}
+		}
+		return cancelled;
+	}
+
+	private boolean report(Future<List<ReconcileProblem>> done, IProblemCollector problems) {
+		try {
+			List<ReconcileProblem> found = done.get();
+			for (ReconcileProblem p : found) {
+				problems.accept(p);
+			}
+			return !found.isEmpty();
+		} catch (CancellationException e) {
+			//Timed out. Ignore.
+		} catch (ExecutionException e) {
+			Log.log(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return false;
+	}
+
+	private static class SlowConstraintTask implements Callable<List<ReconcileProblem>> {
+
+		private final Consumer<IProblemCollector> constraint;
+
+		/**
+		 * When the constraint started running, as per {@link System#nanoTime()}, or null if it hasn't started yet.
+		 */
+		volatile Long startedAt;
+
+		SlowConstraintTask(Consumer<IProblemCollector> constraint) {
+			this.constraint = constraint;
+		}
+
+		@Override
+		public List<ReconcileProblem> call() throws Exception {
+			startedAt = System.nanoTime();
+			List<ReconcileProblem> found = new ArrayList<>();
+			constraint.accept(new IProblemCollector() {
+				@Override
+				public void beginCollecting() {
+				}
+				@Override
+				public void endCollecting() {
+				}
+				@Override
+				public void accept(ReconcileProblem problem) {
+					found.add(problem);
+				}
+			});
+			return found;
+		}
+	}
+
+}
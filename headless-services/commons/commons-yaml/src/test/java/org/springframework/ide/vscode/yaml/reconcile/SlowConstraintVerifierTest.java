@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.yaml.reconcile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.ide.vscode.commons.languageserver.reconcile.IProblemCollector;
+import org.springframework.ide.vscode.commons.languageserver.reconcile.ReconcileProblem;
+import org.springframework.ide.vscode.commons.languageserver.reconcile.ReconcileProblemImpl;
+import org.springframework.ide.vscode.commons.yaml.reconcile.SlowConstraintVerifier;
+import org.springframework.ide.vscode.commons.yaml.reconcile.YamlSchemaProblems;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Ordering;
+
+public class SlowConstraintVerifierTest {
+
+	private final CountDownLatch neverReleased = new CountDownLatch(1);
+
+	private final List<String> reported = new ArrayList<>();
+
+	private final IProblemCollector problems = new IProblemCollector() {
+		@Override
+		public void beginCollecting() {
+		}
+		@Override
+		public void endCollecting() {
+		}
+		@Override
+		public void accept(ReconcileProblem problem) {
+			reported.add(problem.getMessage());
+		}
+	};
+
+	@After
+	public void releaseHangingConstraints() {
+		neverReleased.countDown();
+	}
+
+	private Consumer<IProblemCollector> hanging() {
+		return problems -> {
+			try {
+				neverReleased.await();
+			} catch (InterruptedException e) {
+				//Cancelled
+			}
+		};
+	}
+
+	private static Consumer<IProblemCollector> slow(long millis, String message) {
+		return problems -> {
+			try {
+				Thread.sleep(millis);
+			} catch (InterruptedException e) {
+				return; //Cancelled
+			}
+			failing(message).accept(problems);
+		};
+	}
+
+	private static Consumer<IProblemCollector> failing(String message) {
+		return problems -> problems.accept(new ReconcileProblemImpl(YamlSchemaProblems.SCHEMA_PROBLEM, message, 0, 1));
+	}
+
+	@Test(timeout = 10000)
+	public void allConstraintsVerified() throws Exception {
+		SlowConstraintVerifier verifier = new SlowConstraintVerifier(Duration.ofSeconds(10), 2, 2);
+		assertTrue(verifier.verify(ImmutableList.of(failing("a"), failing("b"), failing("c")), problems));
+		assertEquals(ImmutableList.of("a", "b", "c"), Ordering.natural().sortedCopy(reported));
+	}
+
+	@Test(timeout = 10000)
+	public void hangingConstraintDoesNotHoldBackOthers() throws Exception {
+		SlowConstraintVerifier verifier = new SlowConstraintVerifier(Duration.ofMillis(300), 2, 2);
+		assertFalse(verifier.verify(ImmutableList.of(hanging(), failing("a"), failing("b")), problems));
+		assertEquals(ImmutableList.of("a", "b"), Ordering.natural().sortedCopy(reported));
+	}
+
+	@Test(timeout = 10000)
+	public void allSlotsHanging() throws Exception {
+		//The constraints waiting for a free slot run once the hanging ones time out
+		SlowConstraintVerifier verifier = new SlowConstraintVerifier(Duration.ofMillis(300), 2, 2);
+		assertFalse(verifier.verify(ImmutableList.of(hanging(), hanging(), failing("a")), problems));
+		assertEquals(ImmutableList.of("a"), reported);
+	}
+
+	@Test(timeout = 10000)
+	public void eachConstraintHasItsOwnTimeout() throws Exception {
+		//Together, the constraints take longer than the timeout, but each of them completes in time
+		SlowConstraintVerifier verifier = new SlowConstraintVerifier(Duration.ofMillis(300), 1, 1);
+		assertTrue(verifier.verify(ImmutableList.of(slow(200, "a"), slow(200, "b"), slow(200, "c")), problems));
+		assertEquals(ImmutableList.of("a", "b", "c"), reported);
+	}
+
+	@Test(timeout = 10000)
+	public void threadsAreBounded() throws Exception {
+		Set<String> threads = Collections.synchronizedSet(new HashSet<>());
+		Consumer<IProblemCollector> recordThread = problems -> threads.add(Thread.currentThread().getName());
+		//More slots than threads: the constraints are queued for the one thread
+		SlowConstraintVerifier verifier = new SlowConstraintVerifier(Duration.ofMillis(300), 4, 1);
+		assertTrue(verifier.verify(ImmutableList.of(recordThread, slow(200, "a"), recordThread, slow(200, "b")), problems));
+		assertEquals(ImmutableList.of("a", "b"), reported);
+		assertEquals(1, threads.size());
+	}
+
+}
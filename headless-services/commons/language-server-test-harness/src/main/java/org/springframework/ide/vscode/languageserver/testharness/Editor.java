@@ -18,6 +18,7 @@ import static org.springframework.ide.vscode.languageserver.testharness.Language
 import static org.springframework.ide.vscode.languageserver.testharness.TestAsserts.assertContains;
 import static org.springframework.ide.vscode.languageserver.testharness.TestAsserts.assertDoesNotContain;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -27,6 +28,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -70,6 +74,11 @@ public class Editor {
 	public static final Predicate<CompletionItem> DEDENTED_COMPLETION = c -> c.getLabel().startsWith(Unicodes.LEFT_ARROW+" ");
 	public static final Predicate<CompletionItem> INDENTED_COMPLETION = c -> c.getLabel().startsWith(Unicodes.RIGHT_ARROW+" ");
 
+	/**
+	 * How long {@link #assertHighlights(String...)} waits for the expected highlights.
+	 */
+	private static final Duration HIGHLIGHTS_TIMEOUT = Duration.ofSeconds(30);
+
 	static class EditorState {
 		String documentContents;
 		int selectionStart;
@@ -208,14 +217,46 @@ public class Editor {
 	}
 
 
+	/**
+	 * Waits until highlights computed for the current version of the document (or a later one) are received, and
+	 * are the expected ones. The server only sends highlights when they change, so the highlights already received
+	 * are checked first. Highlights for an older version of the document are never accepted.
+	 */
 	public List<Range> assertHighlights(String... expectedHighlights) throws Exception {
-		HighlightParams highlights = harness.getHighlights(doc);
-		List<Range> ranges = highlights != null ? highlights.getCodeLenses().stream().map(CodeLens::getRange).collect(Collectors.toList()) : ImmutableList.of();
+		List<String> expected = ImmutableList.copyOf(expectedHighlights);
+		int version = doc.getVersion();
+		long deadline = System.currentTimeMillis() + HIGHLIGHTS_TIMEOUT.toMillis();
+		List<String> actualHighlights = null;
+		while (true) {
+			Future<HighlightParams> next = harness.getHighlightsFuture(doc);
+			HighlightParams highlights = harness.getLatestHighlights(doc);
+			if (highlights != null && highlights.getDoc().getVersion() != null && highlights.getDoc().getVersion() >= version) {
+				List<Range> ranges = getHighlightRanges(highlights);
+				actualHighlights = ranges.stream()
+					.map(this::getText)
+					.collect(Collectors.toList());
+				if (expected.equals(actualHighlights)) {
+					return ranges;
+				}
+			}
+			long remaining = deadline - System.currentTimeMillis();
+			try {
+				if (remaining <= 0) {
+					throw new TimeoutException();
+				}
+				next.get(remaining, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				if (actualHighlights == null) {
+					fail("No highlights received for version " + version + " of the document within " + HIGHLIGHTS_TIMEOUT.getSeconds() + " seconds");
+				}
+				assertEquals(expected, actualHighlights);
+			}
+		}
+	}
+
+	private List<Range> getHighlightRanges(HighlightParams highlights) {
+		List<Range> ranges = highlights.getCodeLenses().stream().map(CodeLens::getRange).collect(Collectors.toList());
 		Collections.sort(ranges, RANGE_COMPARATOR);
-		List<String> actualHighlights = ranges.stream()
-			.map(this::getText)
-			.collect(Collectors.toList());
-		assertEquals(ImmutableList.copyOf(expectedHighlights), actualHighlights);
 		return ranges;
 	}
 
@@ -94,6 +94,7 @@ import org.eclipse.lsp4j.WorkspaceEdit;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.services.LanguageClientAware;
 import org.springframework.ide.vscode.commons.languageserver.HighlightParams;
+import org.springframework.ide.vscode.commons.languageserver.JavadocBatchParams;
 import org.springframework.ide.vscode.commons.languageserver.JavadocParams;
 import org.springframework.ide.vscode.commons.languageserver.JavadocResponse;
 import org.springframework.ide.vscode.commons.languageserver.ProgressParams;
@@ -135,6 +136,7 @@ public class LanguageServerHarness<S extends SimpleLanguageServerWrapper> {
 
 	private Map<String,TextDocumentInfo> documents = new HashMap<>();
 	private Multimap<String, CompletableFuture<HighlightParams>> highlights = MultimapBuilder.hashKeys().linkedListValues().build();
+	private Map<String, HighlightParams> latestHighlights = new HashMap<>();
 	private Map<String, PublishDiagnosticsParams> diagnostics = new HashMap<>();
 	private List<Editor> activeEditors = new ArrayList<>();
 	private Gson gson = new Gson();
@@ -203,6 +205,7 @@ public class LanguageServerHarness<S extends SimpleLanguageServerWrapper> {
 		synchronized (this) {
 			String uri = highlights.getDoc().getUri();
 			if (uri!=null) {
+				latestHighlights.put(uri, highlights);
 				requestors = ImmutableList.copyOf(this.highlights.get(uri));
 				//Carefull!! Must make a copy above. Because the returned collection is cleared when we call removeAll below.
 				this.highlights.removeAll(uri); //futures can only be completed once, so no point holding any longer
@@ -317,6 +320,15 @@ public class LanguageServerHarness<S extends SimpleLanguageServerWrapper> {
 					return CompletableFuture.completedFuture(new JavadocResponse());
 				}
 
+				@Override
+				public CompletableFuture<List<JavadocResponse>> javadocs(JavadocBatchParams params) {
+					List<JavadocResponse> responses = new ArrayList<>();
+					for (int i = 0; i < params.getBindingKeys().size(); i++) {
+						responses.add(new JavadocResponse());
+					}
+					return CompletableFuture.completedFuture(responses);
+				}
+
 			});
 
 		}
@@ -443,6 +455,13 @@ public class LanguageServerHarness<S extends SimpleLanguageServerWrapper> {
 		return future;
 	}
 
+	/**
+	 * @return the highlights last received from the server for the document, or null if none were received yet.
+	 */
+	public synchronized HighlightParams getLatestHighlights(TextDocumentInfo doc) {
+		return latestHighlights.get(doc.getUri());
+	}
+
 	public HighlightParams getHighlights(TextDocumentInfo doc) throws Exception {
 		return getHighlights(true, doc);
 	}
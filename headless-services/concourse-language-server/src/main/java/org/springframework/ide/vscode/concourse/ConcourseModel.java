@@ -16,7 +16,9 @@ import static org.springframework.ide.vscode.commons.yaml.path.YamlPathSegment.v
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
@@ -28,7 +30,6 @@ import org.springframework.ide.vscode.commons.languageserver.reconcile.IProblemC
 import org.springframework.ide.vscode.commons.languageserver.util.SimpleLanguageServer;
 import org.springframework.ide.vscode.commons.languageserver.util.SnippetBuilder;
 import org.springframework.ide.vscode.commons.util.Assert;
-import org.springframework.ide.vscode.commons.util.CollectorUtil;
 import org.springframework.ide.vscode.commons.util.Log;
 import org.springframework.ide.vscode.commons.util.Streams;
 import org.springframework.ide.vscode.commons.util.StringUtil;
@@ -36,8 +37,6 @@ import org.springframework.ide.vscode.commons.util.text.IDocument;
 import org.springframework.ide.vscode.commons.yaml.ast.NodeUtil;
 import org.springframework.ide.vscode.commons.yaml.ast.YamlAstCache;
 import org.springframework.ide.vscode.commons.yaml.ast.YamlFileAST;
-import org.springframework.ide.vscode.commons.yaml.path.ASTRootCursor;
-import org.springframework.ide.vscode.commons.yaml.path.NodeCursor;
 import org.springframework.ide.vscode.commons.yaml.path.YamlPath;
 import org.springframework.ide.vscode.commons.yaml.path.YamlPathSegment;
 import org.springframework.ide.vscode.commons.yaml.path.YamlTraversal;
@@ -58,8 +57,14 @@ import org.yaml.snakeyaml.nodes.MappingNode;
 import org.yaml.snakeyaml.nodes.Node;
 
 import com.google.common.base.Supplier;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMultiset;
 import com.google.common.collect.ImmutableMultiset.Builder;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multiset;
 
 /**
@@ -117,6 +122,7 @@ public class ConcourseModel {
 						StepModel step = newStep(stepNode);
 						String resourceName = step.getResourceName();
 						if (resourceName!=null && getResource(dc.getDocument(), resourceName)!=null) {
+							//Note: interactions are computed once per job per document version, so this is cheap.
 							Set<String> interactions = job.getInteractedResources();
 							if (interactions!=null && !interactions.contains(resourceName)) {
 								problems.accept(YamlSchemaProblems.schemaProblem("Job '"+jobName+"' does not interact with resource '"+resourceName+"'", node));
@@ -134,9 +140,10 @@ public class ConcourseModel {
 	 * Verification of constraint: if at least one job is assigned to a group, then all jobs must be assigned to a group.
 	 */
 	public final void jobAssignmentIsComplete(DynamicSchemaContext dc, Node parent, Node node, YType type, IProblemCollector problems) {
-		Multiset<String> assignedJobs = getStringsFromAst(dc.getDocument(), JOBS_ASSIGNED_TO_GROUPS);
+		SymbolTable symbols = getSymbols(dc.getDocument());
+		Multiset<String> assignedJobs = symbols==null ? null : symbols.jobsAssignedToGroups;
 		if (assignedJobs!=null && !assignedJobs.isEmpty()) {
-			getJobNameNodes(dc).forEach(jobDefName -> {
+			symbols.jobNameNodes.forEach(jobDefName -> {
 				String name = NodeUtil.asScalar(jobDefName);
 				if (StringUtil.hasText(name)) { //'not assigned to a group' errors for empty names are a bit silly, so avoid that
 					if (!assignedJobs.contains(name)) {
@@ -151,13 +158,12 @@ public class ConcourseModel {
 	 * Get the job with given name. If there is no such job, or if there is more than one, this will return null.
 	 */
 	private JobModel getJob(IDocument doc, String jobName) {
-		return Streams.getSingle(
-			 getFromAst(doc, ast ->
-				JOBS_PATH.traverseAmbiguously(ast)
-				.filter(node -> jobName.equals(NodeUtil.getScalarProperty(node, "name")))
-				.map(JobModel::new)
-			)
-		);
+		SymbolTable symbols = getSymbols(doc);
+		if (symbols!=null) {
+			List<JobModel> jobs = symbols.jobsByName.get(jobName);
+			return jobs.size()==1 ? jobs.get(0) : null;
+		}
+		return null;
 	}
 
 	public StepModel newStep(Node _node) {
@@ -189,17 +195,21 @@ public class ConcourseModel {
 	public class JobModel {
 
 		private Node node;
+		private Set<String> interactedResources;
 
 		JobModel(Node node) {
 			this.node = node;
 		}
 
-		public Set<String> getInteractedResources() {
-			return JobModel_GET_PUT_STEP_PATH
-					.traverseAmbiguously(node)
-					.map(node -> newStep(node))
-					.flatMap(step -> Streams.fromNullable(step.getResourceName()))
-					.collect(Collectors.toSet());
+		public synchronized Set<String> getInteractedResources() {
+			if (interactedResources==null) {
+				interactedResources = JobModel_GET_PUT_STEP_PATH
+						.traverseAmbiguously(node)
+						.map(node -> newStep(node))
+						.flatMap(step -> Streams.fromNullable(step.getResourceName()))
+						.collect(Collectors.toSet());
+			}
+			return interactedResources;
 		}
 
 	}
@@ -248,6 +258,72 @@ public class ConcourseModel {
 
 	}
 
+	/**
+	 * Symbols defined in a single version of a pipeline document. This is
+	 * built in a single pass over the AST the first time any of the queries
+	 * in {@link ConcourseModel} needs it, after which lookups are just hash
+	 * lookups rather than repeated AST traversals.
+	 */
+	private class SymbolTable {
+
+		final ImmutableMultiset<String> resourceNames;
+		final Map<String, ResourceModel> resourcesByName = new HashMap<>();
+
+		final ImmutableMultiset<String> jobNames;
+		final ImmutableList<Node> jobNameNodes;
+		final ListMultimap<String, JobModel> jobsByName = ArrayListMultimap.create();
+
+		final ImmutableMultiset<String> resourceTypeNames;
+		final ImmutableMultiset<String> jobsAssignedToGroups;
+
+		SymbolTable(YamlFileAST ast) {
+			ImmutableMultiset.Builder<String> resourceNames = ImmutableMultiset.builder();
+			RESOURCES_PATH.traverseAmbiguously(ast).forEach(resourceNode -> {
+				NAME_PATH.traverseAmbiguously(resourceNode)
+					.map(NodeUtil::asScalar)
+					.filter(name -> name!=null)
+					.forEach(resourceNames::add);
+				String name = NodeUtil.getScalarProperty(resourceNode, "name");
+				if (name!=null) {
+					resourcesByName.putIfAbsent(name, new ResourceModel(resourceNode));
+				}
+			});
+			this.resourceNames = resourceNames.build();
+
+			ImmutableMultiset.Builder<String> jobNames = ImmutableMultiset.builder();
+			ImmutableList.Builder<Node> jobNameNodes = ImmutableList.builder();
+			JOBS_PATH.traverseAmbiguously(ast).forEach(jobNode -> {
+				NAME_PATH.traverseAmbiguously(jobNode).forEach(nameNode -> {
+					jobNameNodes.add(nameNode);
+					String name = NodeUtil.asScalar(nameNode);
+					if (name!=null) {
+						jobNames.add(name);
+					}
+				});
+				String name = NodeUtil.getScalarProperty(jobNode, "name");
+				if (name!=null) {
+					jobsByName.put(name, new JobModel(jobNode));
+				}
+			});
+			this.jobNames = jobNames.build();
+			this.jobNameNodes = jobNameNodes.build();
+
+			this.resourceTypeNames = collectStrings(ast, RESOURCE_TYPE_NAMES_PATH);
+			this.jobsAssignedToGroups = collectStrings(ast, JOBS_ASSIGNED_TO_GROUPS);
+		}
+
+		private ImmutableMultiset<String> collectStrings(YamlFileAST ast, YamlPath path) {
+			return ImmutableMultiset.copyOf(path
+				.traverseAmbiguously(ast)
+				.map(NodeUtil::asScalar)
+				.filter((string) -> string!=null)
+				.iterator()
+			);
+		}
+	}
+
+	private static final YamlPath NAME_PATH = new YamlPath(valueAt("name"));
+
 	public static final YamlPath JOBS_PATH = new YamlPath(
 			anyChild(),
 			valueAt("jobs"),
@@ -289,6 +365,15 @@ public class ConcourseModel {
 	private final YamlAstCache asts = new YamlAstCache();
 	private final ASTTypeCache astTypes = new ASTTypeCache();
 
+	/**
+	 * Symbol tables, one per AST. Since a new AST is created for each document version,
+	 * this is effectively a per-document, per-version cache. Weak keys (compared by identity)
+	 * ensure entries disappear along with the ASTs they were computed from.
+	 */
+	private final LoadingCache<YamlFileAST, SymbolTable> symbolTables = CacheBuilder.newBuilder()
+			.weakKeys()
+			.build(CacheLoader.from((YamlFileAST ast) -> new SymbolTable(ast)));
+
 	private ResourceTypeRegistry resourceTypes;
 
 	private final Supplier<SnippetBuilder> snippetBuilderFactory;
@@ -309,7 +394,8 @@ public class ConcourseModel {
 	 * can not be parsed).
 	 */
 	public Multiset<String> getResourceNames(DynamicSchemaContext dc) {
-		return getStringsFromAst(dc.getDocument(), RESOURCE_NAMES_PATH);
+		SymbolTable symbols = getSymbols(dc.getDocument());
+		return symbols==null ? null : symbols.resourceNames;
 	}
 
 	/**
@@ -331,17 +417,8 @@ public class ConcourseModel {
 	}
 
 	public ResourceModel getResource(IDocument doc, String resourceName) {
-		return getFromAst(doc, (ast) -> {
-			Node resource = RESOURCES_PATH.traverseAmbiguously(new ASTRootCursor(ast))
-			.map((cursor) -> ((NodeCursor)cursor).getNode())
-			.filter((resourceNode) -> resourceName.equals(NodeUtil.getScalarProperty(resourceNode, "name")))
-			.findFirst().orElse(null);
-			if (resource!=null) {
-				return new ResourceModel(resource);
-			}
-			return null;
-		});
-
+		SymbolTable symbols = getSymbols(doc);
+		return symbols==null ? null : symbols.resourcesByName.get(resourceName);
 	}
 
 	/**
@@ -354,22 +431,17 @@ public class ConcourseModel {
 	 * can not be parsed).
 	 */
 	public Multiset<String> getJobNames(DynamicSchemaContext dc) {
-		return getStringsFromAst(dc.getDocument(), JOB_NAMES_PATH);
+		SymbolTable symbols = getSymbols(dc.getDocument());
+		return symbols==null ? null : symbols.jobNames;
 	}
 
 	public Stream<Node> getJobNameNodes(DynamicSchemaContext dc) {
-		return getFromAst(dc.getDocument(), ast -> JOB_NAMES_PATH.traverseAmbiguously(ast));
+		SymbolTable symbols = getSymbols(dc.getDocument());
+		return symbols==null ? null : symbols.jobNameNodes.stream();
 	}
 
-
-	private Multiset<String> getStringsFromAst(IDocument doc, YamlPath path) {
-		return getFromAst(doc, (ast) -> {
-			return path
-				.traverseAmbiguously(ast)
-				.map(NodeUtil::asScalar)
-				.filter((string) -> string!=null)
-				.collect(CollectorUtil.toMultiset());
-		});
+	private SymbolTable getSymbols(IDocument doc) {
+		return getFromAst(doc, ast -> ast==null ? null : symbolTables.getUnchecked(ast));
 	}
 
 	public Multiset<String> getResourceTypeNames(DynamicSchemaContext dc) {
@@ -382,7 +454,8 @@ public class ConcourseModel {
 
 	public Collection<YValueHint> getResourceTypeNameHints(DynamicSchemaContext dc) {
 		IDocument doc = dc.getDocument();
-		Multiset<String> userDefined = getStringsFromAst(doc, RESOURCE_TYPE_NAMES_PATH);
+		SymbolTable symbols = getSymbols(doc);
+		Multiset<String> userDefined = symbols==null ? null : symbols.resourceTypeNames;
 		if (userDefined!=null) {
 			Builder<YValueHint> builder = ImmutableMultiset.builder();
 			builder.addAll(YTypeFactory.hints(userDefined));
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.springframework.tooling.jdt.ls.commons.test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -24,6 +25,7 @@ import java.util.concurrent.CompletableFuture;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IProjectDescription;
 import org.eclipse.core.resources.IResource;
@@ -37,6 +39,9 @@ import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
 import org.junit.After;
 import org.junit.Ignore;
@@ -78,6 +83,62 @@ public class ClasspathListenerHandlerTest {
 	}
 
 
+	@Test public void changesArrivingTogetherAreSentOnce() throws Exception {
+		String projectName = "classpath-test-simple-java-project";
+		IProject project = createTestProject(projectName);
+		File loc = project.getLocation().toFile();
+		IJavaProject jp = JavaCore.create(project);
+		IClasspathEntry[] originalClasspath = jp.getRawClasspath();
+
+		service.addClasspathListener(classpaths.commandId);
+		ACondition.waitFor("Project with classpath to appear", Duration.ofSeconds(50), () -> {
+			assertEquals(1, classpaths.getReceived(loc));
+		});
+
+		//Keep the notification job from running until all the changes are made
+		Job.getJobManager().suspend();
+		try {
+			jp.setRawClasspath(withLibrary(originalClasspath, project, "lib1"), null);
+			jp.setRawClasspath(withLibrary(jp.getRawClasspath(), project, "lib2"), null);
+		} finally {
+			Job.getJobManager().resume();
+		}
+		ACondition.waitFor("Project with new classpath", Duration.ofSeconds(50), () -> {
+			Classpath cp = classpaths.getFor(loc).classpath;
+			assertClasspath(cp, hasLibrary(cp, "lib1") && hasLibrary(cp, "lib2"));
+		});
+		assertEquals(2, classpaths.getReceived(loc));
+	}
+
+	@Test public void unchangedClasspathIsNotSentAgain() throws Exception {
+		String projectName = "classpath-test-simple-java-project";
+		IProject project = createTestProject(projectName);
+		File loc = project.getLocation().toFile();
+		IJavaProject jp = JavaCore.create(project);
+		IClasspathEntry[] originalClasspath = jp.getRawClasspath();
+
+		service.addClasspathListener(classpaths.commandId);
+		ACondition.waitFor("Project with classpath to appear", Duration.ofSeconds(50), () -> {
+			assertEquals(1, classpaths.getReceived(loc));
+		});
+
+		//Changed and changed back before the notification job runs
+		Job.getJobManager().suspend();
+		try {
+			jp.setRawClasspath(withLibrary(originalClasspath, project, "lib1"), null);
+			jp.setRawClasspath(originalClasspath, null);
+		} finally {
+			Job.getJobManager().resume();
+		}
+		//Notifications for a project are sent in order, so once this change arrives the previous one would have too
+		jp.setRawClasspath(withLibrary(originalClasspath, project, "lib2"), null);
+		ACondition.waitFor("Project with new classpath", Duration.ofSeconds(50), () -> {
+			Classpath cp = classpaths.getFor(loc).classpath;
+			assertClasspath(cp, hasLibrary(cp, "lib2"));
+		});
+		assertEquals(2, classpaths.getReceived(loc));
+	}
+
 	@Ignore //TODO: fails randomly for unknown reason.
 	@Test public void classpathIsSentForNewProject_and_removedForDeletedProject() throws Exception {
 		service.addClasspathListener(classpaths.commandId);
@@ -215,6 +276,7 @@ public class ClasspathListenerHandlerTest {
 		String commandId = RandomStringUtils.randomAlphabetic(8);
 
 		Map<File, Info> classpaths = new HashMap<>();
+		Map<File, Integer> received = new HashMap<>();
 
 		{
 			commandExecutor.addHandler(commandId, this);
@@ -228,6 +290,7 @@ public class ClasspathListenerHandlerTest {
 				File projectLoc = new File(new URI((String) params.get(0)));
 				String name = (String) params.get(1);
 				boolean deleted = (boolean) params.get(2);
+				received.merge(projectLoc, 1, Integer::sum);
 				if (deleted) {
 					System.out.println("DELETING "+name);
 					classpaths.remove(projectLoc);
@@ -244,6 +307,13 @@ public class ClasspathListenerHandlerTest {
 			return classpaths.get(location);
 		}
 
+		/**
+		 * @return The number of notifications received for the project at the given location.
+		 */
+		public synchronized int getReceived(File location) {
+			return received.getOrDefault(location, 0);
+		}
+
 		public void dispose() throws Exception {
 			service.removeClasspathListener(commandId);
 			commandExecutor.removeHandler(commandId);
@@ -270,6 +340,20 @@ public class ClasspathListenerHandlerTest {
 		}
 	}
 
+	private static IClasspathEntry[] withLibrary(IClasspathEntry[] classpath, IProject project, String folderName) throws CoreException {
+		IFolder folder = project.getFolder(folderName);
+		if (!folder.exists()) {
+			folder.create(true, true, null);
+		}
+		IClasspathEntry[] withLibrary = Arrays.copyOf(classpath, classpath.length + 1);
+		withLibrary[classpath.length] = JavaCore.newLibraryEntry(folder.getFullPath(), null, null);
+		return withLibrary;
+	}
+
+	private static boolean hasLibrary(Classpath cp, String folderName) {
+		return cp.getEntries().stream().anyMatch(cpe -> Classpath.isBinary(cpe) && cpe.getPath().endsWith("/" + folderName));
+	}
+
 	private IProject createTestProject(String name) throws Exception {
 		File testProjectSourceLocation = new File(FileLocator.toFileURL(Platform.getBundle("org.springframework.tooling.jdt.ls.commons.test").getEntry("test-projects/"+name)).toURI());
 
@@ -12,11 +12,15 @@ package org.springframework.tooling.jdt.ls.commons.classpath;
 
 import java.io.File;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 
 import org.eclipse.core.runtime.Assert;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
 public class Classpath {
 
 	public static final String ENTRY_KIND_SOURCE = "source";
@@ -38,6 +42,21 @@ public class Classpath {
 		this.entries = entries;
 	}
 
+	/**
+	 * @return A hash of the contents of all entries, in order. Two classpaths with the same fingerprint
+	 * can be assumed to be equal.
+	 */
+	public String fingerprint() {
+		Hasher hasher = Hashing.sha1().newHasher();
+		if (entries != null) {
+			for (CPE e : entries) {
+				hasher.putString(e.toString(), StandardCharsets.UTF_8);
+				hasher.putChar('\n');
+			}
+		}
+		return hasher.hash().toString();
+	}
+
 	@Override
 	public String toString() {
 		return "Classpath [entries=" + entries + "]";
@@ -12,12 +12,16 @@ package org.springframework.tooling.jdt.ls.commons.classpath;
 
 import java.io.File;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Supplier;
@@ -36,6 +40,11 @@ import org.springframework.tooling.jdt.ls.commons.classpath.ClasspathListenerMan
 
 /**
  * {@link ReusableClasspathListenerHandler} is an 'abstracted' version of the jdtls ClasspathListenerHandler. 
+ * <p>
+ * Classpath changes are coalesced: a project changed several times before notifications are sent is only
+ * resolved and sent once, and a project whose classpath is the same as the one last sent to a callback is
+ * not sent again. Notifications always carry the full classpath; it is up to the receiver to work out what
+ * changed compared to the classpath it already has.
  */
 public class ReusableClasspathListenerHandler {
 
@@ -94,8 +103,34 @@ public class ReusableClasspathListenerHandler {
 
 	class Subscriptions {
 
+		/**
+		 * Delay (in ms) before sending notifications, so that changes to several projects arriving in
+		 * quick succession (e.g. a workspace build or an import) are sent in one batch.
+		 */
+		private static final long NOTIFICATION_DELAY = 100;
+
 		private Set<String> subscribers = null;
 		private ClasspathListenerManager classpathListener = null;
+
+		/**
+		 * Projects for which a notification must be sent, keyed by project name. A project changed several
+		 * times before the notification job runs is only resolved and sent once.
+		 */
+		private final Map<String, PendingNotification> pending = new LinkedHashMap<>();
+
+		/**
+		 * Fingerprint of the classpath last sent to each callback, per project name. Used to skip notifications
+		 * when the classpath didn't actually change.
+		 */
+		private final Map<String, Map<String, String>> lastSent = new HashMap<>();
+
+		private final Job notificationJob = new Job("Send classpath notifications") {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				sendPendingNotifications();
+				return Status.OK_STATUS;
+			}
+		};
 		
 		public synchronized void subscribe(String callbackCommandId) {
 			logger.log("subscribing to classpath changes: " + callbackCommandId);
@@ -111,6 +146,10 @@ public class ReusableClasspathListenerHandler {
 			}
 			subscribers.add(callbackCommandId);
 			logger.log("subsribers = " + subscribers);
+			synchronized (projectLocations) {
+				//A (re)subscribing callback gets the classpath of every project, even if it was sent to it before.
+				lastSent.remove(callbackCommandId);
+			}
 			sendInitialEvents(callbackCommandId);
 		}
 		
@@ -139,63 +178,91 @@ public class ReusableClasspathListenerHandler {
 		}
 	
 		private void sendNotification(IJavaProject jp, Collection<String> callbackIds) {
-			//TODO: make one Job to accumulate all requested notification and work more efficiently by batching
-			// and avoiding multiple executions of duplicated requests.
-			Job job = new Job("SendClasspath notification") {
-				@Override
-				protected IStatus run(IProgressMonitor monitor) {
-					synchronized (projectLocations) { //Could use some Eclipse job rule. But its really a bit of a PITA to create the right one.
-						try {
-							logger.log("Preparing classpath changed notification " + jp.getElementName());
-							URI projectLoc = getProjectLocation(jp);
-							if (projectLoc==null) {
-								logger.log("Could not send event for project because no project location: "+jp.getElementName());
-							} else {
-								boolean exsits = projectExists(jp);
-								boolean open = true; // WARNING: calling jp.isOpen is unreliable and subject to race condition. After a POST_CHAGE project open event
-													// this should be true but it typically is not unless you wait for some time. No idea how you would know
-													// how long you should wait (200ms is not enough, and that seems pretty long). Isn't it kind of the point 
-													// for a 'POST_CHANGE' event to come **after** model has already changed? I guess not in Eclipse.
-													// So we will just pretend / assume project is always open. If resolving classpath fails because it is not
-													// open... so be it (there will be no classpath... this is expected for closed project, so that is fine).
-								boolean deleted = !(exsits && open);
-								logger.log("exists = "+exsits +" open = "+open +" => deleted = "+deleted);
-								String projectName = jp.getElementName();
-	
-								Classpath classpath = Classpath.EMPTY;
-								if (deleted) {
-									// projectLocations.remove(projectName);
-								} else {
-									projectLocations.put(projectName, projectLoc);
-									try {
-										classpath = ClasspathUtil.resolve(jp, logger);
-									} catch (Exception e) {
-										logger.log(e);
-									}
-								}
-								for (String callbackCommandId : callbackIds) {
-									try {
-										logger.log("executing callback "+callbackCommandId+" "+projectName+" "+deleted+" "+ classpath.getEntries().size());
-										Object r = conn.executeClientCommand(callbackCommandId, projectLoc.toString(), projectName, deleted, classpath);
-										logger.log("executing callback "+callbackCommandId+" SUCCESS ["+r+"]");
-									} catch (Exception e) {
-										logger.log("executing callback "+callbackCommandId+" FAILED");
-										logger.log(e);
-									}
-								}
-							}
-						} catch (Exception e) {
-							logger.log(e);
+			synchronized (pending) {
+				PendingNotification notification = pending.computeIfAbsent(jp.getElementName(), name -> new PendingNotification());
+				notification.project = jp;
+				notification.callbackIds.addAll(callbackIds);
+			}
+			//Note: scheduling a job that is already waiting has no effect, so any number of changes arriving
+			// before the job runs are sent together.
+			notificationJob.schedule(NOTIFICATION_DELAY);
+		}
+
+		private void sendPendingNotifications() {
+			List<PendingNotification> batch;
+			synchronized (pending) {
+				batch = new ArrayList<>(pending.values());
+				pending.clear();
+			}
+			logger.log("Sending classpath notifications for " + batch.size() + " projects");
+			synchronized (projectLocations) { //Could use some Eclipse job rule. But its really a bit of a PITA to create the right one.
+				for (PendingNotification notification : batch) {
+					try {
+						doSendNotification(notification.project, notification.callbackIds);
+					} catch (Exception e) {
+						logger.log(e);
+					}
+				}
+			}
+		}
+
+		private void doSendNotification(IJavaProject jp, Collection<String> callbackIds) {
+			logger.log("Preparing classpath changed notification " + jp.getElementName());
+			URI projectLoc = getProjectLocation(jp);
+			if (projectLoc==null) {
+				logger.log("Could not send event for project because no project location: "+jp.getElementName());
+			} else {
+				boolean exsits = projectExists(jp);
+				boolean open = true; // WARNING: calling jp.isOpen is unreliable and subject to race condition. After a POST_CHAGE project open event
+									// this should be true but it typically is not unless you wait for some time. No idea how you would know
+									// how long you should wait (200ms is not enough, and that seems pretty long). Isn't it kind of the point 
+									// for a 'POST_CHANGE' event to come **after** model has already changed? I guess not in Eclipse.
+									// So we will just pretend / assume project is always open. If resolving classpath fails because it is not
+									// open... so be it (there will be no classpath... this is expected for closed project, so that is fine).
+				boolean deleted = !(exsits && open);
+				logger.log("exists = "+exsits +" open = "+open +" => deleted = "+deleted);
+				String projectName = jp.getElementName();
+
+				Classpath classpath = Classpath.EMPTY;
+				if (deleted) {
+					// projectLocations.remove(projectName);
+				} else {
+					projectLocations.put(projectName, projectLoc);
+					try {
+						classpath = ClasspathUtil.resolve(jp, logger);
+					} catch (Exception e) {
+						logger.log(e);
+					}
+				}
+				String fingerprint = classpath.fingerprint();
+				for (String callbackCommandId : callbackIds) {
+					Map<String, String> sent = lastSent.computeIfAbsent(callbackCommandId, id -> new HashMap<>());
+					if (!deleted && fingerprint.equals(sent.get(projectName))) {
+						logger.log("skipping callback "+callbackCommandId+" "+projectName+": classpath unchanged");
+						continue;
+					}
+					try {
+						logger.log("executing callback "+callbackCommandId+" "+projectName+" "+deleted+" "+ classpath.getEntries().size());
+						Object r = conn.executeClientCommand(callbackCommandId, projectLoc.toString(), projectName, deleted, classpath);
+						logger.log("executing callback "+callbackCommandId+" SUCCESS ["+r+"]");
+						if (deleted) {
+							sent.remove(projectName);
+						} else {
+							sent.put(projectName, fingerprint);
 						}
-						return Status.OK_STATUS;
+					} catch (Exception e) {
+						logger.log("executing callback "+callbackCommandId+" FAILED");
+						logger.log(e);
 					}
 				}
-			};
-			job.schedule();
+			}
 		}
 
 		public synchronized void unsubscribe(String callbackCommandId) {
 			logger.log("unsubscribing from classpath changes: " + callbackCommandId);
+			synchronized (projectLocations) {
+				lastSent.remove(callbackCommandId);
+			}
 			if (subscribers != null) {
 				subscribers.remove(callbackCommandId);
 				if (subscribers.isEmpty()) {
@@ -214,6 +281,11 @@ public class ReusableClasspathListenerHandler {
 		}
 	}
 	
+	private static class PendingNotification {
+		IJavaProject project;
+		final Set<String> callbackIds = new LinkedHashSet<>();
+	}
+
 	private Subscriptions subscribptions = new Subscriptions();
 
 	public Object removeClasspathListener(String callbackCommandId) {
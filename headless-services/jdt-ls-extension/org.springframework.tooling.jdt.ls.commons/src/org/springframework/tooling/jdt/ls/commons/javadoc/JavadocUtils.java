@@ -13,6 +13,8 @@ package org.springframework.tooling.jdt.ls.commons.javadoc;
 import java.io.IOException;
 import java.io.Reader;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 
 import org.eclipse.jdt.core.IJavaElement;
@@ -46,6 +48,25 @@ public class JavadocUtils {
 		return computeJavadoc(readerProvider, element);
 	}
 
+	/**
+	 * Compute the javadoc of several elements of the same project. The result has an entry for each of the
+	 * binding keys, in the same order. The entry is null when the element or its javadoc can not be found.
+	 */
+	public static final List<String> javadocs(Function<IJavaElement, Reader> readerProvider, URI projectUri, List<String> bindingKeys) throws Exception {
+		IJavaProject project = ResourceUtils.getJavaProject(projectUri);
+		List<String> javadocs = new ArrayList<>(bindingKeys.size());
+		for (String bindingKey : bindingKeys) {
+			String content = null;
+			try {
+				content = computeJavadoc(readerProvider, project.findElement(bindingKey, null));
+			} catch (Exception e) {
+				//Don't let one bad element spoil the whole batch.
+			}
+			javadocs.add(content);
+		}
+		return javadocs;
+	}
+
 	private static String computeJavadoc(Function<IJavaElement, Reader> readerProvider, IJavaElement element) {
 		if (element == null) {
 			return null;
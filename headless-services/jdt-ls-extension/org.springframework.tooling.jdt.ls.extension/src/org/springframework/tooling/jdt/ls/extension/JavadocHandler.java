@@ -11,6 +11,7 @@
 package org.springframework.tooling.jdt.ls.extension;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -23,11 +24,24 @@ import org.springframework.tooling.jdt.ls.commons.javadoc.JavadocUtils;
 
 public class JavadocHandler implements IDelegateCommandHandler {
 	
+	private static final String BATCH_COMMAND_ID = "sts.java.javadocs";
+
 	@Override
 	public Object executeCommand(String commandId, List<Object> arguments, IProgressMonitor monitor) throws Exception {
 		Map<String, Object> obj = (Map<String, Object>) arguments.get(0);
 		String uri = (String) obj.get("projectUri");
 		URI projectUri = URI.create(uri);
+		if (BATCH_COMMAND_ID.equals(commandId)) {
+			List<String> bindingKeys = (List<String>) obj.get("bindingKeys");
+			List<String> contents = JavadocUtils.javadocs(JavadocContentAccess2::getMarkdownContentReader, projectUri, bindingKeys);
+			List<JavadocResponse> responses = new ArrayList<>(contents.size());
+			for (String content : contents) {
+				JavadocResponse response = new JavadocResponse();
+				response.setContent(content);
+				responses.add(response);
+			}
+			return responses;
+		}
 		String bindingKey = (String) obj.get("bindingKey");
 		String content = JavadocUtils.javadoc(JavadocContentAccess2::getMarkdownContentReader, projectUri, bindingKey);
 		JavadocResponse response = new JavadocResponse();
@@ -19,6 +19,7 @@ import java.util.stream.Collectors;
 import org.springframework.ide.vscode.commons.cloudfoundry.client.ClientTimeouts;
 import org.springframework.ide.vscode.commons.cloudfoundry.client.CloudFoundryClientFactory;
 import org.springframework.ide.vscode.commons.cloudfoundry.client.cftarget.CFTargetCache;
+import org.springframework.ide.vscode.commons.cloudfoundry.client.cftarget.CFTargetDiskCache;
 import org.springframework.ide.vscode.commons.cloudfoundry.client.cftarget.CfCliParamsProvider;
 import org.springframework.ide.vscode.commons.cloudfoundry.client.cftarget.CfTargetsInfo;
 import org.springframework.ide.vscode.commons.cloudfoundry.client.cftarget.CfTargetsInfoProvder;
@@ -64,14 +65,18 @@ public class ManifestYamlLanguageServer extends SimpleLanguageServer {
 	final private ClientParamsProvider defaultClientParamsProvider;
 
 	public ManifestYamlLanguageServer() {
-		this(DefaultCloudFoundryClientFactoryV2.INSTANCE, CfCliParamsProvider.getInstance());
+		this(DefaultCloudFoundryClientFactoryV2.INSTANCE, CfCliParamsProvider.getInstance(), new CFTargetDiskCache(CFTargetDiskCache.DEFAULT_LOCATION));
 	}
 
 	public ManifestYamlLanguageServer(CloudFoundryClientFactory cfClientFactory, ClientParamsProvider defaultClientParamsProvider) {
+		this(cfClientFactory, defaultClientParamsProvider, null);
+	}
+
+	public ManifestYamlLanguageServer(CloudFoundryClientFactory cfClientFactory, ClientParamsProvider defaultClientParamsProvider, CFTargetDiskCache cfDiskCache) {
 		super("vscode-manifest-yaml");
 		this.defaultClientParamsProvider = defaultClientParamsProvider;
 
-		this.cfTargetCache = new CFTargetCache(ImmutableList.of(this.defaultClientParamsProvider), cfClientFactory, new ClientTimeouts());
+		this.cfTargetCache = new CFTargetCache(ImmutableList.of(this.defaultClientParamsProvider), cfClientFactory, new ClientTimeouts(), cfDiskCache);
 
 		SimpleTextDocumentService documents = getTextDocumentService();
 		SimpleWorkspaceService workspace = getWorkspaceService();
@@ -20,6 +20,8 @@ import org.springframework.ide.vscode.commons.languageserver.util.Settings;
  */
 public class BootJavaConfig {
 
+	public static final int DEFAULT_WORKSPACE_SYMBOLS_MAX_RESULTS = 1000;
+
 	private Settings settings = new Settings(null);
 
 	public boolean isBootHintsEnabled() {
@@ -32,6 +34,14 @@ public class BootJavaConfig {
 		return enabled != null && enabled.booleanValue();
 	}
 
+	/**
+	 * @return Maximum number of symbols in a workspace symbol response, not limited if not positive.
+	 */
+	public int getWorkspaceSymbolsMaxResults() {
+		Integer max = settings.getInt("boot-java", "workspace-symbols", "max-results");
+		return max == null ? DEFAULT_WORKSPACE_SYMBOLS_MAX_RESULTS : max.intValue();
+	}
+
 	public void handleConfigurationChange(Settings newConfig) {
 		this.settings = newConfig;
 	}
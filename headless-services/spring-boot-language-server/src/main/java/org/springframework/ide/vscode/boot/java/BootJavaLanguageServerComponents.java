@@ -22,6 +22,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ide.vscode.boot.BootLanguageServerParams;
 import org.springframework.ide.vscode.boot.java.annotations.AnnotationHierarchyAwareLookup;
+import org.springframework.ide.vscode.boot.java.annotations.AnnotationHierarchyCache;
 import org.springframework.ide.vscode.boot.java.autowired.AutowiredHoverProvider;
 import org.springframework.ide.vscode.boot.java.beans.BeansSymbolProvider;
 import org.springframework.ide.vscode.boot.java.beans.ComponentSymbolProvider;
@@ -55,9 +56,11 @@ import org.springframework.ide.vscode.boot.java.snippets.JavaSnippet;
 import org.springframework.ide.vscode.boot.java.snippets.JavaSnippetContext;
 import org.springframework.ide.vscode.boot.java.snippets.JavaSnippetManager;
 import org.springframework.ide.vscode.boot.java.utils.CompilationUnitCache;
+import org.springframework.ide.vscode.boot.java.utils.ParserClasspathCache;
 import org.springframework.ide.vscode.boot.java.utils.RestrictedDefaultSymbolProvider;
 import org.springframework.ide.vscode.boot.java.utils.SpringIndexer;
 import org.springframework.ide.vscode.boot.java.utils.SpringLiveChangeDetectionWatchdog;
+import org.springframework.ide.vscode.boot.java.utils.SpringLiveDataPoller;
 import org.springframework.ide.vscode.boot.java.utils.SpringLiveHoverWatchdog;
 import org.springframework.ide.vscode.boot.java.value.ValueCompletionProcessor;
 import org.springframework.ide.vscode.boot.java.value.ValueHoverProvider;
@@ -97,11 +100,14 @@ public class BootJavaLanguageServerComponents implements LanguageServerComponent
 	private final SpringIndexer indexer;
 	private final SpringPropertyIndexProvider propertyIndexProvider;
 	private final SpringPropertyIndexProvider adHocPropertyIndexProvider;
+	private final SpringLiveDataPoller liveDataPoller;
 	private final SpringLiveHoverWatchdog liveHoverWatchdog;
 	private final SpringLiveChangeDetectionWatchdog liveChangeDetectionWatchdog;
 	private final ProjectObserver projectObserver;
 	private final BootJavaConfig config;
+	private final ParserClasspathCache parserClasspath;
 	private final CompilationUnitCache cuCache;
+	private final AnnotationHierarchyCache annotationHierarchies;
 
 	private JavaProjectFinder projectFinder;
 	private BootJavaHoverProvider hoverProvider;
@@ -116,7 +122,9 @@ public class BootJavaLanguageServerComponents implements LanguageServerComponent
 
 		projectFinder = serverParams.projectFinder;
 		projectObserver = serverParams.projectObserver;
-		cuCache = new CompilationUnitCache(projectFinder, server.getTextDocumentService(), projectObserver);
+		parserClasspath = new ParserClasspathCache(projectObserver);
+		cuCache = new CompilationUnitCache(projectFinder, server.getTextDocumentService(), projectObserver, parserClasspath);
+		annotationHierarchies = new AnnotationHierarchyCache(projectObserver);
 
 		propertyIndexProvider = serverParams.indexProvider;
 		adHocPropertyIndexProvider = serverParams.adHocIndexProvider;
@@ -138,9 +146,11 @@ public class BootJavaLanguageServerComponents implements LanguageServerComponent
 			}
 		});
 
+		liveDataPoller = new SpringLiveDataPoller(serverParams.runningAppProvider, serverParams.watchDogInterval);
+
 		documents.onDocumentSymbol(new BootJavaDocumentSymbolHandler(indexer));
 		workspaceService.onWorkspaceSymbol(new BootJavaWorkspaceSymbolHandler(indexer,
-				new LiveAppURLSymbolProvider(serverParams.runningAppProvider)));
+				new LiveAppURLSymbolProvider(serverParams.runningAppProvider, liveDataPoller), config));
 
 //		BootJavaCodeLensEngine codeLensHandler = createCodeLensEngine(server, projectFinder);
 //		documents.onCodeLens(codeLensHandler::createCodeLenses);
@@ -148,7 +158,7 @@ public class BootJavaLanguageServerComponents implements LanguageServerComponent
 
 		hoverProvider = createHoverHandler(projectFinder, serverParams.runningAppProvider);
 		liveHoverWatchdog = new SpringLiveHoverWatchdog(server, hoverProvider, serverParams.runningAppProvider,
-				projectFinder, projectObserver, serverParams.watchDogInterval);
+				projectFinder, projectObserver, liveDataPoller);
 		documents.onDidChangeContent(params -> {
 			TextDocument doc = params.getDocument();
 			if (getInterestingLanguages().contains(doc.getLanguageId())) {
@@ -158,7 +168,7 @@ public class BootJavaLanguageServerComponents implements LanguageServerComponent
 //				} else {
 					try {
 						liveHoverWatchdog.watchDocument(doc.getUri());
-						liveHoverWatchdog.update(doc.getUri());
+						liveHoverWatchdog.scheduleUpdate(doc.getUri());
 					} catch (Throwable t) {
 						log.error("", t);
 					}
@@ -174,7 +184,7 @@ public class BootJavaLanguageServerComponents implements LanguageServerComponent
 //			}
 		});
 
-		liveChangeDetectionWatchdog = new SpringLiveChangeDetectionWatchdog(this, server, serverParams.projectObserver, serverParams.runningAppProvider, projectFinder, serverParams.watchDogInterval);
+		liveChangeDetectionWatchdog = new SpringLiveChangeDetectionWatchdog(this, server, serverParams.projectObserver, projectFinder, liveDataPoller);
 
 		codeLensHandler = createCodeLensEngine();
 		documents.onCodeLens(codeLensHandler);
@@ -243,8 +253,11 @@ public class BootJavaLanguageServerComponents implements LanguageServerComponent
 	private void shutdown() {
 		this.liveHoverWatchdog.shutdown();
 		this.liveChangeDetectionWatchdog.shutdown();
+		this.liveDataPoller.dispose();
 		this.indexer.shutdown();
 		this.cuCache.dispose();
+		this.parserClasspath.dispose();
+		this.annotationHierarchies.dispose();
 	}
 
 	protected ICompletionEngine createCompletionEngine(
@@ -294,7 +307,7 @@ public class BootJavaLanguageServerComponents implements LanguageServerComponent
 
 	protected BootJavaHoverProvider createHoverHandler(JavaProjectFinder javaProjectFinder,
 			RunningAppProvider runningAppProvider) {
-		AnnotationHierarchyAwareLookup<HoverProvider> providers = new AnnotationHierarchyAwareLookup<>();
+		AnnotationHierarchyAwareLookup<HoverProvider> providers = new AnnotationHierarchyAwareLookup<>(annotationHierarchies);
 
 		ValueHoverProvider valueHoverProvider = new ValueHoverProvider();
 		RequestMappingHoverProvider requestMappingHoverProvider = new RequestMappingHoverProvider();
@@ -341,7 +354,7 @@ public class BootJavaLanguageServerComponents implements LanguageServerComponent
 	}
 
 	protected SpringIndexer createAnnotationIndexer(SimpleLanguageServer server, BootLanguageServerParams params) {
-		AnnotationHierarchyAwareLookup<SymbolProvider> providers = new AnnotationHierarchyAwareLookup<>();
+		AnnotationHierarchyAwareLookup<SymbolProvider> providers = new AnnotationHierarchyAwareLookup<>(annotationHierarchies);
 		RequestMappingSymbolProvider requestMappingSymbolProvider = new RequestMappingSymbolProvider();
 		BeansSymbolProvider beansSymbolProvider = new BeansSymbolProvider();
 		ComponentSymbolProvider componentSymbolProvider = new ComponentSymbolProvider();
@@ -383,7 +396,7 @@ public class BootJavaLanguageServerComponents implements LanguageServerComponent
 		providers.put(Annotations.REPOSITORY, dataRepositorySymbolProvider);
 		providers.put("", webfluxRouterSymbolProvider);
 
-		return new SpringIndexer(server, params, providers);
+		return new SpringIndexer(server, params, providers, annotationHierarchies, parserClasspath);
 	}
 
 	protected ReferencesHandler createReferenceHandler(SimpleLanguageServer server, JavaProjectFinder projectFinder) {
@@ -432,6 +445,10 @@ public class BootJavaLanguageServerComponents implements LanguageServerComponent
 		return cuCache;
 	}
 
+	public AnnotationHierarchyCache getAnnotationHierarchies() {
+		return annotationHierarchies;
+	}
+
 	public SimpleTextDocumentService getTextDocumentService() {
 		return server.getTextDocumentService();
 	}
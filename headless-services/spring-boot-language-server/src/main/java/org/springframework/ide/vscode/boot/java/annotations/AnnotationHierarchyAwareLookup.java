@@ -18,6 +18,7 @@ import java.util.Map;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.springframework.ide.vscode.commons.java.IJavaProject;
 import org.springframework.ide.vscode.commons.util.Assert;
 
 import com.google.common.collect.ImmutableList;
@@ -47,6 +48,19 @@ public class AnnotationHierarchyAwareLookup<T> {
 	 */
 	private Map<String, Binding<T>> bindings = new HashMap<>();
 
+	/**
+	 * Optional shared cache used to memoize the result of {@link #get(IJavaProject, ITypeBinding)}.
+	 */
+	private final AnnotationHierarchyCache cache;
+
+	public AnnotationHierarchyAwareLookup() {
+		this(null);
+	}
+
+	public AnnotationHierarchyAwareLookup(AnnotationHierarchyCache cache) {
+		this.cache = cache;
+	}
+
 	/**
 	 * Associates a value with a given annotation type (and all its subtypes implicitly).
 	 *
@@ -91,6 +105,17 @@ public class AnnotationHierarchyAwareLookup<T> {
 		return found.build();
 	}
 
+	/**
+	 * Same as {@link #get(ITypeBinding)}, but the result is cached per project (if this lookup
+	 * was created with a {@link AnnotationHierarchyCache}).
+	 */
+	public Collection<T> get(IJavaProject project, ITypeBinding annotationType) {
+		if (cache!=null) {
+			return cache.computeIfAbsent(project, this, annotationType, () -> get(annotationType));
+		}
+		return get(annotationType);
+	}
+
 	public Collection<T> getAll() {
 		ImmutableList.Builder<T> found = ImmutableList.builder();
 		Collection<Binding<T>> values = bindings.values();
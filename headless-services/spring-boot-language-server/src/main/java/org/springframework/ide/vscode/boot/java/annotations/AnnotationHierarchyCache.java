@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.boot.java.annotations;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.core.dom.Annotation;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.springframework.ide.vscode.commons.java.IJavaProject;
+import org.springframework.ide.vscode.commons.languageserver.java.ProjectObserver;
+import org.springframework.ide.vscode.commons.util.CollectorUtil;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Caching variant of the queries in {@link AnnotationHierarchies}, meant to be shared
+ * by all components that ask questions about annotation hierarchies (indexer, hovers, code lenses).
+ * <p>
+ * For each annotation type the 'closure' (i.e. the qualified names of the type itself and all its
+ * transitive super annotations) and the bindings of its transitive super annotations are computed only
+ * once. Entries are scoped per project (i.e. per classpath),
+ * keyed by binding key, and are dropped when the project changes. Annotation types that are defined
+ * in source code are never cached, since they may change without the classpath changing.
+ */
+public class AnnotationHierarchyCache {
+
+	private static final long MAX_ENTRIES = 50_000;
+
+	/**
+	 * Marks cache entries that hold the closure of an annotation type.
+	 */
+	private static final Object CLOSURE = new Object();
+
+	/**
+	 * Marks cache entries that hold the transitive super annotations of an annotation type.
+	 */
+	private static final Object SUPERS = new Object();
+
+	private final ProjectObserver projectObserver;
+	private final ProjectObserver.Listener projectListener;
+
+	private final Cache<Key, Object> cache = CacheBuilder.newBuilder()
+			.maximumSize(MAX_ENTRIES)
+			.build();
+
+	private static final class Key {
+		final String scope;
+		final Object kind;
+		final String bindingKey;
+
+		Key(String scope, Object kind, String bindingKey) {
+			this.scope = scope;
+			this.kind = kind;
+			this.bindingKey = bindingKey;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(scope, kind, bindingKey);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj instanceof Key) {
+				Key other = (Key) obj;
+				return scope.equals(other.scope) && kind.equals(other.kind) && bindingKey.equals(other.bindingKey);
+			}
+			return false;
+		}
+	}
+
+	public AnnotationHierarchyCache(ProjectObserver projectObserver) {
+		this.projectObserver = projectObserver;
+		this.projectListener = ProjectObserver.onAnyBinaryChange(this::invalidate);
+		if (projectObserver != null) {
+			projectObserver.addListener(projectListener);
+		}
+	}
+
+	public void dispose() {
+		if (projectObserver != null) {
+			projectObserver.removeListener(projectListener);
+		}
+	}
+
+	public void invalidate(IJavaProject project) {
+		String scope = scope(project);
+		cache.asMap().keySet().removeIf(key -> key.scope.equals(scope));
+	}
+
+	/**
+	 * @return Qualified names of the given annotation type and all its transitive super annotations.
+	 */
+	public Set<String> getTransitiveSuperAnnotations(IJavaProject project, ITypeBinding typeBinding) {
+		return computeIfAbsent(project, CLOSURE, typeBinding,
+				() -> ImmutableSet.copyOf(AnnotationHierarchies.getTransitiveSuperAnnotations(typeBinding)));
+	}
+
+	public boolean isSubtypeOf(IJavaProject project, Annotation annotation, String fqAnnotationTypeName) {
+		ITypeBinding annotationType = annotation.resolveTypeBinding();
+		if (annotationType!=null) {
+			return getTransitiveSuperAnnotations(project, annotationType).contains(fqAnnotationTypeName);
+		}
+		return false;
+	}
+
+	/**
+	 * Bindings of the transitive super annotations of the given annotation type, not including the type itself,
+	 * in the same order as {@link AnnotationHierarchies#findTransitiveSupers(ITypeBinding, Set)}.
+	 * <p>
+	 * Note: cached bindings come from the parse that first asked for them. They can still be used
+	 * to look at names and annotations, which don't change as long as the classpath stays the same.
+	 */
+	public List<ITypeBinding> getTransitiveSupers(IJavaProject project, ITypeBinding typeBinding) {
+		return computeIfAbsent(project, SUPERS, typeBinding,
+				() -> AnnotationHierarchies.findTransitiveSupers(typeBinding, new HashSet<>())
+						.skip(1) //Don't include 'typeBinding' itself.
+						.collect(CollectorUtil.toImmutableList()));
+	}
+
+	/**
+	 * Same as {@link AnnotationHierarchies#getMetaAnnotations(ITypeBinding, Predicate)} but using
+	 * cached supers and closures to determine which of the super annotations are meta annotations.
+	 */
+	public Collection<ITypeBinding> getMetaAnnotations(IJavaProject project, ITypeBinding actualAnnotation, Predicate<String> isKeyAnnotationName) {
+		if (getTransitiveSuperAnnotations(project, actualAnnotation).stream().noneMatch(isKeyAnnotationName)) {
+			//Nothing in the hierarchy is a key annotation, so none of the supers can be a meta annotation.
+			return ImmutableList.of();
+		}
+		return getTransitiveSupers(project, actualAnnotation).stream()
+				.filter(candidate -> getTransitiveSuperAnnotations(project, candidate).stream().anyMatch(isKeyAnnotationName))
+				.collect(CollectorUtil.toImmutableList());
+	}
+
+	/**
+	 * Get a value derived from the hierarchy of a given annotation type, computing it only if it is
+	 * not yet cached.
+	 *
+	 * @param owner Identifies the kind of value. Values computed for different owners are cached separately.
+	 */
+	@SuppressWarnings("unchecked")
+	public <V> V computeIfAbsent(IJavaProject project, Object owner, ITypeBinding typeBinding, Supplier<V> computer) {
+		String bindingKey = typeBinding.getKey();
+		if (project == null || bindingKey == null || typeBinding.isFromSource()) {
+			return computer.get();
+		}
+		try {
+			return (V) cache.get(new Key(scope(project), owner, bindingKey), computer::get);
+		} catch (Exception e) {
+			//Compute it again without caching, so the caller gets to see the actual problem (if it persists)
+			return computer.get();
+		}
+	}
+
+	private static String scope(IJavaProject project) {
+		return String.valueOf(project.getLocationUri());
+	}
+
+}
@@ -33,7 +33,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ide.vscode.boot.java.Annotations;
 import org.springframework.ide.vscode.boot.java.BootJavaLanguageServerComponents;
-import org.springframework.ide.vscode.boot.java.annotations.AnnotationHierarchies;
 import org.springframework.ide.vscode.boot.java.handlers.HoverProvider;
 import org.springframework.ide.vscode.boot.java.links.SourceLinkFactory;
 import org.springframework.ide.vscode.boot.java.links.SourceLinks;
@@ -75,7 +74,7 @@ public class AutowiredHoverProvider implements HoverProvider {
 	@Override
 	public Collection<CodeLens> getLiveHintCodeLenses(IJavaProject project, Annotation annotation, TextDocument doc, SpringBootApp[] runningApps) {
 		if (runningApps.length > 0) {
-			LiveBean definedBean = getDefinedBeanForTypeDeclaration(ASTUtils.findDeclaringType(annotation));
+			LiveBean definedBean = getDefinedBeanForTypeDeclaration(project, ASTUtils.findDeclaringType(annotation));
 			// Annotation is MarkerNode, parent is some field, method, variable declaration node.
 			ASTNode declarationNode = annotation.getParent();
 			try {
@@ -105,7 +104,7 @@ public class AutowiredHoverProvider implements HoverProvider {
 	public Hover provideHover(ASTNode node, Annotation annotation, ITypeBinding type, int offset,
 			TextDocument doc, IJavaProject project, SpringBootApp[] runningApps) {
 		if (runningApps.length > 0) {
-			LiveBean definedBean = getDefinedBeanForTypeDeclaration(ASTUtils.findDeclaringType(annotation));
+			LiveBean definedBean = getDefinedBeanForTypeDeclaration(project, ASTUtils.findDeclaringType(annotation));
 			// Annotation is MarkerNode, parent is some field, method, variable declaration node.
 			ASTNode declarationNode = annotation.getParent();
 			Hover hover = provideHover(definedBean, declarationNode, offset, doc, project, runningApps);
@@ -288,10 +287,10 @@ public class AutowiredHoverProvider implements HoverProvider {
 		return false;
 	}
 
-	private LiveBean getDefinedBeanForTypeDeclaration(TypeDeclaration declaringType) {
+	private LiveBean getDefinedBeanForTypeDeclaration(IJavaProject project, TypeDeclaration declaringType) {
 		if (declaringType != null) {
 			for (Annotation annotation : ASTUtils.getAnnotations(declaringType)) {
-				if (AnnotationHierarchies.isSubtypeOf(annotation, Annotations.COMPONENT)) {
+				if (server.getAnnotationHierarchies().isSubtypeOf(project, annotation, Annotations.COMPONENT)) {
 					return ComponentInjectionsHoverProvider.getDefinedBeanForComponent(annotation);
 				}
 			}
@@ -314,7 +313,7 @@ public class AutowiredHoverProvider implements HoverProvider {
 
 	@Override
 	public Hover provideHover(MethodDeclaration methodDeclaration, int offset, TextDocument doc, IJavaProject project, SpringBootApp[] runningApps) {
-		LiveBean definedBean = getDefinedBeanForImplicitAutowiredConstructor(methodDeclaration);
+		LiveBean definedBean = getDefinedBeanForImplicitAutowiredConstructor(project, methodDeclaration);
 		Hover hover = provideHover(definedBean, methodDeclaration, offset, doc, project, runningApps);
 		if (hover != null) {
 			SimpleName name = methodDeclaration.getName();
@@ -330,7 +329,7 @@ public class AutowiredHoverProvider implements HoverProvider {
 	@Override
 	public Collection<CodeLens> getLiveHintCodeLenses(IJavaProject project, MethodDeclaration methodDeclaration, TextDocument doc,
 			SpringBootApp[] runningApps) {
-		LiveBean definedBean = getDefinedBeanForImplicitAutowiredConstructor(methodDeclaration);
+		LiveBean definedBean = getDefinedBeanForImplicitAutowiredConstructor(project, methodDeclaration);
 		try {
 			Range hoverRange = doc.toRange(methodDeclaration.getName().getStartPosition(), methodDeclaration.getName().getLength());
 			return getLiveHoverHints(project, methodDeclaration, hoverRange, runningApps, definedBean);
@@ -340,11 +339,11 @@ public class AutowiredHoverProvider implements HoverProvider {
 		return null;
 	}
 
-	private LiveBean getDefinedBeanForImplicitAutowiredConstructor(MethodDeclaration methodDeclaration) {
+	private LiveBean getDefinedBeanForImplicitAutowiredConstructor(IJavaProject project, MethodDeclaration methodDeclaration) {
 		if (methodDeclaration.isConstructor() && !methodDeclaration.parameters().isEmpty()) {
 			TypeDeclaration typeDeclaration = ASTUtils.findDeclaringType(methodDeclaration);
 			if (typeDeclaration != null && ASTUtils.hasExactlyOneConstructor(typeDeclaration) && !hasAutowiredAnnotation(methodDeclaration)) {
-				return getDefinedBeanForTypeDeclaration(typeDeclaration);
+				return getDefinedBeanForTypeDeclaration(project, typeDeclaration);
 			}
 		}
 		return null;
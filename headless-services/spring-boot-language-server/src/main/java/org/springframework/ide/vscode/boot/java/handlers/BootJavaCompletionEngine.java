@@ -19,8 +19,10 @@ import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.Annotation;
 import org.eclipse.jdt.core.dom.ITypeBinding;
 import org.eclipse.jdt.core.dom.NodeFinder;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 import org.springframework.ide.vscode.boot.java.BootJavaLanguageServerComponents;
 import org.springframework.ide.vscode.boot.java.snippets.JavaSnippetManager;
+import org.springframework.ide.vscode.commons.languageserver.completion.CanceledCompletionsException;
 import org.springframework.ide.vscode.commons.languageserver.completion.ICompletionEngine;
 import org.springframework.ide.vscode.commons.languageserver.completion.ICompletionProposal;
 import org.springframework.ide.vscode.commons.util.text.IDocument;
@@ -43,13 +45,21 @@ public class BootJavaCompletionEngine implements ICompletionEngine {
 
 	@Override
 	public Collection<ICompletionProposal> getCompletions(TextDocument document, int offset) throws Exception {
+		return getCompletions(document, offset, NOT_CANCELABLE);
+	}
+
+	@Override
+	public Collection<ICompletionProposal> getCompletions(TextDocument document, int offset, CancelChecker cancelToken) throws Exception {
+		cancelToken.checkCanceled();
 		return server.getCompilationUnitCache().withCompilationUnit(document, cu -> {
 			if (cu != null) {
+				cancelToken.checkCanceled();
 				ASTNode node = NodeFinder.perform(cu, offset, 0);
 
 				if (node != null) {
 					Collection<ICompletionProposal> completions = new ArrayList<ICompletionProposal>();
 					completions.addAll(collectCompletionsForAnnotations(node, offset, document));
+					CanceledCompletionsException.checkCanceled(cancelToken, completions);
 					completions.addAll(snippets.getCompletions(document, offset, node, cu));
 					return completions;
 				}
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.springframework.ide.vscode.boot.java.handlers;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.Optional;
@@ -17,11 +18,14 @@ import java.util.Optional;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.Annotation;
+import org.eclipse.jdt.core.dom.FieldDeclaration;
 import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.ImportDeclaration;
 import org.eclipse.jdt.core.dom.MarkerAnnotation;
 import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.NodeFinder;
 import org.eclipse.jdt.core.dom.NormalAnnotation;
+import org.eclipse.jdt.core.dom.PackageDeclaration;
 import org.eclipse.jdt.core.dom.SimpleName;
 import org.eclipse.jdt.core.dom.SingleMemberAnnotation;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
@@ -47,6 +51,9 @@ import org.springframework.ide.vscode.commons.util.text.IDocument;
 import org.springframework.ide.vscode.commons.util.text.TextDocument;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 
 /**
  * @author Martin Lippert
@@ -172,6 +179,82 @@ public class BootJavaHoverProvider implements HoverHandler {
 		});
 	}
 
+	/**
+	 * Computes a hash of the parts of the document the live hints depend on: the package, the imports, the annotations,
+	 * the names and signatures of the types, methods and fields, and where they are in the document. Edits that leave
+	 * the hash unchanged (e.g. typing in a method body) don't change the live hints.
+	 *
+	 * @return The hash, or null if the document can't have live hints.
+	 */
+	public HashCode getLiveHintsSourceHash(final TextDocument document) {
+		Optional<IJavaProject> project = getProject(document);
+		if (!project.isPresent() || !hasActuatorDependency(project.get())) return null;
+
+		return server.getCompilationUnitCache().withCompilationUnit(document, cu -> {
+			if (cu == null) {
+				return null;
+			}
+			Hasher hasher = Hashing.murmur3_128().newHasher();
+			cu.accept(new ASTVisitor() {
+
+				private void add(ASTNode node, String source) {
+					int start = node.getStartPosition();
+					hasher.putInt(cu.getLineNumber(start)).putInt(cu.getColumnNumber(start));
+					hasher.putInt(source.length()).putString(source, StandardCharsets.UTF_8);
+				}
+
+				@Override
+				public boolean visit(PackageDeclaration node) {
+					add(node, node.toString());
+					return false;
+				}
+
+				@Override
+				public boolean visit(ImportDeclaration node) {
+					add(node, node.toString());
+					return false;
+				}
+
+				@Override
+				public boolean visit(TypeDeclaration node) {
+					add(node.getName(), node.getName().getIdentifier());
+					return super.visit(node);
+				}
+
+				@Override
+				public boolean visit(MethodDeclaration node) {
+					add(node.getName(), node.getReturnType2() + " " + node.getName().getIdentifier() + node.parameters());
+					return super.visit(node);
+				}
+
+				@Override
+				public boolean visit(FieldDeclaration node) {
+					add(node, node.getType() + " " + node.fragments());
+					return super.visit(node);
+				}
+
+				@Override
+				public boolean visit(SingleMemberAnnotation node) {
+					add(node, node.toString());
+					return false;
+				}
+
+				@Override
+				public boolean visit(NormalAnnotation node) {
+					add(node, node.toString());
+					return false;
+				}
+
+				@Override
+				public boolean visit(MarkerAnnotation node) {
+					add(node, node.toString());
+					return false;
+				}
+			});
+			return hasher.hash();
+		});
+	}
+
 	protected void extractLiveHintsForMethod(MethodDeclaration methodDeclaration, TextDocument doc, IJavaProject project,
 			SpringBootApp[] runningApps, Collection<CodeLens> result) {
 		Collection<HoverProvider> providers = this.hoverProviders.getAll();
@@ -198,7 +281,7 @@ public class BootJavaHoverProvider implements HoverHandler {
 			SpringBootApp[] runningApps, Collection<CodeLens> result) {
 		ITypeBinding type = annotation.resolveTypeBinding();
 		if (type != null) {
-			for (HoverProvider provider : this.hoverProviders.get(type)) {
+			for (HoverProvider provider : this.hoverProviders.get(project, type)) {
 				Collection<CodeLens> hints = provider.getLiveHintCodeLenses(project, annotation, doc, runningApps);
 				if (hints!=null) {
 					result.addAll(hints);
@@ -268,7 +351,7 @@ public class BootJavaHoverProvider implements HoverHandler {
 			SpringBootApp[] runningApps = getRunningSpringApps(project);
 			if (runningApps.length > 0) {
 
-				for (HoverProvider provider : this.hoverProviders.get(type)) {
+				for (HoverProvider provider : this.hoverProviders.get(project, type)) {
 					Hover hover = provider.provideHover(exactNode, annotation, type, offset, doc, project, runningApps);
 					if (hover!=null) {
 						logger.debug("Hover found: "+hover);
@@ -10,10 +10,12 @@
  *******************************************************************************/
 package org.springframework.ide.vscode.boot.java.handlers;
 
+import java.time.Duration;
 import java.util.List;
 
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.WorkspaceSymbolParams;
+import org.springframework.ide.vscode.boot.java.BootJavaConfig;
 import org.springframework.ide.vscode.boot.java.requestmapping.LiveAppURLSymbolProvider;
 import org.springframework.ide.vscode.boot.java.utils.SpringIndexer;
 import org.springframework.ide.vscode.commons.languageserver.util.WorkspaceSymbolHandler;
@@ -23,21 +25,30 @@ import org.springframework.ide.vscode.commons.languageserver.util.WorkspaceSymbo
  */
 public class BootJavaWorkspaceSymbolHandler implements WorkspaceSymbolHandler {
 
+	/**
+	 * Time after which a search returns the best symbols found so far, rather than looking at all of them.
+	 */
+	public static final Duration SEARCH_TIME_BUDGET = Duration.ofMillis(300);
+
 	private final SpringIndexer indexer;
 	private final LiveAppURLSymbolProvider liveAppSymbolProvider;
+	private final BootJavaConfig config;
 
-	public BootJavaWorkspaceSymbolHandler(SpringIndexer indexer, LiveAppURLSymbolProvider liveAppSymbolProvider) {
+	public BootJavaWorkspaceSymbolHandler(SpringIndexer indexer, LiveAppURLSymbolProvider liveAppSymbolProvider, BootJavaConfig config) {
 		this.indexer = indexer;
 		this.liveAppSymbolProvider = liveAppSymbolProvider;
+		this.config = config;
 	}
 
 	@Override
 	public List<? extends SymbolInformation> handle(WorkspaceSymbolParams params) {
+		int maxResults = config.getWorkspaceSymbolsMaxResults();
 		if (params.getQuery() != null && params.getQuery().startsWith("//")) {
-			return liveAppSymbolProvider.getSymbols(params.getQuery());
+			List<? extends SymbolInformation> symbols = liveAppSymbolProvider.getSymbols(params.getQuery());
+			return maxResults > 0 && symbols.size() > maxResults ? symbols.subList(0, maxResults) : symbols;
 		}
 		else {
-			return indexer.getAllSymbols(params.getQuery());
+			return indexer.searchSymbols(params.getQuery(), maxResults, SEARCH_TIME_BUDGET);
 		}
 	}
 
@@ -11,10 +11,14 @@
 package org.springframework.ide.vscode.boot.java.handlers;
 
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ide.vscode.commons.boot.app.cli.AppIdentity;
 import org.springframework.ide.vscode.commons.boot.app.cli.SpringBootApp;
 import org.springframework.ide.vscode.commons.java.IClasspath;
 import org.springframework.ide.vscode.commons.java.IJavaProject;
@@ -22,11 +26,71 @@ import org.springframework.ide.vscode.commons.languageserver.jdt.ls.Classpath;
 import org.springframework.ide.vscode.commons.languageserver.jdt.ls.Classpath.CPE;
 import org.springframework.ide.vscode.commons.util.CollectorUtil;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+
 /**
  * @author Martin Lippert
  */
 public class RunningAppMatcher  {
 
+	private static final Logger log = LoggerFactory.getLogger(RunningAppMatcher.class);
+
+	/**
+	 * Projects indexed by name and by the output folders of their source folders, to find the projects
+	 * a running app was launched from without comparing every app with every project.
+	 */
+	public static class ProjectIndex {
+
+		private final ImmutableMap<String, IJavaProject> byName;
+		private final ImmutableListMultimap<String, IJavaProject> byOutputFolder;
+
+		private ProjectIndex(ImmutableMap<String, IJavaProject> byName, ImmutableListMultimap<String, IJavaProject> byOutputFolder) {
+			this.byName = byName;
+			this.byOutputFolder = byOutputFolder;
+		}
+
+		public static ProjectIndex create(Collection<IJavaProject> projects) {
+			Map<String, IJavaProject> byName = new HashMap<>();
+			ImmutableListMultimap.Builder<String, IJavaProject> byOutputFolder = ImmutableListMultimap.builder();
+			for (IJavaProject project : projects) {
+				byName.putIfAbsent(project.getElementName(), project);
+				try {
+					for (CPE cpe : project.getClasspath().getClasspathEntries()) {
+						if (Classpath.ENTRY_KIND_SOURCE.equals(cpe.getKind()) && cpe.getOutputFolder() != null) {
+							byOutputFolder.put(cpe.getOutputFolder(), project);
+						}
+					}
+				}
+				catch (Exception e) {
+					log.error("", e);
+				}
+			}
+			return new ProjectIndex(ImmutableMap.copyOf(byName), byOutputFolder.build());
+		}
+
+		/**
+		 * @return The projects the app was launched from: the project named by the app's project name system property if there is
+		 * one, otherwise the projects whose output folders are on the app's classpath.
+		 */
+		public Collection<IJavaProject> findProjectsFor(SpringBootApp app) {
+			AppIdentity identity = getIdentity(app);
+			if (identity == null) {
+				return ImmutableList.of();
+			}
+			String projectName = identity.getProjectName();
+			if (projectName != null && byName.containsKey(projectName)) {
+				return ImmutableList.of(byName.get(projectName));
+			}
+			Set<IJavaProject> projects = new LinkedHashSet<>();
+			for (String cpElement : identity.getClasspath()) {
+				projects.addAll(byOutputFolder.get(cpElement));
+			}
+			return projects;
+		}
+	}
+
 	public static Collection<SpringBootApp> getAllMatchingApps(Collection<SpringBootApp> apps, IJavaProject project) throws Exception {
 		if (project != null) {
 			Collection<SpringBootApp> matchedProjects = apps.stream().filter((app) -> {
@@ -39,38 +103,37 @@ public class RunningAppMatcher  {
 	}
 
 	private static boolean doesProjectMatch(SpringBootApp app, IJavaProject project) {
-		if (hasProjectName(app, project)) {
-			return doesProjectNameMatch(app, project);
-		}
-		return true;
+		AppIdentity identity = getIdentity(app);
+		String projectName = identity != null ? identity.getProjectName() : null;
+		return projectName == null || projectName.equals(project.getElementName());
 	}
 
-	public static boolean hasProjectName(SpringBootApp app, IJavaProject project) {
+	/**
+	 * @return The identity of the app, fetched once per app, or null if it can't be determined.
+	 */
+	private static AppIdentity getIdentity(SpringBootApp app) {
 		try {
-			String projectName = app.getSystemProperty("spring.boot.project.name");
-			return projectName != null && projectName.trim().length() > 0;
+			return app.getIdentity();
 		}
 		catch (Exception e) {
-			return false;
+			return null;
 		}
 	}
 
+	public static boolean hasProjectName(SpringBootApp app, IJavaProject project) {
+		AppIdentity identity = getIdentity(app);
+		return identity != null && identity.getProjectName() != null;
+	}
+
 	public static boolean doesProjectNameMatch(SpringBootApp app, IJavaProject project) {
-		try {
-			String projectName = app.getSystemProperty("spring.boot.project.name");
-			return projectName != null && projectName.equals(project.getElementName());
-		}
-		catch (Exception e) {
-			return false;
-		}
+		AppIdentity identity = getIdentity(app);
+		return identity != null && project.getElementName().equals(identity.getProjectName());
 	}
 
 	public static boolean doesClasspathMatch(SpringBootApp app, IJavaProject project) {
 		try {
-			Set<String> runningAppClasspath = new HashSet<>();
-			Collections.addAll(runningAppClasspath, app.getClasspath());
-
-			return doesClasspathMatch(runningAppClasspath, project);
+			AppIdentity identity = getIdentity(app);
+			return identity != null && doesClasspathMatch(identity.getClasspathEntries(), project);
 		}
 		catch (Exception e) {
 			return false;
@@ -29,7 +29,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ide.vscode.boot.java.Annotations;
 import org.springframework.ide.vscode.boot.java.BootJavaLanguageServerComponents;
-import org.springframework.ide.vscode.boot.java.annotations.AnnotationHierarchies;
 import org.springframework.ide.vscode.boot.java.utils.ASTUtils;
 import org.springframework.ide.vscode.commons.boot.app.cli.SpringBootApp;
 import org.springframework.ide.vscode.commons.boot.app.cli.livebean.LiveBean;
@@ -104,7 +103,7 @@ public class ComponentInjectionsHoverProvider extends AbstractInjectedIntoHoverP
 	@Override
 	public Collection<CodeLens> getLiveHintCodeLenses(IJavaProject project, TypeDeclaration typeDeclaration, TextDocument doc,
 			SpringBootApp[] runningApps) {
-		if (runningApps.length > 0 && !isComponentAnnotatedType(typeDeclaration)) {
+		if (runningApps.length > 0 && !isComponentAnnotatedType(project, typeDeclaration)) {
 			try {
 				LiveBean definedBean = getDefinedBeanForType(typeDeclaration, null);
 				if (definedBean != null) {
@@ -127,7 +126,7 @@ public class ComponentInjectionsHoverProvider extends AbstractInjectedIntoHoverP
 	public Hover provideHover(ASTNode node, TypeDeclaration typeDeclaration, ITypeBinding type, int offset,
 			TextDocument doc, IJavaProject project, SpringBootApp[] runningApps) {
 
-		if (runningApps.length > 0 && !isComponentAnnotatedType(typeDeclaration)) {
+		if (runningApps.length > 0 && !isComponentAnnotatedType(project, typeDeclaration)) {
 
 			LiveBean definedBean = getDefinedBeanForType(typeDeclaration, null);
 			if (definedBean != null) {
@@ -160,12 +159,12 @@ public class ComponentInjectionsHoverProvider extends AbstractInjectedIntoHoverP
 		return typeDeclaration == null ? Collections.emptyList() : LiveHoverUtils.findAllDependencyBeans(app, relevantBeans);
 	}
 
-	private boolean isComponentAnnotatedType(TypeDeclaration typeDeclaration) {
+	private boolean isComponentAnnotatedType(IJavaProject project, TypeDeclaration typeDeclaration) {
 		List<?> modifiers = typeDeclaration.modifiers();
 		for (Object modifier : modifiers) {
 			if (modifier instanceof Annotation) {
 				ITypeBinding typeBinding = ((Annotation) modifier).resolveTypeBinding();
-				if (isComponentAnnotation(typeBinding)) {
+				if (typeBinding != null && isComponentAnnotation(project, typeBinding)) {
 					return true;
 				}
 			}
@@ -173,8 +172,8 @@ public class ComponentInjectionsHoverProvider extends AbstractInjectedIntoHoverP
 		return false;
 	}
 
-	private boolean isComponentAnnotation(ITypeBinding type) {
-		Set<String> transitiveSuperAnnotations = AnnotationHierarchies.getTransitiveSuperAnnotations(type);
+	private boolean isComponentAnnotation(IJavaProject project, ITypeBinding type) {
+		Set<String> transitiveSuperAnnotations = server.getAnnotationHierarchies().getTransitiveSuperAnnotations(project, type);
 		for (String annotationType : transitiveSuperAnnotations) {
 			if (Annotations.COMPONENT.equals(annotationType)) {
 				return true;
@@ -11,9 +11,8 @@
 package org.springframework.ide.vscode.boot.java.requestmapping;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Stream;
 
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
@@ -21,7 +20,9 @@ import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.SymbolKind;
 import org.springframework.ide.vscode.boot.java.handlers.RunningAppProvider;
+import org.springframework.ide.vscode.boot.java.utils.SpringLiveDataPoller;
 import org.springframework.ide.vscode.commons.boot.app.cli.SpringBootApp;
+import org.springframework.ide.vscode.commons.boot.app.cli.requestmappings.RequestMappingIndex;
 import org.springframework.ide.vscode.commons.util.Log;
 
 /**
@@ -30,9 +31,11 @@ import org.springframework.ide.vscode.commons.util.Log;
 public class LiveAppURLSymbolProvider {
 
 	private final RunningAppProvider runningAppProvider;
+	private final SpringLiveDataPoller poller;
 
-	public LiveAppURLSymbolProvider(RunningAppProvider runningAppProvider) {
+	public LiveAppURLSymbolProvider(RunningAppProvider runningAppProvider, SpringLiveDataPoller poller) {
 		this.runningAppProvider = runningAppProvider;
+		this.poller = poller;
 	}
 
 	public List<? extends SymbolInformation> getSymbols(String query) {
@@ -41,15 +44,21 @@ public class LiveAppURLSymbolProvider {
 		List<SymbolInformation> result = new ArrayList<>();
 
 		try {
-			SpringBootApp[] runningApps = runningAppProvider.getAllRunningSpringApps().toArray(new SpringBootApp[0]);
+			//Prefer the (memoized) apps of the last poll, if live data is being polled
+			SpringLiveDataPoller.Snapshot snapshot = poller != null ? poller.getLatestSnapshot() : null;
+			Collection<SpringBootApp> apps = snapshot != null ? snapshot.getApps() : runningAppProvider.getAllRunningSpringApps();
+			SpringBootApp[] runningApps = apps.toArray(new SpringBootApp[0]);
 			for (SpringBootApp app : runningApps) {
 				try {
 					String host = app.getHost();
 					String port = app.getPort();
-					Stream<String> urls = app.getRequestMappings().stream()
-							.flatMap(rm -> Arrays.stream(rm.getSplitPath()))
-							.map(path -> UrlUtil.createUrl(host, port, path));
-					urls.forEach(url -> result.add(new SymbolInformation(url, SymbolKind.Method, new Location(url, new Range(new Position(0, 0), new Position(0, 1))))));
+					RequestMappingIndex mappings = app.getRequestMappingIndex();
+					if (mappings != null) {
+						for (String path : mappings.getPaths()) {
+							String url = UrlUtil.createUrl(host, port, path);
+							result.add(new SymbolInformation(url, SymbolKind.Method, new Location(url, new Range(new Position(0, 0), new Position(0, 1)))));
+						}
+					}
 				}
 				catch (Exception e) {
 					Log.log(e);
@@ -34,6 +34,7 @@ import org.springframework.ide.vscode.boot.java.handlers.HoverProvider;
 import org.springframework.ide.vscode.boot.java.livehover.LiveHoverUtils;
 import org.springframework.ide.vscode.commons.boot.app.cli.SpringBootApp;
 import org.springframework.ide.vscode.commons.boot.app.cli.requestmappings.RequestMapping;
+import org.springframework.ide.vscode.commons.boot.app.cli.requestmappings.RequestMappingIndex;
 import org.springframework.ide.vscode.commons.java.IJavaProject;
 import org.springframework.ide.vscode.commons.util.Renderable;
 import org.springframework.ide.vscode.commons.util.Renderables;
@@ -128,53 +129,33 @@ public class RequestMappingHoverProvider implements HoverProvider {
 			SpringBootApp[] runningApps) {
 
 		List<Tuple2<RequestMapping, SpringBootApp>> results = new ArrayList<>();
-		try {
-			for (SpringBootApp app : runningApps) {
-				Collection<RequestMapping> mappings = app.getRequestMappings();
-				if (mappings != null && !mappings.isEmpty()) {
-					mappings.stream()
-							.filter(rm -> methodMatchesAnnotation(annotation, rm))
-							.map(rm -> Tuples.of(rm, app))
-							.findFirst().ifPresent(t -> results.add(t));
+		ASTNode parent = annotation.getParent();
+		if (parent instanceof MethodDeclaration) {
+			IMethodBinding binding = ((MethodDeclaration) parent).resolveBinding();
+			if (binding != null) {
+				String className = binding.getDeclaringClass().getQualifiedName();
+				String methodName = binding.getName();
+				String[] parameterTypes = Arrays.stream(binding.getParameterTypes())
+						.map(t -> t.getTypeDeclaration().getQualifiedName())
+						.toArray(String[]::new);
+				try {
+					for (SpringBootApp app : runningApps) {
+						RequestMappingIndex mappings = app.getRequestMappingIndex();
+						if (mappings != null) {
+							List<RequestMapping> found = mappings.findByHandlerMethod(className, methodName, parameterTypes);
+							if (!found.isEmpty()) {
+								results.add(Tuples.of(found.get(0), app));
+							}
+						}
+					}
+				} catch (Exception e) {
+					log.error("", e);
 				}
 			}
-		} catch (Exception e) {
-			log.error("", e);
 		}
 		return results;
 	}
 
-	private boolean methodMatchesAnnotation(Annotation annotation, RequestMapping rm) {
-		String rqClassName = rm.getFullyQualifiedClassName();
-
-		if (rqClassName != null) {
-			int chop = rqClassName.indexOf("$$EnhancerBySpringCGLIB$$");
-			if (chop >= 0) {
-				rqClassName = rqClassName.substring(0, chop);
-			}
-
-			rqClassName = rqClassName.replace('$', '.');
-
-			ASTNode parent = annotation.getParent();
-			if (parent instanceof MethodDeclaration) {
-				MethodDeclaration methodDec = (MethodDeclaration) parent;
-				IMethodBinding binding = methodDec.resolveBinding();
-				if (binding != null) {
-					return binding.getDeclaringClass().getQualifiedName().equals(rqClassName)
-							&& binding.getName().equals(rm.getMethodName())
-							&& Arrays.equals(Arrays.stream(binding.getParameterTypes())
-									.map(t -> t.getTypeDeclaration().getQualifiedName())
-									.toArray(String[]::new),
-								rm.getMethodParameters());
-				}
-	//		} else if (parent instanceof TypeDeclaration) {
-	//			TypeDeclaration typeDec = (TypeDeclaration) parent;
-	//			return typeDec.resolveBinding().getQualifiedName().equals(rqClassName);
-			}
-		}
-		return false;
-	}
-
 	private List<String> getUrls(List<Tuple2<RequestMapping, SpringBootApp>> mappingMethods) throws Exception {
 		List<String> urls = new ArrayList<>();
 		for (int i = 0; i < mappingMethods.size(); i++) {
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.boot.java.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.ide.vscode.commons.boot.app.cli.livebean.LiveBean;
+import org.springframework.ide.vscode.commons.boot.app.cli.livebean.LiveBeansModel;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * The beans of a running app, indexed by their identity (id, type without generated class suffixes
+ * and resource) for change detection. Two snapshots with the same content hash contain the same beans.
+ */
+public class BeansSnapshot {
+
+	private static final HashFunction HASH = Hashing.murmur3_128();
+
+	private final LiveBeansModel model;
+	private final ImmutableMap<String, LiveBean> beans;
+	private final HashCode contentHash;
+
+	public BeansSnapshot(LiveBeansModel model) {
+		this.model = model;
+		Map<String, LiveBean> beans = new LinkedHashMap<>();
+		List<HashCode> hashes = new ArrayList<>();
+		for (String name : model.getBeanNames()) {
+			for (LiveBean bean : model.getBeansOfName(name)) {
+				String key = key(bean);
+				if (beans.putIfAbsent(key, bean) == null) {
+					hashes.add(HASH.hashString(key, StandardCharsets.UTF_8));
+				}
+			}
+		}
+		this.beans = ImmutableMap.copyOf(beans);
+		this.contentHash = hashes.isEmpty() ? HashCode.fromInt(0) : Hashing.combineUnordered(hashes);
+	}
+
+	private static String key(LiveBean bean) {
+		return bean.getId() + '\0' + bean.getType(true) + '\0' + bean.getResource();
+	}
+
+	/**
+	 * @return The model the snapshot was created from.
+	 */
+	public LiveBeansModel getModel() {
+		return model;
+	}
+
+	public HashCode getContentHash() {
+		return contentHash;
+	}
+
+	public boolean isEmpty() {
+		return beans.isEmpty();
+	}
+
+	/**
+	 * Collects the beans that are only in this snapshot as new beans, and the ones that are only
+	 * in the previous snapshot as deleted beans.
+	 *
+	 * @return A change created with the given factory, or null if there are no differences.
+	 */
+	public Change diff(BeansSnapshot previous, Supplier<Change> changeFactory) {
+		Change change = null;
+		if (previous == this || previous.contentHash.equals(contentHash)) {
+			return change;
+		}
+		for (Map.Entry<String, LiveBean> e : previous.beans.entrySet()) {
+			if (!beans.containsKey(e.getKey())) {
+				if (change == null) {
+					change = changeFactory.get();
+				}
+				change.addDeletedBean(e.getValue());
+			}
+		}
+		for (Map.Entry<String, LiveBean> e : beans.entrySet()) {
+			if (!previous.beans.containsKey(e.getKey())) {
+				if (change == null) {
+					change = changeFactory.get();
+				}
+				change.addNewBean(e.getValue());
+			}
+		}
+		return change;
+	}
+
+}
@@ -13,6 +13,7 @@ package org.springframework.ide.vscode.boot.java.utils;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -32,6 +33,7 @@ public class ChangeDetectionHistory {
 
 	public Change[] checkForChanges(SpringBootApp[] runningApps) {
 		List<Change> result = null;
+		Set<String> runningIDs = null;
 
 		for (SpringBootApp runningApp : runningApps) {
 			String virtualID = getVirtualAppID(runningApp);
@@ -50,7 +52,10 @@ public class ChangeDetectionHistory {
 				}
 			}
 			else {
-				String oldAppID = getOldApp(runningApp, runningApps);
+				if (runningIDs == null) {
+					runningIDs = getRunningIDs(runningApps);
+				}
+				String oldAppID = getOldApp(runningApp, runningIDs);
 				if (oldAppID != null) {
 					ChangeHistory oldHistory = changeHistory.remove(oldAppID);
 					oldHistory.updateProcess(runningApp);
@@ -86,17 +91,15 @@ public class ChangeDetectionHistory {
 		return app.getProcessID();
 	}
 
-	private String getOldApp(SpringBootApp app, SpringBootApp[] allApps) {
-		Set<String> histories = this.changeHistory.keySet();
-
+	private String getOldApp(SpringBootApp app, Set<String> runningIDs) {
 		try {
-			String commandLine = app.getJavaCommand();
-			String[] classpath = app.getClasspath();
-
-			for (String oldProcessID : histories) {
-				if (this.changeHistory.get(oldProcessID).matchesProcess(commandLine, classpath)
-						&& processNotRunningAnymore(oldProcessID, allApps)) {
-					return oldProcessID;
+			String processKey = ChangeHistory.processKey(app.getJavaCommand(), app.getClasspath());
+			if (processKey != null) {
+				for (Map.Entry<String, ChangeHistory> history : this.changeHistory.entrySet()) {
+					String oldProcessID = history.getKey();
+					if (!runningIDs.contains(oldProcessID) && history.getValue().matchesProcess(processKey)) {
+						return oldProcessID;
+					}
 				}
 			}
 		}
@@ -107,20 +110,20 @@ public class ChangeDetectionHistory {
 		return null;
 	}
 
-	private boolean processNotRunningAnymore(String oldProcessID, SpringBootApp[] allApps) {
-		try {
-			for (SpringBootApp app : allApps) {
+	private Set<String> getRunningIDs(SpringBootApp[] allApps) {
+		Set<String> ids = new HashSet<>();
+		for (SpringBootApp app : allApps) {
+			try {
 				String id = getVirtualAppID(app);
-				if (id != null && id.equals(oldProcessID)) {
-					return false;
+				if (id != null) {
+					ids.add(id);
 				}
 			}
+			catch (Exception e) {
+				e.printStackTrace();
+			}
 		}
-		catch (Exception e) {
-			e.printStackTrace();
-		}
-
-		return true;
+		return ids;
 	}
 
 }
@@ -10,29 +10,24 @@
  *******************************************************************************/
 package org.springframework.ide.vscode.boot.java.utils;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
 
-import org.apache.commons.lang3.StringUtils;
+import java.nio.charset.StandardCharsets;
+
 import org.springframework.ide.vscode.commons.boot.app.cli.SpringBootApp;
-import org.springframework.ide.vscode.commons.boot.app.cli.livebean.LiveBean;
 import org.springframework.ide.vscode.commons.boot.app.cli.livebean.LiveBeansModel;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
 /**
  * @author Martin Lippert
  */
 public class ChangeHistory {
 
-	private static final List<LiveBean> EMPTY_BEANS_LIST = new ArrayList<>(0);
-
 	private SpringBootApp associatedProcess;
-	private String associatedProcessCommand;
-	private String[] associatedProcessClasspath;
+	private String associatedProcessKey;
 
-	private LiveBeansModel lastBeans;
+	private BeansSnapshot lastBeans;
 
 	public ChangeHistory() {
 	}
@@ -42,8 +37,7 @@ public class ChangeHistory {
 			this.associatedProcess = app;
 
 			try {
-				this.associatedProcessCommand = app.getJavaCommand();
-				this.associatedProcessClasspath = app.getClasspath();
+				this.associatedProcessKey = processKey(app.getJavaCommand(), app.getClasspath());
 			}
 			catch (Exception e) {
 				e.printStackTrace();
@@ -51,89 +45,43 @@ public class ChangeHistory {
 		}
 	}
 
-	public boolean matchesProcess(String commandLine, String[] classpath) {
-		return this.associatedProcessCommand != null && this.associatedProcessCommand.equals(commandLine)
-				&& this.associatedProcessClasspath != null && Arrays.deepEquals(this.associatedProcessClasspath, classpath);
+	/**
+	 * @return A key identifying a process by its command line and classpath, so that a restarted process can be
+	 * recognized cheaply, or null if the command line is unknown.
+	 */
+	public static String processKey(String commandLine, String[] classpath) {
+		if (commandLine == null || classpath == null) {
+			return null;
+		}
+		Hasher hasher = Hashing.murmur3_128().newHasher();
+		hasher.putString(commandLine, StandardCharsets.UTF_8).putInt(classpath.length);
+		for (String entry : classpath) {
+			hasher.putByte((byte) 0).putString(String.valueOf(entry), StandardCharsets.UTF_8);
+		}
+		return hasher.hash().toString();
+	}
+
+	public boolean matchesProcess(String processKey) {
+		return this.associatedProcessKey != null && this.associatedProcessKey.equals(processKey);
 	}
 
 	public Change checkForUpdates() {
 		Change result = null;
 
 		LiveBeansModel currentBeans = this.associatedProcess.getBeans();
-		if (!currentBeans.isEmpty()) {
+		if (currentBeans != null && !currentBeans.isEmpty()) {
 
 			if (lastBeans == null) {
-				lastBeans = currentBeans;
-			}
-			else if (lastBeans != null && currentBeans != null) {
-				result = calculateBeansDiff(lastBeans, currentBeans, result);
-				lastBeans = currentBeans;
-			}
-		}
-
-		return result;
-	}
-
-	private Change calculateBeansDiff(LiveBeansModel previous, LiveBeansModel current, Change result) {
-		if (previous == current) {
-			return result;
-		}
-
-		Set<String> currentNames = current.getBeanNames();
-		Set<String> previousNames = previous.getBeanNames();
-
-		Set<String> allNames = new HashSet<>(currentNames);
-		allNames.addAll(previousNames);
-
-		for (String name : allNames) {
-			List<LiveBean> currentBeans = current.getBeansOfName(name);
-			List<LiveBean> previousBeans = previous.getBeansOfName(name);
-
-			result = calculateBeansDiff(previousBeans, currentBeans, result);
-		}
-
-		return result;
-	}
-
-	private Change calculateBeansDiff(List<LiveBean> previousBeans, List<LiveBean> currentBeans, Change result) {
-		if (currentBeans == null) currentBeans = EMPTY_BEANS_LIST;
-		if (previousBeans == null) previousBeans = EMPTY_BEANS_LIST;
-
-		for (LiveBean bean : previousBeans) {
-			if (!contains(currentBeans, bean)) {
-
-				if (result == null) {
-					result = new Change(associatedProcess);
-				}
-
-				result.addDeletedBean(bean);
+				lastBeans = new BeansSnapshot(currentBeans);
 			}
-		}
-
-		for (LiveBean bean : currentBeans) {
-			if (!contains(previousBeans, bean)) {
-
-				if (result == null) {
-					result = new Change(associatedProcess);
-				}
-
-				result.addNewBean(bean);
+			else if (lastBeans.getModel() != currentBeans) {
+				BeansSnapshot current = new BeansSnapshot(currentBeans);
+				result = current.diff(lastBeans, () -> new Change(associatedProcess));
+				lastBeans = current;
 			}
 		}
 
 		return result;
 	}
 
-	private boolean contains(List<LiveBean> beans, LiveBean bean) {
-		for (LiveBean beansFromList : beans) {
-			if (StringUtils.equals(beansFromList.getId(), bean.getId())
-					&& StringUtils.equals(beansFromList.getType(true), bean.getType(true))
-					&& StringUtils.equals(beansFromList.getResource(), bean.getResource())) {
-				return true;
-			}
-		}
-
-		return false;
-	}
-
 }
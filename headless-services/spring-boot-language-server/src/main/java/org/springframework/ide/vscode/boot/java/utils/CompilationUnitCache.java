@@ -10,24 +10,21 @@
  *******************************************************************************/
 package org.springframework.ide.vscode.boot.java.utils;
 
-import java.io.File;
 import java.net.URI;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
 import java.util.function.Function;
-import java.util.stream.Stream;
 
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.CompilationUnit;
-import org.springframework.ide.vscode.commons.java.IClasspath;
-import org.springframework.ide.vscode.commons.java.IClasspathUtil;
 import org.springframework.ide.vscode.commons.java.IJavaProject;
 import org.springframework.ide.vscode.commons.languageserver.java.JavaProjectFinder;
 import org.springframework.ide.vscode.commons.languageserver.java.ProjectObserver;
@@ -46,14 +43,16 @@ public final class CompilationUnitCache {
 	private Cache<URI, CompilationUnit> uriToCu;
 	private Cache<IJavaProject, Set<URI>> projectToDocs;
 	private ProjectObserver.Listener projectListener;
+	private final ParserClasspathCache parserClasspath;
 
 	private ReadLock readLock;
 	private WriteLock writeLock;
 
-	public CompilationUnitCache(JavaProjectFinder projectFinder, SimpleTextDocumentService documentService, ProjectObserver projectObserver) {
+	public CompilationUnitCache(JavaProjectFinder projectFinder, SimpleTextDocumentService documentService, ProjectObserver projectObserver, ParserClasspathCache parserClasspath) {
 		this.projectFinder = projectFinder;
+		this.parserClasspath = parserClasspath;
 		this.projectObserver = projectObserver;
-		projectListener = ProjectObserver.onAny(this::invalidateProject);
+		projectListener = ProjectObserver.onAnyBinaryChange(this::invalidateProject);
 
 		// PT 154618835 - Avoid retaining the CU in the cache as it consumes memory if it hasn't been
 		// accessed after some time
@@ -120,6 +119,10 @@ public final class CompilationUnitCache {
 						return requestor.apply(cu);
 					}
 				}
+				catch (CancellationException e) {
+					//Request canceled by the requestor itself, not a problem with the compilation unit
+					throw e;
+				}
 				catch (Exception e) {
 					Log.log(e);
 				}
@@ -139,8 +142,8 @@ public final class CompilationUnitCache {
 		}
 	}
 
-	public static CompilationUnit parse(TextDocument document, IJavaProject project) throws Exception {
-		String[] classpathEntries = getClasspathEntries(document, project);
+	private CompilationUnit parse(TextDocument document, IJavaProject project) throws Exception {
+		String[] classpathEntries = parserClasspath.getClasspathEntries(project);
 		String docURI = document.getUri();
 		String unitName = docURI.substring(docURI.lastIndexOf("/"));
 		char[] source = document.get(0, document.getLength()).toCharArray();
@@ -168,18 +171,6 @@ public final class CompilationUnitCache {
 		return cu;
 	}
 
-	private static String[] getClasspathEntries(TextDocument document, IJavaProject project) throws Exception {
-		if (project == null) {
-			return new String[0];
-		} else {
-			IClasspath classpath = project.getClasspath();
-			Stream<File> classpathEntries = IClasspathUtil.getAllBinaryRoots(classpath).stream();
-			return classpathEntries
-					.filter(file -> file.exists())
-					.map(file -> file.getAbsolutePath()).toArray(String[]::new);
-		}
-	}
-
 	private void invalidateProject(IJavaProject project) {
 		Set<URI> docUris = projectToDocs.getIfPresent(project);
 		if (docUris != null) {
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.boot.java.utils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.springframework.ide.vscode.commons.java.IClasspathUtil;
+import org.springframework.ide.vscode.commons.java.IJavaProject;
+import org.springframework.ide.vscode.commons.languageserver.java.ProjectObserver;
+import org.springframework.ide.vscode.commons.util.Log;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Binary classpath of each project in the form expected by {@link ASTParser#setEnvironment}, shared
+ * by everything that parses java sources with bindings.
+ * <p>
+ * The classpath of a project is resolved (and its entries checked for existence) only once, and kept
+ * until the binary roots of the project change, rather than for every parse. Only the entries that
+ * didn't exist yet (e.g. an output folder that wasn't built yet) are checked again on every use, and
+ * the classpath is resolved again as soon as one of them appears.
+ * <p>
+ * Note that this only saves resolving the classpath. {@link ASTParser} has no public API to reuse a name
+ * environment, so JDT still opens and reads the jars for each <code>createAST</code> or <code>createASTs</code>
+ * call. Parsing many files with a single <code>createASTs</code> call (as the indexer does) shares that work.
+ */
+public class ParserClasspathCache {
+
+	private static final String[] NO_ENTRIES = new String[0];
+
+	private final ProjectObserver projectObserver;
+	private final ProjectObserver.Listener projectListener;
+
+	/**
+	 * Keyed by project identity: when a project is replaced by a new instance, the entry for the old one is
+	 * simply garbage collected.
+	 */
+	private final Cache<IJavaProject, ResolvedClasspath> entries = CacheBuilder.newBuilder()
+			.weakKeys()
+			.build();
+
+	public ParserClasspathCache(ProjectObserver projectObserver) {
+		this.projectObserver = projectObserver;
+		this.projectListener = ProjectObserver.onAnyBinaryChange(this::invalidate);
+		if (projectObserver != null) {
+			projectObserver.addListener(projectListener);
+		}
+	}
+
+	public void dispose() {
+		if (projectObserver != null) {
+			projectObserver.removeListener(projectListener);
+		}
+	}
+
+	/**
+	 * @return Absolute paths of the existing binary roots of the project. The returned array is shared and must not be modified.
+	 */
+	public String[] getClasspathEntries(IJavaProject project) {
+		if (project == null) {
+			return NO_ENTRIES;
+		}
+		try {
+			ResolvedClasspath classpath = entries.get(project, () -> resolve(project));
+			if (classpath.anyMissingExists()) {
+				classpath = resolve(project);
+				entries.put(project, classpath);
+			}
+			return classpath.existing;
+		} catch (ExecutionException e) {
+			Log.log(e);
+			return NO_ENTRIES;
+		}
+	}
+
+	public void invalidate(IJavaProject project) {
+		entries.invalidate(project);
+	}
+
+	private static ResolvedClasspath resolve(IJavaProject project) {
+		List<String> existing = new ArrayList<>();
+		List<File> missing = new ArrayList<>();
+		for (File root : IClasspathUtil.getAllBinaryRoots(project.getClasspath())) {
+			if (root.exists()) {
+				existing.add(root.getAbsolutePath());
+			} else {
+				missing.add(root);
+			}
+		}
+		return new ResolvedClasspath(existing.toArray(new String[existing.size()]), missing.toArray(new File[missing.size()]));
+	}
+
+	private static class ResolvedClasspath {
+
+		final String[] existing;
+		final File[] missing;
+
+		ResolvedClasspath(String[] existing, File[] missing) {
+			this.existing = existing;
+			this.missing = missing;
+		}
+
+		boolean anyMissingExists() {
+			for (File root : missing) {
+				if (root.exists()) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+}
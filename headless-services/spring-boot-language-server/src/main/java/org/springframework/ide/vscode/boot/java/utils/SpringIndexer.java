@@ -15,24 +15,20 @@ import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.apache.commons.io.FileUtils;
 import org.eclipse.jdt.core.JavaCore;
@@ -53,14 +49,13 @@ import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ide.vscode.boot.BootLanguageServerParams;
-import org.springframework.ide.vscode.boot.java.annotations.AnnotationHierarchies;
 import org.springframework.ide.vscode.boot.java.annotations.AnnotationHierarchyAwareLookup;
+import org.springframework.ide.vscode.boot.java.annotations.AnnotationHierarchyCache;
 import org.springframework.ide.vscode.boot.java.handlers.EnhancedSymbolInformation;
 import org.springframework.ide.vscode.boot.java.handlers.SymbolAddOnInformation;
 import org.springframework.ide.vscode.boot.java.handlers.SymbolProvider;
 import org.springframework.ide.vscode.commons.java.BootProjectUtil;
-import org.springframework.ide.vscode.commons.java.IClasspath;
-import org.springframework.ide.vscode.commons.java.IClasspathUtil;
+import org.springframework.ide.vscode.commons.java.ClasspathDiff;
 import org.springframework.ide.vscode.commons.java.IJavaProject;
 import org.springframework.ide.vscode.commons.languageserver.java.JavaProjectFinder;
 import org.springframework.ide.vscode.commons.languageserver.java.ProjectObserver;
@@ -73,8 +68,6 @@ import org.springframework.ide.vscode.commons.util.UriUtil;
 import org.springframework.ide.vscode.commons.util.text.LanguageId;
 import org.springframework.ide.vscode.commons.util.text.TextDocument;
 
-import com.google.common.collect.ImmutableList;
-
 /**
  * @author Martin Lippert
  */
@@ -84,15 +77,15 @@ public class SpringIndexer {
 	private final BootLanguageServerParams params;
 	private final JavaProjectFinder projectFinder;
 	private final AnnotationHierarchyAwareLookup<SymbolProvider> symbolProviders;
+	private final AnnotationHierarchyCache annotationHierarchies;
+	private final ParserClasspathCache parserClasspath;
 
-	private final List<SymbolInformation> symbols;
-	private final List<SymbolAddOnInformation> addonInformation;
-
-	private final ConcurrentMap<String, List<SymbolInformation>> symbolsByDoc;
-	private final ConcurrentMap<String, List<SymbolAddOnInformation>> addonInformationByDoc;
+	private final SymbolTable symbolTable;
 
-	private final ConcurrentMap<String, List<SymbolInformation>> symbolsByProject;
-	private final ConcurrentMap<String, List<SymbolAddOnInformation>> addonInformationByProject;
+	/**
+	 * Symbols of the documents being scanned, only accessed from the update queue.
+	 */
+	private final Map<String, SymbolTable.Builder> scannedDocuments;
 
 	private final ExecutorService updateQueue;
 
@@ -111,6 +104,16 @@ public class SpringIndexer {
 			initializeProject(project);
 		}
 
+		@Override
+		public void changed(IJavaProject project, ClasspathDiff diff) {
+			if (diff.isBinaryRootsChanged()) {
+				changed(project);
+			} else {
+				//Symbols only depend on the sources and on what they are resolved against
+				log.debug("project changed event: {} skipped, binary roots unchanged {}", project.getElementName(), diff);
+			}
+		}
+
 		@Override
 		public void deleted(IJavaProject project) {
 			log.debug("project deleted event: {}", project.getElementName());
@@ -126,19 +129,18 @@ public class SpringIndexer {
 		return params.projectObserver;
 	}
 
-	public SpringIndexer(SimpleLanguageServer server, BootLanguageServerParams params, AnnotationHierarchyAwareLookup<SymbolProvider> specificProviders) {
+	public SpringIndexer(SimpleLanguageServer server, BootLanguageServerParams params, AnnotationHierarchyAwareLookup<SymbolProvider> specificProviders,
+			AnnotationHierarchyCache annotationHierarchies, ParserClasspathCache parserClasspath) {
 		log.debug("Creating {}", this);
 		this.server = server;
 		this.params = params;
 		this.projectFinder = params.projectFinder;
 		this.symbolProviders = specificProviders;
+		this.annotationHierarchies = annotationHierarchies;
+		this.parserClasspath = parserClasspath;
 
-		this.symbols = Collections.synchronizedList(new ArrayList<>());
-		this.symbolsByDoc = new ConcurrentHashMap<>();
-		this.symbolsByProject = new ConcurrentHashMap<>();
-		this.addonInformation = Collections.synchronizedList(new ArrayList<>());
-		this.addonInformationByDoc = new ConcurrentHashMap<>();
-		this.addonInformationByProject = new ConcurrentHashMap<>();
+		this.symbolTable = new SymbolTable();
+		this.scannedDocuments = new HashMap<>();
 
 		this.updateQueue = Executors.newSingleThreadExecutor();
 
@@ -264,19 +266,28 @@ public class SpringIndexer {
 
 	public List<SymbolInformation> getAllSymbols(String query) {
 		if (query != null && query.length() > 0) {
-			return searchMatchingSymbols(this.symbols, query);
+			return searchMatchingSymbols(symbolTable.getAllSymbols(), query);
 		} else {
-			return this.symbols;
+			return symbolTable.getAllSymbols();
 		}
 	}
 
+	/**
+	 * Searches the symbols of the workspace, returning at most the given number of best matches.
+	 *
+	 * @see SymbolSearch
+	 */
+	public List<SymbolInformation> searchSymbols(String query, int maxResults, Duration timeBudget) {
+		return symbolTable.search(query, maxResults, timeBudget);
+	}
+
 	public List<? extends SymbolInformation> getSymbols(String docURI) {
-		return this.symbolsByDoc.get(docURI);
+		return symbolTable.getSymbols(docURI);
 	}
 
 	public List<SymbolAddOnInformation> getAllAdditionalInformation(Predicate<SymbolAddOnInformation> filter) {
 		if (filter != null) {
-			return addonInformation.stream().filter(filter).collect(Collectors.toList());
+			return symbolTable.getAllAdditionalInformation().stream().filter(filter).collect(Collectors.toList());
 		}
 		else {
 			return null;
@@ -284,8 +295,7 @@ public class SpringIndexer {
 	}
 
 	public List<? extends SymbolAddOnInformation> getAdditonalInformation(String docURI) {
-		List<SymbolAddOnInformation> info = this.addonInformationByDoc.get(docURI);
-		return info == null ? ImmutableList.of() : info;
+		return symbolTable.getAdditionalInformation(docURI);
 	}
 
 	/**
@@ -372,6 +382,20 @@ public class SpringIndexer {
 	}
 
 	private void scanAST(final IJavaProject project, final CompilationUnit cu, final String docURI, AtomicReference<TextDocument> docRef, final String content) {
+		try {
+			visitAST(project, cu, docURI, docRef, content);
+		}
+		finally {
+			//Always publish the document, an empty builder removes the symbols it had before.
+			SymbolTable.Builder symbols = scannedDocuments.remove(docURI);
+			if (symbols == null) {
+				symbols = new SymbolTable.Builder(project.getElementName(), docURI);
+			}
+			symbolTable.put(symbols);
+		}
+	}
+
+	private void visitAST(final IJavaProject project, final CompilationUnit cu, final String docURI, AtomicReference<TextDocument> docRef, final String content) {
 		cu.accept(new ASTVisitor() {
 
 			@Override
@@ -468,8 +492,8 @@ public class SpringIndexer {
 		ITypeBinding typeBinding = node.resolveTypeBinding();
 
 		if (typeBinding != null) {
-			Collection<SymbolProvider> providers = symbolProviders.get(typeBinding);
-			Collection<ITypeBinding> metaAnnotations = AnnotationHierarchies.getMetaAnnotations(typeBinding, symbolProviders::containsKey);
+			Collection<SymbolProvider> providers = symbolProviders.get(project, typeBinding);
+			Collection<ITypeBinding> metaAnnotations = annotationHierarchies.getMetaAnnotations(project, typeBinding, symbolProviders::containsKey);
 			if (!providers.isEmpty()) {
 				TextDocument doc = getTempTextDocument(docURI, docRef, content);
 				for (SymbolProvider provider : providers) {
@@ -527,12 +551,7 @@ public class SpringIndexer {
 	}
 
 	private String[] getClasspathEntries(IJavaProject project) throws Exception {
-		IClasspath classpath = project.getClasspath();
-		Stream<File> classpathEntries = IClasspathUtil.getAllBinaryRoots(classpath).stream();
-		return classpathEntries
-				.filter(file -> file.exists())
-				.map(file -> file.getAbsolutePath())
-				.toArray(String[]::new);
+		return parserClasspath.getClasspathEntries(project);
 	}
 
 
@@ -549,8 +568,6 @@ public class SpringIndexer {
 		public void run() {
 			log.debug("{} starting...", this);
 			try {
-				removeSymbolsByProject(project);
-
 				URI projectUri = project.getLocationUri();
 				List<String> files = Files.walk(Paths.get(projectUri))
 					.filter(path -> path.getFileName().toString().endsWith(".java"))
@@ -558,8 +575,15 @@ public class SpringIndexer {
 					.map(path -> path.toAbsolutePath().toString())
 					.collect(Collectors.toList());
 
+				//Rather than removing the symbols of the project up front, the symbols of each document are
+				//replaced as it is scanned, so they remain visible while the project is being scanned.
 				SpringIndexer.this.scanProject(project, (String[]) files.toArray(new String[files.size()]));
 
+				Set<String> docURIs = files.stream()
+					.map(file -> UriUtil.toUri(new File(file)).toString())
+					.collect(Collectors.toSet());
+				symbolTable.removeProjectExcept(project.getElementName(), docURIs);
+
 				log.debug("{} completed", this);
 			} catch (Throwable e) {
 				log.error("{} threw exception", this, e);
@@ -607,7 +631,7 @@ public class SpringIndexer {
 		@Override
 		public void run() {
 			try {
-				removeSymbolsByDoc(project, docURI);
+				//The symbols of the document are replaced once it is scanned, so they remain visible while it is being scanned.
 				SpringIndexer.this.scanFile(project, docURI, content, classpathEntries);
 			} catch (Exception e) {
 				log.error("{}", e);
@@ -636,75 +660,15 @@ public class SpringIndexer {
 	}
 
 	private void addSymbol(IJavaProject project, String docURI, EnhancedSymbolInformation enhancedSymbol) {
-		symbols.add(enhancedSymbol.getSymbol());
-		symbolsByDoc.computeIfAbsent(docURI, s -> new ArrayList<SymbolInformation>()).add(enhancedSymbol.getSymbol());
-		symbolsByProject.computeIfAbsent(project.getElementName(), s -> new ArrayList<SymbolInformation>()).add(enhancedSymbol.getSymbol());
-
-		if (enhancedSymbol.getAdditionalInformation() != null) {
-			addonInformation.addAll(Arrays.asList(enhancedSymbol.getAdditionalInformation()));
-			addonInformationByDoc.computeIfAbsent(docURI, s -> new ArrayList<SymbolAddOnInformation>()).addAll(Arrays.asList(enhancedSymbol.getAdditionalInformation()));
-			addonInformationByProject.computeIfAbsent(project.getElementName(), s -> new ArrayList<SymbolAddOnInformation>()).addAll(Arrays.asList(enhancedSymbol.getAdditionalInformation()));
-		}
+		scannedDocuments.computeIfAbsent(docURI, uri -> new SymbolTable.Builder(project.getElementName(), uri)).add(enhancedSymbol);
 	}
 
 	private void removeSymbolsByDoc(IJavaProject project, String docURI) {
-		List<SymbolInformation> oldSymbols = symbolsByDoc.remove(docURI);
-		if (oldSymbols != null) {
-			symbols.removeAll(oldSymbols);
-
-			List<SymbolInformation> projectSymbols = symbolsByProject.get(project.getElementName());
-			if (projectSymbols != null) {
-				projectSymbols.removeAll(oldSymbols);
-			}
-		}
-
-		List<SymbolAddOnInformation> oldAddInInformation = addonInformationByDoc.remove(docURI);
-		if (oldAddInInformation != null) {
-			addonInformation.removeAll(oldAddInInformation);
-
-			List<SymbolAddOnInformation> projectAddOns = addonInformationByProject.get(project.getElementName());
-			if (projectAddOns != null) {
-				projectAddOns.removeAll(oldAddInInformation);
-			}
-		}
-
+		symbolTable.removeDocument(docURI);
 	}
 
 	private void removeSymbolsByProject(IJavaProject project) {
-		List<SymbolInformation> oldSymbols = symbolsByProject.remove(project.getElementName());
-		if (oldSymbols != null) {
-			symbols.removeAll(oldSymbols);
-
-			Set<String> keySet = symbolsByDoc.keySet();
-			Iterator<String> docIter = keySet.iterator();
-			while (docIter.hasNext()) {
-				String docURI = docIter.next();
-				List<SymbolInformation> docSymbols = symbolsByDoc.get(docURI);
-				docSymbols.removeAll(oldSymbols);
-
-				if (docSymbols.isEmpty()) {
-					docIter.remove();
-				}
-			}
-		}
-
-		List<SymbolAddOnInformation> oldAddInInformation = addonInformationByProject.remove(project.getElementName());
-		if (oldAddInInformation != null) {
-			addonInformation.removeAll(oldAddInInformation);
-
-			Set<String> keySet = addonInformationByDoc.keySet();
-			Iterator<String> docIter = keySet.iterator();
-			while (docIter.hasNext()) {
-				String docURI = docIter.next();
-				List<SymbolAddOnInformation> docAddons = addonInformationByDoc.get(docURI);
-				docAddons.removeAll(oldAddInInformation);
-
-				if (docAddons.isEmpty()) {
-					docIter.remove();
-				}
-			}
-		}
-
+		symbolTable.removeProject(project.getElementName());
 	}
 
 }
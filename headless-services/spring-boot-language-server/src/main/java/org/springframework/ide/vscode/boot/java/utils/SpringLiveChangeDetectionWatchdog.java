@@ -13,14 +13,14 @@ package org.springframework.ide.vscode.boot.java.utils;
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -33,7 +33,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ide.vscode.boot.java.BootJavaLanguageServerComponents;
 import org.springframework.ide.vscode.boot.java.handlers.RunningAppMatcher;
-import org.springframework.ide.vscode.boot.java.handlers.RunningAppProvider;
 import org.springframework.ide.vscode.boot.java.links.SourceLinks;
 import org.springframework.ide.vscode.boot.java.links.VSCodeSourceLinks;
 import org.springframework.ide.vscode.commons.boot.app.cli.SpringBootApp;
@@ -51,12 +50,13 @@ public class SpringLiveChangeDetectionWatchdog {
 
 	public static final Duration DEFAULT_INTERVAL = Duration.ofMillis(5000);
 
-	Logger logger = LoggerFactory.getLogger(SpringLiveChangeDetectionWatchdog.class);
+	private static final Pattern BRACKETS = Pattern.compile("\\[[^\\]]*\\]");
 
-	private final long POLLING_INTERVAL_MILLISECONDS;
+	Logger logger = LoggerFactory.getLogger(SpringLiveChangeDetectionWatchdog.class);
 
 	private final SimpleLanguageServer server;
-	private final RunningAppProvider runningAppProvider;
+	private final SpringLiveDataPoller poller;
+	private final Consumer<SpringLiveDataPoller.Snapshot> pollListener = this::update;
 	private final SourceLinks sourceLinks;
 
 	private final ChangeDetectionHistory changeHistory;
@@ -64,22 +64,24 @@ public class SpringLiveChangeDetectionWatchdog {
 
 	private boolean changeDetectionEnabled = false;
 
-	private Timer timer;
+	private boolean started;
+
+	/**
+	 * Index of the observed projects, created on demand and discarded whenever projects are created, changed or deleted.
+	 */
+	private volatile RunningAppMatcher.ProjectIndex projectIndex;
 
 	public SpringLiveChangeDetectionWatchdog(
 			BootJavaLanguageServerComponents bootJavaLanguageServerComponents,
 			SimpleLanguageServer server,
 			ProjectObserver projectObserver,
-			RunningAppProvider runningAppProvider,
 			JavaProjectFinder projectFinder,
-			Duration pollingInterval
+			SpringLiveDataPoller poller
 	) {
 		this.observedProjects = new HashSet<>();
 
 		this.server = server;
-		this.runningAppProvider = runningAppProvider;
-
-		this.POLLING_INTERVAL_MILLISECONDS = pollingInterval == null ? DEFAULT_INTERVAL.toMillis() : pollingInterval.toMillis();
+		this.poller = poller;
 
 		this.changeHistory = new ChangeDetectionHistory();
 		this.sourceLinks = new VSCodeSourceLinks(bootJavaLanguageServerComponents);
@@ -90,49 +92,44 @@ public class SpringLiveChangeDetectionWatchdog {
 				@Override
 				public void deleted(IJavaProject project) {
 					observedProjects.remove(project);
+					projectIndex = null;
 				}
 
 				@Override
 				public void created(IJavaProject project) {
 					observedProjects.add(project);
+					projectIndex = null;
 				}
 
 				@Override
 				public void changed(IJavaProject project) {
-					// do nothing
+					// output folders may have changed
+					projectIndex = null;
 				}
 			});
 		}
 	}
 
 	public synchronized void start() {
-		if (changeDetectionEnabled && timer == null) {
+		if (changeDetectionEnabled && !started) {
 			logger.debug("Starting SpringLiveChangeDetectionWatchdog");
-			this.timer = new Timer();
-
-			TimerTask task = new TimerTask() {
-				@Override
-				public void run() {
-					update();
-				}
-			};
-
-			timer.schedule(task, 0, POLLING_INTERVAL_MILLISECONDS);
+			started = true;
+			poller.addListener(pollListener);
 		}
 	}
 
 	public synchronized void shutdown() {
-		if (timer != null) {
+		if (started) {
 			logger.info("Shutting down SpringLiveChangeDetectionWatchdog");
-			timer.cancel();
-			timer = null;
+			started = false;
+			poller.removeListener(pollListener);
 		}
 	}
 
-	public void update() {
+	public void update(SpringLiveDataPoller.Snapshot snapshot) {
 		if (changeDetectionEnabled) {
 			try {
-				SpringBootApp[] runningBootApps = runningAppProvider.getAllRunningSpringApps().toArray(new SpringBootApp[0]);
+				SpringBootApp[] runningBootApps = snapshot.getApps().toArray(new SpringBootApp[0]);
 				Change[] changes = changeHistory.checkForChanges(runningBootApps);
 				if (changes != null && changes.length > 0) {
 					for (Change change : changes) {
@@ -156,6 +153,9 @@ public class SpringLiveChangeDetectionWatchdog {
 
 		IJavaProject[] projects = findProjectsFor(change.getRunningApp());
 
+		// many beans share the same resource, resolve each resource to a document only once
+		Map<String, Optional<String>> docURIs = new HashMap<>();
+
 		List<LiveBean> deletedBeans = change.getDeletedBeans();
 		if (deletedBeans != null) {
 			for (LiveBean liveBean : deletedBeans) {
@@ -166,7 +166,7 @@ public class SpringLiveChangeDetectionWatchdog {
 
 				diag.setMessage("bean removed from app: " + liveBean.getId());
 
-				String docURI = getDocURI(liveBean, projects);
+				String docURI = getDocURI(liveBean, projects, docURIs);
 				if (docURI != null) {
 					List<Diagnostic> diags = diagnostics.computeIfAbsent(docURI, (s) -> new ArrayList<>());
 					diags.add(diag);
@@ -187,7 +187,7 @@ public class SpringLiveChangeDetectionWatchdog {
 
 				diag.setMessage("new bean detected: " + liveBean.getId());
 
-				String docURI = getDocURI(liveBean, projects);
+				String docURI = getDocURI(liveBean, projects, docURIs);
 				if (docURI != null) {
 					List<Diagnostic> diags = diagnostics.computeIfAbsent(docURI, (s) -> new ArrayList<>());
 					diags.add(diag);
@@ -209,14 +209,14 @@ public class SpringLiveChangeDetectionWatchdog {
 		List<IJavaProject> result = new ArrayList<>();
 
 		try {
-			Set<String> runningClasspath = new HashSet<>();
-			Collections.addAll(runningClasspath, app.getClasspath());
+			RunningAppMatcher.ProjectIndex index = this.projectIndex;
+			if (index == null) {
+				this.projectIndex = index = RunningAppMatcher.ProjectIndex.create(new ArrayList<>(this.observedProjects));
+			}
 
-			for (IJavaProject project : this.observedProjects) {
-				if (RunningAppMatcher.doesClasspathMatch(runningClasspath, project)) {
-					result.add(project);
-					break;
-				}
+			Collection<IJavaProject> projects = index.findProjectsFor(app);
+			if (!projects.isEmpty()) {
+				result.add(projects.iterator().next());
 			}
 		}
 		catch (Exception e) {
@@ -226,14 +226,19 @@ public class SpringLiveChangeDetectionWatchdog {
 		return (IJavaProject[]) result.toArray(new IJavaProject[result.size()]);
 	}
 
-	private String getDocURI(LiveBean liveBean, IJavaProject[] projects) {
+	private String getDocURI(LiveBean liveBean, IJavaProject[] projects, Map<String, Optional<String>> docURIs) {
+		String resource = liveBean.getResource();
+		if (resource == null) {
+			return null;
+		}
+		return docURIs.computeIfAbsent(resource, r -> Optional.ofNullable(getDocURI(r, projects))).orElse(null);
+	}
+
+	private String getDocURI(String resource, IJavaProject[] projects) {
 		String result = null;
 
-		String resource = liveBean.getResource();
 		if (resource != null) {
 
-			Pattern BRACKETS = Pattern.compile("\\[[^\\]]*\\]");
-
 			Matcher matcher = BRACKETS.matcher(resource);
 			if (matcher.find()) {
 				String type = resource.substring(0, matcher.start()).trim();
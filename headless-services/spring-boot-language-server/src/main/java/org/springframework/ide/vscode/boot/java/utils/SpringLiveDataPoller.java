@@ -0,0 +1,314 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.boot.java.utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ide.vscode.boot.java.handlers.RunningAppProvider;
+import org.springframework.ide.vscode.commons.boot.app.cli.SpringBootApp;
+import org.springframework.ide.vscode.commons.boot.app.cli.livebean.LiveBeansModel;
+import org.springframework.ide.vscode.commons.util.ListenerList;
+import org.springframework.ide.vscode.commons.util.MemoizingProxy;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.MethodInterceptor;
+
+/**
+ * Polls the running spring boot apps on behalf of all the live data consumers (live hovers, change detection,
+ * live workspace symbols, ...), so that each app is asked for its data only once per polling cycle.
+ * <p>
+ * Polling runs while there is at least one listener. Every cycle publishes an immutable {@link Snapshot} of
+ * the running apps to the listeners. Apps are wrapped into a memoizing proxy once, when they are first seen,
+ * and the same proxy is handed out for as long as the app is running.
+ * <p>
+ * The beans of an app whose beans did not change are polled less and less frequently (up to
+ * {@link #MAX_BACKOFF} times the polling interval). The proxy answers {@link SpringBootApp#getBeans()}
+ * with the beans of the last poll, so consumers never query the app for its beans in between.
+ * A small random delay is added to every cycle so that several language servers do not hit the
+ * same apps in lock-step.
+ */
+public class SpringLiveDataPoller {
+
+	private static final Logger logger = LoggerFactory.getLogger(SpringLiveDataPoller.class);
+
+	private static final int MAX_BACKOFF = 4;
+	private static final double JITTER = 0.1;
+
+	/**
+	 * The live data of one running app, at the time of a polling cycle.
+	 */
+	public static class AppSnapshot {
+
+		private final SpringBootApp app;
+		private final LiveBeansModel beans;
+
+		AppSnapshot(SpringBootApp app, LiveBeansModel beans) {
+			this.app = app;
+			this.beans = beans;
+		}
+
+		/**
+		 * @return Memoizing proxy of the app, stable for as long as the app is running.
+		 */
+		public SpringBootApp getApp() {
+			return app;
+		}
+
+		/**
+		 * @return Beans of the app as of the last time they were polled.
+		 */
+		public LiveBeansModel getBeans() {
+			return beans;
+		}
+	}
+
+	/**
+	 * The running apps at the time of a polling cycle.
+	 */
+	public static class Snapshot {
+
+		private final ImmutableList<AppSnapshot> appSnapshots;
+		private final ImmutableList<SpringBootApp> apps;
+
+		Snapshot(ImmutableList<AppSnapshot> appSnapshots) {
+			this.appSnapshots = appSnapshots;
+			ImmutableList.Builder<SpringBootApp> apps = ImmutableList.builder();
+			for (AppSnapshot s : appSnapshots) {
+				apps.add(s.getApp());
+			}
+			this.apps = apps.build();
+		}
+
+		public ImmutableList<AppSnapshot> getAppSnapshots() {
+			return appSnapshots;
+		}
+
+		public ImmutableList<SpringBootApp> getApps() {
+			return apps;
+		}
+	}
+
+	private static class AppState {
+		final SpringBootApp app;
+		SpringBootApp proxy;
+		volatile LiveBeansModel beans;
+		int backoff = 1;
+		int skippedCycles;
+
+		AppState(SpringBootApp app) {
+			this.app = app;
+		}
+	}
+
+	private final RunningAppProvider runningAppProvider;
+	private final long intervalMillis;
+	private final DoubleSupplier random;
+	private final ListenerList<Consumer<Snapshot>> listeners = new ListenerList<>();
+	private final Map<SpringBootApp, AppState> apps = new IdentityHashMap<>();
+	private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+			.setNameFormat("spring-live-data-poller-%d")
+			.setDaemon(true)
+			.build());
+
+	private ScheduledFuture<?> nextCycle;
+	private volatile Snapshot latest;
+
+	/**
+	 * Incremented whenever polling starts, so that a cycle still running when polling is stopped and
+	 * restarted does not schedule a second chain of cycles.
+	 */
+	private int generation;
+
+	public SpringLiveDataPoller(RunningAppProvider runningAppProvider, Duration pollingInterval) {
+		this(runningAppProvider, pollingInterval, () -> ThreadLocalRandom.current().nextDouble());
+	}
+
+	/**
+	 * @param random Source of the random numbers, between 0 (inclusive) and 1 (exclusive), the jitter is computed from.
+	 */
+	public SpringLiveDataPoller(RunningAppProvider runningAppProvider, Duration pollingInterval, DoubleSupplier random) {
+		this.runningAppProvider = runningAppProvider;
+		this.intervalMillis = pollingInterval == null ? SpringLiveHoverWatchdog.DEFAULT_INTERVAL.toMillis() : pollingInterval.toMillis();
+		this.random = random;
+	}
+
+	/**
+	 * Adds a listener, starting to poll if it is the first one. The listener is notified on the polling thread.
+	 */
+	public synchronized void addListener(Consumer<Snapshot> listener) {
+		listeners.add(listener);
+		if (nextCycle == null) {
+			logger.debug("Starting SpringLiveDataPoller");
+			int gen = ++generation;
+			nextCycle = executor.schedule(() -> poll(gen), 0, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Removes a listener, stopping to poll if it was the last one.
+	 */
+	public synchronized void removeListener(Consumer<Snapshot> listener) {
+		listeners.remove(listener);
+		if (listeners.isEmpty() && nextCycle != null) {
+			logger.debug("Stopping SpringLiveDataPoller");
+			nextCycle.cancel(false);
+			nextCycle = null;
+			latest = null;
+			apps.clear();
+		}
+	}
+
+	/**
+	 * @return The snapshot of the last polling cycle, or null if not currently polling.
+	 */
+	public Snapshot getLatestSnapshot() {
+		return latest;
+	}
+
+	public synchronized void dispose() {
+		listeners.clear();
+		if (nextCycle != null) {
+			nextCycle.cancel(false);
+			nextCycle = null;
+		}
+		latest = null;
+		apps.clear();
+		executor.shutdownNow();
+	}
+
+	private void poll(int gen) {
+		try {
+			Snapshot snapshot = createSnapshot(runningAppProvider.getAllRunningSpringApps());
+			synchronized (this) {
+				if (gen != generation || nextCycle == null) {
+					return; //stopped while polling
+				}
+				latest = snapshot;
+			}
+			for (Consumer<Snapshot> listener : listeners) {
+				try {
+					listener.accept(snapshot);
+				} catch (Exception e) {
+					logger.error("", e);
+				}
+			}
+		} catch (Exception e) {
+			logger.error("", e);
+		} finally {
+			scheduleNextCycle(gen);
+		}
+	}
+
+	private synchronized void scheduleNextCycle(int gen) {
+		if (gen == generation && nextCycle != null && !executor.isShutdown()) {
+			nextCycle = executor.schedule(() -> poll(gen), nextCycleDelayMillis(), TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * @return Delay between the end of a polling cycle and the start of the next one: the polling interval
+	 * plus a random jitter of up to {@link #JITTER} times the interval.
+	 */
+	public long nextCycleDelayMillis() {
+		long jitter = (long) (random.getAsDouble() * JITTER * intervalMillis);
+		return intervalMillis + jitter;
+	}
+
+	private Snapshot createSnapshot(Collection<SpringBootApp> runningApps) {
+		Map<SpringBootApp, AppState> current = new IdentityHashMap<>();
+		List<AppState> states = new ArrayList<>(runningApps.size());
+		synchronized (this) {
+			for (SpringBootApp app : runningApps) {
+				AppState state = apps.get(app);
+				if (state == null) {
+					state = new AppState(app);
+					state.proxy = createAppCache(state);
+				}
+				current.put(app, state);
+				states.add(state);
+			}
+			apps.clear();
+			apps.putAll(current);
+		}
+
+		ImmutableList.Builder<AppSnapshot> snapshots = ImmutableList.builder();
+		for (AppState state : states) {
+			pollBeans(state);
+			snapshots.add(new AppSnapshot(state.proxy, state.beans));
+		}
+		return new Snapshot(snapshots.build());
+	}
+
+	/**
+	 * Fetches the beans of an app unless it is backing off because its beans did not change lately.
+	 */
+	private void pollBeans(AppState state) {
+		if (state.beans != null && ++state.skippedCycles < state.backoff) {
+			return;
+		}
+		state.skippedCycles = 0;
+		try {
+			LiveBeansModel beans = state.app.getBeans();
+			if (beans == state.beans) {
+				//Unchanged models are the very same instance
+				state.backoff = Math.min(state.backoff * 2, MAX_BACKOFF);
+			} else {
+				state.backoff = 1;
+			}
+			state.beans = beans;
+		} catch (Exception e) {
+			logger.error("", e);
+			state.backoff = 1;
+		}
+	}
+
+	private SpringBootApp createAppCache(AppState state) {
+		MethodInterceptor memoizing = new MemoizingProxy.MemoizingProxyHandler(state.app, Duration.ofMillis(intervalMillis));
+		MethodInterceptor handler = (obj, method, args, proxy) -> {
+			if (method.getName().equals("getBeans") && (args == null || args.length == 0)) {
+				//Serve the beans of the last poll, so the backoff actually spares the app
+				LiveBeansModel beans = state.beans;
+				if (beans != null) {
+					return beans;
+				}
+			}
+			return memoizing.intercept(obj, method, args, proxy);
+		};
+		SpringBootApp proxied = (SpringBootApp) Enhancer.create(SpringBootApp.class, handler);
+
+		try {
+			proxied.getProcessName();
+			proxied.getProcessID();
+		}
+		catch (Exception e) {
+		}
+
+		return proxied;
+	}
+
+}
@@ -10,14 +10,22 @@
  *******************************************************************************/
 package org.springframework.ide.vscode.boot.java.utils;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import org.eclipse.lsp4j.CodeLens;
@@ -29,16 +37,20 @@ import org.springframework.ide.vscode.boot.java.handlers.BootJavaHoverProvider;
 import org.springframework.ide.vscode.boot.java.handlers.RunningAppMatcher;
 import org.springframework.ide.vscode.boot.java.handlers.RunningAppProvider;
 import org.springframework.ide.vscode.commons.boot.app.cli.SpringBootApp;
+import org.springframework.ide.vscode.commons.boot.app.cli.livebean.LiveBeansModel;
+import org.springframework.ide.vscode.commons.boot.app.cli.requestmappings.RequestMappingIndex;
 import org.springframework.ide.vscode.commons.java.IJavaProject;
 import org.springframework.ide.vscode.commons.languageserver.HighlightParams;
 import org.springframework.ide.vscode.commons.languageserver.java.JavaProjectFinder;
 import org.springframework.ide.vscode.commons.languageserver.java.ProjectObserver;
 import org.springframework.ide.vscode.commons.languageserver.util.SimpleLanguageServer;
-import org.springframework.ide.vscode.commons.util.MemoizingProxy;
 import org.springframework.ide.vscode.commons.util.text.TextDocument;
 
-import net.sf.cglib.proxy.Enhancer;
-import net.sf.cglib.proxy.MethodInterceptor;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * @author Martin Lippert
@@ -47,9 +59,42 @@ public class SpringLiveHoverWatchdog {
 
 	public static final Duration DEFAULT_INTERVAL = Duration.ofMillis(5000);
 
+	/**
+	 * Delay after the last edit of a document before its live hints are recomputed.
+	 */
+	public static final Duration DEBOUNCE_DELAY = Duration.ofMillis(300);
+
+	private static final HashCode NO_DATA = HashCode.fromInt(0);
+
+	/**
+	 * What was last published for a document, and what it was computed from, to avoid computing or sending
+	 * the same highlights again.
+	 */
+	private static class PublishedHints {
+		final int version;
+		final Set<String> apps;
+		final HashCode liveData;
+		final HashCode source;
+		final List<CodeLens> codeLenses;
+
+		PublishedHints(int version, Set<String> apps, HashCode liveData, HashCode source, List<CodeLens> codeLenses) {
+			this.version = version;
+			this.apps = apps;
+			this.liveData = liveData;
+			this.source = source;
+			this.codeLenses = codeLenses;
+		}
+
+		/**
+		 * @return Whether hints computed from the given apps, live data and source are the same as these.
+		 */
+		boolean isComputedFrom(Set<String> apps, HashCode liveData, HashCode source) {
+			return liveData != null && source != null && this.apps.equals(apps) && liveData.equals(this.liveData) && source.equals(this.source);
+		}
+	}
+
 	Logger logger = LoggerFactory.getLogger(SpringLiveHoverWatchdog.class);
 
-	private final long POLLING_INTERVAL_MILLISECONDS;
 	private final Set<String> watchedDocs;
 	private final SimpleLanguageServer server;
 	private final BootJavaHoverProvider hoverProvider;
@@ -57,7 +102,21 @@ public class SpringLiveHoverWatchdog {
 
 	private boolean highlightsEnabled = true;
 
-	private Timer timer;
+	private final SpringLiveDataPoller poller;
+	private final Consumer<SpringLiveDataPoller.Snapshot> pollListener = this::update;
+	private boolean started;
+
+	/**
+	 * Runs the debounced updates while the watchdog is started, null otherwise.
+	 */
+	private ScheduledExecutorService debouncer;
+	private final Map<String, ScheduledFuture<?>> pendingUpdates = new ConcurrentHashMap<>();
+	private final Map<String, PublishedHints> published = new ConcurrentHashMap<>();
+
+	/**
+	 * The apps matched by at least one watched document in the last polling cycle.
+	 */
+	private final Set<SpringBootApp> matchedApps = Collections.newSetFromMap(new IdentityHashMap<>());
 
 	private JavaProjectFinder projectFinder;
 
@@ -81,9 +140,9 @@ public class SpringLiveHoverWatchdog {
 			RunningAppProvider runningAppProvider,
 			JavaProjectFinder projectFinder,
 			ProjectObserver projectChanges,
-			Duration pollingInterval
+			SpringLiveDataPoller poller
 	) {
-		this.POLLING_INTERVAL_MILLISECONDS = pollingInterval == null ? DEFAULT_INTERVAL.toMillis() : pollingInterval.toMillis();
+		this.poller = poller;
 		this.server = server;
 		this.hoverProvider = hoverProvider;
 		this.runningAppProvider = runningAppProvider;
@@ -109,27 +168,27 @@ public class SpringLiveHoverWatchdog {
 	}
 
 	private synchronized void start() {
-		if (highlightsEnabled && timer == null) {
+		if (highlightsEnabled && !started) {
 			logger.debug("Starting SpringLiveHoverWatchdog");
-			this.timer = new Timer();
-
-			TimerTask task = new TimerTask() {
-				@Override
-				public void run() {
-					update();
-				}
-			};
-
-			timer.schedule(task, 0, POLLING_INTERVAL_MILLISECONDS);
+			started = true;
+			debouncer = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+					.setNameFormat("live-hover-debounce-%d")
+					.setDaemon(true)
+					.build());
+			poller.addListener(pollListener);
 		}
 	}
 
 	public synchronized void shutdown() {
-		if (timer != null) {
+		if (started) {
 			logger.info("Shutting down SpringLiveHoverWatchdog");
-			timer.cancel();
-			timer = null;
+			started = false;
+			poller.removeListener(pollListener);
+			debouncer.shutdownNow();
+			debouncer = null;
+			pendingUpdates.clear();
 			watchedDocs.forEach(uri -> cleanupLiveHints(uri));
+			cleanupResources();
 		}
 	}
 
@@ -140,7 +199,12 @@ public class SpringLiveHoverWatchdog {
 
 	public synchronized void unwatchDocument(String docURI) {
 		this.watchedDocs.remove(docURI);
+		ScheduledFuture<?> pending = pendingUpdates.remove(docURI);
+		if (pending != null) {
+			pending.cancel(false);
+		}
 		cleanupLiveHints(docURI);
+		published.remove(docURI);
 
 		if (watchedDocs.size() == 0) {
 			cleanupResources();
@@ -148,31 +212,55 @@ public class SpringLiveHoverWatchdog {
 		refreshEnablement();
 	}
 
+	/**
+	 * Recomputes the live hints of a document once it has not been edited for {@link #DEBOUNCE_DELAY}.
+	 * Does nothing while the watchdog isn't started.
+	 */
+	public synchronized void scheduleUpdate(String docURI) {
+		if (!started) {
+			return; //No running app is watched, so there are no live hints to show
+		}
+		ScheduledFuture<?> scheduled = debouncer.schedule(() -> {
+			pendingUpdates.remove(docURI);
+			update(docURI);
+		}, DEBOUNCE_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+		ScheduledFuture<?> previous = pendingUpdates.put(docURI, scheduled);
+		if (previous != null) {
+			previous.cancel(false);
+		}
+	}
+
 	public void update(String docURI) {
 		try {
+			//Reuse the apps found by the last poll, rather than looking for running apps on every edit
+			SpringLiveDataPoller.Snapshot snapshot = poller.getLatestSnapshot();
+			Collection<SpringBootApp> apps = snapshot != null ? snapshot.getApps() : runningAppProvider.getAllRunningSpringApps();
 			IJavaProject project = identifyProject(docURI);
-			SpringBootApp[] runningBootApps = RunningAppMatcher.getAllMatchingApps(runningAppProvider.getAllRunningSpringApps(), project).toArray(new SpringBootApp[0]);
+			SpringBootApp[] runningBootApps = RunningAppMatcher.getAllMatchingApps(apps, project).toArray(new SpringBootApp[0]);
 
-			update(docURI, runningBootApps);
+			//Without a snapshot the apps are queried directly, so their live data is not known to be unchanged
+			update(docURI, runningBootApps, snapshot != null ? liveDataHash(runningBootApps) : null);
 		}
 		catch (Exception e) {
 			logger.error("", e);
 		}
 	}
 
-	protected void update() {
+	protected void update(SpringLiveDataPoller.Snapshot snapshot) {
 		if (this.watchedDocs.size() > 0) {
 			try {
-				Collection<SpringBootApp> runningBootApps = runningAppProvider.getAllRunningSpringApps();
-				Collection<SpringBootApp> cachedApps = createAppCaches(runningBootApps);
+				Collection<SpringBootApp> cachedApps = snapshot.getApps();
+				Set<SpringBootApp> matchedApps = Collections.newSetFromMap(new IdentityHashMap<>());
 
 				for (String docURI : watchedDocs) {
 					IJavaProject project = identifyProject(docURI);
 					SpringBootApp[] matchingApps = RunningAppMatcher.getAllMatchingApps(cachedApps, project).toArray(new SpringBootApp[0]);
-					update(docURI, matchingApps);
+					Collections.addAll(matchedApps, matchingApps);
+					update(docURI, matchingApps, liveDataHash(matchingApps));
 				}
 
 				this.hoverProvider.setRunningSpringApps(cachedApps);
+				updateMatchedApps(matchedApps);
 
 			} catch (Exception e) {
 				logger.error("", e);
@@ -180,15 +268,32 @@ public class SpringLiveHoverWatchdog {
 		}
 	}
 
-	protected void update(String docURI, SpringBootApp[] runningBootApps) {
+	/**
+	 * Computes the hints of a document, unless the apps, their live data and the parts of the document the hints
+	 * depend on are all the same as when the hints were last published. The same hints are then published again for
+	 * the current version of the document.
+	 *
+	 * @param liveData hash of the live data of the apps, or null if not known, in which case the hints are always computed.
+	 */
+	protected void update(String docURI, SpringBootApp[] runningBootApps, HashCode liveData) {
 		if (highlightsEnabled) {
 			try {
 				boolean hasCurrentRunningBootApps = runningBootApps != null && runningBootApps.length > 0;
 				if (hasCurrentRunningBootApps) {
 					TextDocument doc = this.server.getTextDocumentService().get(docURI);
 					if (doc != null) {
+						doc = doc.copy();
+						Set<String> apps = appsKey(runningBootApps);
+						PublishedHints previous = published.get(docURI);
+						HashCode source = previous != null && previous.version == doc.getVersion()
+								? previous.source
+								: this.hoverProvider.getLiveHintsSourceHash(doc);
+						if (previous != null && previous.isComputedFrom(apps, liveData, source)) {
+							publishLiveHints(docURI, doc.getVersion(), apps, liveData, source, previous.codeLenses);
+							return;
+						}
 						CodeLens[] infos = this.hoverProvider.getLiveHoverHints(doc, runningBootApps);
-						publishLiveHints(docURI, infos);
+						publishLiveHints(docURI, doc.getVersion(), apps, liveData, source, ImmutableList.copyOf(infos));
 					}
 				}
 				else  {
@@ -200,22 +305,6 @@ public class SpringLiveHoverWatchdog {
 		}
 	}
 
-	private Collection<SpringBootApp> createAppCaches(Collection<SpringBootApp> runningBootApps) {
-		return runningBootApps.stream().map(app -> {
-		    MethodInterceptor handler = new MemoizingProxy.MemoizingProxyHandler(app, Duration.ofMillis(20000));
-		    SpringBootApp proxied = (SpringBootApp) Enhancer.create(SpringBootApp.class, handler);
-
-		    try {
-		    	proxied.getProcessName();
-		    	proxied.getProcessID();
-		    }
-		    catch (Exception e) {
-		    }
-
-		    return proxied;
-		}).filter(app -> app != null).collect(Collectors.toList());
-	}
-
 	private IJavaProject identifyProject(String docURI) {
 		TextDocument doc = this.server.getTextDocumentService().get(docURI);
 		if (doc != null) {
@@ -226,19 +315,83 @@ public class SpringLiveHoverWatchdog {
 		}
 	}
 
-	private void publishLiveHints(String docURI, CodeLens[] codeLenses) {
-		int version = server.getTextDocumentService().get(docURI).getVersion();
-		VersionedTextDocumentIdentifier id = new VersionedTextDocumentIdentifier(version);
-		id.setUri(docURI);
-		server.getClient().highlight(new HighlightParams(id, Arrays.asList(codeLenses)));
+	private static Set<String> appsKey(SpringBootApp[] apps) {
+		ImmutableSortedSet.Builder<String> key = ImmutableSortedSet.naturalOrder();
+		for (SpringBootApp app : apps) {
+			key.add(String.valueOf(app.getProcessID()));
+		}
+		return key.build();
+	}
+
+	/**
+	 * Hashes the content hashes of the beans and request mappings of the apps, which the live hints are computed from.
+	 * The apps are the proxies handed out by the poller, which serve the beans of the last poll and memoize the request
+	 * mappings, so this doesn't query the apps more than computing the hints would.
+	 */
+	private static HashCode liveDataHash(SpringBootApp[] apps) throws Exception {
+		List<HashCode> hashes = new ArrayList<>(apps.length);
+		for (SpringBootApp app : apps) {
+			LiveBeansModel beans = app.getBeans();
+			RequestMappingIndex requestMappings = app.getRequestMappingIndex();
+			hashes.add(Hashing.combineOrdered(ImmutableList.of(
+					Hashing.murmur3_128().hashString(String.valueOf(app.getProcessID()), StandardCharsets.UTF_8),
+					beans == null ? NO_DATA : beans.getContentHash(),
+					requestMappings == null ? NO_DATA : requestMappings.getContentHash()
+			)));
+		}
+		return hashes.isEmpty() ? NO_DATA : Hashing.combineUnordered(hashes);
+	}
+
+	/**
+	 * Sends the hints to the client, unless exactly the same hints were already sent for this version of the document.
+	 */
+	private void publishLiveHints(String docURI, int version, Set<String> apps, HashCode liveData, HashCode source, List<CodeLens> hints) {
+		synchronized (published) {
+			PublishedHints previous = published.get(docURI);
+			if (previous != null) {
+				if (previous.version > version) {
+					return; //computed for an outdated version of the document
+				}
+				if (previous.version == version && previous.codeLenses.equals(hints)) {
+					published.put(docURI, new PublishedHints(version, apps, liveData, source, hints));
+					return;
+				}
+			}
+			published.put(docURI, new PublishedHints(version, apps, liveData, source, hints));
+			VersionedTextDocumentIdentifier id = new VersionedTextDocumentIdentifier(version);
+			id.setUri(docURI);
+			server.getClient().highlight(new HighlightParams(id, hints));
+		}
 	}
 
 	private void cleanupLiveHints(String docURI) {
-		publishLiveHints(docURI, new CodeLens[0]);
+		TextDocument doc = server.getTextDocumentService().get(docURI);
+		if (doc != null) {
+			publishLiveHints(docURI, doc.getVersion(), ImmutableSortedSet.of(), null, null, ImmutableList.of());
+		}
+	}
+
+	/**
+	 * Closes the connections to the apps that were matched by a watched document, but aren't anymore.
+	 */
+	private void updateMatchedApps(Set<SpringBootApp> matchedApps) {
+		List<SpringBootApp> unmatched = new ArrayList<>();
+		synchronized (this.matchedApps) {
+			for (SpringBootApp app : this.matchedApps) {
+				if (!matchedApps.contains(app)) {
+					unmatched.add(app);
+				}
+			}
+			this.matchedApps.clear();
+			this.matchedApps.addAll(matchedApps);
+		}
+		for (SpringBootApp app : unmatched) {
+			app.closeConnections();
+		}
 	}
 
 	private void cleanupResources() {
-		// TODO: close and cleanup open JMX connections and cached data
+		updateMatchedApps(Collections.emptySet());
 	}
 
 	public synchronized void enableHighlights() {
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.boot.java.utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.eclipse.lsp4j.SymbolInformation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ide.vscode.commons.util.StringUtil;
+
+/**
+ * Searches symbols by name and returns only the best matches, so that queries matching most of a large
+ * workspace still get a small and fast response.
+ * <p>
+ * Matches are ranked: names equal to the query first, then names starting with the query, then names containing
+ * the query and finally names containing the characters of the query in order. Within a rank, shorter names come first.
+ */
+public class SymbolSearch {
+
+	private static final Logger log = LoggerFactory.getLogger(SymbolSearch.class);
+
+	public static final int NO_MATCH = -1;
+	public static final int EXACT = 0;
+	public static final int PREFIX = 1;
+	public static final int SUBSTRING = 2;
+	public static final int CHARACTERS = 3;
+
+	/**
+	 * How many symbols are matched between two checks of the time budget.
+	 */
+	private static final int BUDGET_CHECK_INTERVAL = 256;
+
+	/**
+	 * The symbols to search, by index.
+	 */
+	public interface Candidates {
+		int size();
+		String getName(int index);
+	}
+
+	private static class Match {
+		final int index;
+		final int rank;
+		final int nameLength;
+
+		Match(int index, int rank, int nameLength) {
+			this.index = index;
+			this.rank = rank;
+			this.nameLength = nameLength;
+		}
+	}
+
+	private static final Comparator<Match> BEST_FIRST = Comparator
+			.<Match>comparingInt(m -> m.rank)
+			.thenComparingInt(m -> m.nameLength)
+			.thenComparingInt(m -> m.index);
+
+	/**
+	 * @param lowerCaseQuery the query, in lower case
+	 * @return The rank of the match of the name with the query, or {@link #NO_MATCH}.
+	 */
+	public static int rank(String name, String lowerCaseQuery) {
+		String lowerCaseName = name.toLowerCase();
+		if (lowerCaseName.equals(lowerCaseQuery)) {
+			return EXACT;
+		} else if (lowerCaseName.startsWith(lowerCaseQuery)) {
+			return PREFIX;
+		} else if (lowerCaseName.contains(lowerCaseQuery)) {
+			return SUBSTRING;
+		} else if (StringUtil.containsCharacters(lowerCaseName.toCharArray(), lowerCaseQuery.toCharArray())) {
+			return CHARACTERS;
+		}
+		return NO_MATCH;
+	}
+
+	/**
+	 * @param maxResults maximum number of symbols to return, not limited if not positive
+	 * @param timeBudget time after which the search stops looking at more symbols and returns the best matches found so far
+	 * @return The best matches, best first. Without a query, the first symbols.
+	 */
+	public static List<SymbolInformation> search(List<SymbolInformation> symbols, String query, int maxResults, Duration timeBudget) {
+		int[] matches = search(new Candidates() {
+			@Override
+			public int size() {
+				return symbols.size();
+			}
+
+			@Override
+			public String getName(int index) {
+				return symbols.get(index).getName();
+			}
+		}, query, maxResults, timeBudget);
+
+		List<SymbolInformation> result = new ArrayList<>(matches.length);
+		for (int index : matches) {
+			result.add(symbols.get(index));
+		}
+		return result;
+	}
+
+	/**
+	 * @return The indexes of the best matches, best first. Without a query, the indexes of the first symbols.
+	 * @see #search(List, String, int, Duration)
+	 */
+	public static int[] search(Candidates candidates, String query, int maxResults, Duration timeBudget) {
+		int limit = maxResults > 0 ? maxResults : Integer.MAX_VALUE;
+		int size = candidates.size();
+		if (query == null || query.isEmpty()) {
+			int[] first = new int[Math.min(size, limit)];
+			for (int i = 0; i < first.length; i++) {
+				first[i] = i;
+			}
+			return first;
+		}
+
+		String lowerCaseQuery = query.toLowerCase();
+		long deadline = System.nanoTime() + timeBudget.toNanos();
+
+		//Worst of the best matches found so far at the head, so it can be dropped when a better one is found
+		PriorityQueue<Match> best = new PriorityQueue<>(Math.min(limit, 1024), BEST_FIRST.reversed());
+		for (int i = 0; i < size; i++) {
+			if (i % BUDGET_CHECK_INTERVAL == 0 && i > 0 && System.nanoTime() - deadline > 0) {
+				log.debug("Symbol search for '{}' ran out of time after {} of {} symbols", query, i, size);
+				break;
+			}
+			String name = candidates.getName(i);
+			int rank = rank(name, lowerCaseQuery);
+			if (rank != NO_MATCH) {
+				best.add(new Match(i, rank, name.length()));
+				if (best.size() > limit) {
+					best.poll();
+				}
+			}
+		}
+
+		List<Match> matches = new ArrayList<>(best);
+		Collections.sort(matches, BEST_FIRST);
+		int[] result = new int[matches.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = matches.get(i).index;
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,261 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.boot.java.utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.SymbolKind;
+import org.springframework.ide.vscode.boot.java.handlers.EnhancedSymbolInformation;
+import org.springframework.ide.vscode.boot.java.handlers.SymbolAddOnInformation;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * Compact storage for the symbols of the indexed documents.
+ * <p>
+ * The symbols of a document are stored together in one immutable block: names, kinds, interned container names
+ * and ranges packed into primitive arrays, and the document uri only once. {@link SymbolInformation} objects
+ * are only created when they are asked for. Blocks are replaced as a whole, so readers never see a partially
+ * indexed document.
+ */
+public class SymbolTable {
+
+	private static final SymbolKind[] KINDS = SymbolKind.values();
+
+	/**
+	 * Number of ints used to store the range of a symbol: start line, start character, end line, end character.
+	 */
+	private static final int RANGE_SIZE = 4;
+
+	private final Interner<String> strings = Interners.newWeakInterner();
+	private final ConcurrentMap<String, DocumentSymbols> documents = new ConcurrentHashMap<>();
+
+	/**
+	 * Collects the symbols found while scanning a document, see {@link SymbolTable#put(Builder)}.
+	 */
+	public static class Builder {
+
+		private final String project;
+		private final String docURI;
+		private final List<SymbolInformation> symbols = new ArrayList<>();
+		private final ImmutableList.Builder<SymbolAddOnInformation> additionalInformation = ImmutableList.builder();
+
+		public Builder(String project, String docURI) {
+			this.project = project;
+			this.docURI = docURI;
+		}
+
+		public Builder add(EnhancedSymbolInformation enhancedSymbol) {
+			symbols.add(enhancedSymbol.getSymbol());
+			if (enhancedSymbol.getAdditionalInformation() != null) {
+				additionalInformation.addAll(Arrays.asList(enhancedSymbol.getAdditionalInformation()));
+			}
+			return this;
+		}
+
+	}
+
+	private static class DocumentSymbols {
+
+		final String project;
+		final String docURI;
+		final String[] names;
+		final byte[] kinds;
+		final String[] containerNames;
+		final int[] ranges;
+
+		/**
+		 * Uris of the symbols located outside of the document, or null if all of them are in the document.
+		 */
+		final String[] uris;
+
+		final ImmutableList<SymbolAddOnInformation> additionalInformation;
+
+		DocumentSymbols(Builder builder, Interner<String> strings) {
+			int size = builder.symbols.size();
+			this.project = builder.project;
+			this.docURI = strings.intern(builder.docURI);
+			this.names = new String[size];
+			this.kinds = new byte[size];
+			this.containerNames = new String[size];
+			this.ranges = new int[size * RANGE_SIZE];
+
+			String[] uris = null;
+			for (int i = 0; i < size; i++) {
+				SymbolInformation symbol = builder.symbols.get(i);
+				names[i] = symbol.getName();
+				kinds[i] = symbol.getKind() == null ? 0 : (byte) (symbol.getKind().ordinal() + 1);
+				containerNames[i] = symbol.getContainerName() == null ? null : strings.intern(symbol.getContainerName());
+
+				Location location = symbol.getLocation();
+				if (!docURI.equals(location.getUri())) {
+					if (uris == null) {
+						uris = new String[size];
+					}
+					uris[i] = strings.intern(location.getUri());
+				}
+				Range range = location.getRange();
+				int offset = i * RANGE_SIZE;
+				ranges[offset] = range.getStart().getLine();
+				ranges[offset + 1] = range.getStart().getCharacter();
+				ranges[offset + 2] = range.getEnd().getLine();
+				ranges[offset + 3] = range.getEnd().getCharacter();
+			}
+			this.uris = uris;
+			this.additionalInformation = builder.additionalInformation.build();
+		}
+
+		int size() {
+			return names.length;
+		}
+
+		SymbolInformation getSymbol(int i) {
+			int offset = i * RANGE_SIZE;
+			Range range = new Range(new Position(ranges[offset], ranges[offset + 1]), new Position(ranges[offset + 2], ranges[offset + 3]));
+			String uri = uris == null || uris[i] == null ? docURI : uris[i];
+			SymbolKind kind = kinds[i] == 0 ? null : KINDS[kinds[i] - 1];
+			return new SymbolInformation(names[i], kind, new Location(uri, range), containerNames[i]);
+		}
+
+		void addSymbols(List<SymbolInformation> result) {
+			for (int i = 0; i < names.length; i++) {
+				result.add(getSymbol(i));
+			}
+		}
+	}
+
+	/**
+	 * Replaces the symbols of the document of the builder with the ones collected by it. An empty builder
+	 * removes the symbols of the document.
+	 */
+	public void put(Builder builder) {
+		if (builder.symbols.isEmpty()) {
+			documents.remove(builder.docURI);
+		} else {
+			documents.put(builder.docURI, new DocumentSymbols(builder, strings));
+		}
+	}
+
+	public void removeDocument(String docURI) {
+		documents.remove(docURI);
+	}
+
+	public void removeProject(String project) {
+		documents.values().removeIf(symbols -> symbols.project.equals(project));
+	}
+
+	/**
+	 * Removes the documents of the project, except for the given ones.
+	 */
+	public void removeProjectExcept(String project, Set<String> docURIs) {
+		documents.values().removeIf(symbols -> symbols.project.equals(project) && !docURIs.contains(symbols.docURI));
+	}
+
+	/**
+	 * @return The symbols of the document, or null if there are none.
+	 */
+	public List<SymbolInformation> getSymbols(String docURI) {
+		DocumentSymbols symbols = documents.get(docURI);
+		if (symbols == null) {
+			return null;
+		}
+		List<SymbolInformation> result = new ArrayList<>(symbols.size());
+		symbols.addSymbols(result);
+		return result;
+	}
+
+	public List<SymbolInformation> getAllSymbols() {
+		List<SymbolInformation> result = new ArrayList<>();
+		for (DocumentSymbols symbols : documents.values()) {
+			symbols.addSymbols(result);
+		}
+		return result;
+	}
+
+	/**
+	 * Like {@link SymbolSearch#search(List, String, int, Duration)}, but only creates the symbols that are returned.
+	 */
+	public List<SymbolInformation> search(String query, int maxResults, Duration timeBudget) {
+		List<DocumentSymbols> snapshot = new ArrayList<>(documents.values());
+		int size = 0;
+		for (DocumentSymbols symbols : snapshot) {
+			size += symbols.size();
+		}
+		DocumentSymbols[] owners = new DocumentSymbols[size];
+		int[] indexes = new int[size];
+		int next = 0;
+		for (DocumentSymbols symbols : snapshot) {
+			for (int i = 0; i < symbols.size(); i++) {
+				owners[next] = symbols;
+				indexes[next] = i;
+				next++;
+			}
+		}
+
+		int[] matches = SymbolSearch.search(new SymbolSearch.Candidates() {
+			@Override
+			public int size() {
+				return owners.length;
+			}
+
+			@Override
+			public String getName(int index) {
+				return owners[index].names[indexes[index]];
+			}
+		}, query, maxResults, timeBudget);
+
+		List<SymbolInformation> result = new ArrayList<>(matches.length);
+		for (int match : matches) {
+			result.add(owners[match].getSymbol(indexes[match]));
+		}
+		return result;
+	}
+
+	/**
+	 * @return The additional information of the symbols of the document, empty if there is none.
+	 */
+	public List<SymbolAddOnInformation> getAdditionalInformation(String docURI) {
+		DocumentSymbols symbols = documents.get(docURI);
+		return symbols == null ? ImmutableList.of() : symbols.additionalInformation;
+	}
+
+	public List<SymbolAddOnInformation> getAllAdditionalInformation() {
+		List<SymbolAddOnInformation> result = new ArrayList<>();
+		for (DocumentSymbols symbols : documents.values()) {
+			result.addAll(symbols.additionalInformation);
+		}
+		return result;
+	}
+
+	/**
+	 * @return The number of symbols in the table.
+	 */
+	public int size() {
+		int size = 0;
+		for (DocumentSymbols symbols : documents.values()) {
+			size += symbols.size();
+		}
+		return size;
+	}
+
+}
@@ -0,0 +1,328 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.boot.java.value;
+
+import static org.springframework.ide.vscode.commons.yaml.ast.NodeUtil.asScalar;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ide.vscode.commons.util.BadLocationException;
+import org.springframework.ide.vscode.commons.util.text.TextDocument;
+import org.springframework.ide.vscode.commons.yaml.ast.YamlASTProvider;
+import org.springframework.ide.vscode.commons.yaml.ast.YamlFileAST;
+import org.springframework.ide.vscode.commons.yaml.ast.YamlParser;
+import org.springframework.ide.vscode.java.properties.antlr.parser.AntlrParser;
+import org.springframework.ide.vscode.java.properties.parser.ParseResults;
+import org.springframework.ide.vscode.java.properties.parser.PropertiesAst.KeyValuePair;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ListMultimap;
+
+/**
+ * Index of the property keys defined in the 'application' properties and yml files
+ * of the workspace. Maps each property key to the locations where it is defined.
+ * <p>
+ * A workspace root is scanned once, the first time references are requested for it. After
+ * that, the index is kept up-to-date incrementally, from file change events and from the
+ * contents of documents open in the editor.
+ */
+public class PropertyKeyIndex {
+
+	private static final Logger log = LoggerFactory.getLogger(PropertyKeyIndex.class);
+
+	public static final List<String> GLOB_PATTERNS = ImmutableList.of("**/*application*.properties", "**/*application*.yml");
+
+	/**
+	 * Names of directories (below a workspace root) that are never scanned for property files.
+	 */
+	private static final Set<String> IGNORED_DIRECTORIES = ImmutableSet.of("node_modules", "target", ".git");
+
+	/**
+	 * Marks entries with contents provided by the editor rather than read from disk.
+	 */
+	private static final long FROM_EDITOR = -1;
+
+	private static class FileEntry {
+		final ListMultimap<String, Location> keys;
+		final long lastModified;
+
+		FileEntry(ListMultimap<String, Location> keys, long lastModified) {
+			this.keys = keys;
+			this.lastModified = lastModified;
+		}
+	}
+
+	private final Map<String, FileEntry> files = new HashMap<>();
+	private final Map<String, Set<String>> filesByKey = new HashMap<>();
+	private final Set<Path> scannedRoots = new HashSet<>();
+
+	/**
+	 * Find the locations where a given property key is defined, in property files below any
+	 * of the given workspace roots.
+	 */
+	public synchronized List<Location> findReferences(Collection<Path> roots, String propertyKey) {
+		for (Path root : roots) {
+			if (scannedRoots.add(root)) {
+				scan(root);
+			}
+		}
+		List<Location> locations = new ArrayList<>();
+		Set<String> uris = filesByKey.get(propertyKey);
+		if (uris != null) {
+			for (String uri : ImmutableList.copyOf(uris)) {
+				Path path = toPath(uri);
+				if (path != null && roots.stream().anyMatch(path::startsWith)) {
+					FileEntry entry = refreshIfModified(uri, path);
+					if (entry != null) {
+						locations.addAll(entry.keys.get(propertyKey));
+					}
+				}
+			}
+		}
+		return locations;
+	}
+
+	/**
+	 * Update the index with the contents of a document that is open in the editor.
+	 */
+	public synchronized void updateFromEditor(String uri, String content) {
+		Path path = toPath(uri);
+		if (path != null && isPropertiesFile(path)) {
+			String normalizedUri = path.toUri().toString();
+			put(normalizedUri, parse(normalizedUri, content), FROM_EDITOR);
+		}
+	}
+
+	/**
+	 * Called when a document is closed in the editor. From now on the contents on disk are indexed.
+	 */
+	public synchronized void closedInEditor(String uri) {
+		Path path = toPath(uri);
+		if (path != null && isPropertiesFile(path)) {
+			readFromDisk(path);
+		}
+	}
+
+	/**
+	 * Called when a property file was created, changed or deleted on disk.
+	 */
+	public synchronized void fileChanged(String uri) {
+		Path path = toPath(uri);
+		if (path != null && isPropertiesFile(path)) {
+			FileEntry entry = files.get(path.toUri().toString());
+			if (entry == null || entry.lastModified != FROM_EDITOR) {
+				readFromDisk(path);
+			}
+		}
+	}
+
+	public static boolean isPropertiesFile(Path path) {
+		Path fileName = path.getFileName();
+
+		if (fileName.toString().endsWith(".properties") || path.toString().endsWith(".yml")) {
+			return fileName.toString().contains("application");
+		}
+		else {
+			return false;
+		}
+	}
+
+	private void scan(Path root) {
+		try {
+			Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+					if (!dir.equals(root) && IGNORED_DIRECTORIES.contains(dir.getFileName().toString())) {
+						return FileVisitResult.SKIP_SUBTREE;
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+					if (attrs.isRegularFile() && isPropertiesFile(file) && !files.containsKey(file.toUri().toString())) {
+						readFromDisk(file);
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} catch (IOException e) {
+			log.error("", e);
+		}
+	}
+
+	/**
+	 * Guards against missed file events: re-reads a file from disk if it was modified since it was indexed.
+	 */
+	private FileEntry refreshIfModified(String uri, Path path) {
+		FileEntry entry = files.get(uri);
+		if (entry != null && entry.lastModified != FROM_EDITOR && entry.lastModified != path.toFile().lastModified()) {
+			readFromDisk(path);
+			entry = files.get(uri);
+		}
+		return entry;
+	}
+
+	private void readFromDisk(Path path) {
+		String uri = path.toUri().toString();
+		File file = path.toFile();
+		if (file.isFile()) {
+			try {
+				long lastModified = file.lastModified();
+				String content = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+				put(uri, parse(uri, content), lastModified);
+			} catch (Exception e) {
+				log.error("", e);
+				remove(uri);
+			}
+		} else {
+			remove(uri);
+		}
+	}
+
+	private void put(String uri, ListMultimap<String, Location> keys, long lastModified) {
+		remove(uri);
+		files.put(uri, new FileEntry(keys, lastModified));
+		for (String key : keys.keySet()) {
+			filesByKey.computeIfAbsent(key, k -> new HashSet<>()).add(uri);
+		}
+	}
+
+	private void remove(String uri) {
+		FileEntry old = files.remove(uri);
+		if (old != null) {
+			for (String key : old.keys.keySet()) {
+				Set<String> uris = filesByKey.get(key);
+				if (uris != null) {
+					uris.remove(uri);
+					if (uris.isEmpty()) {
+						filesByKey.remove(key);
+					}
+				}
+			}
+		}
+	}
+
+	private static Path toPath(String uri) {
+		try {
+			return Paths.get(URI.create(uri));
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	private static ListMultimap<String, Location> parse(String uri, String content) {
+		ListMultimap<String, Location> keys = ArrayListMultimap.create();
+		if (uri.endsWith(".properties")) {
+			parseProperties(uri, content, keys);
+		}
+		else if (uri.endsWith(".yml")) {
+			parseYml(uri, content, keys);
+		}
+		return keys;
+	}
+
+	private static void parseProperties(String uri, String content, ListMultimap<String, Location> keys) {
+		ParseResults parseResults = new AntlrParser().parse(content);
+
+		if (parseResults != null && parseResults.ast != null) {
+			TextDocument doc = new TextDocument(uri, null);
+			doc.setText(content);
+
+			parseResults.ast.getNodes(KeyValuePair.class).forEach(pair -> {
+				if (pair.getKey() != null) {
+					try {
+						int line = doc.getLineOfOffset(pair.getKey().getOffset());
+						int startInLine = pair.getKey().getOffset() - doc.getLineOffset(line);
+						int endInLine = startInLine + (pair.getKey().getLength());
+
+						Range range = new Range(new Position(line, startInLine), new Position(line, endInLine));
+						keys.put(pair.getKey().decode(), new Location(uri, range));
+					} catch (BadLocationException e) {
+						log.error("", e);
+					}
+				}
+			});
+		}
+	}
+
+	private static void parseYml(String uri, String content, ListMultimap<String, Location> keys) {
+		try {
+			YamlASTProvider parser = new YamlParser(new Yaml());
+
+			TextDocument doc = new TextDocument(uri, null);
+			doc.setText(content);
+			YamlFileAST ast = parser.getAST(doc);
+
+			List<Node> nodes = ast.getNodes();
+			if (nodes != null) {
+				for (Node node : nodes) {
+					collectKeys(uri, node, "", keys);
+				}
+			}
+		}
+		catch (Exception e) {
+			//Most likely a yml file with syntax errors. Nothing to index in that case.
+		}
+	}
+
+	private static void collectKeys(String uri, Node node, String prefix, ListMultimap<String, Location> keys) {
+		if (node.getNodeId().equals(NodeId.mapping)) {
+			for (NodeTuple entry : ((MappingNode)node).getValue()) {
+				Node keyNode = entry.getKeyNode();
+				String key = asScalar(keyNode);
+				if (key != null) {
+					String combinedKey = prefix.length() > 0 ? prefix + "." + key : key;
+
+					Position start = new Position(keyNode.getStartMark().getLine(), keyNode.getStartMark().getColumn());
+					Position end = new Position(keyNode.getEndMark().getLine(), keyNode.getEndMark().getColumn());
+					keys.put(combinedKey, new Location(uri, new Range(start, end)));
+
+					collectKeys(uri, entry.getValueNode(), combinedKey, keys);
+				}
+			}
+		}
+	}
+
+}
@@ -10,46 +10,23 @@
  *******************************************************************************/
 package org.springframework.ide.vscode.boot.java.value;
 
-import static org.springframework.ide.vscode.commons.yaml.ast.NodeUtil.asScalar;
-
-import java.io.File;
 import java.net.URI;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
-import org.apache.commons.io.FileUtils;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.Annotation;
 import org.eclipse.jdt.core.dom.ITypeBinding;
 import org.eclipse.jdt.core.dom.MemberValuePair;
 import org.eclipse.jdt.core.dom.StringLiteral;
 import org.eclipse.lsp4j.Location;
-import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.WorkspaceFolder;
 import org.springframework.ide.vscode.boot.java.handlers.ReferenceProvider;
 import org.springframework.ide.vscode.commons.languageserver.util.SimpleLanguageServer;
-import org.springframework.ide.vscode.commons.util.BadLocationException;
 import org.springframework.ide.vscode.commons.util.text.TextDocument;
-import org.springframework.ide.vscode.commons.yaml.ast.YamlASTProvider;
-import org.springframework.ide.vscode.commons.yaml.ast.YamlFileAST;
-import org.springframework.ide.vscode.commons.yaml.ast.YamlParser;
-import org.springframework.ide.vscode.java.properties.antlr.parser.AntlrParser;
-import org.springframework.ide.vscode.java.properties.parser.ParseResults;
-import org.springframework.ide.vscode.java.properties.parser.Parser;
-import org.springframework.ide.vscode.java.properties.parser.PropertiesAst.KeyValuePair;
-import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.nodes.MappingNode;
-import org.yaml.snakeyaml.nodes.Node;
-import org.yaml.snakeyaml.nodes.NodeId;
-import org.yaml.snakeyaml.nodes.NodeTuple;
 
 /**
  * @author Martin Lippert
@@ -57,9 +34,18 @@ import org.yaml.snakeyaml.nodes.NodeTuple;
 public class ValuePropertyReferencesProvider implements ReferenceProvider {
 
 	private SimpleLanguageServer languageServer;
+	private final PropertyKeyIndex index = new PropertyKeyIndex();
 
 	public ValuePropertyReferencesProvider(SimpleLanguageServer server) {
 		this.languageServer = server;
+		if (server != null) {
+			server.getWorkspaceService().getFileObserver().onAnyChange(PropertyKeyIndex.GLOB_PATTERNS, index::fileChanged);
+			server.getTextDocumentService().onDidChangeContent(params -> {
+				TextDocument doc = params.getDocument();
+				index.updateFromEditor(doc.getUri(), doc.get());
+			});
+			server.getTextDocumentService().onDidClose(doc -> index.closedInEditor(doc.getId().getUri()));
+		}
 	}
 
 	@Override
@@ -110,165 +96,15 @@ public class ValuePropertyReferencesProvider implements ReferenceProvider {
 			Collection<WorkspaceFolder> workspaceRoots,
 			String propertyKey
 	) {
+		List<Path> roots = new ArrayList<>();
 		for (WorkspaceFolder workspaceFolder : workspaceRoots) {
 			try {
-				Path workspaceRoot = Paths.get(new URI(workspaceFolder.getUri()));
-				try (Stream<Path> walk = Files.walk(workspaceRoot)) {
-					List<Location> locations = walk
-							.filter(path -> isPropertiesFile(path))
-							.filter(path -> path.toFile().isFile())
-							.map(path -> findReferences(path, propertyKey))
-							.flatMap(Collection::stream)
-							.collect(Collectors.toList());
-
-					return locations;
-				}
+				roots.add(Paths.get(new URI(workspaceFolder.getUri())));
 			} catch (Exception e) {
 				e.printStackTrace();
 			}
 		}
-
-		return null;
-	}
-
-	private boolean isPropertiesFile(Path path) {
-		Path fileName = path.getFileName();
-
-		if (fileName.toString().endsWith(".properties") || path.toString().endsWith(".yml")) {
-			return fileName.toString().contains("application");
-		}
-		else {
-			return false;
-		}
-	}
-
-	private List<Location> findReferences(Path path, String propertyKey) {
-		String filePath = path.toString();
-		if (filePath.endsWith(".properties")) {
-			return findReferencesInPropertiesFile(filePath, propertyKey);
-		}
-		else if (filePath.endsWith(".yml")) {
-			return findReferencesInYMLFile(filePath, propertyKey);
-		}
-		return new ArrayList<Location>();
-	}
-
-	private List<Location> findReferencesInYMLFile(String filePath, String propertyKey) {
-		List<Location> foundLocations = new ArrayList<>();
-
-		try {
-			String fileContent = FileUtils.readFileToString(new File(filePath));
-
-			Yaml yaml = new Yaml();
-			YamlASTProvider parser = new YamlParser(yaml);
-
-			URI docURI = Paths.get(filePath).toUri();
-			TextDocument doc = new TextDocument(docURI.toString(), null);
-			doc.setText(fileContent);
-			YamlFileAST ast = parser.getAST(doc);
-
-			List<Node> nodes = ast.getNodes();
-			if (nodes != null && !nodes.isEmpty()) {
-				for (Node node : nodes) {
-					Node foundNode = findNode(node, "", propertyKey);
-					if (foundNode != null) {
-
-						Position start = new Position();
-						start.setLine(foundNode.getStartMark().getLine());
-						start.setCharacter(foundNode.getStartMark().getColumn());
-
-						Position end = new Position();
-						end.setLine(foundNode.getEndMark().getLine());
-						end.setCharacter(foundNode.getEndMark().getColumn());
-
-						Range range = new Range();
-						range.setStart(start);
-						range.setEnd(end);
-
-						Location location = new Location(docURI.toString(), range);
-						foundLocations.add(location);
-					}
-				}
-			}
-
-		}
-		catch (Exception e) {
-			e.printStackTrace();
-		}
-
-		return foundLocations;
-	}
-
-	protected Node findNode(Node node, String prefix, String propertyKey) {
-		if (node.getNodeId().equals(NodeId.mapping)) {
-			for (NodeTuple entry : ((MappingNode)node).getValue()) {
-				Node keyNode = entry.getKeyNode();
-				String key = asScalar(keyNode);
-
-				String combinedKey = prefix.length() > 0 ? prefix + "." + key : key;
-
-				if (combinedKey != null && combinedKey.equals(propertyKey)) {
-					return keyNode;
-				}
-				else {
-					Node recursive = findNode(entry.getValueNode(), combinedKey, propertyKey);
-					if (recursive != null) {
-						return recursive;
-					}
-				}
-			}
-		}
-
-		return null;
-	}
-
-	private List<Location> findReferencesInPropertiesFile(String filePath, String propertyKey) {
-		List<Location> foundLocations = new ArrayList<>();
-
-		try {
-			String fileContent = FileUtils.readFileToString(new File(filePath));
-
-			Parser parser = new AntlrParser();
-			ParseResults parseResults = parser.parse(fileContent);
-
-			if (parseResults != null && parseResults.ast != null) {
-				parseResults.ast.getNodes(KeyValuePair.class).forEach(pair -> {
-					if (pair.getKey() != null && pair.getKey().decode().equals(propertyKey)) {
-						URI docURI = Paths.get(filePath).toUri();
-						TextDocument doc = new TextDocument(docURI.toString(), null);
-						doc.setText(fileContent);
-
-						try {
-							int line = doc.getLineOfOffset(pair.getKey().getOffset());
-							int startInLine = pair.getKey().getOffset() - doc.getLineOffset(line);
-							int endInLine = startInLine + (pair.getKey().getLength());
-
-							Position start = new Position();
-							start.setLine(line);
-							start.setCharacter(startInLine);
-
-							Position end = new Position();
-							end.setLine(line);
-							end.setCharacter(endInLine);
-
-							Range range = new Range();
-							range.setStart(start);
-							range.setEnd(end);
-
-							Location location = new Location(docURI.toString(), range);
-							foundLocations.add(location);
-
-						} catch (BadLocationException e) {
-							e.printStackTrace();
-						}
-					}
-				});
-			}
-
-		} catch (Exception e) {
-			e.printStackTrace();
-		}
-		return foundLocations;
+		return index.findReferences(roots, propertyKey);
 	}
 
 	public LocalRange getPropertyRange(String value, int offset) {
@@ -19,22 +19,26 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 
 import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ide.vscode.commons.java.ClasspathData;
+import org.springframework.ide.vscode.commons.java.ClasspathDiff;
+import org.springframework.ide.vscode.commons.java.ClasspathFingerprints;
 import org.springframework.ide.vscode.commons.java.IJavaProject;
 import org.springframework.ide.vscode.commons.java.IJavadocProvider;
 import org.springframework.ide.vscode.commons.java.JavaProject;
 import org.springframework.ide.vscode.commons.javadoc.JdtLsJavadocProvider;
+import org.springframework.ide.vscode.commons.javadoc.JdtLsJavadocService;
 import org.springframework.ide.vscode.commons.languageserver.jdt.ls.Classpath.CPE;
 import org.springframework.ide.vscode.commons.languageserver.jdt.ls.ClasspathListener;
 import org.springframework.ide.vscode.commons.languageserver.util.SimpleLanguageServer;
 import org.springframework.ide.vscode.commons.util.ExceptionUtil;
 import org.springframework.ide.vscode.commons.util.FileObserver;
+import org.springframework.ide.vscode.commons.util.UriTrie;
 import org.springframework.ide.vscode.commons.util.UriUtil;
 
 import reactor.core.Disposable;
@@ -43,13 +47,26 @@ public class JdtLsProjectCache implements InitializableJavaProjectsService {
 	
 	private SimpleLanguageServer server;
 	private Map<String, JavaProject> table = new HashMap<String, JavaProject>();
+	/**
+	 * Same projects as in 'table', for lock-free lookup of the project containing a given uri.
+	 */
+	private UriTrie<JavaProject> projectsByLocation = new UriTrie<>();
 	private Logger log = LoggerFactory.getLogger(JdtLsProjectCache.class);
 	private List<Listener> listeners = new ArrayList<>();
+	private JdtLsJavadocService javadocService;
+	private ClasspathFingerprints fingerprints = new ClasspathFingerprints();
 
 	public JdtLsProjectCache(SimpleLanguageServer server) {
 		this.server = server;
 	}
 
+	private synchronized JdtLsJavadocService getJavadocService() {
+		if (javadocService == null) {
+			javadocService = new JdtLsJavadocService(server.getClient());
+		}
+		return javadocService;
+	}
+
 	private FileObserver getFileObserver() {
 		return server.getWorkspaceService().getFileObserver();
 	}
@@ -95,11 +112,12 @@ public class JdtLsProjectCache implements InitializableJavaProjectsService {
 		deleted.dispose();
 	}
 	
-	private void notifyChanged(JavaProject newProject) {
+	private void notifyChanged(JavaProject newProject, ClasspathDiff diff) {
 		logEvent("Changed", newProject);
+		log.debug("Classpath diff: {}", diff);
 		synchronized (listeners) {
 			for (Listener listener : listeners) {
-				listener.changed(newProject);
+				listener.changed(newProject, diff);
 			}
 		}
 	}
@@ -133,22 +151,16 @@ public class JdtLsProjectCache implements InitializableJavaProjectsService {
 	public Optional<IJavaProject> find(TextDocumentIdentifier doc) {
 		String uri = UriUtil.normalize(doc.getUri());
 		log.debug("find {} ", uri);
-		synchronized (table) {
-			for (Entry<String, JavaProject> e : table.entrySet()) {
-				String projectUri = e.getKey();
-				log.debug("projectUri = '{}'", projectUri);
-				if (UriUtil.contains(projectUri, uri)) {
-					log.debug("found {} for {}", e.getValue(), uri);
-					return Optional.of(e.getValue());
-				}
-			}
+		JavaProject project = projectsByLocation.findLongestPrefix(uri);
+		if (project != null) {
+			log.debug("found {} for {}", project, uri);
 		}
-		return Optional.empty();
+		return Optional.ofNullable(project);
 	}
 	
 	@Override
 	public IJavadocProvider javadocProvider(String projectUri, CPE classpathEntry) {
-		return new JdtLsJavadocProvider(server.getClient(), projectUri);
+		return new JdtLsJavadocProvider(getJavadocService(), projectUri, classpathEntry);
 	}
 
 	@Override
@@ -166,7 +178,10 @@ public class JdtLsProjectCache implements InitializableJavaProjectsService {
 								log.debug("uri = {}", uri);
 								if (event.deleted) {
 									log.debug("event.deleted = true");
+									getJavadocService().invalidate(uri);
 									JavaProject deleted = table.remove(uri);
+									projectsByLocation.remove(uri);
+									fingerprints.remove(new URI(uri));
 									if (deleted!=null) {
 										log.debug("removed from table = true");
 										notifyDelete(deleted);
@@ -175,10 +190,20 @@ public class JdtLsProjectCache implements InitializableJavaProjectsService {
 									}
 								} else {
 									log.debug("deleted = false");
-									JavaProject newProject = new JavaProject(getFileObserver(), new URI(uri), new ClasspathData(event.name, event.classpath.getEntries()), JdtLsProjectCache.this);
+									ClasspathData classpath = new ClasspathData(event.name, event.classpath.getEntries());
+									JavaProject existing = table.get(uri);
+									ClasspathDiff diff = fingerprints.update(new URI(uri), classpath);
+									if (existing != null && diff.isEmpty() && Objects.equals(existing.getElementName(), event.name)) {
+										//Nothing to do. Keep the existing project, and its index, as is.
+										log.debug("classpath unchanged for {}", uri);
+										return;
+									}
+									JavaProject newProject = new JavaProject(getFileObserver(), new URI(uri), classpath, JdtLsProjectCache.this);
+									getJavadocService().invalidate(uri);
 									JavaProject oldProject = table.put(uri, newProject);
+									projectsByLocation.put(uri, newProject);
 									if (oldProject != null) {
-										notifyChanged(newProject);
+										notifyChanged(newProject, diff);
 									} else {
 										notifyCreated(newProject);
 									}
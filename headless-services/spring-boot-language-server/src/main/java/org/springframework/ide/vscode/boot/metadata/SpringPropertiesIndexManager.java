@@ -44,7 +44,7 @@ public class SpringPropertiesIndexManager extends ListenerManager<Listener<Sprin
 		this.indexes = CacheBuilder.newBuilder()
 				.build();
 		if (projectObserver != null) {
-			projectObserver.addListener(ProjectObserver.onAny(project -> indexes.invalidate(project)));
+			projectObserver.addListener(ProjectObserver.onAnyBinaryChange(project -> indexes.invalidate(project)));
 		}
 	}
 
@@ -11,7 +11,11 @@
 package org.springframework.ide.vscode.boot.metadata.util;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.ide.vscode.boot.java.links.SourceLinkFactory;
 import org.springframework.ide.vscode.boot.java.links.SourceLinks;
 import org.springframework.ide.vscode.commons.java.IJavaElement;
@@ -32,6 +36,10 @@ import com.google.common.collect.ImmutableList.Builder;
  *
  */
 public class PropertyDocUtils {
+
+	private static final Logger log = LoggerFactory.getLogger(PropertyDocUtils.class);
+
+	private static final long JAVADOC_TIMEOUT_SECONDS = 10;
 	
 	/**
 	 * Generates documentation for boot property coming from java element
@@ -43,9 +51,8 @@ public class PropertyDocUtils {
 	 */
 	public static Renderable javadocContent(SourceLinks sourceLinks, IJavaProject project, IJavaElement je) {
 		Builder<Renderable> renderableBuilder = ImmutableList.builder();
-		IJavadoc javadoc = je.getJavaDoc();
 		renderableBuilder.add(Renderables.lineBreak());
-		renderableBuilder.add(Renderables.paragraph(javadoc == null ? Renderables.NO_DESCRIPTION: javadoc.getRenderable()));
+		renderableBuilder.add(Renderables.paragraph(javadoc(je.getJavaDocAsync())));
 		return Renderables.concat(renderableBuilder.build());
 	}
 	
@@ -58,6 +65,8 @@ public class PropertyDocUtils {
 	 * @return
 	 */
 	public static Renderable documentJavaElement(SourceLinks sourceLinks, IJavaProject project, IJavaElement je) {
+		//Look up the javadoc while the rest is computed
+		CompletableFuture<IJavadoc> javadoc = je.getJavaDocAsync();
 		Builder<Renderable> renderableBuilder = ImmutableList.builder();
 		if (je instanceof IMember) {
 			IMember member = (IMember) je;
@@ -75,10 +84,23 @@ public class PropertyDocUtils {
 				}
 			}
 		}
-		IJavadoc javadoc = je.getJavaDoc();
 		renderableBuilder.add(Renderables.lineBreak());
-		renderableBuilder.add(Renderables.paragraph(javadoc == null ? Renderables.NO_DESCRIPTION: javadoc.getRenderable()));
+		renderableBuilder.add(Renderables.paragraph(javadoc(javadoc)));
 		return Renderables.concat(renderableBuilder.build());
 	}
 
+	private static Renderable javadoc(CompletableFuture<IJavadoc> lookup) {
+		try {
+			IJavadoc javadoc = lookup.get(JAVADOC_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+			if (javadoc != null) {
+				return javadoc.getRenderable();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			log.error("", e);
+		}
+		return Renderables.NO_DESCRIPTION;
+	}
+
 }
@@ -10,9 +10,11 @@
  *******************************************************************************/
 package org.springframework.ide.vscode.boot.properties;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.Set;
 
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 import org.springframework.ide.vscode.boot.BootLanguageServerParams;
 import org.springframework.ide.vscode.boot.common.PropertyCompletionFactory;
 import org.springframework.ide.vscode.boot.common.RelaxedNameConfig;
@@ -25,6 +27,7 @@ import org.springframework.ide.vscode.boot.properties.reconcile.SpringProperties
 import org.springframework.ide.vscode.boot.yaml.completions.ApplicationYamlAssistContext;
 import org.springframework.ide.vscode.boot.yaml.reconcile.ApplicationYamlReconcileEngine;
 import org.springframework.ide.vscode.commons.languageserver.completion.ICompletionEngine;
+import org.springframework.ide.vscode.commons.languageserver.completion.ICompletionProposal;
 import org.springframework.ide.vscode.commons.languageserver.composable.LanguageServerComponents;
 import org.springframework.ide.vscode.commons.languageserver.hover.HoverInfoProvider;
 import org.springframework.ide.vscode.commons.languageserver.hover.VscodeHoverEngineAdapter;
@@ -118,16 +121,24 @@ public class BootPropertiesLanguageServerComponents implements LanguageServerCom
 	public ICompletionEngine getCompletionEngine() {
 		ICompletionEngine propertiesCompletions = new SpringPropertiesCompletionEngine(indexProvider, typeUtilProvider, javaProjectFinder);
 		ICompletionEngine yamlCompletions = new YamlCompletionEngine(yamlStructureProvider, yamlAssistContextProvider, COMPLETION_OPTIONS);
-		return (TextDocument document, int offset) -> {
-			String uri = document.getUri();
-			if (uri!=null) {
-				if (uri.endsWith(PROPERTIES)) {
-					return propertiesCompletions.getCompletions(document, offset);
-				} else if (uri.endsWith(YML)) {
-					return yamlCompletions.getCompletions(document, offset);
+		return new ICompletionEngine() {
+			@Override
+			public Collection<ICompletionProposal> getCompletions(TextDocument document, int offset) throws Exception {
+				return getCompletions(document, offset, NOT_CANCELABLE);
+			}
+
+			@Override
+			public Collection<ICompletionProposal> getCompletions(TextDocument document, int offset, CancelChecker cancelToken) throws Exception {
+				String uri = document.getUri();
+				if (uri!=null) {
+					if (uri.endsWith(PROPERTIES)) {
+						return propertiesCompletions.getCompletions(document, offset, cancelToken);
+					} else if (uri.endsWith(YML)) {
+						return yamlCompletions.getCompletions(document, offset, cancelToken);
+					}
 				}
+				return ImmutableList.of();
 			}
-			return ImmutableList.of();
 		};
 	}
 
@@ -23,6 +23,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 import org.springframework.ide.vscode.boot.common.PropertyCompletionFactory;
 import org.springframework.ide.vscode.boot.metadata.PropertyInfo;
 import org.springframework.ide.vscode.boot.metadata.hints.HintProvider;
@@ -36,7 +37,9 @@ import org.springframework.ide.vscode.boot.metadata.types.TypeUtil.BeanPropertyN
 import org.springframework.ide.vscode.boot.metadata.types.TypeUtil.EnumCaseMode;
 import org.springframework.ide.vscode.boot.metadata.types.TypedProperty;
 import org.springframework.ide.vscode.boot.properties.reconcile.PropertyNavigator;
+import org.springframework.ide.vscode.commons.languageserver.completion.CanceledCompletionsException;
 import org.springframework.ide.vscode.commons.languageserver.completion.DocumentEdits;
+import org.springframework.ide.vscode.commons.languageserver.completion.ICompletionEngine;
 import org.springframework.ide.vscode.commons.languageserver.completion.ICompletionProposal;
 import org.springframework.ide.vscode.commons.languageserver.completion.LazyProposalApplier;
 import org.springframework.ide.vscode.commons.languageserver.util.PrefixFinder;
@@ -108,8 +111,14 @@ public class PropertiesCompletionProposalsCalculator {
 	private int offset;
 	private boolean preferLowerCaseEnums;
 	private AntlrParser parser;
+	private CancelChecker cancelToken;
 	
 	public PropertiesCompletionProposalsCalculator(FuzzyMap<PropertyInfo> index, TypeUtil typeUtil, PropertyCompletionFactory completionFactory, IDocument doc, int offset, boolean preferLowerCaseEnums) {
+		this(index, typeUtil, completionFactory, doc, offset, preferLowerCaseEnums, ICompletionEngine.NOT_CANCELABLE);
+	}
+
+	public PropertiesCompletionProposalsCalculator(FuzzyMap<PropertyInfo> index, TypeUtil typeUtil, PropertyCompletionFactory completionFactory, IDocument doc, int offset, boolean preferLowerCaseEnums, CancelChecker cancelToken) {
+		this.cancelToken = cancelToken;
 		this.index = index;
 		this.typeUtil = typeUtil;
 		this.completionFactory = completionFactory;
@@ -124,6 +133,7 @@ public class PropertiesCompletionProposalsCalculator {
 	 */
 	public Collection<ICompletionProposal> calculate() throws BadLocationException {
 		ParseResults parseResults = parser.parse(doc.get());
+		cancelToken.checkCanceled();
 		Node node = parseResults.ast.findNode(offset);
 		if (node instanceof Value) {
 			return getValueCompletions((Value)node);
@@ -328,9 +338,11 @@ public class PropertiesCompletionProposalsCalculator {
 		final String prefix = fuzzySearchPrefix.getPrefix(doc, offset);
 		if (prefix != null) {
 			Collection<Match<PropertyInfo>> matches = findMatches(prefix);
+			cancelToken.checkCanceled();
 			if (matches!=null && !matches.isEmpty()) {
 				ArrayList<ICompletionProposal> proposals = new ArrayList<ICompletionProposal>(matches.size());
 				for (final Match<PropertyInfo> match : matches) {
+					CanceledCompletionsException.checkCanceled(cancelToken, proposals);
 					DocumentEdits docEdits;
 					try {
 						docEdits = LazyProposalApplier.from(() -> {
@@ -13,6 +13,7 @@ package org.springframework.ide.vscode.boot.properties.completions;
 
 import java.util.Collection;
 
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 import org.springframework.ide.vscode.boot.common.PropertyCompletionFactory;
 import org.springframework.ide.vscode.boot.metadata.SpringPropertyIndexProvider;
 import org.springframework.ide.vscode.boot.metadata.types.TypeUtilProvider;
@@ -48,8 +49,14 @@ public class SpringPropertiesCompletionEngine implements ICompletionEngine {
 	 */
 	@Override
 	public Collection<ICompletionProposal> getCompletions(TextDocument doc, int offset) throws BadLocationException {
+		return getCompletions(doc, offset, NOT_CANCELABLE);
+	}
+
+	@Override
+	public Collection<ICompletionProposal> getCompletions(TextDocument doc, int offset, CancelChecker cancelToken) throws BadLocationException {
+		cancelToken.checkCanceled();
 		return new PropertiesCompletionProposalsCalculator(indexProvider.getIndex(doc),
-				typeUtilProvider.getTypeUtil(doc), completionFactory, doc, offset, preferLowerCaseEnums).calculate();
+				typeUtilProvider.getTypeUtil(doc), completionFactory, doc, offset, preferLowerCaseEnums, cancelToken).calculate();
 	}
 
 	public boolean getPreferLowerCaseEnums() {
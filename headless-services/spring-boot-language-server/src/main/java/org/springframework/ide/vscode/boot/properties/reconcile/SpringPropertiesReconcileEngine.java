@@ -16,6 +16,10 @@ import static org.springframework.ide.vscode.boot.properties.reconcile.Applicati
 import static org.springframework.ide.vscode.boot.properties.reconcile.SpringPropertyProblem.problem;
 import static org.springframework.ide.vscode.commons.util.StringUtil.commonPrefix;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 import org.springframework.ide.vscode.boot.metadata.PropertyInfo;
@@ -27,6 +31,7 @@ import org.springframework.ide.vscode.boot.metadata.types.TypeUtil;
 import org.springframework.ide.vscode.boot.metadata.types.TypeUtilProvider;
 import org.springframework.ide.vscode.commons.languageserver.reconcile.IProblemCollector;
 import org.springframework.ide.vscode.commons.languageserver.reconcile.IReconcileEngine;
+import org.springframework.ide.vscode.commons.languageserver.reconcile.ReconcileProblem;
 import org.springframework.ide.vscode.commons.util.BadLocationException;
 import org.springframework.ide.vscode.commons.util.ExceptionUtil;
 import org.springframework.ide.vscode.commons.util.FuzzyMap;
@@ -38,10 +43,15 @@ import org.springframework.ide.vscode.commons.util.text.IDocument;
 import org.springframework.ide.vscode.java.properties.antlr.parser.AntlrParser;
 import org.springframework.ide.vscode.java.properties.parser.ParseResults;
 import org.springframework.ide.vscode.java.properties.parser.Parser;
+import org.springframework.ide.vscode.java.properties.parser.Problem;
 import org.springframework.ide.vscode.java.properties.parser.PropertiesAst.KeyValuePair;
 import org.springframework.ide.vscode.java.properties.parser.PropertiesAst.Node;
 import org.springframework.ide.vscode.java.properties.parser.PropertiesFileEscapes;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+
 /**
  * Implements reconciling algorithm for {@link SpringPropertiesReconcileStrategy}.
  * <p>
@@ -64,17 +74,51 @@ public class SpringPropertiesReconcileEngine implements IReconcileEngine {
 			"(\\s|\\\\\\s)*"
 	);
 
+	/**
+	 * Maximum number of documents for which incremental reconcile state is retained.
+	 */
+	private static final int MAX_CACHED_DOCUMENTS = 20;
+
 	private SpringPropertyIndexProvider fIndexProvider;
 	private TypeUtilProvider typeUtilProvider;
 	private Parser parser = new AntlrParser();
 
+	/**
+	 * When true, parse and validation results are memoized per 'logical line' (i.e. a physical line
+	 * plus its continuation lines) and per property index. Only lines with changed contents are
+	 * re-parsed and re-validated. Duplicate keys are still checked across the whole document on
+	 * every reconcile.
+	 */
+	private boolean incremental = true;
+
+	private final Cache<String, DocumentState> documentStates = CacheBuilder.newBuilder()
+			.maximumSize(MAX_CACHED_DOCUMENTS)
+			.build();
+
 	public SpringPropertiesReconcileEngine(SpringPropertyIndexProvider provider, TypeUtilProvider typeUtilProvider) {
 		this.fIndexProvider = provider;
 		this.typeUtilProvider = typeUtilProvider;
 	}
 
+	public SpringPropertiesReconcileEngine setIncremental(boolean incremental) {
+		this.incremental = incremental;
+		if (!incremental) {
+			documentStates.invalidateAll();
+		}
+		return this;
+	}
+
 	@Override
 	public void reconcile(IDocument doc, IProblemCollector problemCollector) {
+		String uri = doc.getUri();
+		if (incremental && uri!=null) {
+			reconcileIncrementally(doc, problemCollector);
+		} else {
+			reconcileFully(doc, problemCollector);
+		}
+	}
+
+	private void reconcileFully(IDocument doc, IProblemCollector problemCollector) {
 		FuzzyMap<PropertyInfo> index = fIndexProvider.getIndex(doc);
 		problemCollector.beginCollecting();
 		try {
@@ -95,32 +139,11 @@ public class SpringPropertiesReconcileEngine implements IReconcileEngine {
 
 			results.ast.getNodes(KeyValuePair.class).forEach(pair -> {
 				try {
-					DocumentRegion propertyNameRegion = createRegion(doc, pair.getKey());
-					String keyName = PropertiesFileEscapes.unescape(propertyNameRegion.toString());
-					duplicateNameChecker.check(propertyNameRegion);
-					PropertyInfo validProperty = SpringPropertyIndex.findLongestValidProperty(index, keyName);
-					if (validProperty!=null) {
-						//TODO: Remove last remnants of 'IRegion trimmedRegion' here and replace
-						// it all with just passing around 'fullName' DocumentRegion. This may require changes
-						// in PropertyNavigator (probably these changes are also for the better making it simpler as well)
-						if (validProperty.isDeprecated()) {
-							problemCollector.accept(problemDeprecated(propertyNameRegion, validProperty));
-						}
-						int offset = validProperty.getId().length() + propertyNameRegion.getStart();
-						PropertyNavigator navigator = new PropertyNavigator(doc, problemCollector, typeUtilProvider.getTypeUtil(doc), propertyNameRegion);
-						Type valueType = navigator.navigate(offset, TypeParser.parse(validProperty.getType()));
-						if (valueType!=null) {
-							reconcileType(doc, valueType, pair.getValue(), problemCollector);
-						}
-					} else { //validProperty==null
-						//The name is invalid, with no 'prefix' of the name being a valid property name.
-						PropertyInfo similarEntry = index.findLongestCommonPrefixEntry(propertyNameRegion.toString());
-						CharSequence validPrefix = commonPrefix(similarEntry.getId(), keyName);
-						problemCollector.accept(problemUnkownProperty(propertyNameRegion, similarEntry, validPrefix));
-					} //end: validProperty==null
+					duplicateNameChecker.check(createRegion(doc, pair.getKey(), 0));
 				} catch (Exception e) {
 					Log.log(e);
 				}
+				validate(doc, index, pair, 0, problemCollector);
 			});
 		} catch (Throwable e2) {
 			Log.log(e2);
@@ -129,6 +152,180 @@ public class SpringPropertiesReconcileEngine implements IReconcileEngine {
 		}
 	}
 
+	private void reconcileIncrementally(IDocument doc, IProblemCollector problemCollector) {
+		FuzzyMap<PropertyInfo> index = fIndexProvider.getIndex(doc);
+		problemCollector.beginCollecting();
+		try {
+			DocumentState state = documentStates.get(doc.getUri(), DocumentState::new);
+			synchronized (state) {
+				if (state.index!=index) {
+					//Validation results are only valid for the index they were computed with.
+					state.lines = ImmutableMap.of();
+					state.index = index;
+				}
+				boolean validate = index!=null && !index.isEmpty();
+				DuplicateNameChecker duplicateNameChecker = new DuplicateNameChecker(problemCollector);
+				Map<String, LogicalLine> lines = new HashMap<>();
+				String text = doc.get();
+				int lineStart = 0;
+				while (lineStart < text.length()) {
+					int lineEnd = logicalLineEnd(text, lineStart);
+					String lineText = text.substring(lineStart, lineEnd);
+					LogicalLine line = lines.get(lineText);
+					if (line==null) {
+						line = state.lines.get(lineText);
+						if (line==null) {
+							line = new LogicalLine(parser.parse(lineText));
+						}
+						lines.put(lineText, line);
+					}
+					for (Problem syntaxError : line.parsed.syntaxErrors) {
+						problemCollector.accept(problem(PROP_SYNTAX_ERROR, syntaxError.getMessage(), lineStart + syntaxError.getOffset(),
+								syntaxError.getLength()));
+					}
+					if (validate) {
+						for (KeyValuePair pair : line.parsed.ast.getNodes(KeyValuePair.class)) {
+							try {
+								duplicateNameChecker.check(createRegion(doc, pair.getKey(), lineStart));
+							} catch (Exception e) {
+								Log.log(e);
+							}
+						}
+						for (SpringPropertyProblem p : line.getValidationProblems(doc, index, lineStart)) {
+							problemCollector.accept(p.shift(lineStart));
+						}
+					}
+					lineStart = lineEnd;
+				}
+				state.lines = lines;
+			}
+		} catch (Throwable e2) {
+			Log.log(e2);
+		} finally {
+			problemCollector.endCollecting();
+		}
+	}
+
+	/**
+	 * Find the end of the 'logical line' starting at a given offset. The end includes the line break.
+	 * A logical line is a physical line plus any continuation lines (i.e. when a non-comment line ends
+	 * with a '\\' the next physical line is part of the same logical line).
+	 */
+	private static int logicalLineEnd(String text, int start) {
+		boolean isComment = isCommentLine(text, start);
+		int pos = start;
+		while (pos < text.length()) {
+			char c = text.charAt(pos);
+			if (c=='\n' || c=='\r') {
+				boolean continued = !isComment && pos > start && text.charAt(pos-1)=='\\';
+				if (c=='\r' && pos+1 < text.length() && text.charAt(pos+1)=='\n') {
+					pos++;
+				}
+				pos++;
+				if (!continued) {
+					return pos;
+				}
+			} else {
+				pos++;
+			}
+		}
+		return pos;
+	}
+
+	private static boolean isCommentLine(String text, int start) {
+		int pos = start;
+		while (pos < text.length()) {
+			char c = text.charAt(pos);
+			if (c==' ' || c=='\t' || c=='\f') {
+				pos++;
+			} else {
+				return c=='#' || c=='!';
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Per-document state retained for incremental reconciling.
+	 */
+	private static class DocumentState {
+		FuzzyMap<PropertyInfo> index;
+		Map<String, LogicalLine> lines = ImmutableMap.of();
+	}
+
+	/**
+	 * Parse results and (lazily computed) validation problems for the text of a single logical
+	 * line. All offsets are relative to the start of the line.
+	 */
+	private class LogicalLine {
+
+		final ParseResults parsed;
+		private List<SpringPropertyProblem> validationProblems;
+
+		LogicalLine(ParseResults parsed) {
+			this.parsed = parsed;
+		}
+
+		List<SpringPropertyProblem> getValidationProblems(IDocument doc, FuzzyMap<PropertyInfo> index, int lineStart) {
+			if (validationProblems==null) {
+				List<SpringPropertyProblem> found = new ArrayList<>();
+				IProblemCollector collector = new IProblemCollector() {
+					@Override
+					public void beginCollecting() {
+					}
+
+					@Override
+					public void endCollecting() {
+					}
+
+					@Override
+					public void accept(ReconcileProblem problem) {
+						found.add(((SpringPropertyProblem)problem).shift(-lineStart));
+					}
+				};
+				for (KeyValuePair pair : parsed.ast.getNodes(KeyValuePair.class)) {
+					validate(doc, index, pair, lineStart, collector);
+				}
+				validationProblems = found;
+			}
+			return validationProblems;
+		}
+	}
+
+	/**
+	 * Validate a single key value pair.
+	 *
+	 * @param shift offset to add to the offsets of the pair's AST nodes to obtain offsets in the document.
+	 */
+	private void validate(IDocument doc, FuzzyMap<PropertyInfo> index, KeyValuePair pair, int shift, IProblemCollector problemCollector) {
+		try {
+			DocumentRegion propertyNameRegion = createRegion(doc, pair.getKey(), shift);
+			String keyName = PropertiesFileEscapes.unescape(propertyNameRegion.toString());
+			PropertyInfo validProperty = SpringPropertyIndex.findLongestValidProperty(index, keyName);
+			if (validProperty!=null) {
+				//TODO: Remove last remnants of 'IRegion trimmedRegion' here and replace
+				// it all with just passing around 'fullName' DocumentRegion. This may require changes
+				// in PropertyNavigator (probably these changes are also for the better making it simpler as well)
+				if (validProperty.isDeprecated()) {
+					problemCollector.accept(problemDeprecated(propertyNameRegion, validProperty));
+				}
+				int offset = validProperty.getId().length() + propertyNameRegion.getStart();
+				PropertyNavigator navigator = new PropertyNavigator(doc, problemCollector, typeUtilProvider.getTypeUtil(doc), propertyNameRegion);
+				Type valueType = navigator.navigate(offset, TypeParser.parse(validProperty.getType()));
+				if (valueType!=null) {
+					reconcileType(doc, valueType, pair.getValue(), shift, problemCollector);
+				}
+			} else { //validProperty==null
+				//The name is invalid, with no 'prefix' of the name being a valid property name.
+				PropertyInfo similarEntry = index.findLongestCommonPrefixEntry(propertyNameRegion.toString());
+				CharSequence validPrefix = commonPrefix(similarEntry.getId(), keyName);
+				problemCollector.accept(problemUnkownProperty(propertyNameRegion, similarEntry, validPrefix));
+			} //end: validProperty==null
+		} catch (Exception e) {
+			Log.log(e);
+		}
+	}
+
 	protected SpringPropertyProblem problemDeprecated(DocumentRegion region, PropertyInfo property) {
 		SpringPropertyProblem p = problem(PROP_DEPRECATED,
 				TypeUtil.deprecatedPropertyMessage(
@@ -155,21 +352,22 @@ public class SpringPropertiesReconcileEngine implements IReconcileEngine {
 		return p;
 	}
 
-	private void reconcileType(IDocument doc, Type expectType, Node value, IProblemCollector problems) {
+	private void reconcileType(IDocument doc, Type expectType, Node value, int shift, IProblemCollector problems) {
 		// Trim start and end spaces from the value node
-		reconcileType(createRegion(doc, value).trimStart(SPACES).trimEnd(SPACES), expectType,
+		reconcileType(createRegion(doc, value, shift).trimStart(SPACES).trimEnd(SPACES), expectType,
 				problems);
 	}
 
-	private DocumentRegion createRegion(IDocument doc, Node value) {
+	private DocumentRegion createRegion(IDocument doc, Node value, int shift) {
 		// Trim trailing spaces (there is no leading white space already)
+		int start = shift + value.getOffset();
 		int length = value.getLength();
 		try {
-			length = doc.get(value.getOffset(), value.getLength()).length();
+			length = doc.get(start, value.getLength()).length();
 		} catch (BadLocationException e) {
 			// ignore
 		}
-		return new DocumentRegion(doc, value.getOffset(), value.getOffset() + length);
+		return new DocumentRegion(doc, start, start + length);
 	}
 
 	private void reconcileType(DocumentRegion escapedValue, Type expectType, IProblemCollector problems) {
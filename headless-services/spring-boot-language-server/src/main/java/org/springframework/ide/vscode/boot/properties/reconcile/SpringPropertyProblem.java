@@ -13,6 +13,7 @@ package org.springframework.ide.vscode.boot.properties.reconcile;
 
 import org.springframework.ide.vscode.boot.metadata.PropertyInfo;
 //import org.springframework.ide.vscode.commons.languageserver.quickfix.ProblemFixer;
+import org.springframework.ide.vscode.commons.languageserver.quickfix.Quickfix.QuickfixData;
 import org.springframework.ide.vscode.commons.languageserver.reconcile.ProblemType;
 import org.springframework.ide.vscode.commons.languageserver.reconcile.ReconcileProblemImpl;
 import org.springframework.ide.vscode.commons.util.text.DocumentRegion;
@@ -52,4 +53,17 @@ public class SpringPropertyProblem extends ReconcileProblemImpl {
 		propertyName = name;
 	}
 
+	/**
+	 * Create a copy of this problem, moved by a given number of characters.
+	 */
+	public SpringPropertyProblem shift(int delta) {
+		SpringPropertyProblem p = new SpringPropertyProblem(getType(), getMessage(), getOffset()+delta, getLength());
+		p.property = property;
+		p.propertyName = propertyName;
+		for (QuickfixData<?> fix : getQuickfixes()) {
+			p.addQuickfix(fix);
+		}
+		return p;
+	}
+
 }
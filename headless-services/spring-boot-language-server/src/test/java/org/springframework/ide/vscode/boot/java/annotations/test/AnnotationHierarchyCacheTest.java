@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.boot.java.annotations.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.jdt.core.dom.IAnnotationBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.junit.Test;
+import org.springframework.ide.vscode.boot.java.annotations.AnnotationHierarchyCache;
+import org.springframework.ide.vscode.commons.java.ClasspathDiff;
+import org.springframework.ide.vscode.commons.java.IJavaProject;
+import org.springframework.ide.vscode.commons.languageserver.java.ProjectObserver;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+public class AnnotationHierarchyCacheTest {
+
+	private static final String COMPONENT = "org.springframework.stereotype.Component";
+	private static final String SERVICE = "org.springframework.stereotype.Service";
+	private static final String MY_SERVICE = "com.example.MyService";
+
+	private final AtomicReference<ProjectObserver.Listener> listener = new AtomicReference<>();
+	private final AnnotationHierarchyCache cache = new AnnotationHierarchyCache(new ProjectObserver() {
+		@Override
+		public void addListener(Listener l) {
+			listener.set(l);
+		}
+
+		@Override
+		public void removeListener(Listener l) {
+			listener.compareAndSet(l, null);
+		}
+	});
+
+	private final IJavaProject project = project("file:///project");
+
+	private final ITypeBinding component = annotationType(COMPONENT);
+	private final ITypeBinding service = annotationType(SERVICE, component);
+	private final ITypeBinding myService = annotationType(MY_SERVICE, service);
+
+	private static IJavaProject project(String uri) {
+		IJavaProject project = mock(IJavaProject.class);
+		when(project.getLocationUri()).thenReturn(URI.create(uri));
+		return project;
+	}
+
+	private static ITypeBinding annotationType(String fqName, ITypeBinding... supers) {
+		ITypeBinding binding = mock(ITypeBinding.class);
+		when(binding.getQualifiedName()).thenReturn(fqName);
+		when(binding.getKey()).thenReturn("L" + fqName.replace('.', '/') + ";");
+		IAnnotationBinding[] annotations = new IAnnotationBinding[supers.length];
+		for (int i = 0; i < supers.length; i++) {
+			annotations[i] = mock(IAnnotationBinding.class);
+			when(annotations[i].getAnnotationType()).thenReturn(supers[i]);
+		}
+		when(binding.getAnnotations()).thenReturn(annotations);
+		return binding;
+	}
+
+	private Collection<ITypeBinding> metaAnnotations(IJavaProject project, ITypeBinding annotation) {
+		return cache.getMetaAnnotations(project, annotation, COMPONENT::equals);
+	}
+
+	@Test
+	public void metaAnnotations() throws Exception {
+		assertEquals(ImmutableList.of(service, component), metaAnnotations(project, myService));
+		assertEquals(ImmutableList.of(component), metaAnnotations(project, service));
+		assertTrue(metaAnnotations(project, component).isEmpty());
+		assertEquals(ImmutableSet.of(MY_SERVICE, SERVICE, COMPONENT), cache.getTransitiveSuperAnnotations(project, myService));
+	}
+
+	@Test
+	public void hierarchyIsOnlyWalkedOnce() throws Exception {
+		Collection<ITypeBinding> metaAnnotations = metaAnnotations(project, myService);
+		for (int i = 0; i < 5; i++) {
+			assertEquals(metaAnnotations, metaAnnotations(project, myService));
+		}
+		assertSame(cache.getTransitiveSupers(project, myService), cache.getTransitiveSupers(project, myService));
+		//Once for the supers and once for the closure of each annotation type
+		verify(myService, times(2)).getAnnotations();
+		verify(service, times(3)).getAnnotations();
+		verify(component, times(4)).getAnnotations();
+	}
+
+	@Test
+	public void typesFromSourceAreNotCached() throws Exception {
+		when(myService.isFromSource()).thenReturn(true);
+		cache.getTransitiveSupers(project, myService);
+		cache.getTransitiveSupers(project, myService);
+		verify(myService, times(2)).getAnnotations();
+		verify(service, times(2)).getAnnotations();
+
+		//Binary types are cached, even when they are in the hierarchy of a source type
+		cache.getTransitiveSupers(project, service);
+		verify(service, times(3)).getAnnotations();
+		cache.getTransitiveSupers(project, service);
+		verify(service, times(3)).getAnnotations();
+	}
+
+	@Test
+	public void projectsAreCachedSeparately() throws Exception {
+		IJavaProject other = project("file:///other");
+		cache.getTransitiveSupers(project, myService);
+		cache.getTransitiveSupers(other, myService);
+		verify(myService, times(2)).getAnnotations();
+	}
+
+	@Test
+	public void binaryChangeInvalidatesProject() throws Exception {
+		IJavaProject other = project("file:///other");
+		cache.getTransitiveSupers(project, myService);
+		cache.getTransitiveSupers(other, myService);
+		verify(myService, times(2)).getAnnotations();
+
+		//e.g. only a source attachment changed
+		listener.get().changed(project, new ClasspathDiff(ImmutableList.of(), ImmutableList.of(), ImmutableList.of(), false));
+		cache.getTransitiveSupers(project, myService);
+		verify(myService, times(2)).getAnnotations();
+
+		listener.get().changed(project, ClasspathDiff.UNKNOWN);
+		cache.getTransitiveSupers(project, myService);
+		verify(myService, times(3)).getAnnotations();
+		cache.getTransitiveSupers(other, myService);
+		verify(myService, times(3)).getAnnotations();
+
+		listener.get().deleted(other);
+		cache.getTransitiveSupers(other, myService);
+		verify(myService, times(4)).getAnnotations();
+	}
+
+}
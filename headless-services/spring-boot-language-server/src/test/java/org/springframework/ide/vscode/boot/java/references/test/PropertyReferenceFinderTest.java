@@ -132,6 +132,28 @@ public class PropertyReferenceFinderTest {
 		assertEquals(10, location.getRange().getEnd().getCharacter());
 	}
 
+	@Test
+	public void testFindReferenceWithinMultipleWorkspaceFolders() throws Exception {
+		ValuePropertyReferencesProvider provider = new ValuePropertyReferencesProvider(null);
+
+		Path root1 = Paths.get(ProjectsHarness.class.getResource("/test-property-files/multiple-files/").toURI());
+		Path root2 = Paths.get(ProjectsHarness.class.getResource("/test-property-files/mixed-multiple-files/").toURI());
+		Collection<WorkspaceFolder> roots = ImmutableList.<WorkspaceFolder>builder()
+				.addAll(wsFolder(root1))
+				.addAll(wsFolder(root2))
+				.build();
+		List<? extends Location> locations = provider.findReferencesFromPropertyFiles(roots, "appl1.prop");
+
+		assertNotNull(locations);
+		assertEquals(5, locations.size());
+		assertNotNull(getLocation(locations, Paths.get(root1.toString(), "application.properties").toUri()));
+		assertNotNull(getLocation(locations, Paths.get(root2.toString(), "application.yml").toUri()));
+
+		//Only the requested roots are searched
+		locations = provider.findReferencesFromPropertyFiles(wsFolder(root2), "appl1.prop");
+		assertEquals(2, locations.size());
+	}
+
 	private Location getLocation(List<? extends Location> locations, URI docURI) {
 		for (Location location : locations) {
 			if (docURI.toString().equals(location.getUri())) {
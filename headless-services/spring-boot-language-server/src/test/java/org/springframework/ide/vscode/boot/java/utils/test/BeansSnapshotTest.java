@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.boot.java.utils.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+import org.springframework.ide.vscode.boot.java.utils.BeansSnapshot;
+import org.springframework.ide.vscode.boot.java.utils.Change;
+import org.springframework.ide.vscode.commons.boot.app.cli.livebean.LiveBean;
+import org.springframework.ide.vscode.commons.boot.app.cli.livebean.LiveBeansModel;
+
+public class BeansSnapshotTest {
+
+	private static LiveBeansModel model(LiveBean... beans) {
+		LiveBeansModel.Builder builder = LiveBeansModel.builder();
+		for (LiveBean bean : beans) {
+			builder.add(bean);
+		}
+		return builder.build();
+	}
+
+	private static LiveBean bean(String id, String type) {
+		return LiveBean.builder().id(id).type(type).fileResource("/classes/" + type.replace('.', '/') + ".class").build();
+	}
+
+	@Test
+	public void sameBeansSameHash() throws Exception {
+		BeansSnapshot previous = new BeansSnapshot(model(bean("a", "com.example.A"), bean("b", "com.example.B")));
+		BeansSnapshot current = new BeansSnapshot(model(bean("b", "com.example.B"), bean("a", "com.example.A")));
+
+		assertEquals(previous.getContentHash(), current.getContentHash());
+		assertNull(current.diff(previous, () -> new Change(null)));
+	}
+
+	@Test
+	public void generatedClassSuffixIgnored() throws Exception {
+		BeansSnapshot previous = new BeansSnapshot(model(LiveBean.builder().id("a").type("com.example.A$$EnhancerBySpringCGLIB$$1234").build()));
+		BeansSnapshot current = new BeansSnapshot(model(LiveBean.builder().id("a").type("com.example.A$$EnhancerBySpringCGLIB$$5678").build()));
+
+		assertEquals(previous.getContentHash(), current.getContentHash());
+	}
+
+	@Test
+	public void addedAndRemovedBeans() throws Exception {
+		BeansSnapshot previous = new BeansSnapshot(model(bean("a", "com.example.A"), bean("b", "com.example.B")));
+		BeansSnapshot current = new BeansSnapshot(model(bean("a", "com.example.A"), bean("c", "com.example.C")));
+		assertNotEquals(previous.getContentHash(), current.getContentHash());
+
+		Change change = current.diff(previous, () -> new Change(null));
+		assertEquals(1, change.getNewBeans().size());
+		assertEquals("c", change.getNewBeans().get(0).getId());
+		assertEquals(1, change.getDeletedBeans().size());
+		assertEquals("b", change.getDeletedBeans().get(0).getId());
+	}
+
+}
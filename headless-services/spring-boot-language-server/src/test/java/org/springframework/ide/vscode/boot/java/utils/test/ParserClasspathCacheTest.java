@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.boot.java.utils.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.ide.vscode.boot.java.utils.ParserClasspathCache;
+import org.springframework.ide.vscode.commons.java.ClasspathData;
+import org.springframework.ide.vscode.commons.java.ClasspathDiff;
+import org.springframework.ide.vscode.commons.java.IClasspath;
+import org.springframework.ide.vscode.commons.java.IJavaProject;
+import org.springframework.ide.vscode.commons.languageserver.java.ProjectObserver;
+import org.springframework.ide.vscode.commons.languageserver.jdt.ls.Classpath.CPE;
+
+import com.google.common.collect.ImmutableList;
+
+public class ParserClasspathCacheTest {
+
+	@Rule public TemporaryFolder tmp = new TemporaryFolder();
+
+	private final AtomicReference<ProjectObserver.Listener> listener = new AtomicReference<>();
+	private final ProjectObserver projectObserver = new ProjectObserver() {
+		@Override
+		public void addListener(Listener l) {
+			listener.set(l);
+		}
+
+		@Override
+		public void removeListener(Listener l) {
+			listener.compareAndSet(l, null);
+		}
+	};
+
+	private final AtomicReference<IClasspath> classpath = new AtomicReference<>();
+	private final IJavaProject project = mock(IJavaProject.class);
+	private final ParserClasspathCache cache = new ParserClasspathCache(projectObserver);
+
+	private File jar1;
+	private File jar2;
+
+	@Before
+	public void setup() throws Exception {
+		jar1 = tmp.newFile("one.jar").getCanonicalFile();
+		jar2 = tmp.newFile("two.jar").getCanonicalFile();
+		when(project.getClasspath()).thenAnswer(invocation -> classpath.get());
+	}
+
+	private void setClasspath(CPE... entries) {
+		classpath.set(new ClasspathData("test", ImmutableList.copyOf(entries)));
+	}
+
+	private static String[] paths(File... files) {
+		String[] paths = new String[files.length];
+		for (int i = 0; i < files.length; i++) {
+			paths[i] = files[i].getAbsolutePath();
+		}
+		return paths;
+	}
+
+	private static ClasspathDiff diff(boolean binaryRootsChanged) {
+		return new ClasspathDiff(ImmutableList.of(), ImmutableList.of(), ImmutableList.of(), binaryRootsChanged);
+	}
+
+	@Test
+	public void classpathIsResolvedOnce() throws Exception {
+		setClasspath(CPE.binary(jar1.getPath()), CPE.binary(jar2.getPath()));
+
+		String[] entries = cache.getClasspathEntries(project);
+		assertArrayEquals(paths(jar1, jar2), entries);
+		assertSame(entries, cache.getClasspathEntries(project));
+		verify(project, times(1)).getClasspath();
+	}
+
+	@Test
+	public void noProject() throws Exception {
+		assertEquals(0, cache.getClasspathEntries(null).length);
+	}
+
+	@Test
+	public void binaryRootsChangeInvalidates() throws Exception {
+		setClasspath(CPE.binary(jar1.getPath()));
+		String[] entries = cache.getClasspathEntries(project);
+		assertArrayEquals(paths(jar1), entries);
+
+		setClasspath(CPE.binary(jar1.getPath()), CPE.binary(jar2.getPath()));
+		//e.g. only a source attachment changed
+		listener.get().changed(project, diff(false));
+		assertSame(entries, cache.getClasspathEntries(project));
+
+		listener.get().changed(project, diff(true));
+		assertArrayEquals(paths(jar1, jar2), cache.getClasspathEntries(project));
+
+		setClasspath(CPE.binary(jar2.getPath()));
+		//Observers that don't know what changed
+		listener.get().changed(project);
+		assertArrayEquals(paths(jar2), cache.getClasspathEntries(project));
+	}
+
+	@Test
+	public void projectsAreCachedSeparately() throws Exception {
+		setClasspath(CPE.binary(jar1.getPath()));
+		assertArrayEquals(paths(jar1), cache.getClasspathEntries(project));
+
+		IJavaProject other = mock(IJavaProject.class);
+		when(other.getClasspath()).thenReturn(new ClasspathData("other", ImmutableList.of(CPE.binary(jar2.getPath()))));
+		assertArrayEquals(paths(jar2), cache.getClasspathEntries(other));
+		assertArrayEquals(paths(jar1), cache.getClasspathEntries(project));
+	}
+
+	@Test
+	public void missingRootIsPickedUpWhenItAppears() throws Exception {
+		File sources = tmp.newFolder("src").getCanonicalFile();
+		File output = new File(tmp.getRoot().getCanonicalFile(), "bin");
+		setClasspath(CPE.binary(jar1.getPath()), CPE.source(sources, output));
+
+		String[] entries = cache.getClasspathEntries(project);
+		assertArrayEquals(paths(jar1), entries);
+		assertSame(entries, cache.getClasspathEntries(project));
+
+		//Project gets built
+		output.mkdirs();
+		String[] withOutput = cache.getClasspathEntries(project);
+		assertNotSame(entries, withOutput);
+		assertArrayEquals(paths(jar1, output), withOutput);
+		assertSame(withOutput, cache.getClasspathEntries(project));
+		verify(project, times(2)).getClasspath();
+	}
+
+	@Test
+	public void disposeStopsListening() throws Exception {
+		cache.dispose();
+		assertNull(listener.get());
+	}
+
+}
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.boot.java.utils.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.ide.vscode.boot.java.utils.SpringLiveDataPoller;
+import org.springframework.ide.vscode.boot.java.utils.SpringLiveDataPoller.Snapshot;
+import org.springframework.ide.vscode.commons.boot.app.cli.SpringBootApp;
+import org.springframework.ide.vscode.commons.boot.app.cli.livebean.LiveBean;
+import org.springframework.ide.vscode.commons.boot.app.cli.livebean.LiveBeansModel;
+
+import com.google.common.collect.ImmutableList;
+
+public class SpringLiveDataPollerTest {
+
+	private final AtomicInteger providerCalls = new AtomicInteger();
+	private final SpringBootApp app = mock(SpringBootApp.class);
+	private final SpringLiveDataPoller poller = new SpringLiveDataPoller(() -> {
+		providerCalls.incrementAndGet();
+		return ImmutableList.of(app);
+	}, Duration.ofMillis(50));
+
+	@After
+	public void tearDown() {
+		poller.dispose();
+	}
+
+	@Test
+	public void sharedPollingAndStableProxies() throws Exception {
+		LiveBeansModel beans = LiveBeansModel.builder().add(LiveBean.builder().id("foo").type("com.example.Foo").build()).build();
+		when(app.getProcessID()).thenReturn("123");
+		when(app.getBeans()).thenReturn(beans);
+
+		BlockingQueue<Snapshot> first = new LinkedBlockingQueue<>();
+		BlockingQueue<Snapshot> second = new LinkedBlockingQueue<>();
+		Consumer<Snapshot> firstListener = first::add;
+		Consumer<Snapshot> secondListener = second::add;
+		poller.addListener(firstListener);
+		poller.addListener(secondListener);
+
+		Snapshot s1 = first.poll(5, TimeUnit.SECONDS);
+		Snapshot s2 = first.poll(5, TimeUnit.SECONDS);
+		assertNotNull(s1);
+		assertNotNull(s2);
+
+		//Both listeners are served by the same polling cycles. The first cycle may have run before the
+		//second listener was added, but the second cycle runs after.
+		Snapshot fromSecond = second.poll(5, TimeUnit.SECONDS);
+		if (fromSecond == s1) {
+			fromSecond = second.poll(5, TimeUnit.SECONDS);
+		}
+		assertSame(s2, fromSecond);
+
+		//The same memoizing proxy is handed out in every cycle
+		assertEquals(1, s1.getApps().size());
+		assertSame(s1.getApps().get(0), s2.getApps().get(0));
+		assertEquals("123", s1.getApps().get(0).getProcessID());
+		assertSame(beans, s2.getAppSnapshots().get(0).getBeans());
+
+		poller.removeListener(firstListener);
+		assertNotNull(poller.getLatestSnapshot());
+		poller.removeListener(secondListener);
+		assertNull(poller.getLatestSnapshot());
+
+		//No more polling without listeners
+		Thread.sleep(100);
+		int calls = providerCalls.get();
+		Thread.sleep(200);
+		assertEquals(calls, providerCalls.get());
+	}
+
+	private static LiveBeansModel beans(String id) {
+		return LiveBeansModel.builder().add(LiveBean.builder().id(id).type("com.example.Foo").build()).build();
+	}
+
+	private List<Snapshot> pollCycles(int count) throws Exception {
+		BlockingQueue<Snapshot> snapshots = new LinkedBlockingQueue<>();
+		Consumer<Snapshot> listener = snapshots::add;
+		poller.addListener(listener);
+		List<Snapshot> received = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Snapshot s = snapshots.poll(5, TimeUnit.SECONDS);
+			assertNotNull(s);
+			received.add(s);
+		}
+		poller.removeListener(listener);
+		return received;
+	}
+
+	@Test
+	public void unchangedBeansArePolledLessOften() throws Exception {
+		LiveBeansModel beans = beans("foo");
+		when(app.getBeans()).thenReturn(beans);
+
+		//Polled in cycles 1, 3 and 7: the interval doubles each time, up to 4 cycles
+		List<Snapshot> snapshots = pollCycles(7);
+		verify(app, times(3)).getBeans();
+
+		for (Snapshot s : snapshots) {
+			assertSame(beans, s.getAppSnapshots().get(0).getBeans());
+			//Consumers get the polled beans without asking the app again
+			assertSame(beans, s.getApps().get(0).getBeans());
+		}
+		verify(app, times(3)).getBeans();
+	}
+
+	@Test
+	public void changedBeansArePolledEveryCycle() throws Exception {
+		LiveBeansModel[] models = { beans("a"), beans("b"), beans("c"), beans("d") };
+		when(app.getBeans()).thenReturn(models[0], models[1], models[2], models[3]);
+
+		List<Snapshot> snapshots = pollCycles(4);
+		for (int i = 0; i < models.length; i++) {
+			assertSame(models[i], snapshots.get(i).getAppSnapshots().get(0).getBeans());
+		}
+	}
+
+	@Test
+	public void jitter() throws Exception {
+		assertEquals(1000, new SpringLiveDataPoller(null, Duration.ofSeconds(1), () -> 0.0).nextCycleDelayMillis());
+		assertEquals(1050, new SpringLiveDataPoller(null, Duration.ofSeconds(1), () -> 0.5).nextCycleDelayMillis());
+		assertEquals(1099, new SpringLiveDataPoller(null, Duration.ofSeconds(1), () -> 0.999).nextCycleDelayMillis());
+
+		Set<Long> delays = new HashSet<>();
+		for (int i = 0; i < 100; i++) {
+			long delay = poller.nextCycleDelayMillis();
+			assertTrue("delay: " + delay, delay >= 50 && delay <= 55);
+			delays.add(delay);
+		}
+		assertTrue(delays.size() > 1);
+	}
+
+}
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.boot.java.utils.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.lsp4j.CodeLens;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.ide.vscode.boot.java.handlers.BootJavaHoverProvider;
+import org.springframework.ide.vscode.boot.java.handlers.RunningAppProvider;
+import org.springframework.ide.vscode.boot.java.utils.SpringLiveDataPoller;
+import org.springframework.ide.vscode.boot.java.utils.SpringLiveDataPoller.Snapshot;
+import org.springframework.ide.vscode.boot.java.utils.SpringLiveHoverWatchdog;
+import org.springframework.ide.vscode.commons.boot.app.cli.SpringBootApp;
+import org.springframework.ide.vscode.commons.boot.app.cli.livebean.LiveBean;
+import org.springframework.ide.vscode.commons.boot.app.cli.livebean.LiveBeansModel;
+import org.springframework.ide.vscode.commons.java.IJavaProject;
+import org.springframework.ide.vscode.commons.languageserver.HighlightParams;
+import org.springframework.ide.vscode.commons.languageserver.STS4LanguageClient;
+import org.springframework.ide.vscode.commons.languageserver.java.JavaProjectFinder;
+import org.springframework.ide.vscode.commons.languageserver.java.ProjectObserver;
+import org.springframework.ide.vscode.commons.languageserver.util.SimpleLanguageServer;
+import org.springframework.ide.vscode.commons.languageserver.util.SimpleTextDocumentService;
+import org.springframework.ide.vscode.commons.util.text.LanguageId;
+import org.springframework.ide.vscode.commons.util.text.TextDocument;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashCode;
+
+public class SpringLiveHoverWatchdogTest {
+
+	private static final String URI = "file:///project/src/main/java/Foo.java";
+
+	private final SpringBootApp app = mock(SpringBootApp.class);
+	private final AtomicReference<LiveBeansModel> beans = new AtomicReference<>(beans("foo"));
+	private final BootJavaHoverProvider hoverProvider = mock(BootJavaHoverProvider.class);
+	private final SimpleLanguageServer server = mock(SimpleLanguageServer.class);
+	private final BlockingQueue<HighlightParams> highlights = new LinkedBlockingQueue<>();
+	private final AtomicInteger computations = new AtomicInteger();
+
+	private volatile TextDocument document = new TextDocument(URI, LanguageId.JAVA, 1, "class Foo {}");
+	private volatile HashCode sourceHash = HashCode.fromInt(1);
+
+	private SpringLiveDataPoller poller;
+	private SpringLiveHoverWatchdog watchdog;
+
+	@Before
+	public void setup() throws Exception {
+		when(app.getProcessID()).thenReturn("123");
+		when(app.getBeans()).thenAnswer(invocation -> beans.get());
+
+		SimpleTextDocumentService documents = mock(SimpleTextDocumentService.class);
+		when(server.getTextDocumentService()).thenReturn(documents);
+		when(documents.get(URI)).thenAnswer(invocation -> document);
+		STS4LanguageClient client = mock(STS4LanguageClient.class);
+		doAnswer(invocation -> highlights.add((HighlightParams) invocation.getArguments()[0])).when(client).highlight(any(HighlightParams.class));
+		when(server.getClient()).thenReturn(client);
+
+		when(hoverProvider.getLiveHintsSourceHash(any(TextDocument.class))).thenAnswer(invocation -> sourceHash);
+		when(hoverProvider.getLiveHoverHints(any(TextDocument.class), any(SpringBootApp[].class))).thenAnswer(invocation -> {
+			computations.incrementAndGet();
+			return new CodeLens[] { new CodeLens(new Range(new Position(0, 0), new Position(0, 5))) };
+		});
+	}
+
+	@After
+	public void tearDown() {
+		if (watchdog != null) {
+			watchdog.shutdown();
+		}
+		if (poller != null) {
+			poller.dispose();
+		}
+	}
+
+	private static LiveBeansModel beans(String id) {
+		return LiveBeansModel.builder().add(LiveBean.builder().id(id).type("com.example.Foo").build()).build();
+	}
+
+	private void startWatching(Duration pollingInterval) {
+		IJavaProject project = mock(IJavaProject.class);
+		JavaProjectFinder projectFinder = doc -> Optional.of(project);
+		poller = new SpringLiveDataPoller(() -> ImmutableList.of(app), pollingInterval);
+		watchdog = new SpringLiveHoverWatchdog(server, hoverProvider, mock(RunningAppProvider.class), projectFinder,
+				mock(ProjectObserver.class), poller);
+		watchdog.watchDocument(URI);
+	}
+
+	private void edit(String text) {
+		document = new TextDocument(URI, LanguageId.JAVA, document.getVersion() + 1, text);
+		watchdog.scheduleUpdate(URI);
+	}
+
+	private HighlightParams nextHighlights() throws InterruptedException {
+		HighlightParams received = highlights.poll(5, TimeUnit.SECONDS);
+		assertNotNull("No highlights received", received);
+		return received;
+	}
+
+	@Test
+	public void editsAreDebounced() throws Exception {
+		//Only the first polling cycle runs during the test
+		startWatching(Duration.ofMinutes(1));
+		assertEquals(1, (int) nextHighlights().getDoc().getVersion());
+		assertEquals(1, computations.get());
+
+		for (int i = 0; i < 5; i++) {
+			sourceHash = HashCode.fromInt(10 + i);
+			edit("class Foo { int f" + i + "; }");
+		}
+
+		assertEquals(6, (int) nextHighlights().getDoc().getVersion());
+		assertEquals(2, computations.get());
+
+		Thread.sleep(SpringLiveHoverWatchdog.DEBOUNCE_DELAY.toMillis() * 2);
+		assertTrue(highlights.isEmpty());
+		assertEquals(2, computations.get());
+	}
+
+	@Test
+	public void editsLeavingTheSourceHashUnchangedAreNotRecomputed() throws Exception {
+		startWatching(Duration.ofMinutes(1));
+		HighlightParams first = nextHighlights();
+		assertEquals(1, computations.get());
+
+		//e.g. typing in a method body
+		edit("class Foo { void m() { int i = 0; } }");
+		HighlightParams second = nextHighlights();
+		assertEquals(2, (int) second.getDoc().getVersion());
+		assertEquals(first.getCodeLenses(), second.getCodeLenses());
+		assertEquals(1, computations.get());
+
+		//e.g. adding an annotation
+		sourceHash = HashCode.fromInt(2);
+		edit("@Component class Foo { void m() { int i = 0; } }");
+		assertEquals(3, (int) nextHighlights().getDoc().getVersion());
+		assertEquals(2, computations.get());
+	}
+
+	@Test
+	public void pollsWithUnchangedLiveDataAreSkipped() throws Exception {
+		startWatching(Duration.ofMillis(50));
+		nextHighlights();
+
+		//The watchdog is notified of every cycle before this listener
+		BlockingQueue<Snapshot> cycles = new LinkedBlockingQueue<>();
+		poller.addListener(cycles::add);
+		for (int i = 0; i < 3; i++) {
+			assertNotNull(cycles.poll(5, TimeUnit.SECONDS));
+		}
+		assertEquals(1, computations.get());
+		assertTrue(highlights.isEmpty());
+
+		beans.set(beans("bar"));
+		long timeout = System.currentTimeMillis() + 5000;
+		while (computations.get() < 2 && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+		assertEquals(2, computations.get());
+	}
+
+}
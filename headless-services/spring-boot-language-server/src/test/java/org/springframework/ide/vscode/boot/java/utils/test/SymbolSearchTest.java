@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.boot.java.utils.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.SymbolKind;
+import org.junit.Test;
+import org.springframework.ide.vscode.boot.java.utils.SymbolSearch;
+
+import com.google.common.collect.ImmutableList;
+
+public class SymbolSearchTest {
+
+	private static final Duration BUDGET = Duration.ofSeconds(10);
+
+	private static List<SymbolInformation> symbols(String... names) {
+		List<SymbolInformation> symbols = new ArrayList<>();
+		for (String name : names) {
+			symbols.add(new SymbolInformation(name, SymbolKind.Interface, new Location("file:///Foo.java", new Range(new Position(0, 0), new Position(0, 1)))));
+		}
+		return symbols;
+	}
+
+	private static List<String> names(List<SymbolInformation> symbols) {
+		return symbols.stream().map(SymbolInformation::getName).collect(Collectors.toList());
+	}
+
+	@Test
+	public void bestMatchesFirst() {
+		List<SymbolInformation> symbols = symbols("@/greeting/hello", "@/hello -- GET", "@/hellos", "@/h-e-l-l-o", "@/bye", "@/hello");
+
+		assertEquals(ImmutableList.of("@/hello", "@/hellos", "@/hello -- GET", "@/h-e-l-l-o", "@/greeting/hello"),
+				names(SymbolSearch.search(symbols, "@/HELLO", 0, BUDGET)));
+	}
+
+	@Test
+	public void cappedToBestMatches() {
+		List<SymbolInformation> symbols = symbols("@/greeting/hello", "@/hello -- GET", "@/hellos", "@/bye", "@/hello");
+
+		assertEquals(ImmutableList.of("@/hello", "@/hellos"), names(SymbolSearch.search(symbols, "@/hello", 2, BUDGET)));
+	}
+
+	@Test
+	public void emptyQuery() {
+		List<SymbolInformation> symbols = symbols("@/a", "@/b", "@/c");
+
+		assertEquals(ImmutableList.of("@/a", "@/b"), names(SymbolSearch.search(symbols, "", 2, BUDGET)));
+		assertEquals(ImmutableList.of("@/a", "@/b", "@/c"), names(SymbolSearch.search(symbols, null, 0, BUDGET)));
+	}
+
+	@Test
+	public void rank() {
+		assertEquals(SymbolSearch.EXACT, SymbolSearch.rank("@Bean", "@bean"));
+		assertEquals(SymbolSearch.PREFIX, SymbolSearch.rank("@Bean foo", "@bean"));
+		assertEquals(SymbolSearch.SUBSTRING, SymbolSearch.rank("@+ 'foo' (@Bean)", "@bean"));
+		assertEquals(SymbolSearch.CHARACTERS, SymbolSearch.rank("@Be-an", "@bean"));
+		assertEquals(SymbolSearch.NO_MATCH, SymbolSearch.rank("@Component", "@bean"));
+	}
+
+}
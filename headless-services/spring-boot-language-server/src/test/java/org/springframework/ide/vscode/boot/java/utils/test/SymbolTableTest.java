@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.vscode.boot.java.utils.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.SymbolKind;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.springframework.ide.vscode.boot.java.handlers.EnhancedSymbolInformation;
+import org.springframework.ide.vscode.boot.java.handlers.SymbolAddOnInformation;
+import org.springframework.ide.vscode.boot.java.requestmapping.WebfluxElementsInformation;
+import org.springframework.ide.vscode.boot.java.utils.SymbolTable;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+public class SymbolTableTest {
+
+	private static SymbolInformation symbol(String name, String uri, int line, String containerName) {
+		return new SymbolInformation(name, SymbolKind.Interface, new Location(uri, new Range(new Position(line, 4), new Position(line + 1, 12))), containerName);
+	}
+
+	private static SymbolTable.Builder document(String project, String docURI, SymbolInformation... symbols) {
+		SymbolTable.Builder builder = new SymbolTable.Builder(project, docURI);
+		for (SymbolInformation symbol : symbols) {
+			builder.add(new EnhancedSymbolInformation(symbol, null));
+		}
+		return builder;
+	}
+
+	@Test
+	public void symbolsAreRecreatedAsIndexed() throws Exception {
+		List<SymbolInformation> symbols = ImmutableList.of(
+				symbol("@+ 'fooBean' Foo", "file:///Foo.java", 3, "com.example"),
+				symbol("@/foo", "file:///Foo.java", 10, null),
+				symbol("@/other", "file:///Other.java", 1, "com.example"));
+		SymbolInformation withoutKind = symbol("@Bar", "file:///Foo.java", 20, null);
+		withoutKind.setKind(null);
+
+		SymbolTable table = new SymbolTable();
+		table.put(document("p", "file:///Foo.java", symbols.get(0), symbols.get(1), symbols.get(2), withoutKind));
+
+		assertEquals(ImmutableList.of(symbols.get(0), symbols.get(1), symbols.get(2), withoutKind), table.getSymbols("file:///Foo.java"));
+		assertNull(table.getSymbols("file:///Other.java"));
+		assertEquals(4, table.size());
+	}
+
+	@Test
+	public void documentsAreReplacedAndRemoved() throws Exception {
+		SymbolTable table = new SymbolTable();
+		table.put(document("p1", "file:///A.java", symbol("@/a", "file:///A.java", 1, null)));
+		table.put(document("p1", "file:///B.java", symbol("@/b", "file:///B.java", 1, null)));
+		table.put(document("p2", "file:///C.java", symbol("@/c", "file:///C.java", 1, null)));
+
+		table.put(document("p1", "file:///A.java", symbol("@/a2", "file:///A.java", 2, null)));
+		assertEquals(ImmutableList.of(symbol("@/a2", "file:///A.java", 2, null)), table.getSymbols("file:///A.java"));
+		assertEquals(3, table.getAllSymbols().size());
+
+		table.removeDocument("file:///B.java");
+		assertNull(table.getSymbols("file:///B.java"));
+
+		table.removeProject("p1");
+		assertEquals(ImmutableList.of(symbol("@/c", "file:///C.java", 1, null)), table.getAllSymbols());
+	}
+
+	@Test
+	public void emptyBuilderRemovesDocument() throws Exception {
+		SymbolAddOnInformation addon = new WebfluxElementsInformation(new Range(new Position(1, 1), new Position(1, 2)));
+		SymbolTable.Builder builder = new SymbolTable.Builder("p", "file:///A.java");
+		builder.add(new EnhancedSymbolInformation(symbol("@/a", "file:///A.java", 1, null), new SymbolAddOnInformation[] {addon}));
+		SymbolTable table = new SymbolTable();
+		table.put(builder);
+		table.put(document("p", "file:///B.java", symbol("@/b", "file:///B.java", 1, null)));
+
+		table.put(document("p", "file:///A.java"));
+		assertNull(table.getSymbols("file:///A.java"));
+		assertTrue(table.getAdditionalInformation("file:///A.java").isEmpty());
+		assertEquals(ImmutableList.of(symbol("@/b", "file:///B.java", 1, null)), table.getAllSymbols());
+	}
+
+	@Test
+	public void removeProjectExceptKeepsGivenDocuments() throws Exception {
+		SymbolTable table = new SymbolTable();
+		table.put(document("p1", "file:///A.java", symbol("@/a", "file:///A.java", 1, null)));
+		table.put(document("p1", "file:///B.java", symbol("@/b", "file:///B.java", 1, null)));
+		table.put(document("p2", "file:///C.java", symbol("@/c", "file:///C.java", 1, null)));
+
+		table.removeProjectExcept("p1", ImmutableSet.of("file:///A.java", "file:///C.java"));
+		assertEquals(ImmutableList.of(symbol("@/a", "file:///A.java", 1, null)), table.getSymbols("file:///A.java"));
+		assertNull(table.getSymbols("file:///B.java"));
+		assertEquals(ImmutableList.of(symbol("@/c", "file:///C.java", 1, null)), table.getSymbols("file:///C.java"));
+	}
+
+	@Test
+	public void additionalInformationIsStoredOnce() throws Exception {
+		SymbolAddOnInformation addon = new WebfluxElementsInformation(new Range(new Position(1, 1), new Position(1, 2)));
+		SymbolTable.Builder builder = new SymbolTable.Builder("p", "file:///A.java");
+		builder.add(new EnhancedSymbolInformation(symbol("@/a", "file:///A.java", 1, null), new SymbolAddOnInformation[] {addon}));
+
+		SymbolTable table = new SymbolTable();
+		table.put(builder);
+
+		assertEquals(ImmutableList.of(addon), table.getAdditionalInformation("file:///A.java"));
+		assertEquals(ImmutableList.of(addon), table.getAllAdditionalInformation());
+		assertTrue(table.getAdditionalInformation("file:///B.java").isEmpty());
+
+		table.removeProject("p");
+		assertTrue(table.getAllAdditionalInformation().isEmpty());
+	}
+
+	@Test
+	public void searchRanksAcrossDocuments() throws Exception {
+		SymbolTable table = new SymbolTable();
+		table.put(document("p", "file:///A.java", symbol("@/greeting/hello", "file:///A.java", 1, null), symbol("@/bye", "file:///A.java", 2, null)));
+		table.put(document("p", "file:///B.java", symbol("@/hello", "file:///B.java", 1, null)));
+
+		List<SymbolInformation> found = table.search("@/hello", 10, Duration.ofSeconds(10));
+		assertEquals(ImmutableList.of(symbol("@/hello", "file:///B.java", 1, null), symbol("@/greeting/hello", "file:///A.java", 1, null)), found);
+		assertEquals(1, table.search("@/", 1, Duration.ofSeconds(10)).size());
+	}
+
+	/**
+	 * Compares the heap retained by the symbol table with the one retained by the lists it replaced: every
+	 * {@link SymbolInformation} in a global list, a list per document and a list per project, and the same
+	 * three lists for the add-on information. Names and add-ons are shared by both, like they are with the
+	 * strings of the parsed sources and the add-ons created by the symbol providers.
+	 * <p>
+	 * Heap measurements depend on the garbage collector, so this is a benchmark to run by hand, not part of the build.
+	 */
+	@Ignore("Benchmark, depends on garbage collection timing")
+	@Test
+	public void memoryFootprint() throws Exception {
+		int documents = 500;
+		int symbolsPerDocument = 100;
+		String[] names = new String[symbolsPerDocument];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = "@/mapping/" + i;
+		}
+
+		SymbolAddOnInformation[] addons = new SymbolAddOnInformation[symbolsPerDocument];
+		for (int i = 0; i < addons.length; i += 10) {
+			addons[i] = new WebfluxElementsInformation(new Range(new Position(i, 0), new Position(i, 1)));
+		}
+
+		long before = usedMemory();
+		IndexLists lists = new IndexLists();
+		for (int d = 0; d < documents; d++) {
+			String docURI = "file:///Doc" + d + ".java";
+			List<SymbolInformation> symbols = createSymbols(d, names);
+			for (int i = 0; i < symbols.size(); i++) {
+				lists.add("p", docURI, enhanced(symbols.get(i), addons[i]));
+			}
+		}
+		long listsFootprint = usedMemory() - before;
+
+		before = usedMemory();
+		SymbolTable table = new SymbolTable();
+		for (int d = 0; d < documents; d++) {
+			SymbolTable.Builder builder = new SymbolTable.Builder("p", "file:///Doc" + d + ".java");
+			List<SymbolInformation> symbols = createSymbols(d, names);
+			for (int i = 0; i < symbols.size(); i++) {
+				builder.add(enhanced(symbols.get(i), addons[i]));
+			}
+			table.put(builder);
+		}
+		long tableFootprint = usedMemory() - before;
+
+		assertEquals(new HashSet<>(lists.symbolsByDoc.get("file:///Doc7.java")), new HashSet<>(table.getSymbols("file:///Doc7.java")));
+		assertEquals(lists.addonInformation.size(), table.getAllAdditionalInformation().size());
+		assertTrue("lists: " + listsFootprint / 1024 + "KB, symbol table: " + tableFootprint / 1024 + "KB", tableFootprint < listsFootprint);
+	}
+
+	private static EnhancedSymbolInformation enhanced(SymbolInformation symbol, SymbolAddOnInformation addon) {
+		return new EnhancedSymbolInformation(symbol, addon == null ? null : new SymbolAddOnInformation[] {addon});
+	}
+
+	/**
+	 * The way the indexer stored its symbols before {@link SymbolTable}.
+	 */
+	private static class IndexLists {
+		final List<SymbolInformation> symbols = Collections.synchronizedList(new ArrayList<>());
+		final ConcurrentMap<String, List<SymbolInformation>> symbolsByDoc = new ConcurrentHashMap<>();
+		final ConcurrentMap<String, List<SymbolInformation>> symbolsByProject = new ConcurrentHashMap<>();
+		final List<SymbolAddOnInformation> addonInformation = Collections.synchronizedList(new ArrayList<>());
+		final ConcurrentMap<String, List<SymbolAddOnInformation>> addonInformationByDoc = new ConcurrentHashMap<>();
+		final ConcurrentMap<String, List<SymbolAddOnInformation>> addonInformationByProject = new ConcurrentHashMap<>();
+
+		void add(String project, String docURI, EnhancedSymbolInformation enhancedSymbol) {
+			symbols.add(enhancedSymbol.getSymbol());
+			symbolsByDoc.computeIfAbsent(docURI, s -> new ArrayList<>()).add(enhancedSymbol.getSymbol());
+			symbolsByProject.computeIfAbsent(project, s -> new ArrayList<>()).add(enhancedSymbol.getSymbol());
+
+			if (enhancedSymbol.getAdditionalInformation() != null) {
+				List<SymbolAddOnInformation> addons = Arrays.asList(enhancedSymbol.getAdditionalInformation());
+				addonInformation.addAll(addons);
+				addonInformationByDoc.computeIfAbsent(docURI, s -> new ArrayList<>()).addAll(addons);
+				addonInformationByProject.computeIfAbsent(project, s -> new ArrayList<>()).addAll(addons);
+			}
+		}
+	}
+
+	private static List<SymbolInformation> createSymbols(int document, String[] names) {
+		String docURI = "file:///Doc" + document + ".java";
+		List<SymbolInformation> symbols = new ArrayList<>(names.length);
+		for (int i = 0; i < names.length; i++) {
+			symbols.add(symbol(names[i], docURI, i, new String("com.example.Controller")));
+		}
+		return symbols;
+	}
+
+	private static long usedMemory() throws InterruptedException {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(50);
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+}
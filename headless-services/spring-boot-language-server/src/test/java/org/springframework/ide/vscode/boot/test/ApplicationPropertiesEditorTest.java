@@ -1545,6 +1545,46 @@ public class ApplicationPropertiesEditorTest extends AbstractPropsEditorTest {
 		);
 	}
 
+	@Test public void testReconcileAfterEdits() throws Exception {
+		defaultTestData();
+		Editor editor = newEditor(
+				"server.port=8080\n" +
+				"bogus.no.good=true\n"
+		);
+		editor.assertProblems(
+				"ogus.no.good|unknown property"
+		);
+
+		//Unchanged lines at different offsets
+		editor.setText(
+				"#A comment\\\n" +
+				"server.port=not a number\n" +
+				"server.port=8080\n" +
+				"bogus.no.good=true\n"
+		);
+		editor.assertProblems(
+				"server.port|Duplicate",
+				"not a number|'int'",
+				"server.port|Duplicate",
+				"ogus.no.good|unknown property"
+		);
+
+		//Continuation lines
+		editor.setText(
+				"server.port=80\\\n" +
+				"  80\n" +
+				"bogus.no.good=true\n"
+		);
+		editor.assertProblems(
+				"ogus.no.good|unknown property"
+		);
+
+		editor.setText(
+				"server.port=8080\n"
+		);
+		editor.assertProblems(/*NONE*/);
+	}
+
 	@Test public void test_PT_119352965() throws Exception {
 		data("some.property", "java.lang.String", null, "Some property to test stuff")
 		.valueHint("SOMETHING", "A value for something")
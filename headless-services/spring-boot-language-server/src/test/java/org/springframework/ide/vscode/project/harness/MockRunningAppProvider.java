@@ -23,6 +23,7 @@ import org.springframework.ide.vscode.commons.boot.app.cli.LocalSpringBootApp;
 import org.springframework.ide.vscode.commons.boot.app.cli.SpringBootApp;
 import org.springframework.ide.vscode.commons.boot.app.cli.livebean.LiveBeansModel;
 import org.springframework.ide.vscode.commons.boot.app.cli.requestmappings.RequestMapping;
+import org.springframework.ide.vscode.commons.boot.app.cli.requestmappings.RequestMappingIndex;
 import org.springframework.ide.vscode.commons.util.ExceptionUtil;
 
 import com.google.common.collect.ImmutableList;
@@ -110,11 +111,13 @@ public class MockRunningAppProvider {
 		public MockAppBuilder requestMappingsJson(String mappings) throws Exception {
 			Collection<RequestMapping> requestMappings = LocalSpringBootApp.parseRequestMappingsJson(mappings, "1.x");
 			when(app.getRequestMappings()).thenReturn(requestMappings);
+			when(app.getRequestMappingIndex()).thenReturn(RequestMappingIndex.create(requestMappings));
 			return this;
 		}
 
 		public MockAppBuilder requestMappings(Collection<RequestMapping> rms) throws Exception {
 			when(app.getRequestMappings()).thenReturn(rms);
+			when(app.getRequestMappingIndex()).thenReturn(RequestMappingIndex.create(rms));
 			return this;
 		}
 
@@ -11,6 +11,11 @@ export function registerJavadocService(client : LanguageClient) : void {
         <JavadocResponse> await VSCode.commands.executeCommand("java.execute.workspaceCommand", "sts.java.javadoc", params)
     );
 
+    let batchRequest = new RequestType<JavadocBatchParams, JavadocResponse[], void, void>("sts/javadocs");
+    client.onRequest(batchRequest, async (params: JavadocBatchParams) =>
+        <JavadocResponse[]> await VSCode.commands.executeCommand("java.execute.workspaceCommand", "sts.java.javadocs", params)
+    );
+
 }
 
 interface JavadocParams {
@@ -18,6 +23,11 @@ interface JavadocParams {
     bindingKey: string;
 }
 
+interface JavadocBatchParams {
+    projectUri: string;
+    bindingKeys: string[];
+}
+
 interface JavadocResponse {
     content: string;
 }